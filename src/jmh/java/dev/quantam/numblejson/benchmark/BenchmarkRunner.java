@@ -0,0 +1,93 @@
+package dev.quantam.numblejson.benchmark;
+
+import dev.quantam.numblejson.NimbleJSON;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Entry point of the {@code jmh} Gradle task. Runs the selected benchmarks with the GC profiler,
+ * so that the allocation rate is reported next to throughput and time per operation, writes the
+ * results as JSON and optionally compares them with the stored results of an earlier version.
+ * <p>
+ * Arguments: the benchmark include pattern, the result file and an optional baseline result file.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = args.length > 0 ? args[0] : ".*";
+        String result = args.length > 1 ? args[1] : "jmh-results.json";
+        String baseline = args.length > 2 ? args[2] : "";
+
+        Options options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackageName() + ".*" + include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        if (!baseline.isEmpty()) {
+            compare(results, new File(baseline));
+        }
+    }
+
+    /**
+     * Prints the relative change of every benchmark score against a baseline result file written
+     * by an earlier run. The baseline is read with NimbleJSON itself.
+     */
+    private static void compare(Collection<RunResult> results, File baseline) throws Exception {
+        if (!baseline.isFile()) {
+            System.out.println("No baseline results at " + baseline);
+            return;
+        }
+        List<?> entries;
+        try (InputStream in = new FileInputStream(baseline)) {
+            entries = NimbleJSON.deserialize(in, List.class);
+        }
+        Map<String, Double> scores = new HashMap<>();
+        for (Object entry : entries) {
+            Map<?, ?> benchmark = (Map<?, ?>) entry;
+            Map<?, ?> primary = (Map<?, ?>) benchmark.get("primaryMetric");
+            scores.put(key(String.valueOf(benchmark.get("benchmark")), String.valueOf(benchmark.get("mode")),
+                    (Map<?, ?>) benchmark.get("params")), ((Number) primary.get("score")).doubleValue());
+        }
+
+        System.out.println();
+        System.out.println("Comparison with " + baseline.getName() + ":");
+        for (RunResult run : results) {
+            String name = run.getParams().getBenchmark();
+            String mode = run.getParams().getMode().shortLabel();
+            Map<String, String> params = new HashMap<>();
+            for (String param : run.getParams().getParamsKeys()) {
+                params.put(param, run.getParams().getParam(param));
+            }
+            Double before = scores.get(key(name, mode, params));
+            double after = run.getPrimaryResult().getScore();
+            String change = before == null ? "new" : String.format("%+.1f%%", (after - before) / before * 100);
+            System.out.printf("%-70s %-6s %14.3f %10s%n", name + params, mode, after, change);
+        }
+    }
+
+    private static String key(String benchmark, String mode, Map<?, ?> params) {
+        return benchmark + ' ' + mode + ' ' + (params == null ? "{}" : new TreeMap<>(params).toString());
+    }
+}
@@ -0,0 +1,191 @@
+package dev.quantam.numblejson.benchmark;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.TypeToken;
+import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import test.model.Person;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The documents the benchmarks run against. Each corpus is generated from a fixed seed, so the
+ * input is identical across runs and across library versions.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public enum Corpus {
+    /**
+     * A single small DTO, the most common request and response payload.
+     */
+    PERSON(Person.class) {
+        @Override
+        Object create(Random random) {
+            return new Person("Abraham Lincoln", 56);
+        }
+    },
+    /**
+     * A list of small DTOs, as returned by a typical listing endpoint.
+     */
+    PEOPLE(new TypeToken<List<Person>>() {}.getType()) {
+        @Override
+        Object create(Random random) {
+            List<Person> people = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                people.add(new Person(word(random, 4 + random.nextInt(12)), random.nextInt(100)));
+            }
+            return people;
+        }
+    },
+    /**
+     * An object nested 200 levels deep.
+     */
+    DEEP(Node.class) {
+        @Override
+        Object create(Random random) {
+            Node root = null;
+            for (int i = 0; i < 200; i++) {
+                Node node = new Node();
+                node.id = i;
+                node.name = word(random, 8);
+                node.child = root;
+                root = node;
+            }
+            return root;
+        }
+    },
+    /**
+     * Large arrays of integers and floating point numbers.
+     */
+    NUMBERS(Numbers.class) {
+        @Override
+        Object create(Random random) {
+            Numbers numbers = new Numbers();
+            numbers.ids = new long[10_000];
+            numbers.values = new double[10_000];
+            for (int i = 0; i < 10_000; i++) {
+                numbers.ids[i] = random.nextLong();
+                numbers.values[i] = random.nextGaussian() * 1e6;
+            }
+            return numbers;
+        }
+    },
+    /**
+     * Text-heavy content, including characters that must be escaped.
+     */
+    STRINGS(Texts.class) {
+        @Override
+        Object create(Random random) {
+            Texts texts = new Texts();
+            texts.lines = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                StringBuilder line = new StringBuilder();
+                for (int w = 0; w < 20; w++) {
+                    line.append(word(random, 2 + random.nextInt(9)));
+                    int r = random.nextInt(20);
+                    line.append(r == 0 ? "\n" : r == 1 ? "\t" : r == 2 ? "\"" : r == 3 ? "é中" : " ");
+                }
+                texts.lines.add(line.toString());
+            }
+            return texts;
+        }
+    },
+    /**
+     * Untyped maps with mixed values, bound to {@code Map<String, Object>}.
+     */
+    MAP(new TypeToken<Map<String, Object>>() {}.getType()) {
+        @Override
+        Object create(Random random) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < 200; i++) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("name", word(random, 10));
+                entry.put("count", random.nextInt(1_000_000));
+                entry.put("ratio", random.nextDouble());
+                entry.put("active", random.nextBoolean());
+                entry.put("tags", List.of(word(random, 5), word(random, 6)));
+                map.put("key" + i, entry);
+            }
+            return map;
+        }
+    };
+
+    private final Type type;
+    private Object value;
+    private String json;
+    private byte[] utf8;
+
+    Corpus(Type type) {
+        this.type = type;
+    }
+
+    abstract Object create(Random random);
+
+    /**
+     * Returns the type the documents of this corpus bind to.
+     *
+     * @return the target type
+     */
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * Returns the object graph of this corpus.
+     *
+     * @return the value to serialize
+     */
+    public synchronized Object value() {
+        if (value == null) value = create(new Random(42));
+        return value;
+    }
+
+    /**
+     * Returns the JSON text of this corpus.
+     *
+     * @return the JSON document
+     * @throws JsonSerializationException if the corpus cannot be serialized
+     */
+    public synchronized String json() throws JsonSerializationException {
+        if (json == null) json = NimbleJSON.serialize(value());
+        return json;
+    }
+
+    /**
+     * Returns the UTF-8 encoded JSON text of this corpus.
+     *
+     * @return the JSON document as bytes
+     * @throws JsonSerializationException if the corpus cannot be serialized
+     */
+    public synchronized byte[] utf8() throws JsonSerializationException {
+        if (utf8 == null) utf8 = json().getBytes(StandardCharsets.UTF_8);
+        return utf8;
+    }
+
+    private static String word(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) chars[i] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+
+    public static class Node {
+        public int id;
+        public String name;
+        public Node child;
+    }
+
+    public static class Numbers {
+        public long[] ids;
+        public double[] values;
+    }
+
+    public static class Texts {
+        public List<String> lines;
+    }
+}
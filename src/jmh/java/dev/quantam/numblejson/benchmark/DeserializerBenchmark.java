@@ -0,0 +1,56 @@
+package dev.quantam.numblejson.benchmark;
+
+import dev.quantam.numblejson.engine.JsonDeserializer;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code JsonDeserializer} for every {@link Corpus}, reading from a string, from UTF-8
+ * bytes and through a reader.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DeserializerBenchmark {
+    @Param({"PERSON", "PEOPLE", "DEEP", "NUMBERS", "STRINGS", "MAP"})
+    public Corpus corpus;
+
+    private Type type;
+    private String json;
+    private byte[] utf8;
+
+    @Setup
+    public void setup() throws JsonSerializationException {
+        type = corpus.type();
+        json = corpus.json();
+        utf8 = corpus.utf8();
+    }
+
+    @Benchmark
+    public Object fromString() throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(new JsonTokenizer(json), type);
+    }
+
+    @Benchmark
+    public Object fromBytes() throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(new Utf8JsonTokenizer(utf8), type);
+    }
+
+    @Benchmark
+    public Object fromReader() throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(new JsonTokenizer(new StringReader(json)), type);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.quantam.numblejson.benchmark;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.engine.BufferRecycler;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the public {@link NimbleJSON} entry points for every {@link Corpus}: the static methods,
+ * a shared instance whose buffers come from its {@link BufferRecycler}, and an instance whose pool
+ * keeps no buffers, so that the gain of recycling shows up in time and allocation rate.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NimbleJsonBenchmark {
+    @Param({"PERSON", "PEOPLE", "DEEP", "NUMBERS", "STRINGS", "MAP"})
+    public Corpus corpus;
+
+    private final NimbleJSON pooled = NimbleJSON.builder().build();
+    private final NimbleJSON unpooled = NimbleJSON.builder().recycler(new BufferRecycler(1, 0)).build();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private Type type;
+    private String json;
+    private Object value;
+
+    @Setup
+    public void setup() throws JsonSerializationException {
+        type = corpus.type();
+        json = corpus.json();
+        value = corpus.value();
+    }
+
+    @Benchmark
+    public Object staticDeserialize() throws JsonDeserializationException {
+        return NimbleJSON.deserialize(json, type);
+    }
+
+    @Benchmark
+    public Object pooledFromJson() throws JsonDeserializationException {
+        return pooled.fromJson(json, type);
+    }
+
+    @Benchmark
+    public Object unpooledFromJson() throws JsonDeserializationException {
+        return unpooled.fromJson(json, type);
+    }
+
+    @Benchmark
+    public String staticSerialize() throws JsonSerializationException {
+        return NimbleJSON.serialize(value);
+    }
+
+    @Benchmark
+    public String pooledToJson() throws JsonSerializationException {
+        return pooled.toJson(value);
+    }
+
+    @Benchmark
+    public String unpooledToJson() throws JsonSerializationException {
+        return unpooled.toJson(value);
+    }
+
+    @Benchmark
+    public byte[] pooledToJsonBytes() throws JsonSerializationException {
+        return pooled.toJsonBytes(value);
+    }
+
+    @Benchmark
+    public void pooledToStream() throws JsonSerializationException {
+        pooled.toJson(value, sink);
+    }
+}
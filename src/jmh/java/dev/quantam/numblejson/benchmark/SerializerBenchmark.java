@@ -0,0 +1,49 @@
+package dev.quantam.numblejson.benchmark;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code JsonSerializer} for every {@link Corpus}, writing to a string, to a byte array
+ * and straight to a stream.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializerBenchmark {
+    @Param({"PERSON", "PEOPLE", "DEEP", "NUMBERS", "STRINGS", "MAP"})
+    public Corpus corpus;
+
+    private Object value;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setup() {
+        value = corpus.value();
+    }
+
+    @Benchmark
+    public String toJsonString() throws JsonSerializationException {
+        return NimbleJSON.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws JsonSerializationException {
+        return NimbleJSON.serializeToBytes(value);
+    }
+
+    @Benchmark
+    public void toStream() throws JsonSerializationException {
+        NimbleJSON.serialize(value, sink);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.quantam.numblejson.benchmark;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.StructuralIndex;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the raw token throughput of {@code JsonTokenizer} and {@code Utf8JsonTokenizer} for
+ * every {@link Corpus}, without any binding. The {@code baseline} benchmarks only visit every
+ * character or byte once and give the lower bound that tokenizing is compared against. The
+ * {@code indexed} benchmarks build a {@link StructuralIndex} first; forks run with the Vector API
+ * module so that it is built with SIMD instructions.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class TokenizerBenchmark {
+    @Param({"PERSON", "PEOPLE", "DEEP", "NUMBERS", "STRINGS", "MAP"})
+    public Corpus corpus;
+
+    private String json;
+    private byte[] utf8;
+
+    @Setup
+    public void setup() throws JsonSerializationException {
+        json = corpus.json();
+        utf8 = corpus.utf8();
+    }
+
+    @Benchmark
+    public int chars() throws JsonDeserializationException {
+        return drain(new JsonTokenizer(json));
+    }
+
+    @Benchmark
+    public int bytes() throws JsonDeserializationException {
+        return drain(new Utf8JsonTokenizer(utf8));
+    }
+
+    @Benchmark
+    public int indexedBytes() throws JsonDeserializationException {
+        return drain(Utf8JsonTokenizer.indexed(utf8, 0, utf8.length));
+    }
+
+    @Benchmark
+    public int structuralIndex() throws JsonDeserializationException {
+        return StructuralIndex.of(utf8, 0, utf8.length).size();
+    }
+
+    @Benchmark
+    public int baselineChars() {
+        int quotes = 0;
+        for (int i = 0; i < json.length(); i++) {
+            if (json.charAt(i) == '"') quotes++;
+        }
+        return quotes;
+    }
+
+    @Benchmark
+    public int baselineBytes() {
+        int quotes = 0;
+        for (byte b : utf8) {
+            if (b == '"') quotes++;
+        }
+        return quotes;
+    }
+
+    private static int drain(JsonLexer lexer) throws JsonDeserializationException {
+        int tokens = 0;
+        while (lexer.next() != JsonToken.END) tokens++;
+        return tokens;
+    }
+}
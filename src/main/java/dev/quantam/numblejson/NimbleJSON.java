@@ -1,22 +1,329 @@
 package dev.quantam.numblejson;
 
 
+import dev.quantam.numblejson.engine.BufferRecycler;
+import dev.quantam.numblejson.engine.CodecRegistry;
+import dev.quantam.numblejson.engine.JsonConfig;
 import dev.quantam.numblejson.engine.JsonDeserializer;
+import dev.quantam.numblejson.engine.JsonProjection;
 import dev.quantam.numblejson.engine.JsonSerializer;
+import dev.quantam.numblejson.engine.NdjsonReader;
+import dev.quantam.numblejson.engine.NdjsonWriter;
+import dev.quantam.numblejson.engine.ParallelArrayReader;
+import dev.quantam.numblejson.annotations.JsonInclude;
 import dev.quantam.numblejson.exceptions.JsonDeserializationException;
 import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import dev.quantam.numblejson.interfaces.IJsonCodec;
+import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import dev.quantam.numblejson.interfaces.IJsonSerializer;
+import dev.quantam.numblejson.output.CharJsonOutput;
+import dev.quantam.numblejson.output.Utf8JsonOutput;
+import dev.quantam.numblejson.streaming.JsonHandler;
+import dev.quantam.numblejson.streaming.JsonReader;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8Reader;
+import dev.quantam.numblejson.tree.JsonNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * NimbleJSON: A lightweight, fast JSON serialization and deserialization library.
  * This class provides methods to convert Java objects to JSON strings and vice versa.
+ * <p>
+ * The static methods use the default settings and the global codec registry, and allocate fresh
+ * buffers for every call. An instance, created with {@link #builder()}, offers the same conversions
+ * through {@link #toJson(Object)} and {@link #fromJson(String, Class)} with its own {@link JsonConfig}:
+ * settings, codecs and a cache of class metadata, plus a {@link BufferRecycler} for its parse and
+ * output buffers. Instances are immutable and thread-safe; sharing one across all threads lets every
+ * call benefit from its warmed-up caches.
  *
  * @author quantam
  * @version 1.0
  */
 public class NimbleJSON {
+    private final JsonConfig config;
+    private final BufferRecycler recycler;
+
+    /**
+     * Constructs a {@code NimbleJSON} instance with the default settings and a default-sized buffer pool.
+     */
+    public NimbleJSON() {
+        this(JsonConfig.DEFAULT, new BufferRecycler());
+    }
+
+    private NimbleJSON(JsonConfig config, BufferRecycler recycler) {
+        this.config = config;
+        this.recycler = recycler;
+    }
+
+    /**
+     * Creates a builder for a configured {@code NimbleJSON} instance.
+     *
+     * @return The builder, starting from the default settings
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the settings, codecs and metadata cache of this instance.
+     *
+     * @return The configuration
+     */
+    public JsonConfig config() {
+        return config;
+    }
+
+    /**
+     * Returns the buffer pool of this instance.
+     *
+     * @return The buffer pool
+     */
+    public BufferRecycler recycler() {
+        return recycler;
+    }
+
+    /**
+     * Serializes an object to a JSON string, building it in a pooled buffer.
+     *
+     * @param obj The object to serialize
+     * @return A JSON string representation of the object
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public String toJson(Object obj) throws JsonSerializationException {
+        CharJsonOutput out = new CharJsonOutput(recycler.chars(0));
+        try {
+            JsonSerializer.serialize(obj, out, config);
+            return out.toString();
+        } finally {
+            recycler.release(out.buffer());
+        }
+    }
+
+    /**
+     * Serializes an object to UTF-8 encoded JSON bytes, building them in a pooled buffer.
+     *
+     * @param obj The object to serialize
+     * @return The UTF-8 encoded JSON representation of the object
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public byte[] toJsonBytes(Object obj) throws JsonSerializationException {
+        Utf8JsonOutput out = new Utf8JsonOutput(recycler.bytes(0));
+        try {
+            JsonSerializer.serialize(obj, out, config);
+            return out.toByteArray();
+        } finally {
+            recycler.release(out.buffer());
+        }
+    }
+
+    /**
+     * Serializes an object and streams the JSON to a writer through a pooled buffer.
+     * The writer is flushed but not closed.
+     *
+     * @param obj The object to serialize
+     * @param writer The writer to write the JSON to
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public void toJson(Object obj, Writer writer) throws JsonSerializationException {
+        char[] buffer = recycler.chars(0);
+        try {
+            JsonSerializer.serialize(obj, new CharJsonOutput(writer, buffer), config);
+        } finally {
+            recycler.release(buffer);
+        }
+    }
+
+    /**
+     * Serializes an object and streams the JSON to an output stream as UTF-8 through a pooled buffer.
+     * The stream is flushed but not closed.
+     *
+     * @param obj The object to serialize
+     * @param stream The stream to write the JSON to
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public void toJson(Object obj, OutputStream stream) throws JsonSerializationException {
+        byte[] buffer = recycler.bytes(0);
+        try {
+            JsonSerializer.serialize(obj, new Utf8JsonOutput(stream, buffer), config);
+        } finally {
+            recycler.release(buffer);
+        }
+    }
+
+    /**
+     * Deserializes a JSON string to an object of the specified class. The string is tokenized
+     * from a pooled copy of its characters.
+     *
+     * @param json The JSON string to deserialize
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON string
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public <T> T fromJson(String json, Class<T> clazz) throws JsonDeserializationException {
+        int n = json.length();
+        char[] buffer = recycler.chars(n);
+        json.getChars(0, n, buffer, 0);
+        try {
+            return JsonDeserializer.deserializeDocument(new JsonTokenizer(buffer, 0, n), clazz, JsonProjection.ALL, config);
+        } finally {
+            recycler.release(buffer);
+        }
+    }
+
+    /**
+     * Deserializes a JSON string to an object of the specified generic type. The string is tokenized
+     * from a pooled copy of its characters.
+     *
+     * @param json The JSON string to deserialize
+     * @param type The type to deserialize to, for example a {@link java.lang.reflect.ParameterizedType}
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified type populated with data from the JSON string
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public <T> T fromJson(String json, Type type) throws JsonDeserializationException {
+        int n = json.length();
+        char[] buffer = recycler.chars(n);
+        json.getChars(0, n, buffer, 0);
+        try {
+            return JsonDeserializer.deserializeDocument(new JsonTokenizer(buffer, 0, n), type, config);
+        } finally {
+            recycler.release(buffer);
+        }
+    }
+
+    /**
+     * Deserializes a JSON string to an object of the type captured by a {@link TypeToken}.
+     *
+     * @param json The JSON string to deserialize
+     * @param token The token capturing the type to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the captured type populated with data from the JSON string
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public <T> T fromJson(String json, TypeToken<T> token) throws JsonDeserializationException {
+        return fromJson(json, token.getType());
+    }
+
+    /**
+     * Deserializes UTF-8 encoded JSON bytes to an object of the specified class. The bytes are read in place.
+     *
+     * @param json The UTF-8 encoded JSON text
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public <T> T fromJson(byte[] json, Class<T> clazz) throws JsonDeserializationException {
+        return JsonDeserializer.deserializeDocument(new Utf8JsonTokenizer(json), clazz, JsonProjection.ALL, config);
+    }
+
+    /**
+     * Deserializes JSON read from a reader to an object of the specified class, consuming the input
+     * through a pooled buffer. The reader is not closed.
+     *
+     * @param reader The reader supplying the JSON text
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public <T> T fromJson(Reader reader, Class<T> clazz) throws JsonDeserializationException {
+        JsonTokenizer tokenizer = new JsonTokenizer(reader, recycler.chars(0));
+        try {
+            return JsonDeserializer.deserializeDocument(tokenizer, clazz, JsonProjection.ALL, config);
+        } finally {
+            recycler.release(tokenizer.buffer());
+        }
+    }
+
+    /**
+     * Deserializes UTF-8 JSON read from an input stream to an object of the specified class, decoding
+     * and consuming the input through pooled buffers. The stream is not closed.
+     *
+     * @param stream The stream supplying the JSON bytes
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public <T> T fromJson(InputStream stream, Class<T> clazz) throws JsonDeserializationException {
+        Utf8Reader reader = new Utf8Reader(stream, recycler.bytes(0));
+        try {
+            return fromJson(reader, clazz);
+        } finally {
+            recycler.release(reader.buffer());
+        }
+    }
+
+    /**
+     * Creates a reader that binds the elements of a large top-level JSON array in parallel with the
+     * settings and codecs of this instance.
+     *
+     * @param elementType The class of the array elements
+     * @param <T> The type of the elements
+     * @return The reader, which may be configured further
+     */
+    public <T> ParallelArrayReader<T> arrayReader(Class<T> elementType) {
+        return ParallelArrayReader.of(elementType).config(config);
+    }
 
-    private NimbleJSON() {
-        // Private constructor to prevent instantiation
+    /**
+     * Creates a reader that binds the elements of a large top-level JSON array of a generic type in
+     * parallel with the settings and codecs of this instance.
+     *
+     * @param elementType The type of the array elements, for example a {@link java.lang.reflect.ParameterizedType}
+     * @param <T> The type of the elements
+     * @return The reader, which may be configured further
+     */
+    public <T> ParallelArrayReader<T> arrayReader(Type elementType) {
+        return ParallelArrayReader.<T>of(elementType).config(config);
+    }
+
+    /**
+     * Creates a sequential reader of newline-delimited JSON that binds every line with the settings
+     * and codecs of this instance.
+     *
+     * @param clazz The class of the value on each line
+     * @param <T> The type of the values
+     * @return The reader, which may be configured further
+     */
+    public <T> NdjsonReader<T> linesReader(Class<T> clazz) {
+        return NdjsonReader.of(clazz).config(config);
+    }
+
+    /**
+     * Creates a sequential reader of newline-delimited JSON values of a generic type that binds every
+     * line with the settings and codecs of this instance.
+     *
+     * @param type The type of the value on each line, for example a {@link java.lang.reflect.ParameterizedType}
+     * @param <T> The type of the values
+     * @return The reader, which may be configured further
+     */
+    public <T> NdjsonReader<T> linesReader(Type type) {
+        return NdjsonReader.<T>of(type).config(config);
+    }
+
+    /**
+     * Creates a writer of newline-delimited JSON that serializes every value with the settings and
+     * codecs of this instance.
+     *
+     * @param stream The stream to write the UTF-8 encoded lines to, closed when the writer is closed
+     * @return The writer
+     */
+    public NdjsonWriter linesWriter(OutputStream stream) {
+        return new NdjsonWriter(stream, config);
     }
 
     /**
@@ -30,6 +337,62 @@ public class NimbleJSON {
         return JsonSerializer.serialize(obj);
     }
 
+    /**
+     * Serializes an object and streams the JSON to a writer. The writer is flushed but not closed.
+     *
+     * @param obj The object to serialize
+     * @param writer The writer to write the JSON to
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public static void serialize(Object obj, Writer writer) throws JsonSerializationException {
+        JsonSerializer.serialize(obj, writer);
+    }
+
+    /**
+     * Serializes an object to UTF-8 encoded JSON bytes, without building an intermediate string.
+     *
+     * @param obj The object to serialize
+     * @return The UTF-8 encoded JSON representation of the object
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public static byte[] serializeToBytes(Object obj) throws JsonSerializationException {
+        return JsonSerializer.serializeToBytes(obj);
+    }
+
+    /**
+     * Serializes an object as UTF-8 encoded JSON into a heap or direct buffer, starting at its position.
+     *
+     * @param obj The object to serialize
+     * @param target The buffer to write the JSON to
+     * @throws JsonSerializationException If an error occurs or the JSON does not fit in the buffer
+     */
+    public static void serialize(Object obj, ByteBuffer target) throws JsonSerializationException {
+        JsonSerializer.serialize(obj, target);
+    }
+
+    /**
+     * Serializes an object and streams the JSON to an output stream as UTF-8.
+     * The stream is flushed but not closed.
+     *
+     * @param obj The object to serialize
+     * @param stream The stream to write the JSON to
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public static void serialize(Object obj, OutputStream stream) throws JsonSerializationException {
+        JsonSerializer.serialize(obj, stream);
+    }
+
+    /**
+     * Serializes an object and appends the JSON to an appendable, such as a {@link StringBuilder}.
+     *
+     * @param obj The object to serialize
+     * @param appendable The appendable to write the JSON to
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public static void serialize(Object obj, Appendable appendable) throws JsonSerializationException {
+        JsonSerializer.serialize(obj, appendable);
+    }
+
     /**
      * Deserializes a JSON string to an object of the specified class.
      *
@@ -42,4 +405,450 @@ public class NimbleJSON {
     public static <T> T deserialize(String json, Class<T> clazz) throws JsonDeserializationException {
         return JsonDeserializer.deserialize(json, clazz);
     }
-}
\ No newline at end of file
+
+    /**
+     * Deserializes only the selected properties of a JSON string, skipping every other value
+     * without decoding it. Paths are dot-separated property names such as {@code "address.city"}.
+     *
+     * @param json The JSON string to deserialize
+     * @param clazz The class of the object to deserialize to
+     * @param fields The property paths to bind
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class with the selected properties populated
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(String json, Class<T> clazz, String... fields) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(json, clazz, JsonProjection.of(fields));
+    }
+
+    /**
+     * Deserializes only the properties selected by a prebuilt projection of a JSON string.
+     *
+     * @param json The JSON string to deserialize
+     * @param clazz The class of the object to deserialize to
+     * @param projection The property paths to bind
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class with the selected properties populated
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(String json, Class<T> clazz, JsonProjection projection) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(json, clazz, projection);
+    }
+
+    /**
+     * Deserializes only the properties selected by a prebuilt projection of UTF-8 encoded JSON bytes.
+     *
+     * @param json The UTF-8 encoded JSON text
+     * @param clazz The class of the object to deserialize to
+     * @param projection The property paths to bind
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class with the selected properties populated
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(byte[] json, Class<T> clazz, JsonProjection projection) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(json, 0, json.length, clazz, projection);
+    }
+
+    /**
+     * Deserializes a JSON string to an object of the generic type captured by a {@link TypeToken},
+     * such as {@code new TypeToken<List<Person>>() {}}.
+     *
+     * @param json The JSON string to deserialize
+     * @param token The token capturing the type to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the captured type populated with data from the JSON string
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(String json, TypeToken<T> token) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(json, token.getType());
+    }
+
+    /**
+     * Deserializes a JSON string to an object of the specified generic type.
+     *
+     * @param json The JSON string to deserialize
+     * @param type The type to deserialize to, for example a {@link java.lang.reflect.ParameterizedType}
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified type populated with data from the JSON string
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(String json, Type type) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(json, type);
+    }
+
+    /**
+     * Deserializes JSON read from a reader to an object of the specified class.
+     * The input is consumed through a bounded buffer and the reader is not closed.
+     *
+     * @param reader The reader supplying the JSON text
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(Reader reader, Class<T> clazz) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(reader, clazz);
+    }
+
+    /**
+     * Deserializes UTF-8 JSON read from an input stream to an object of the specified class.
+     * The input is consumed through a bounded buffer and the stream is not closed.
+     *
+     * @param stream The stream supplying the JSON bytes
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(InputStream stream, Class<T> clazz) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(stream, clazz);
+    }
+
+    /**
+     * Deserializes UTF-8 encoded JSON bytes to an object of the specified class without first decoding them to a string.
+     *
+     * @param json The array holding the UTF-8 encoded JSON text
+     * @param offset The index of the first byte
+     * @param length The number of bytes
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(byte[] json, int offset, int length, Class<T> clazz) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(json, offset, length, clazz);
+    }
+
+    /**
+     * Deserializes UTF-8 encoded JSON bytes to an object of the specified class without first decoding them to a string.
+     *
+     * @param json The UTF-8 encoded JSON text
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(byte[] json, Class<T> clazz) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(json, 0, json.length, clazz);
+    }
+
+    /**
+     * Deserializes the remaining UTF-8 encoded bytes of a heap or direct buffer to an object of the specified class.
+     * The buffer is read in place and its position is left unchanged.
+     *
+     * @param json The buffer holding the UTF-8 encoded JSON text
+     * @param clazz The class of the object to deserialize to
+     * @param <T> The type of the object to deserialize to
+     * @return An instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException If an error occurs during deserialization
+     */
+    public static <T> T deserialize(ByteBuffer json, Class<T> clazz) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(json, clazz);
+    }
+
+    /**
+     * Deserializes the elements of a large top-level JSON array in parallel. The element boundaries
+     * are found in a quick first pass and the elements are then bound on the common fork-join pool.
+     *
+     * @param json The JSON array
+     * @param elementType The class of the array elements
+     * @param <T> The type of the elements
+     * @return A list of the elements, in array order
+     * @throws JsonDeserializationException If the input is not an array or an element cannot be bound
+     */
+    public static <T> List<T> deserializeListParallel(String json, Class<T> elementType) throws JsonDeserializationException {
+        return ParallelArrayReader.of(elementType).readList(json);
+    }
+
+    /**
+     * Deserializes the elements of a large top-level UTF-8 encoded JSON array in parallel, reading the bytes in place.
+     *
+     * @param json The UTF-8 encoded JSON array
+     * @param elementType The class of the array elements
+     * @param <T> The type of the elements
+     * @return A list of the elements, in array order
+     * @throws JsonDeserializationException If the input is not an array or an element cannot be bound
+     */
+    public static <T> List<T> deserializeListParallel(byte[] json, Class<T> elementType) throws JsonDeserializationException {
+        return ParallelArrayReader.of(elementType).readList(json);
+    }
+
+    /**
+     * Reads a newline-delimited JSON file, one value per line, decoding chunks of the memory-mapped
+     * file in parallel. Values are delivered in file order. Use {@link NdjsonReader} for other options.
+     *
+     * @param path The file to read
+     * @param clazz The class of the value on each line
+     * @param <T> The type of the values
+     * @return The values, which must be closed to release the file
+     * @throws IOException If the file cannot be opened
+     */
+    public static <T> Stream<T> deserializeLines(Path path, Class<T> clazz) throws IOException {
+        return NdjsonReader.of(clazz).parallel().read(path);
+    }
+
+    /**
+     * Reads newline-delimited JSON from an input stream, one value per line, decoding chunks in parallel.
+     * Values are delivered in input order and the input stream is not closed.
+     *
+     * @param stream The stream supplying the UTF-8 encoded lines
+     * @param clazz The class of the value on each line
+     * @param <T> The type of the values
+     * @return The values
+     */
+    public static <T> Stream<T> deserializeLines(InputStream stream, Class<T> clazz) {
+        return NdjsonReader.of(clazz).parallel().read(stream);
+    }
+
+    /**
+     * Serializes every value of an iterable as newline-delimited JSON, one value per line.
+     * The stream is flushed but not closed.
+     *
+     * @param values The values to serialize
+     * @param stream The stream to write the lines to
+     * @throws JsonSerializationException If an error occurs during serialization
+     */
+    public static void serializeLines(Iterable<?> values, OutputStream stream) throws JsonSerializationException {
+        NdjsonWriter writer = new NdjsonWriter(stream);
+        writer.writeAll(values);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new JsonSerializationException("Error during serialization", e);
+        }
+    }
+
+    /**
+     * Parses a JSON string into a lazy tree. The document is validated and indexed in one pass,
+     * but values are only decoded when they are accessed.
+     *
+     * @param json The JSON string to parse
+     * @return The root node of the document
+     * @throws JsonDeserializationException If the input is not valid JSON
+     */
+    public static JsonNode parseTree(String json) throws JsonDeserializationException {
+        return JsonNode.parse(json);
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON into a lazy tree, reading the bytes in place.
+     *
+     * @param json The UTF-8 encoded JSON text, which must not change while the tree is in use
+     * @return The root node of the document
+     * @throws JsonDeserializationException If the input is not valid JSON
+     */
+    public static JsonNode parseTree(byte[] json) throws JsonDeserializationException {
+        return JsonNode.parse(json);
+    }
+
+    /**
+     * Creates a pull parser over a JSON string, for reading documents event by event without binding them.
+     *
+     * @param json The JSON string to read
+     * @return A reader positioned before the first event
+     */
+    public static JsonReader reader(String json) {
+        return JsonReader.of(json);
+    }
+
+    /**
+     * Creates a pull parser over UTF-8 encoded JSON bytes, which are read in place.
+     *
+     * @param json The UTF-8 encoded JSON text
+     * @return A reader positioned before the first event
+     */
+    public static JsonReader reader(byte[] json) {
+        return JsonReader.of(json);
+    }
+
+    /**
+     * Creates a pull parser that consumes UTF-8 JSON from an input stream through a bounded buffer.
+     * The stream is not closed.
+     *
+     * @param stream The stream supplying the JSON bytes
+     * @return A reader positioned before the first event
+     */
+    public static JsonReader reader(InputStream stream) {
+        return JsonReader.of(stream);
+    }
+
+    /**
+     * Parses a JSON string and reports its structure and values to a handler, without binding them.
+     *
+     * @param json The JSON string to parse
+     * @param handler The handler receiving the events
+     * @throws JsonDeserializationException If the input is not valid JSON
+     */
+    public static void parse(String json, JsonHandler handler) throws JsonDeserializationException {
+        JsonReader.of(json).parse(handler);
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON bytes in place and reports their structure and values to a handler,
+     * without binding them.
+     *
+     * @param json The UTF-8 encoded JSON text
+     * @param handler The handler receiving the events
+     * @throws JsonDeserializationException If the input is not valid JSON
+     */
+    public static void parse(byte[] json, JsonHandler handler) throws JsonDeserializationException {
+        JsonReader.of(json).parse(handler);
+    }
+
+    /**
+     * Parses UTF-8 JSON from an input stream in constant memory and reports its structure and values
+     * to a handler. The stream is not closed.
+     *
+     * @param stream The stream supplying the JSON bytes
+     * @param handler The handler receiving the events
+     * @throws JsonDeserializationException If the input is not valid JSON
+     */
+    public static void parse(InputStream stream, JsonHandler handler) throws JsonDeserializationException {
+        JsonReader.of(stream).parse(handler);
+    }
+
+    /**
+     * Registers a serializer for every value of the given class, wherever it appears, for the static methods and for every instance.
+     * The serializer is shared and must be thread-safe.
+     *
+     * @param type The class to serialize
+     * @param serializer The serializer producing the raw JSON of a value
+     * @param <T> The type of the values
+     */
+    public static <T> void registerSerializer(Class<T> type, IJsonSerializer<? super T> serializer) {
+        CodecRegistry.registerSerializer(type, serializer);
+    }
+
+    /**
+     * Registers a deserializer for every value bound to the given class, wherever it appears, for the static methods and for every instance.
+     * The deserializer is shared and must be thread-safe.
+     *
+     * @param type The class to deserialize
+     * @param deserializer The deserializer receiving the raw JSON of a value
+     * @param <T> The type of the values
+     */
+    public static <T> void registerDeserializer(Class<T> type, IJsonDeserializer<? extends T> deserializer) {
+        CodecRegistry.registerDeserializer(type, deserializer);
+    }
+
+    /**
+     * Registers a streaming codec for objects of the given class, replacing reflective binding
+     * and any generated codec, for the static methods and for every instance. The codec is shared
+     * and must be thread-safe.
+     *
+     * @param type The class the codec binds
+     * @param codec The codec
+     * @param <T> The type of the values
+     */
+    public static <T> void registerCodec(Class<T> type, IJsonCodec<T> codec) {
+        CodecRegistry.registerCodec(type, codec);
+    }
+
+    /**
+     * Builds immutable {@code NimbleJSON} instances. A builder is not thread-safe and may be reused;
+     * each call to {@link #build()} takes a snapshot of its current state.
+     */
+    public static final class Builder {
+        private final JsonConfig.Builder config = JsonConfig.builder();
+        private BufferRecycler recycler;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets whether JSON members that match no property of the target class fail deserialization
+         * instead of being skipped. Defaults to {@code false}.
+         *
+         * @param fail {@code true} to fail on unknown properties
+         * @return This builder
+         */
+        public Builder failOnUnknownProperties(boolean fail) {
+            config.failOnUnknownProperties(fail);
+            return this;
+        }
+
+        /**
+         * Sets how numbers are bound to values declared as {@code Object} or {@code Number}.
+         * Defaults to {@link JsonConfig.NumberMode#NATURAL}.
+         *
+         * @param mode The number mode
+         * @return This builder
+         */
+        public Builder numberMode(JsonConfig.NumberMode mode) {
+            config.numberMode(mode);
+            return this;
+        }
+
+        /**
+         * Sets the inclusion rule of fields without a {@link JsonInclude} annotation.
+         * Defaults to {@link JsonInclude.Include#ALWAYS}.
+         *
+         * @param include The default inclusion rule
+         * @return This builder
+         */
+        public Builder defaultInclusion(JsonInclude.Include include) {
+            config.defaultInclusion(include);
+            return this;
+        }
+
+        /**
+         * Registers a streaming codec for objects of the given class, for this instance only.
+         *
+         * @param type The class the codec binds
+         * @param codec The codec, which must be thread-safe
+         * @param <T> The type of the values
+         * @return This builder
+         */
+        public <T> Builder registerCodec(Class<T> type, IJsonCodec<T> codec) {
+            config.codec(type, codec);
+            return this;
+        }
+
+        /**
+         * Registers a serializer for every value of the given class, for this instance only.
+         *
+         * @param type The class to serialize
+         * @param serializer The serializer producing the raw JSON of a value, which must be thread-safe
+         * @param <T> The type of the values
+         * @return This builder
+         */
+        public <T> Builder registerSerializer(Class<T> type, IJsonSerializer<? super T> serializer) {
+            config.serializer(type, serializer);
+            return this;
+        }
+
+        /**
+         * Registers a deserializer for every value bound to the given class, for this instance only.
+         *
+         * @param type The class to deserialize
+         * @param deserializer The deserializer receiving the raw JSON of a value, which must be thread-safe
+         * @param <T> The type of the values
+         * @return This builder
+         */
+        public <T> Builder registerDeserializer(Class<T> type, IJsonDeserializer<? extends T> deserializer) {
+            config.deserializer(type, deserializer);
+            return this;
+        }
+
+        /**
+         * Sets the buffer pool, which may be shared with other instances. By default each instance
+         * gets a pool of its own.
+         *
+         * @param recycler The buffer pool
+         * @return This builder
+         */
+        public Builder recycler(BufferRecycler recycler) {
+            this.recycler = recycler;
+            return this;
+        }
+
+        /**
+         * Builds an instance from the current state of this builder.
+         *
+         * @return The instance
+         */
+        public NimbleJSON build() {
+            return new NimbleJSON(config.build(), recycler != null ? recycler : new BufferRecycler());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dev.quantam.numblejson;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Captures a full generic type, such as {@code List<Person>}, so that it survives erasure and can be
+ * passed to {@link NimbleJSON#deserialize(String, TypeToken)}.
+ * <p>
+ * Create it as an anonymous subclass; the type argument is read from the generic superclass:
+ * <pre>{@code
+ * List<Person> people = NimbleJSON.deserialize(json, new TypeToken<List<Person>>() {});
+ * }</pre>
+ *
+ * @param <T> the captured type
+ * @author quantam
+ * @version 1.0
+ */
+public abstract class TypeToken<T> {
+    private final Type type;
+
+    /**
+     * Constructs a {@code TypeToken} from the type argument of the anonymous subclass.
+     *
+     * @throws IllegalStateException if the subclass does not specify a type argument
+     */
+    protected TypeToken() {
+        Type superclass = getClass().getGenericSuperclass();
+        if (!(superclass instanceof ParameterizedType)) {
+            throw new IllegalStateException("TypeToken must be created with a type argument");
+        }
+        this.type = ((ParameterizedType) superclass).getActualTypeArguments()[0];
+    }
+
+    /**
+     * Returns the captured type.
+     *
+     * @return the generic type represented by this token
+     */
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+}
@@ -0,0 +1,20 @@
+package dev.quantam.numblejson.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation marking the constructor used to create instances during deserialization, instead of
+ * the no-argument constructor. Each parameter receives the property of the same name, given by
+ * {@link JsonProperty} on the parameter or, for classes compiled with {@code -parameters}, by the
+ * parameter name. Records are created through their canonical constructor without this annotation.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.CONSTRUCTOR)
+public @interface JsonCreator {
+}
@@ -6,7 +6,13 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Specifies the date format to use when serializing/deserializing Date fields.
+ * Specifies the date format to use when serializing/deserializing date and time fields.
+ * Supported field types are {@link java.util.Date}, {@link java.time.Instant},
+ * {@link java.time.LocalDate}, {@link java.time.LocalDateTime}, {@link java.time.LocalTime},
+ * {@link java.time.OffsetDateTime}, {@link java.time.OffsetTime}, {@link java.time.ZonedDateTime},
+ * {@link java.time.Year} and {@link java.time.YearMonth}.
+ * Without this annotation, {@code Date} and {@code Instant} values are written as epoch
+ * milliseconds and the {@code java.time} types as ISO-8601 strings.
  *
  * @author quantam
  * @version 1.0
@@ -15,7 +21,16 @@ import java.lang.annotation.Target;
 @Target(ElementType.FIELD)
 public @interface JsonDateFormat {
     /**
-     * The date format pattern to use (e.g., "yyyy-MM-dd HH:mm:ss").
+     * The pattern that writes and reads the value as a number of milliseconds since the epoch.
+     */
+    String EPOCH_MILLIS = "epoch-millis";
+
+    /**
+     * The date format pattern to use (e.g., "yyyy-MM-dd HH:mm:ss"), or {@link #EPOCH_MILLIS}.
+     * On {@code Date} fields the pattern has the syntax and semantics of {@link java.text.SimpleDateFormat};
+     * on {@code java.time} fields those of {@link java.time.format.DateTimeFormatter}. The two differ
+     * for some letters, such as {@code u} and {@code S}. A pattern that is invalid for the field type
+     * is rejected when the class is first bound.
      */
     String value();
 }
\ No newline at end of file
@@ -20,4 +20,10 @@ public @interface JsonDeserialize {
      * The custom deserializer class to use.
      */
     Class<? extends IJsonDeserializer<?>> using();
+
+    /**
+     * Whether one instance of the deserializer may be shared by all fields and threads.
+     * Set to {@code false} for stateful deserializers, which are then created for every value.
+     */
+    boolean shared() default true;
 }
\ No newline at end of file
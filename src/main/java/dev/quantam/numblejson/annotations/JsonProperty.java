@@ -6,13 +6,14 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Annotation for specifying the JSON property name associated with a field.
+ * Annotation for specifying the JSON property name associated with a field, or with a parameter
+ * of a {@link JsonCreator} constructor.
  *
  * @author quantam
  * @version 1.0
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
 public @interface JsonProperty {
 
     /**
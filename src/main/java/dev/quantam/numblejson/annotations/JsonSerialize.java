@@ -21,4 +21,10 @@ public @interface JsonSerialize {
      * The custom serializer class to use.
      */
     Class<? extends IJsonSerializer<?>> using();
+
+    /**
+     * Whether one instance of the serializer may be shared by all fields and threads.
+     * Set to {@code false} for stateful serializers, which are then created for every value.
+     */
+    boolean shared() default true;
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package dev.quantam.numblejson.engine;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free pool of {@code char[]} and {@code byte[]} buffers for tokenizers and outputs.
+ * <p>
+ * Buffers are kept in a fixed number of slots that are claimed and refilled with a compare-and-set.
+ * A thread starts looking at a slot derived from its id and probes a few neighbours, so threads
+ * rarely contend for the same slot. Nothing is bound to a thread: a buffer is returned to the pool
+ * as soon as the operation that borrowed it is done, which keeps the pool small and effective with
+ * virtual threads, whereas a {@link ThreadLocal} would keep one buffer per thread alive.
+ * <p>
+ * Memory held by the pool is bounded: a buffer longer than {@link #maxBufferSize()} is dropped
+ * instead of being returned, so one oversized document cannot keep a huge buffer pinned, and a
+ * buffer returned to a full pool is left to the garbage collector.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class BufferRecycler {
+    /**
+     * The length of newly allocated buffers, unless a request needs more.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    /**
+     * The default upper bound, in elements, on the length of buffers kept by the pool.
+     */
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 64 * 1024;
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<char[]> chars;
+    private final AtomicReferenceArray<byte[]> bytes;
+    private final int mask;
+    private final int maxBufferSize;
+
+    /**
+     * Constructs a {@code BufferRecycler} with four slots per processor for each kind of buffer
+     * and the {@link #DEFAULT_MAX_BUFFER_SIZE default} size cap.
+     */
+    public BufferRecycler() {
+        this(4 * Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a {@code BufferRecycler} with the given capacity.
+     *
+     * @param slots         the number of buffers of each kind the pool can hold, rounded up to a power of two
+     * @param maxBufferSize the length, in elements, above which a buffer is not kept
+     */
+    public BufferRecycler(int slots, int maxBufferSize) {
+        if (slots <= 0) throw new IllegalArgumentException("Slots must be positive: " + slots);
+        if (maxBufferSize < 0) throw new IllegalArgumentException("Negative buffer size: " + maxBufferSize);
+        int size = Math.max(Integer.highestOneBit(slots - 1) << 1, 1);
+        this.chars = new AtomicReferenceArray<>(size);
+        this.bytes = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    /**
+     * Returns the length above which a released buffer is dropped.
+     *
+     * @return the size cap, in elements
+     */
+    public int maxBufferSize() {
+        return maxBufferSize;
+    }
+
+    /**
+     * Borrows a character buffer, taking a pooled one if it is large enough.
+     *
+     * @param minLength the minimum length of the buffer
+     * @return a buffer of at least {@code minLength} characters, with undefined content
+     */
+    public char[] chars(int minLength) {
+        int slot = start();
+        for (int i = 0; i < PROBES; i++, slot = (slot + 1) & mask) {
+            char[] buffer = chars.get(slot);
+            if (buffer != null && buffer.length >= minLength && chars.compareAndSet(slot, buffer, null)) {
+                return buffer;
+            }
+        }
+        return new char[Math.max(minLength, DEFAULT_BUFFER_SIZE)];
+    }
+
+    /**
+     * Returns a character buffer to the pool. The caller must not use it afterwards.
+     *
+     * @param buffer the buffer, or {@code null}
+     */
+    public void release(char[] buffer) {
+        if (buffer == null || buffer.length > maxBufferSize) return;
+        int slot = start();
+        for (int i = 0; i < PROBES; i++, slot = (slot + 1) & mask) {
+            if (chars.get(slot) == null && chars.compareAndSet(slot, null, buffer)) return;
+        }
+    }
+
+    /**
+     * Borrows a byte buffer, taking a pooled one if it is large enough.
+     *
+     * @param minLength the minimum length of the buffer
+     * @return a buffer of at least {@code minLength} bytes, with undefined content
+     */
+    public byte[] bytes(int minLength) {
+        int slot = start();
+        for (int i = 0; i < PROBES; i++, slot = (slot + 1) & mask) {
+            byte[] buffer = bytes.get(slot);
+            if (buffer != null && buffer.length >= minLength && bytes.compareAndSet(slot, buffer, null)) {
+                return buffer;
+            }
+        }
+        return new byte[Math.max(minLength, DEFAULT_BUFFER_SIZE)];
+    }
+
+    /**
+     * Returns a byte buffer to the pool. The caller must not use it afterwards.
+     *
+     * @param buffer the buffer, or {@code null}
+     */
+    public void release(byte[] buffer) {
+        if (buffer == null || buffer.length > maxBufferSize) return;
+        int slot = start();
+        for (int i = 0; i < PROBES; i++, slot = (slot + 1) & mask) {
+            if (bytes.get(slot) == null && bytes.compareAndSet(slot, null, buffer)) return;
+        }
+    }
+
+    /**
+     * Spreads threads over the slots by scrambling their id, which is unique for platform and virtual threads alike.
+     */
+    private int start() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    }
+}
@@ -0,0 +1,243 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.annotations.JsonCreator;
+import dev.quantam.numblejson.annotations.JsonInclude;
+import dev.quantam.numblejson.annotations.JsonProperty;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonName;
+import dev.quantam.numblejson.tokenize.JsonNameTable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-class binding metadata shared by the serializer and deserializer.
+ * Reflection over a type happens once per {@link JsonConfig}, the first time it is seen; the result
+ * is cached in a {@link ClassValue}, which is thread-safe and does not pin the class loader.
+ * <p>
+ * Instances are created through a constructor handle that is also resolved once: the no-argument
+ * constructor for classes populated field by field, or a {@link Creator} for records and classes
+ * with a {@link JsonCreator} constructor.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class ClassMetadata {
+    final Class<?> type;
+    final PropertyMetadata[] properties;
+    private final Map<String, PropertyMetadata> byName;
+    /**
+     * Every JSON key that binds a property: explicit names in declaration order, then aliases, then
+     * Java field names. {@link #keyTargets} holds the property of each key.
+     */
+    private final JsonNameTable keys;
+    private final PropertyMetadata[] keyTargets;
+    /**
+     * The JSON and Java names of ignored fields, which are never reported as unknown.
+     */
+    private final Set<String> ignoredNames;
+    /**
+     * The constructor that receives property values, or {@code null} if instances are created empty
+     * and populated field by field.
+     */
+    final Creator creator;
+    /**
+     * Why the {@link JsonCreator} constructor cannot be used, or {@code null}. The error is kept for
+     * deserialization, so that a class with an unusable creator can still be serialized.
+     */
+    private final String creatorError;
+    /**
+     * The no-argument constructor adapted to {@code ()Object}, or {@code null} if there is none or
+     * the class has a {@link #creator}.
+     */
+    private final MethodHandle instantiator;
+
+    /**
+     * Resolves the properties of a class.
+     *
+     * @param type             the class to describe
+     * @param defaultInclusion the inclusion rule of fields without a {@link JsonInclude} annotation
+     */
+    ClassMetadata(Class<?> type, JsonInclude.Include defaultInclusion) {
+        this.type = type;
+        List<PropertyMetadata> visible = new ArrayList<>();
+        Map<String, PropertyMetadata> names = new LinkedHashMap<>();
+        Set<String> ignored = new HashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                continue;
+            }
+            PropertyMetadata property = new PropertyMetadata(field, visible.size(), defaultInclusion);
+            if (property.ignored) {
+                ignored.add(property.name);
+                ignored.add(field.getName());
+                continue;
+            }
+            visible.add(property);
+            // Explicit names win over aliases, aliases win over plain field names.
+            names.putIfAbsent(property.name, property);
+        }
+        for (PropertyMetadata property : visible) {
+            for (String alias : property.aliases) {
+                names.putIfAbsent(alias, property);
+            }
+        }
+        for (PropertyMetadata property : visible) {
+            names.putIfAbsent(property.field.getName(), property);
+        }
+        this.properties = visible.toArray(new PropertyMetadata[0]);
+        this.ignoredNames = ignored;
+        this.byName = names;
+        JsonName[] encoded = new JsonName[names.size()];
+        this.keyTargets = new PropertyMetadata[names.size()];
+        int i = 0;
+        for (Map.Entry<String, PropertyMetadata> entry : names.entrySet()) {
+            PropertyMetadata property = entry.getValue();
+            encoded[i] = property.name.equals(entry.getKey()) ? property.jsonName : new JsonName(entry.getKey());
+            keyTargets[i++] = property;
+        }
+        this.keys = new JsonNameTable(encoded);
+        Creator resolved = null;
+        String error = null;
+        try {
+            resolved = creator(type, names, ignored, properties.length);
+        } catch (IllegalStateException | InaccessibleObjectException e) {
+            error = e.getMessage();
+        }
+        this.creator = resolved;
+        this.creatorError = error;
+        this.instantiator = resolved == null && error == null ? instantiator(type) : null;
+    }
+
+    /**
+     * Creates an empty instance through the cached no-argument constructor.
+     *
+     * @return the new instance
+     * @throws Exception if the class cannot be instantiated or the constructor throws
+     */
+    Object newInstance() throws Exception {
+        if (creatorError != null) {
+            throw new JsonDeserializationException(creatorError);
+        }
+        if (instantiator == null) {
+            throw new JsonDeserializationException("Cannot instantiate " + type.getName()
+                    + ": it has no no-argument or @JsonCreator constructor");
+        }
+        try {
+            return (Object) instantiator.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Finds a property by its JSON name, alias or Java field name.
+     *
+     * @param name the JSON key
+     * @return the matching property, or {@code null} if none matches
+     */
+    PropertyMetadata find(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Finds the property named by the current string token of a lexer. The key is first compared
+     * with the explicit name of the expected property, then looked up in a hash table of all keys;
+     * both compare it in place, so that no key string is allocated.
+     *
+     * @param lexer    the lexer positioned on a key
+     * @param expected the index of the property that most likely comes next, usually the one after
+     *                 the previous match, since objects tend to list members in declaration order
+     * @return the matching property, or {@code null} if none matches
+     */
+    PropertyMetadata find(JsonLexer lexer, int expected) {
+        int key = lexer.indexOf(keys, expected);
+        return key >= 0 ? keyTargets[key] : null;
+    }
+
+    /**
+     * Checks whether a JSON key names an ignored field.
+     *
+     * @param name the JSON key
+     * @return {@code true} if the key belongs to a field marked with {@link dev.quantam.numblejson.annotations.JsonIgnore}
+     */
+    boolean isIgnored(String name) {
+        return ignoredNames.contains(name);
+    }
+
+    /**
+     * Finds the constructor that receives property values: the one marked with {@link JsonCreator}
+     * or, for a record, the canonical constructor. Parameters named after an ignored field receive
+     * their default value.
+     */
+    private static Creator creator(Class<?> type, Map<String, PropertyMetadata> names, Set<String> ignored, int properties) {
+        Constructor<?> chosen = null;
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(JsonCreator.class)) {
+                if (chosen != null) throw new IllegalStateException("More than one @JsonCreator constructor in " + type.getName());
+                chosen = constructor;
+            }
+        }
+        RecordComponent[] components = null;
+        if (chosen == null) {
+            if (!type.isRecord()) return null;
+            components = type.getRecordComponents();
+            Class<?>[] types = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) types[i] = components[i].getType();
+            try {
+                chosen = type.getDeclaredConstructor(types);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("No canonical constructor in " + type.getName(), e);
+            }
+        }
+        chosen.setAccessible(true);
+        Parameter[] parameters = chosen.getParameters();
+        PropertyMetadata[] bound = new PropertyMetadata[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            JsonProperty named = parameters[i].getAnnotation(JsonProperty.class);
+            String name = named != null ? named.value()
+                    : components != null ? components[i].getName()
+                    : parameters[i].isNamePresent() ? parameters[i].getName() : null;
+            if (name == null) {
+                throw new IllegalStateException("Parameter " + i + " of the @JsonCreator constructor of " + type.getName()
+                        + " has no name; annotate it with @JsonProperty or compile with -parameters");
+            }
+            bound[i] = names.get(name);
+            if (bound[i] == null && !ignored.contains(name)) {
+                throw new IllegalStateException("Parameter \"" + name + "\" of the @JsonCreator constructor of "
+                        + type.getName() + " matches no property");
+            }
+        }
+        return new Creator(chosen, bound, properties);
+    }
+
+    private static MethodHandle instantiator(Class<?> type) {
+        if (type.isInterface() || type.isArray() || type.isPrimitive() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            // Public constructors of exported classes can be used even where access cannot be forced.
+            constructor.trySetAccessible();
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.interfaces.IJsonCodec;
+import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import dev.quantam.numblejson.interfaces.IJsonSerializer;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the custom codecs known to the engine.
+ * <p>
+ * Serializers and deserializers named by {@link dev.quantam.numblejson.annotations.JsonSerialize}
+ * and {@link dev.quantam.numblejson.annotations.JsonDeserialize} are created once per class and
+ * shared, unless the annotation opts out with {@code shared = false}. Codecs can also be registered
+ * for a type, in which case they apply to every value of exactly that class, wherever it appears.
+ * Compile-time generated {@link IJsonCodec}s are located by name and used when no codec was
+ * registered for the class. Registration is meant to happen at startup, before the types are used.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class CodecRegistry {
+    /**
+     * The suffix of generated codec class names; must match the annotation processor.
+     */
+    static final String SUFFIX = "_JsonCodec";
+
+    /**
+     * Cached for classes without a codec, since a {@link ClassValue} cannot hold {@code null}.
+     */
+    private static final Object NONE = new Object();
+
+    private static final ConcurrentMap<Class<?>, IJsonCodec<?>> CODECS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, IJsonSerializer<?>> SERIALIZERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, IJsonDeserializer<?>> DESERIALIZERS = new ConcurrentHashMap<>();
+    /**
+     * Whether any type-level serializer or deserializer was registered; until then the per-value
+     * lookups are skipped entirely.
+     */
+    private static volatile boolean customized;
+
+    private static final ClassValue<Object> OBJECT_CODECS = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            IJsonCodec<?> registered = CODECS.get(type);
+            return registered != null ? registered : load(type);
+        }
+    };
+
+    private static final ClassValue<IJsonSerializer<?>> SHARED_SERIALIZERS = new ClassValue<>() {
+        @Override
+        protected IJsonSerializer<?> computeValue(Class<?> serializerClass) {
+            return (IJsonSerializer<?>) instantiate(serializerClass);
+        }
+    };
+
+    private static final ClassValue<IJsonDeserializer<?>> SHARED_DESERIALIZERS = new ClassValue<>() {
+        @Override
+        protected IJsonDeserializer<?> computeValue(Class<?> deserializerClass) {
+            return (IJsonDeserializer<?>) instantiate(deserializerClass);
+        }
+    };
+
+    private CodecRegistry() {
+    }
+
+    /**
+     * Registers a serializer for every value of the given class. Its output is written as raw JSON.
+     *
+     * @param type       the class to serialize
+     * @param serializer the serializer, which must be thread-safe
+     * @param <T>        the type of the values
+     */
+    public static <T> void registerSerializer(Class<T> type, IJsonSerializer<? super T> serializer) {
+        SERIALIZERS.put(type, serializer);
+        customized = true;
+    }
+
+    /**
+     * Registers a deserializer for every value bound to the given class. It receives the raw JSON text of the value.
+     *
+     * @param type         the class to deserialize
+     * @param deserializer the deserializer, which must be thread-safe
+     * @param <T>          the type of the values
+     */
+    public static <T> void registerDeserializer(Class<T> type, IJsonDeserializer<? extends T> deserializer) {
+        DESERIALIZERS.put(type, deserializer);
+        customized = true;
+    }
+
+    /**
+     * Registers a streaming codec for objects of the given class, taking precedence over a generated codec.
+     *
+     * @param type  the class the codec binds
+     * @param codec the codec, which must be thread-safe
+     * @param <T>   the type of the values
+     */
+    public static <T> void registerCodec(Class<T> type, IJsonCodec<T> codec) {
+        CODECS.put(type, codec);
+        OBJECT_CODECS.remove(type);
+    }
+
+    /**
+     * Returns the registered or generated codec for the given class.
+     *
+     * @param type the class to look up
+     * @return the codec, or {@code null} if the class has to be bound through reflection
+     */
+    @SuppressWarnings("unchecked")
+    static <T> IJsonCodec<T> find(Class<T> type) {
+        Object codec = OBJECT_CODECS.get(type);
+        return codec != NONE ? (IJsonCodec<T>) codec : null;
+    }
+
+    /**
+     * Returns the codec registered for the given class, ignoring generated codecs.
+     *
+     * @param type the class to look up
+     * @return the codec, or {@code null} if none was registered
+     */
+    @SuppressWarnings("unchecked")
+    static <T> IJsonCodec<T> registered(Class<T> type) {
+        return (IJsonCodec<T>) CODECS.get(type);
+    }
+
+    /**
+     * Returns the serializer registered for the given class.
+     *
+     * @param type the class of the value
+     * @return the serializer, or {@code null} if none was registered
+     */
+    @SuppressWarnings("unchecked")
+    static IJsonSerializer<Object> serializerFor(Class<?> type) {
+        return customized ? (IJsonSerializer<Object>) SERIALIZERS.get(type) : null;
+    }
+
+    /**
+     * Returns the deserializer registered for the given class.
+     *
+     * @param type the target class
+     * @return the deserializer, or {@code null} if none was registered
+     */
+    static IJsonDeserializer<?> deserializerFor(Class<?> type) {
+        return customized ? DESERIALIZERS.get(type) : null;
+    }
+
+    /**
+     * Returns an instance of a serializer class named by an annotation.
+     *
+     * @param serializerClass the serializer class
+     * @param shared          whether the shared instance may be used; otherwise a new instance is created
+     * @return the serializer
+     */
+    static IJsonSerializer<?> serializer(Class<? extends IJsonSerializer<?>> serializerClass, boolean shared) {
+        return shared ? SHARED_SERIALIZERS.get(serializerClass) : (IJsonSerializer<?>) instantiate(serializerClass);
+    }
+
+    /**
+     * Returns an instance of a deserializer class named by an annotation.
+     *
+     * @param deserializerClass the deserializer class
+     * @param shared            whether the shared instance may be used; otherwise a new instance is created
+     * @return the deserializer
+     */
+    static IJsonDeserializer<?> deserializer(Class<? extends IJsonDeserializer<?>> deserializerClass, boolean shared) {
+        return shared ? SHARED_DESERIALIZERS.get(deserializerClass) : (IJsonDeserializer<?>) instantiate(deserializerClass);
+    }
+
+    private static Object instantiate(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Loads the generated codec of a class.
+     *
+     * @return the codec, or {@link #NONE} if the class has none
+     */
+    private static Object load(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null || type.isArray() || type.isPrimitive()) {
+            return NONE;
+        }
+        String packageName = type.getPackageName();
+        String simpleName = type.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+        String codecName = (packageName.isEmpty() ? "" : packageName + '.') + simpleName.replace('$', '_') + SUFFIX;
+        try {
+            Class<?> codecClass = Class.forName(codecName, true, loader);
+            if (!IJsonCodec.class.isAssignableFrom(codecClass)) {
+                return NONE;
+            }
+            return (IJsonCodec<?>) codecClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return NONE;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate codec: " + codecName, e);
+        }
+    }
+}
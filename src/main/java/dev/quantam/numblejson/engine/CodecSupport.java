@@ -0,0 +1,240 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.annotations.JsonInclude;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import dev.quantam.numblejson.interfaces.IJsonSerializer;
+import dev.quantam.numblejson.output.JsonOutput;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+
+import java.lang.reflect.Type;
+
+/**
+ * The runtime entry points used by generated {@link dev.quantam.numblejson.interfaces.IJsonCodec codecs}.
+ * <p>
+ * Generated code handles object framing, names and primitive fields itself and delegates every
+ * other value here, so nested values, collections, custom codecs and dates behave exactly as they
+ * do for reflective binding. These methods are not meant to be called by application code.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class CodecSupport {
+
+    private CodecSupport() {
+    }
+
+    /**
+     * Writes any supported value, including {@code null}.
+     *
+     * @param value the value to write
+     * @param out   the output to write to
+     * @throws Exception if an error occurs during serialization
+     */
+    public static void writeValue(Object value, JsonOutput out) throws Exception {
+        JsonSerializer.writeValue(value, out);
+    }
+
+    /**
+     * Writes a string value, or {@code null}. A serializer registered for {@code String} is applied
+     * as it is for reflective binding; until one is registered the string is written inline.
+     *
+     * @param value the string to write
+     * @param out   the output to write to
+     * @throws Exception if the output fails
+     */
+    public static void writeString(String value, JsonOutput out) throws Exception {
+        if (value == null) out.writeRaw("null");
+        else if (CodecRegistry.serializerFor(String.class) != null) JsonSerializer.writeValue(value, out);
+        else out.writeString(value);
+    }
+
+    /**
+     * Checks whether a property value passes its inclusion rule.
+     *
+     * @param include the rule from {@link JsonInclude}
+     * @param value   the property value
+     * @return {@code true} if the property must be written
+     */
+    public static boolean include(JsonInclude.Include include, Object value) {
+        return JsonSerializer.shouldInclude(include, value);
+    }
+
+    /**
+     * Returns an instance of a serializer class named by {@link dev.quantam.numblejson.annotations.JsonSerialize}.
+     *
+     * @param serializerClass the serializer class
+     * @param shared          whether the shared instance may be used
+     * @return the serializer
+     */
+    public static IJsonSerializer<?> serializer(Class<? extends IJsonSerializer<?>> serializerClass, boolean shared) {
+        return CodecRegistry.serializer(serializerClass, shared);
+    }
+
+    /**
+     * Returns an instance of a deserializer class named by {@link dev.quantam.numblejson.annotations.JsonDeserialize}.
+     *
+     * @param deserializerClass the deserializer class
+     * @param shared            whether the shared instance may be used
+     * @return the deserializer
+     */
+    public static IJsonDeserializer<?> deserializer(Class<? extends IJsonDeserializer<?>> deserializerClass, boolean shared) {
+        return CodecRegistry.deserializer(deserializerClass, shared);
+    }
+
+    /**
+     * Writes a value through a custom serializer.
+     *
+     * @param serializer the serializer
+     * @param value      the value to write
+     * @param out        the output to write to
+     * @throws Exception if the serializer fails
+     */
+    public static void writeCustom(IJsonSerializer<?> serializer, Object value, JsonOutput out) throws Exception {
+        JsonSerializer.writeCustom(serializer, value, out);
+    }
+
+    /**
+     * Writes a date or time value with a compiled pattern; values of other types are written as {@code null}.
+     *
+     * @param value  the value to write
+     * @param format the compiled pattern
+     * @param out    the output to write to
+     * @throws Exception if the output fails
+     */
+    public static void writeDate(Object value, TemporalFormat format, JsonOutput out) throws Exception {
+        format.write(value, out);
+    }
+
+    /**
+     * Reads the next value as an instance of the given type.
+     *
+     * @param lexer the lexer positioned before the value
+     * @param type  the type to bind to
+     * @return the value, boxed for primitive types
+     * @throws Exception if an error occurs during deserialization
+     */
+    public static Object readValue(JsonLexer lexer, Type type) throws Exception {
+        TypeBinding binding = TypeBinding.of(type);
+        Object value = JsonDeserializer.deserializeValue(lexer, binding);
+        if (value == null && binding.raw.isPrimitive()) {
+            throw new IllegalArgumentException("Cannot assign null to primitive " + binding.raw.getName());
+        }
+        return value;
+    }
+
+    /**
+     * Reads the next value as a string or {@code null}. A deserializer registered for {@code String}
+     * is applied as it is for reflective binding; until one is registered the token is read inline.
+     *
+     * @param lexer the lexer positioned before the value
+     * @return the string value
+     * @throws Exception if the value is not a string or {@code null}, or the deserializer fails
+     */
+    public static String readString(JsonLexer lexer) throws Exception {
+        if (CodecRegistry.deserializerFor(String.class) != null) return (String) readValue(lexer, String.class);
+        JsonToken token = lexer.next();
+        if (token == JsonToken.NULL) return null;
+        JsonDeserializer.expect(token, lexer, JsonToken.STRING);
+        return lexer.stringValue();
+    }
+
+    /**
+     * Reads the next value as an {@code int}.
+     *
+     * @param lexer the lexer positioned before the value
+     * @return the number value
+     * @throws JsonDeserializationException if the value is not a number
+     */
+    public static int readInt(JsonLexer lexer) throws JsonDeserializationException {
+        JsonDeserializer.expect(lexer, JsonToken.NUMBER);
+        return lexer.intValue();
+    }
+
+    /**
+     * Reads the next value as a {@code long}.
+     *
+     * @param lexer the lexer positioned before the value
+     * @return the number value
+     * @throws JsonDeserializationException if the value is not a number
+     */
+    public static long readLong(JsonLexer lexer) throws JsonDeserializationException {
+        JsonDeserializer.expect(lexer, JsonToken.NUMBER);
+        return lexer.longValue();
+    }
+
+    /**
+     * Reads the next value as a {@code double}.
+     *
+     * @param lexer the lexer positioned before the value
+     * @return the number value
+     * @throws JsonDeserializationException if the value is not a number
+     */
+    public static double readDouble(JsonLexer lexer) throws JsonDeserializationException {
+        JsonDeserializer.expect(lexer, JsonToken.NUMBER);
+        return lexer.doubleValue();
+    }
+
+    /**
+     * Reads the next value as a {@code boolean}.
+     *
+     * @param lexer the lexer positioned before the value
+     * @return the boolean value
+     * @throws JsonDeserializationException if the value is not {@code true} or {@code false}
+     */
+    public static boolean readBoolean(JsonLexer lexer) throws JsonDeserializationException {
+        JsonToken token = lexer.next();
+        if (token == JsonToken.TRUE) return true;
+        JsonDeserializer.expect(token, lexer, JsonToken.FALSE);
+        return false;
+    }
+
+    /**
+     * Reads the next value through a custom deserializer.
+     *
+     * @param lexer        the lexer positioned before the value
+     * @param deserializer the deserializer
+     * @return the deserialized value
+     * @throws Exception if the deserializer fails
+     */
+    public static Object readCustom(JsonLexer lexer, IJsonDeserializer<?> deserializer) throws Exception {
+        return JsonDeserializer.readCustom(lexer, deserializer);
+    }
+
+    /**
+     * Reads the next value as a date or time value with a compiled pattern.
+     *
+     * @param lexer  the lexer positioned before the value
+     * @param format the compiled pattern
+     * @param type   the field type
+     * @return the parsed value, or {@code null}
+     * @throws Exception if the value is not a string or cannot be parsed
+     */
+    public static Object readDate(JsonLexer lexer, TemporalFormat format, Class<?> type) throws Exception {
+        return format.read(lexer, type);
+    }
+
+    /**
+     * Consumes the next token and checks its kind.
+     *
+     * @param lexer    the lexer
+     * @param expected the required token kind
+     * @throws JsonDeserializationException if a different token is found
+     */
+    public static void expect(JsonLexer lexer, JsonToken expected) throws JsonDeserializationException {
+        JsonDeserializer.expect(lexer, expected);
+    }
+
+    /**
+     * Checks the kind of a token that was just read.
+     *
+     * @param token    the token that was read
+     * @param lexer    the lexer
+     * @param expected the required token kind
+     * @throws JsonDeserializationException if {@code token} is not {@code expected}
+     */
+    public static void expect(JsonToken token, JsonLexer lexer, JsonToken expected) throws JsonDeserializationException {
+        JsonDeserializer.expect(token, lexer, expected);
+    }
+}
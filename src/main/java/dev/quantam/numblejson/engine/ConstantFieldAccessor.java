@@ -0,0 +1,127 @@
+package dev.quantam.numblejson.engine;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * The template of the hidden class that {@link FieldAccessor#of(java.lang.reflect.Field)} defines for
+ * each field. Its class file is loaded as the hidden class with the handles of one field as class
+ * data, which makes them static final and therefore constants the JIT can inline. The template
+ * itself is never initialized.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class ConstantFieldAccessor extends FieldAccessor {
+    private static final MethodHandle GETTER;
+    private static final MethodHandle SETTER;
+    private static final MethodHandle TYPED_GETTER;
+    private static final MethodHandle TYPED_SETTER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            GETTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 0);
+            SETTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 1);
+            TYPED_GETTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 2);
+            TYPED_SETTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 3);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    ConstantFieldAccessor() {
+        super(GETTER, SETTER, TYPED_GETTER, TYPED_SETTER);
+    }
+
+    @Override
+    Object get(Object target) {
+        try {
+            return (Object) GETTER.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    void set(Object target, Object value) {
+        try {
+            SETTER.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    int getInt(Object target) {
+        try {
+            return (int) TYPED_GETTER.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    void setInt(Object target, int value) {
+        try {
+            TYPED_SETTER.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    long getLong(Object target) {
+        try {
+            return (long) TYPED_GETTER.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    void setLong(Object target, long value) {
+        try {
+            TYPED_SETTER.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    double getDouble(Object target) {
+        try {
+            return (double) TYPED_GETTER.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    void setDouble(Object target, double value) {
+        try {
+            TYPED_SETTER.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    boolean getBoolean(Object target) {
+        try {
+            return (boolean) TYPED_GETTER.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    void setBoolean(Object target, boolean value) {
+        try {
+            TYPED_SETTER.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+}
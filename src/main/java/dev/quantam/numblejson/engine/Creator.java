@@ -0,0 +1,211 @@
+package dev.quantam.numblejson.engine;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+
+/**
+ * Creates instances through a constructor that takes property values as arguments: the canonical
+ * constructor of a record or a {@link dev.quantam.numblejson.annotations.JsonCreator} constructor.
+ * <p>
+ * Values are collected into {@link Arguments}, which keeps references in one array and primitives
+ * unboxed in another, so that properties missing from the input bind as {@code 0}, {@code false} or
+ * {@code null} as appropriate for the parameter type. The constructor is looked up once and adapted
+ * to a method handle that reads each parameter from its typed slot, and the instance is created in
+ * one call without boxing primitive arguments.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class Creator {
+    private static final MethodType CREATE = MethodType.methodType(Object.class, Arguments.class);
+    private static final MethodHandle REFERENCE;
+    private static final MethodHandle INT;
+    private static final MethodHandle LONG;
+    private static final MethodHandle DOUBLE;
+    private static final MethodHandle BOOLEAN;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            REFERENCE = lookup.findVirtual(Arguments.class, "reference", MethodType.methodType(Object.class, int.class));
+            INT = lookup.findVirtual(Arguments.class, "intAt", MethodType.methodType(int.class, int.class));
+            LONG = lookup.findVirtual(Arguments.class, "longAt", MethodType.methodType(long.class, int.class));
+            DOUBLE = lookup.findVirtual(Arguments.class, "doubleAt", MethodType.methodType(double.class, int.class));
+            BOOLEAN = lookup.findVirtual(Arguments.class, "booleanAt", MethodType.methodType(boolean.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MethodHandle handle;
+    private final Class<?>[] types;
+    /**
+     * The argument position of each property, indexed by {@link PropertyMetadata#index}; {@code -1}
+     * for properties that are not constructor parameters and are set after construction.
+     */
+    private final int[] slots;
+
+    /**
+     * Creates the invoker for a constructor.
+     *
+     * @param constructor the constructor, already made accessible
+     * @param parameters  the property bound to each parameter, or {@code null} for a parameter that
+     *                    always receives its default value
+     * @param properties  the number of visible properties of the class
+     */
+    Creator(Constructor<?> constructor, PropertyMetadata[] parameters, int properties) {
+        this.types = constructor.getParameterTypes();
+        MethodHandle[] readers = new MethodHandle[types.length];
+        for (int i = 0; i < types.length; i++) {
+            readers[i] = MethodHandles.insertArguments(reader(types[i]), 1, i);
+        }
+        try {
+            MethodHandle target = MethodHandles.filterArguments(
+                    MethodHandles.lookup().unreflectConstructor(constructor), 0, readers);
+            // Every parameter reads its slot from the same arguments.
+            this.handle = MethodHandles.permuteArguments(target,
+                    MethodType.methodType(constructor.getDeclaringClass(), Arguments.class), new int[types.length])
+                    .asType(CREATE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access constructor: " + constructor, e);
+        }
+        this.slots = new int[properties];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] != null) {
+                slots[parameters[i].index] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns new arguments holding the default value of every parameter.
+     *
+     * @return the arguments to fill
+     */
+    Arguments arguments() {
+        return new Arguments(types);
+    }
+
+    /**
+     * Returns the argument position of a property.
+     *
+     * @param property the property
+     * @return the parameter index, or {@code -1} if the property is not a constructor parameter
+     */
+    int slot(PropertyMetadata property) {
+        return slots[property.index];
+    }
+
+    /**
+     * Returns the type of a parameter.
+     *
+     * @param slot the parameter index
+     * @return the parameter type
+     */
+    Class<?> type(int slot) {
+        return types[slot];
+    }
+
+    /**
+     * Invokes the constructor.
+     *
+     * @param arguments the arguments returned by {@link #arguments()}, filled with values
+     * @return the new instance
+     * @throws Exception if the constructor throws
+     */
+    Object create(Arguments arguments) throws Exception {
+        try {
+            return (Object) handle.invokeExact(arguments);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Returns the handle that reads an argument of a type from its slot, narrowing the int and
+     * double readers for the smaller primitive types.
+     */
+    private static MethodHandle reader(Class<?> type) {
+        if (!type.isPrimitive()) return REFERENCE.asType(MethodType.methodType(type, Arguments.class, int.class));
+        if (type == int.class) return INT;
+        if (type == long.class) return LONG;
+        if (type == double.class) return DOUBLE;
+        if (type == boolean.class) return BOOLEAN;
+        MethodHandle wide = type == float.class ? DOUBLE : INT;
+        return MethodHandles.explicitCastArguments(wide, MethodType.methodType(type, Arguments.class, int.class));
+    }
+
+    /**
+     * The arguments of one constructor call. References are kept in one array and primitives in
+     * another, as their value or, for {@code double} and {@code float}, their bits; both start out
+     * as the default value of the parameter.
+     */
+    static final class Arguments {
+        private final Class<?>[] types;
+        private final Object[] references;
+        private final long[] primitives;
+
+        private Arguments(Class<?>[] types) {
+            this.types = types;
+            this.references = new Object[types.length];
+            this.primitives = new long[types.length];
+        }
+
+        /**
+         * Sets an argument from a value of its type, unboxing it for a primitive parameter.
+         *
+         * @param slot  the parameter index
+         * @param value the value, not {@code null} for a primitive parameter
+         */
+        void set(int slot, Object value) {
+            Class<?> type = types[slot];
+            if (!type.isPrimitive()) references[slot] = value;
+            else if (type == boolean.class) setBoolean(slot, (Boolean) value);
+            else if (type == char.class) primitives[slot] = (Character) value;
+            else if (type == double.class || type == float.class) setDouble(slot, ((Number) value).doubleValue());
+            else primitives[slot] = ((Number) value).longValue();
+        }
+
+        void setInt(int slot, int value) {
+            primitives[slot] = value;
+        }
+
+        void setLong(int slot, long value) {
+            primitives[slot] = value;
+        }
+
+        void setDouble(int slot, double value) {
+            primitives[slot] = Double.doubleToRawLongBits(value);
+        }
+
+        void setBoolean(int slot, boolean value) {
+            primitives[slot] = value ? 1 : 0;
+        }
+
+        private Object reference(int slot) {
+            return references[slot];
+        }
+
+        private int intAt(int slot) {
+            return (int) primitives[slot];
+        }
+
+        private long longAt(int slot) {
+            return primitives[slot];
+        }
+
+        private double doubleAt(int slot) {
+            return Double.longBitsToDouble(primitives[slot]);
+        }
+
+        private boolean booleanAt(int slot) {
+            return primitives[slot] != 0;
+        }
+    }
+}
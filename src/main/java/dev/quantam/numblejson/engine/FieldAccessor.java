@@ -0,0 +1,200 @@
+package dev.quantam.numblejson.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Reads and writes a single field through method handles created once per field.
+ * <p>
+ * Besides the boxed {@link #get(Object)}/{@link #set(Object, Object)} pair, the handles are adapted
+ * to exact primitive signatures so that {@code int}, {@code long}, {@code double} and {@code boolean}
+ * fields can be accessed with {@code invokeExact} and no boxing. The primitive methods must only be
+ * called for fields of the matching type; fields of the other primitive types are rare and go
+ * through the boxed pair.
+ * <p>
+ * The JIT only inlines a method handle it can treat as a constant, which a handle held in an
+ * instance field is not. {@link #of(Field)} therefore defines a hidden subclass per field from the
+ * {@link ConstantFieldAccessor} template, whose static final fields hold the handles of that field.
+ * Where the hidden class cannot be defined, the handles are invoked from this class instead.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+class FieldAccessor {
+    private static final MethodType OBJECT_GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType OBJECT_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    /**
+     * The class file of {@link ConstantFieldAccessor}, or {@code null} if it cannot be read.
+     */
+    private static final byte[] TEMPLATE = template();
+
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle typedGetter;
+    private final MethodHandle typedSetter;
+
+    FieldAccessor(MethodHandle getter, MethodHandle setter, MethodHandle typedGetter, MethodHandle typedSetter) {
+        this.getter = getter;
+        this.setter = setter;
+        this.typedGetter = typedGetter;
+        this.typedSetter = typedSetter;
+    }
+
+    /**
+     * Creates the accessor for an accessible field.
+     *
+     * @param field the field, already made accessible
+     * @return the accessor, with constant handles where possible
+     */
+    static FieldAccessor of(Field field) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Class<?> type = field.getType();
+        MethodHandle get;
+        try {
+            get = lookup.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field: " + field, e);
+        }
+        MethodHandle set;
+        try {
+            set = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            // Final fields of records and hidden classes cannot be written reflectively.
+            set = null;
+        }
+        MethodHandle getter = get.asType(OBJECT_GETTER);
+        MethodHandle setter = set != null ? set.asType(OBJECT_SETTER) : null;
+        MethodHandle typedGetter = type.isPrimitive() ? get.asType(MethodType.methodType(type, Object.class)) : null;
+        MethodHandle typedSetter = set != null && type.isPrimitive()
+                ? set.asType(MethodType.methodType(void.class, Object.class, type)) : null;
+        if (TEMPLATE == null) {
+            return new FieldAccessor(getter, setter, typedGetter, typedSetter);
+        }
+        MethodHandle constructor;
+        try {
+            MethodHandles.Lookup hidden = lookup.defineHiddenClassWithClassData(TEMPLATE,
+                    Arrays.asList(getter, setter, typedGetter, typedSetter), true);
+            constructor = hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // The template cannot be defined here: fall back to the handles held by this class.
+            return new FieldAccessor(getter, setter, typedGetter, typedSetter);
+        }
+        try {
+            return (FieldAccessor) constructor.invoke();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static byte[] template() {
+        try (InputStream in = FieldAccessor.class.getResourceAsStream("ConstantFieldAccessor.class")) {
+            return in != null ? in.readAllBytes() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the field can be written.
+     *
+     * @return {@code true} if the setters may be used
+     */
+    boolean isWritable() {
+        return setter != null;
+    }
+
+    Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    void set(Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    int getInt(Object target) {
+        try {
+            return (int) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    void setInt(Object target, int value) {
+        try {
+            typedSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    long getLong(Object target) {
+        try {
+            return (long) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    void setLong(Object target, long value) {
+        try {
+            typedSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    double getDouble(Object target) {
+        try {
+            return (double) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    void setDouble(Object target, double value) {
+        try {
+            typedSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    boolean getBoolean(Object target) {
+        try {
+            return (boolean) typedGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    void setBoolean(Object target, boolean value) {
+        try {
+            typedSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Field handles cannot throw checked exceptions, so anything caught is either unchecked
+     * or an error and can be rethrown as is.
+     */
+    static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) throw (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        throw new IllegalStateException(t);
+    }
+}
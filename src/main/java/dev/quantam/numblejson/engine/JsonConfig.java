@@ -0,0 +1,271 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.annotations.JsonInclude;
+import dev.quantam.numblejson.interfaces.IJsonCodec;
+import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import dev.quantam.numblejson.interfaces.IJsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable set of binding settings, together with the per-class metadata and the codecs that
+ * depend on them.
+ * <p>
+ * Each configuration caches the reflective metadata of the classes it binds, so that one instance
+ * shared by all threads pays for the reflection over a class only once, while differently tuned
+ * configurations never see each other's state. Codecs registered with a {@link Builder} apply only
+ * to that configuration and take precedence over those of the global {@link CodecRegistry}.
+ * <p>
+ * Generated codecs are compiled for the default settings and delegate nested values to the global
+ * registry. They are therefore only used by configurations that keep the default settings and
+ * register no codecs of their own; any other configuration binds every class through reflection.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class JsonConfig {
+    /**
+     * The configuration used by the static methods of the engine.
+     */
+    public static final JsonConfig DEFAULT = builder().build();
+
+    /**
+     * How numbers are bound to values declared as {@code Object} or {@code Number}.
+     */
+    public enum NumberMode {
+        /**
+         * The narrowest fitting type: Integer, Long or BigInteger for integers and Double otherwise.
+         */
+        NATURAL,
+        /**
+         * Always a Double, which may lose precision.
+         */
+        DOUBLE,
+        /**
+         * Always a BigDecimal, which keeps every digit.
+         */
+        BIG_DECIMAL
+    }
+
+    final boolean failOnUnknownProperties;
+    final NumberMode numberMode;
+    final JsonInclude.Include defaultInclusion;
+    private final Map<Class<?>, IJsonCodec<?>> codecs;
+    private final Map<Class<?>, IJsonSerializer<?>> serializers;
+    private final Map<Class<?>, IJsonDeserializer<?>> deserializers;
+    /**
+     * Whether generated codecs may be used; see the class documentation.
+     */
+    private final boolean generatedCodecs;
+
+    private final ClassValue<ClassMetadata> metadata = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type, defaultInclusion);
+        }
+    };
+
+    private JsonConfig(Builder builder) {
+        this.failOnUnknownProperties = builder.failOnUnknownProperties;
+        this.numberMode = builder.numberMode;
+        this.defaultInclusion = builder.defaultInclusion;
+        this.codecs = Map.copyOf(builder.codecs);
+        this.serializers = Map.copyOf(builder.serializers);
+        this.deserializers = Map.copyOf(builder.deserializers);
+        this.generatedCodecs = !failOnUnknownProperties && numberMode == NumberMode.NATURAL
+                && defaultInclusion == JsonInclude.Include.ALWAYS
+                && codecs.isEmpty() && serializers.isEmpty() && deserializers.isEmpty();
+    }
+
+    /**
+     * Creates a builder that starts from the default settings.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks whether JSON members that match no property of the target class are rejected.
+     *
+     * @return {@code true} if unknown properties fail deserialization, {@code false} if they are skipped
+     */
+    public boolean failOnUnknownProperties() {
+        return failOnUnknownProperties;
+    }
+
+    /**
+     * Returns how numbers are bound to values declared as {@code Object} or {@code Number}.
+     *
+     * @return the number mode
+     */
+    public NumberMode numberMode() {
+        return numberMode;
+    }
+
+    /**
+     * Returns the inclusion rule of fields without a {@link JsonInclude} annotation.
+     *
+     * @return the default inclusion rule
+     */
+    public JsonInclude.Include defaultInclusion() {
+        return defaultInclusion;
+    }
+
+    /**
+     * Returns the metadata of a class under this configuration, building it on first use.
+     *
+     * @param type the class to describe
+     * @return the metadata for {@code type}
+     */
+    ClassMetadata metadata(Class<?> type) {
+        return metadata.get(type);
+    }
+
+    /**
+     * Returns the codec that binds objects of the given class.
+     *
+     * @param type the class to look up
+     * @return the codec, or {@code null} if the class has to be bound through reflection
+     */
+    @SuppressWarnings("unchecked")
+    <T> IJsonCodec<T> codecFor(Class<T> type) {
+        if (!codecs.isEmpty()) {
+            IJsonCodec<?> codec = codecs.get(type);
+            if (codec != null) return (IJsonCodec<T>) codec;
+        }
+        return generatedCodecs ? CodecRegistry.find(type) : CodecRegistry.registered(type);
+    }
+
+    /**
+     * Returns the serializer for every value of the given class.
+     *
+     * @param type the class of the value
+     * @return the serializer, or {@code null} if none was registered
+     */
+    @SuppressWarnings("unchecked")
+    IJsonSerializer<Object> serializerFor(Class<?> type) {
+        if (!serializers.isEmpty()) {
+            IJsonSerializer<?> serializer = serializers.get(type);
+            if (serializer != null) return (IJsonSerializer<Object>) serializer;
+        }
+        return CodecRegistry.serializerFor(type);
+    }
+
+    /**
+     * Returns the deserializer for every value bound to the given class.
+     *
+     * @param type the target class
+     * @return the deserializer, or {@code null} if none was registered
+     */
+    IJsonDeserializer<?> deserializerFor(Class<?> type) {
+        if (!deserializers.isEmpty()) {
+            IJsonDeserializer<?> deserializer = deserializers.get(type);
+            if (deserializer != null) return deserializer;
+        }
+        return CodecRegistry.deserializerFor(type);
+    }
+
+    /**
+     * Collects the settings and codecs of a {@link JsonConfig}. A builder is not thread-safe,
+     * but the configurations it builds are.
+     */
+    public static final class Builder {
+        private boolean failOnUnknownProperties;
+        private NumberMode numberMode = NumberMode.NATURAL;
+        private JsonInclude.Include defaultInclusion = JsonInclude.Include.ALWAYS;
+        private final Map<Class<?>, IJsonCodec<?>> codecs = new HashMap<>();
+        private final Map<Class<?>, IJsonSerializer<?>> serializers = new HashMap<>();
+        private final Map<Class<?>, IJsonDeserializer<?>> deserializers = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets whether JSON members that match no property of the target class are rejected.
+         * Members named after an ignored field are always skipped. Defaults to {@code false}.
+         *
+         * @param fail {@code true} to fail on unknown properties
+         * @return this builder
+         */
+        public Builder failOnUnknownProperties(boolean fail) {
+            this.failOnUnknownProperties = fail;
+            return this;
+        }
+
+        /**
+         * Sets how numbers are bound to values declared as {@code Object} or {@code Number}.
+         * Defaults to {@link NumberMode#NATURAL}.
+         *
+         * @param mode the number mode
+         * @return this builder
+         */
+        public Builder numberMode(NumberMode mode) {
+            this.numberMode = Objects.requireNonNull(mode, "mode");
+            return this;
+        }
+
+        /**
+         * Sets the inclusion rule of fields without a {@link JsonInclude} annotation.
+         * Defaults to {@link JsonInclude.Include#ALWAYS}.
+         *
+         * @param include the default inclusion rule
+         * @return this builder
+         */
+        public Builder defaultInclusion(JsonInclude.Include include) {
+            this.defaultInclusion = Objects.requireNonNull(include, "include");
+            return this;
+        }
+
+        /**
+         * Registers a streaming codec for objects of the given class.
+         *
+         * @param type  the class the codec binds
+         * @param codec the codec, which must be thread-safe
+         * @param <T>   the type of the values
+         * @return this builder
+         */
+        public <T> Builder codec(Class<T> type, IJsonCodec<T> codec) {
+            codecs.put(type, codec);
+            return this;
+        }
+
+        /**
+         * Registers a serializer for every value of the given class. Its output is written as raw JSON.
+         *
+         * @param type       the class to serialize
+         * @param serializer the serializer, which must be thread-safe
+         * @param <T>        the type of the values
+         * @return this builder
+         */
+        public <T> Builder serializer(Class<T> type, IJsonSerializer<? super T> serializer) {
+            serializers.put(type, serializer);
+            return this;
+        }
+
+        /**
+         * Registers a deserializer for every value bound to the given class. It receives the raw JSON text of the value.
+         *
+         * @param type         the class to deserialize
+         * @param deserializer the deserializer, which must be thread-safe
+         * @param <T>          the type of the values
+         * @return this builder
+         */
+        public <T> Builder deserializer(Class<T> type, IJsonDeserializer<? extends T> deserializer) {
+            deserializers.put(type, deserializer);
+            return this;
+        }
+
+        /**
+         * Builds a configuration from the current state of this builder.
+         *
+         * @return the configuration
+         */
+        public JsonConfig build() {
+            return new JsonConfig(this);
+        }
+    }
+}
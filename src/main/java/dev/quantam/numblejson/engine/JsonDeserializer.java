@@ -1,13 +1,21 @@
 package dev.quantam.numblejson.engine;
 
-import dev.quantam.numblejson.annotations.*;
 import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.interfaces.IJsonCodec;
 import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
 import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8Reader;
 
-import java.lang.reflect.Field;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -17,6 +25,10 @@ import java.util.*;
  * @version 1.0
  */
 public class JsonDeserializer {
+    /**
+     * Marks properties without a value in the argument arrays of {@link #deserializeCreated}.
+     */
+    private static final Object MISSING = new Object();
 
     /**
      * Deserializes a JSON string into an object of the specified class.
@@ -28,176 +40,825 @@ public class JsonDeserializer {
      * @throws JsonDeserializationException if an error occurs during deserialization
      */
     public static <T> T deserialize(String json, Class<T> clazz) throws JsonDeserializationException {
+        return deserializeDocument(new JsonTokenizer(json), clazz, JsonProjection.ALL, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes JSON read incrementally from a reader into an object of the specified class.
+     * Input is buffered in fixed-size chunks, so the document is never held in memory as a whole.
+     * The reader is not closed.
+     *
+     * @param reader the reader supplying the JSON text
+     * @param clazz  the class type to deserialize into
+     * @param <T>    the type of the resulting object
+     * @return an instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(Reader reader, Class<T> clazz) throws JsonDeserializationException {
+        return deserializeDocument(new JsonTokenizer(reader), clazz, JsonProjection.ALL, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes UTF-8 encoded JSON read incrementally from a stream into an object of the specified class.
+     * The stream is not closed.
+     *
+     * @param stream the stream supplying the JSON bytes
+     * @param clazz  the class type to deserialize into
+     * @param <T>    the type of the resulting object
+     * @return an instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(InputStream stream, Class<T> clazz) throws JsonDeserializationException {
+        return deserialize(new Utf8Reader(stream, new byte[BufferRecycler.DEFAULT_BUFFER_SIZE]), clazz);
+    }
+
+    /**
+     * Deserializes UTF-8 encoded JSON bytes into an object of the specified class.
+     * The bytes are tokenized in place; only string values that are bound to fields are decoded.
+     *
+     * @param json   the array holding the UTF-8 encoded JSON text
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @param clazz  the class type to deserialize into
+     * @param <T>    the type of the resulting object
+     * @return an instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(byte[] json, int offset, int length, Class<T> clazz) throws JsonDeserializationException {
+        return deserializeDocument(new Utf8JsonTokenizer(json, offset, length), clazz, JsonProjection.ALL, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes the remaining UTF-8 encoded bytes of a heap or direct buffer into an object of the
+     * specified class. The buffer is read in place and its position is not changed.
+     *
+     * @param json  the buffer holding the UTF-8 encoded JSON text
+     * @param clazz the class type to deserialize into
+     * @param <T>   the type of the resulting object
+     * @return an instance of the specified class populated with data from the JSON text
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(ByteBuffer json, Class<T> clazz) throws JsonDeserializationException {
+        return deserializeDocument(new Utf8JsonTokenizer(json), clazz, JsonProjection.ALL, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes the next value produced by a tokenizer into an object of the specified class.
+     *
+     * @param tokenizer the tokenizer positioned before the value, for either character or UTF-8 input
+     * @param clazz     the class type to deserialize into
+     * @param <T>       the type of the resulting object
+     * @return an instance of the specified class populated with data from the JSON value
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(JsonLexer tokenizer, Class<T> clazz) throws JsonDeserializationException {
+        return deserialize(tokenizer, clazz, JsonProjection.ALL);
+    }
+
+    /**
+     * Deserializes a JSON string into an object of the specified class, binding only the selected
+     * properties. Every other value is skipped without being decoded.
+     *
+     * @param json       the JSON string to deserialize
+     * @param clazz      the class type to deserialize into
+     * @param projection the property paths to bind
+     * @param <T>        the type of the resulting object
+     * @return an instance of the specified class with the selected properties populated
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(String json, Class<T> clazz, JsonProjection projection) throws JsonDeserializationException {
+        return deserializeDocument(new JsonTokenizer(json), clazz, projection, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes UTF-8 encoded JSON bytes into an object of the specified class, binding only the
+     * selected properties. Every other value is skipped without being decoded.
+     *
+     * @param json       the array holding the UTF-8 encoded JSON text
+     * @param offset     the index of the first byte
+     * @param length     the number of bytes
+     * @param clazz      the class type to deserialize into
+     * @param projection the property paths to bind
+     * @param <T>        the type of the resulting object
+     * @return an instance of the specified class with the selected properties populated
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(byte[] json, int offset, int length, Class<T> clazz, JsonProjection projection)
+            throws JsonDeserializationException {
+        return deserializeDocument(new Utf8JsonTokenizer(json, offset, length), clazz, projection, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes the next value produced by a tokenizer into an object of the specified class,
+     * binding only the selected properties.
+     *
+     * @param tokenizer  the tokenizer positioned before the value, for either character or UTF-8 input
+     * @param clazz      the class type to deserialize into
+     * @param projection the property paths to bind
+     * @param <T>        the type of the resulting object
+     * @return an instance of the specified class with the selected properties populated
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(JsonLexer tokenizer, Class<T> clazz, JsonProjection projection) throws JsonDeserializationException {
+        return deserialize(tokenizer, clazz, projection, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes the next value produced by a tokenizer into an object of the specified class
+     * with the given settings.
+     *
+     * @param tokenizer the tokenizer positioned before the value, for either character or UTF-8 input
+     * @param clazz     the class type to deserialize into
+     * @param config    the settings, metadata and codecs to use
+     * @param <T>       the type of the resulting object
+     * @return an instance of the specified class populated with data from the JSON value
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(JsonLexer tokenizer, Class<T> clazz, JsonConfig config) throws JsonDeserializationException {
+        return deserialize(tokenizer, clazz, JsonProjection.ALL, config);
+    }
+
+    /**
+     * Deserializes the next value produced by a tokenizer into an object of the specified class
+     * with the given settings, binding only the selected properties.
+     *
+     * @param tokenizer  the tokenizer positioned before the value, for either character or UTF-8 input
+     * @param clazz      the class type to deserialize into
+     * @param projection the property paths to bind
+     * @param config     the settings, metadata and codecs to use
+     * @param <T>        the type of the resulting object
+     * @return an instance of the specified class with the selected properties populated
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(JsonLexer tokenizer, Class<T> clazz, JsonProjection projection, JsonConfig config)
+            throws JsonDeserializationException {
         try {
-            JsonTokenizer tokenizer = new JsonTokenizer(json);
-            Object result = deserializeValue(tokenizer, clazz);
+            Object result = deserializeValue(tokenizer, TypeBinding.of(clazz), projection, config);
             return clazz.cast(result);
         } catch (Exception e) {
             throw new JsonDeserializationException("Error during deserialization", e);
         }
     }
 
+    /**
+     * Deserializes a whole JSON document produced by a tokenizer into an object of the specified class,
+     * binding only the selected properties. Unlike the tokenizer overloads, which bind one value out of
+     * a larger input, anything but whitespace after the root value is rejected.
+     *
+     * @param tokenizer  the tokenizer positioned at the start of the document
+     * @param clazz      the class type to deserialize into
+     * @param projection the property paths to bind
+     * @param config     the settings, metadata and codecs to use
+     * @param <T>        the type of the resulting object
+     * @return an instance of the specified class populated with data from the document
+     * @throws JsonDeserializationException if an error occurs during deserialization or input follows the root value
+     */
+    public static <T> T deserializeDocument(JsonLexer tokenizer, Class<T> clazz, JsonProjection projection,
+                                            JsonConfig config) throws JsonDeserializationException {
+        T result = deserialize(tokenizer, clazz, projection, config);
+        expect(tokenizer, JsonToken.END);
+        return result;
+    }
+
+    /**
+     * Deserializes a whole JSON document produced by a tokenizer into an object of the specified
+     * generic type, rejecting anything but whitespace after the root value.
+     *
+     * @param tokenizer the tokenizer positioned at the start of the document
+     * @param type      the generic type to deserialize into
+     * @param config    the settings, metadata and codecs to use
+     * @param <T>       the type of the resulting object
+     * @return an instance of the specified type populated with data from the document
+     * @throws JsonDeserializationException if an error occurs during deserialization or input follows the root value
+     */
+    public static <T> T deserializeDocument(JsonLexer tokenizer, Type type, JsonConfig config)
+            throws JsonDeserializationException {
+        T result = deserialize(tokenizer, type, config);
+        expect(tokenizer, JsonToken.END);
+        return result;
+    }
+
+    /**
+     * Deserializes a JSON string into an object of the specified generic type, such as
+     * {@code List<Person>} or {@code Map<String, Person>}. Collections, maps and arrays are built
+     * with elements of their declared type in a single pass.
+     *
+     * @param json the JSON string to deserialize
+     * @param type the generic type to deserialize into
+     * @param <T>  the type of the resulting object
+     * @return an instance of the specified type populated with data from the JSON string
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(String json, Type type) throws JsonDeserializationException {
+        return deserializeDocument(new JsonTokenizer(json), type, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes the next value produced by a tokenizer into an object of the specified generic type.
+     *
+     * @param tokenizer the tokenizer positioned before the value, for either character or UTF-8 input
+     * @param type      the generic type to deserialize into
+     * @param <T>       the type of the resulting object
+     * @return an instance of the specified type populated with data from the JSON value
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public static <T> T deserialize(JsonLexer tokenizer, Type type) throws JsonDeserializationException {
+        return deserialize(tokenizer, type, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes the next value produced by a tokenizer into an object of the specified generic type
+     * with the given settings.
+     *
+     * @param tokenizer the tokenizer positioned before the value, for either character or UTF-8 input
+     * @param type      the generic type to deserialize into
+     * @param config    the settings, metadata and codecs to use
+     * @param <T>       the type of the resulting object
+     * @return an instance of the specified type populated with data from the JSON value
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T deserialize(JsonLexer tokenizer, Type type, JsonConfig config) throws JsonDeserializationException {
+        try {
+            return (T) deserializeValue(tokenizer, TypeBinding.of(type), JsonProjection.ALL, config);
+        } catch (Exception e) {
+            throw new JsonDeserializationException("Error during deserialization", e);
+        }
+    }
+
     /**
      * Deserializes a JSON value into an object of the specified type.
      *
      * @param tokenizer the JSON tokenizer instance
-     * @param type      the target type to deserialize into
+     * @param binding   the binding of the target type
      * @return an object of the specified type populated with data from the JSON value
      * @throws Exception if an error occurs during deserialization
      */
-    private static Object deserializeValue(JsonTokenizer tokenizer, Class<?> type) throws Exception {
-        String token = tokenizer.nextToken();
-        if ("null".equals(token)) return null;
-        if ("true".equals(token)) return true;
-        if ("false".equals(token)) return false;
-        if (token.startsWith("\"")) return token.substring(1, token.length() - 1);
-        if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '-') {
-            if (type == int.class || type == Integer.class) return Integer.parseInt(token);
-            if (type == long.class || type == Long.class) return Long.parseLong(token);
-            if (type == float.class || type == Float.class) return Float.parseFloat(token);
-            if (type == double.class || type == Double.class) return Double.parseDouble(token);
-            // Default to Integer if type is not explicitly handled
-            return Integer.parseInt(token);
+    static Object deserializeValue(JsonLexer tokenizer, TypeBinding binding) throws Exception {
+        return deserializeValue(tokenizer, binding, JsonProjection.ALL, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Deserializes a JSON value into an object of the specified type, binding only the selected
+     * properties of the objects it contains.
+     *
+     * @param tokenizer  the JSON tokenizer instance
+     * @param binding    the binding of the target type
+     * @param projection the property paths to bind
+     * @param config     the settings, metadata and codecs to use
+     * @return an object of the specified type populated with data from the JSON value
+     * @throws Exception if an error occurs during deserialization
+     */
+    private static Object deserializeValue(JsonLexer tokenizer, TypeBinding binding, JsonProjection projection,
+                                           JsonConfig config) throws Exception {
+        Class<?> type = binding.raw;
+        IJsonDeserializer<?> custom = config.deserializerFor(type);
+        if (custom != null) {
+            // Like the serializer, which writes null values itself, the deserializer only sees non-null values.
+            if (tokenizer.peekToken() == JsonToken.NULL) {
+                tokenizer.next();
+                return null;
+            }
+            return readCustom(tokenizer, custom);
+        }
+        if (binding.temporal) {
+            return TemporalFormat.DEFAULT.read(tokenizer, type);
+        }
+        JsonToken token = tokenizer.next();
+        switch (token) {
+            case NULL:
+                return null;
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            case STRING:
+                if (type == char[].class) return tokenizer.stringValue().toCharArray();
+                if (type == char.class || type == Character.class) return deserializeCharacter(tokenizer);
+                return tokenizer.stringValue();
+            case NUMBER:
+                return deserializeNumber(tokenizer, type, config);
+            case START_ARRAY:
+                if (type.isArray()) return deserializeArray(tokenizer, binding.element, projection, config);
+                return deserializeCollection(tokenizer, binding, projection, config);
+            case START_OBJECT:
+                return deserializeObject(tokenizer, binding, projection, config);
+            default:
+                throw unexpected(tokenizer);
         }
-        if ("[".equals(token)) return deserializeList(tokenizer);
-        if ("{".equals(token)) return deserializeObject(tokenizer, type);
-        throw new JsonDeserializationException("Unexpected token: " + token);
     }
 
     /**
-     * Deserializes a JSON array into a Java List.
+     * Converts the current string token into a character.
      *
-     * @param tokenizer the JSON tokenizer instance
-     * @return a List containing elements deserialized from the JSON array
+     * @param tokenizer the JSON tokenizer positioned on a string
+     * @return the only character of the string
+     * @throws JsonDeserializationException if the string does not hold exactly one character
+     */
+    private static char deserializeCharacter(JsonLexer tokenizer) throws JsonDeserializationException {
+        String value = tokenizer.stringValue();
+        if (value.length() != 1) {
+            throw new JsonDeserializationException("Expected a single character but found \"" + value
+                    + "\" at position " + tokenizer.tokenStart());
+        }
+        return value.charAt(0);
+    }
+
+    /**
+     * Converts the current number token into the requested numeric type, parsing it straight from the
+     * input. Numbers bound to {@code Object} or {@code Number} follow the {@link JsonConfig.NumberMode}.
+     *
+     * @param tokenizer the JSON tokenizer positioned on a number
+     * @param type      the target type
+     * @param config    the settings to use
+     * @return the number as an instance of {@code type}
+     */
+    private static Object deserializeNumber(JsonLexer tokenizer, Class<?> type, JsonConfig config) {
+        if (type == int.class || type == Integer.class) return tokenizer.intValue();
+        if (type == long.class || type == Long.class) return tokenizer.longValue();
+        if (type == double.class || type == Double.class) return tokenizer.doubleValue();
+        if (type == float.class || type == Float.class) return tokenizer.floatValue();
+        if (type == short.class || type == Short.class) {
+            int value = tokenizer.intValue();
+            if (value != (short) value) throw new NumberFormatException("Value out of range for short: " + tokenizer.text());
+            return (short) value;
+        }
+        if (type == byte.class || type == Byte.class) {
+            int value = tokenizer.intValue();
+            if (value != (byte) value) throw new NumberFormatException("Value out of range for byte: " + tokenizer.text());
+            return (byte) value;
+        }
+        if (type == BigInteger.class) return tokenizer.bigIntegerValue();
+        if (type == BigDecimal.class) return tokenizer.bigDecimalValue();
+        switch (config.numberMode) {
+            case DOUBLE:
+                return tokenizer.doubleValue();
+            case BIG_DECIMAL:
+                return tokenizer.bigDecimalValue();
+            default:
+                return tokenizer.numberValue();
+        }
+    }
+
+    /**
+     * Deserializes a JSON array into a Java collection. The collection type follows the binding,
+     * defaulting to a List for untyped values, and each element is bound to the element type.
+     *
+     * @param tokenizer  the JSON tokenizer instance
+     * @param binding    the binding of the collection type
+     * @param projection the property paths to bind in each element
+     * @param config     the settings, metadata and codecs to use
+     * @return a collection containing elements deserialized from the JSON array
      * @throws Exception if an error occurs during deserialization
      */
-    private static List<?> deserializeList(JsonTokenizer tokenizer) throws Exception {
-        List<Object> list = new ArrayList<>();
-        while (!"]".equals(tokenizer.peek())) {
-            list.add(deserializeValue(tokenizer, Object.class));
-            if (",".equals(tokenizer.peek())) tokenizer.nextToken();
+    private static Collection<?> deserializeCollection(JsonLexer tokenizer, TypeBinding binding, JsonProjection projection,
+                                                       JsonConfig config) throws Exception {
+        Collection<Object> collection = binding.newContainer();
+        TypeBinding element = binding.element != null ? binding.element : TypeBinding.OBJECT;
+        for (boolean first = true; hasNextElement(tokenizer, first); first = false) {
+            Object value = deserializeValue(tokenizer, element, projection, config);
+            if (value == null) addNull(collection, tokenizer);
+            else collection.add(value);
+        }
+        return collection;
+    }
+
+    /**
+     * Adds a {@code null} element, which queues and concurrent collections do not accept.
+     *
+     * @param collection the collection being filled
+     * @param tokenizer  the JSON tokenizer positioned on the {@code null} token
+     * @throws JsonDeserializationException if the collection does not permit {@code null} elements
+     */
+    private static void addNull(Collection<Object> collection, JsonLexer tokenizer) throws JsonDeserializationException {
+        try {
+            collection.add(null);
+        } catch (NullPointerException e) {
+            throw new JsonDeserializationException("Null element not permitted in " + collection.getClass().getName()
+                    + " at position " + tokenizer.tokenStart());
         }
-        tokenizer.nextToken(); // consume ']'
-        return list;
     }
 
     /**
-     * Deserializes a JSON object into a Java object of the specified type.
+     * Deserializes a JSON array into a Java array with the given component type.
+     * Primitive arrays are collected in a growable primitive buffer, so no element is ever boxed.
+     *
+     * @param tokenizer  the JSON tokenizer instance, positioned after the opening bracket
+     * @param binding    the binding of the component type of the array
+     * @param projection the property paths to bind in each element
+     * @param config     the settings, metadata and codecs to use
+     * @return the populated array
+     * @throws Exception if an error occurs during deserialization
+     */
+    private static Object deserializeArray(JsonLexer tokenizer, TypeBinding binding, JsonProjection projection,
+                                           JsonConfig config) throws Exception {
+        Class<?> component = binding.raw;
+        int size = 0;
+        if (component == int.class) {
+            int[] values = new int[16];
+            for (boolean first = true; hasNextElement(tokenizer, first); first = false) {
+                if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                expect(tokenizer, JsonToken.NUMBER);
+                values[size++] = tokenizer.intValue();
+            }
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+        if (component == long.class) {
+            long[] values = new long[16];
+            for (boolean first = true; hasNextElement(tokenizer, first); first = false) {
+                if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                expect(tokenizer, JsonToken.NUMBER);
+                values[size++] = tokenizer.longValue();
+            }
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+        if (component == double.class) {
+            double[] values = new double[16];
+            for (boolean first = true; hasNextElement(tokenizer, first); first = false) {
+                if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                expect(tokenizer, JsonToken.NUMBER);
+                values[size++] = tokenizer.doubleValue();
+            }
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+        if (component == float.class) {
+            float[] values = new float[16];
+            for (boolean first = true; hasNextElement(tokenizer, first); first = false) {
+                if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                expect(tokenizer, JsonToken.NUMBER);
+                values[size++] = tokenizer.floatValue();
+            }
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+        if (component == boolean.class) {
+            boolean[] values = new boolean[16];
+            for (boolean first = true; hasNextElement(tokenizer, first); first = false) {
+                if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                JsonToken token = tokenizer.next();
+                if (token != JsonToken.TRUE && token != JsonToken.FALSE) throw unexpected(tokenizer);
+                values[size++] = token == JsonToken.TRUE;
+            }
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+        if (component == char.class) {
+            // char[] is written as a JSON string, never as an array.
+            throw unexpected(tokenizer);
+        }
+        if (component == byte.class || component == short.class) {
+            // Narrow integer arrays are rare enough to share one path through an int buffer.
+            int[] values = new int[16];
+            for (boolean first = true; hasNextElement(tokenizer, first); first = false) {
+                if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                expect(tokenizer, JsonToken.NUMBER);
+                values[size++] = ((Number) deserializeNumber(tokenizer, component, config)).intValue();
+            }
+            Object array = Array.newInstance(component, size);
+            for (int i = 0; i < size; i++) {
+                if (component == byte.class) Array.setByte(array, i, (byte) values[i]);
+                else Array.setShort(array, i, (short) values[i]);
+            }
+            return array;
+        }
+        List<Object> elements = new ArrayList<>();
+        for (boolean first = true; hasNextElement(tokenizer, first); first = false) {
+            elements.add(deserializeValue(tokenizer, binding, projection, config));
+        }
+        return elements.toArray((Object[]) Array.newInstance(component, elements.size()));
+    }
+
+    /**
+     * Advances over the separator in front of the next array element.
      *
      * @param tokenizer the JSON tokenizer instance
-     * @param type      the target type to deserialize into
+     * @param first     whether no element of the current array has been read yet
+     * @return {@code true} if an element follows, {@code false} once the closing bracket was consumed
+     * @throws JsonDeserializationException if the array is malformed
+     */
+    private static boolean hasNextElement(JsonLexer tokenizer, boolean first) throws JsonDeserializationException {
+        if (first) {
+            if (tokenizer.peekToken() != JsonToken.END_ARRAY) return true;
+            tokenizer.next(); // consume ']'
+            return false;
+        }
+        JsonToken token = tokenizer.next();
+        if (token == JsonToken.COMMA) return true;
+        expect(token, tokenizer, JsonToken.END_ARRAY);
+        return false;
+    }
+
+    /**
+     * Deserializes a JSON object into a Java object of the specified type. Unselected members, and
+     * unknown ones unless the configuration rejects them, are skipped without being decoded.
+     *
+     * @param tokenizer  the JSON tokenizer instance
+     * @param binding    the binding of the target type
+     * @param projection the property paths to bind
+     * @param config     the settings, metadata and codecs to use
      * @return an instance of the specified type populated with data from the JSON object
      * @throws Exception if an error occurs during deserialization
      */
-    private static Object deserializeObject(JsonTokenizer tokenizer, Class<?> type) throws Exception {
-        if (Map.class.isAssignableFrom(type)) {
-            return deserializeMap(tokenizer);
+    private static Object deserializeObject(JsonLexer tokenizer, TypeBinding binding, JsonProjection projection,
+                                            JsonConfig config) throws Exception {
+        Class<?> type = binding.raw;
+        if (type == Object.class || Map.class.isAssignableFrom(type)) {
+            return deserializeMap(tokenizer, binding, projection, config);
+        }
+        // Generated codecs bind every property, so they are bypassed when only some are selected.
+        IJsonCodec<?> codec = projection == JsonProjection.ALL ? config.codecFor(type) : null;
+        if (codec != null) {
+            return codec.read(tokenizer);
         }
 
-        Object obj = type.getDeclaredConstructor().newInstance();
-        while (!"}".equals(tokenizer.peek())) {
-            String fieldName = tokenizer.nextToken();
-            fieldName = fieldName.substring(1, fieldName.length() - 1); // remove quotes
-            tokenizer.nextToken(); // consume ':'
+        ClassMetadata metadata = config.metadata(type);
+        if (metadata.creator != null) {
+            return deserializeCreated(tokenizer, binding, metadata, projection, config);
+        }
+        Object obj = metadata.newInstance();
+        if (tokenizer.peekToken() == JsonToken.END_OBJECT) {
+            tokenizer.next(); // consume '}'
+            return obj;
+        }
+        int expected = 0;
+        do {
+            PropertyMetadata property = readKey(tokenizer, metadata, expected, config);
+            if (property != null) expected = property.index + 1;
 
-            Field field = findField(type, fieldName);
-            if (field != null) {
-                field.setAccessible(true);
-                field.set(obj, deserializeValue(tokenizer, field));
+            JsonProjection selected = property != null ? projection.child(property) : null;
+            if (selected != null) {
+                if (!property.unboxed || !readPrimitive(tokenizer, property, obj)) {
+                    property.set(obj, deserializeValue(tokenizer, property, binding.property(metadata, property), selected, config));
+                }
             } else {
-                // Skip unknown fields
-                deserializeValue(tokenizer, Object.class);
+                // Skip unknown and unselected fields
+                tokenizer.skipValue();
             }
+        } while (tokenizer.next() == JsonToken.COMMA);
+        expect(tokenizer.currentToken(), tokenizer, JsonToken.END_OBJECT);
+        return obj;
+    }
 
-            if (",".equals(tokenizer.peek())) tokenizer.nextToken();
+    /**
+     * Deserializes a JSON object into an instance created by a constructor that receives the property
+     * values. The values are collected in typed arguments first, primitives read without boxing;
+     * values of properties that are not constructor parameters are set on the new instance afterwards.
+     *
+     * @param tokenizer  the JSON tokenizer instance, positioned after the opening brace
+     * @param binding    the binding of the target type
+     * @param metadata   the metadata of the target type, which has a creator
+     * @param projection the property paths to bind
+     * @param config     the settings, metadata and codecs to use
+     * @return the new instance
+     * @throws Exception if an error occurs during deserialization
+     */
+    private static Object deserializeCreated(JsonLexer tokenizer, TypeBinding binding, ClassMetadata metadata,
+                                             JsonProjection projection, JsonConfig config) throws Exception {
+        Creator creator = metadata.creator;
+        Creator.Arguments arguments = creator.arguments();
+        Object[] others = null;
+        if (tokenizer.peekToken() == JsonToken.END_OBJECT) {
+            tokenizer.next(); // consume '}'
+            return creator.create(arguments);
+        }
+        int expected = 0;
+        do {
+            PropertyMetadata property = readKey(tokenizer, metadata, expected, config);
+            if (property != null) expected = property.index + 1;
+            JsonProjection selected = property != null ? projection.child(property) : null;
+            if (selected == null) {
+                tokenizer.skipValue();
+                continue;
+            }
+            int slot = creator.slot(property);
+            if (slot >= 0 && property.unboxed && creator.type(slot) == property.type
+                    && readPrimitive(tokenizer, property.type, arguments, slot)) continue;
+            Object value = deserializeValue(tokenizer, property, binding.property(metadata, property), selected, config);
+            if (slot >= 0) {
+                if (value == null && property.type.isPrimitive()) {
+                    throw new IllegalArgumentException("Cannot pass null to primitive parameter: " + property.name);
+                }
+                arguments.set(slot, value);
+            } else {
+                if (others == null) {
+                    others = new Object[metadata.properties.length];
+                    Arrays.fill(others, MISSING);
+                }
+                others[property.index] = value;
+            }
+        } while (tokenizer.next() == JsonToken.COMMA);
+        expect(tokenizer.currentToken(), tokenizer, JsonToken.END_OBJECT);
+        Object obj = creator.create(arguments);
+        if (others != null) {
+            for (int i = 0; i < others.length; i++) {
+                if (others[i] != MISSING) metadata.properties[i].set(obj, others[i]);
+            }
         }
-        tokenizer.nextToken(); // consume '}'
         return obj;
     }
 
     /**
-     * Deserializes a JSON map into a Java Map.
+     * Reads an object key and the colon after it, and finds the property it names.
+     *
+     * @param tokenizer the JSON tokenizer positioned before the key
+     * @param metadata  the metadata of the object's class
+     * @param expected  the index of the property that most likely comes next
+     * @param config    the settings to use
+     * @return the property, or {@code null} for a key to skip
+     * @throws JsonDeserializationException if the key is malformed, or unknown while unknown properties are rejected
+     */
+    private static PropertyMetadata readKey(JsonLexer tokenizer, ClassMetadata metadata, int expected,
+                                            JsonConfig config) throws JsonDeserializationException {
+        expect(tokenizer.next(), tokenizer, JsonToken.STRING);
+        PropertyMetadata property = metadata.find(tokenizer, expected);
+        if (property == null && config.failOnUnknownProperties && !metadata.isIgnored(tokenizer.stringValue())) {
+            throw new JsonDeserializationException("Unknown property \"" + tokenizer.stringValue() + "\" of "
+                    + metadata.type.getName() + " at position " + tokenizer.tokenStart());
+        }
+        expect(tokenizer, JsonToken.COLON);
+        return property;
+    }
+
+    /**
+     * Reads the next value straight into an unboxed primitive field when the upcoming token has the
+     * matching kind, avoiding a boxed intermediate value.
      *
      * @param tokenizer the JSON tokenizer instance
+     * @param property  the primitive property to assign
+     * @param obj       the object being populated
+     * @return {@code true} if the value was consumed, {@code false} if nothing was read
+     * @throws Exception if an error occurs during deserialization
+     */
+    private static boolean readPrimitive(JsonLexer tokenizer, PropertyMetadata property, Object obj) throws Exception {
+        FieldAccessor accessor = property.accessor;
+        if (!accessor.isWritable()) return false;
+        Class<?> type = property.type;
+        JsonToken token = tokenizer.peekToken();
+        if (token == JsonToken.NUMBER) {
+            if (type == boolean.class) return false;
+            tokenizer.next();
+            if (type == int.class) accessor.setInt(obj, tokenizer.intValue());
+            else if (type == long.class) accessor.setLong(obj, tokenizer.longValue());
+            else accessor.setDouble(obj, tokenizer.doubleValue());
+            return true;
+        }
+        if ((token == JsonToken.TRUE || token == JsonToken.FALSE) && type == boolean.class) {
+            tokenizer.next();
+            accessor.setBoolean(obj, token == JsonToken.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads a primitive constructor argument straight into its slot, like
+     * {@link #readPrimitive(JsonLexer, PropertyMetadata, Object)} does for fields.
+     *
+     * @return {@code true} if the value was read, {@code false} if it must be bound generically
+     */
+    private static boolean readPrimitive(JsonLexer tokenizer, Class<?> type, Creator.Arguments arguments, int slot)
+            throws Exception {
+        JsonToken token = tokenizer.peekToken();
+        if (token == JsonToken.NUMBER) {
+            if (type == boolean.class) return false;
+            tokenizer.next();
+            if (type == int.class) arguments.setInt(slot, tokenizer.intValue());
+            else if (type == long.class) arguments.setLong(slot, tokenizer.longValue());
+            else arguments.setDouble(slot, tokenizer.doubleValue());
+            return true;
+        }
+        if ((token == JsonToken.TRUE || token == JsonToken.FALSE) && type == boolean.class) {
+            tokenizer.next();
+            arguments.setBoolean(slot, token == JsonToken.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Deserializes a JSON map into a Java Map. The map type follows the binding, defaulting to a
+     * HashMap, and keys and values are converted to the declared key and value types.
+     *
+     * @param tokenizer  the JSON tokenizer instance
+     * @param binding    the binding of the map type, or of {@code Object} for untyped values
+     * @param projection the keys to bind; other entries are skipped
+     * @param config     the settings, metadata and codecs to use
      * @return a Map containing key-value pairs deserialized from the JSON map
      * @throws Exception if an error occurs during deserialization
      */
-    private static Map<String, Object> deserializeMap(JsonTokenizer tokenizer) throws Exception {
-        Map<String, Object> map = new HashMap<>();
-        while (!"}".equals(tokenizer.peek())) {
-            String key = tokenizer.nextToken();
-            key = key.substring(1, key.length() - 1); // remove quotes
-            tokenizer.nextToken(); // consume ':'
-            Object value = deserializeValue(tokenizer, Object.class);
-            map.put(key, value);
-            if (",".equals(tokenizer.peek())) tokenizer.nextToken();
-        }
-        tokenizer.nextToken(); // consume '}'
+    private static Map<Object, Object> deserializeMap(JsonLexer tokenizer, TypeBinding binding, JsonProjection projection,
+                                                      JsonConfig config) throws Exception {
+        boolean typed = binding.keyType != null;
+        Map<Object, Object> map = typed ? binding.newContainer() : new HashMap<>();
+        TypeBinding value = typed ? binding.element : TypeBinding.OBJECT;
+        if (tokenizer.peekToken() == JsonToken.END_OBJECT) {
+            tokenizer.next(); // consume '}'
+            return map;
+        }
+        do {
+            expect(tokenizer.next(), tokenizer, JsonToken.STRING);
+            String name = tokenizer.stringValue();
+            expect(tokenizer, JsonToken.COLON);
+            JsonProjection selected = projection.child(name);
+            if (selected == null) {
+                tokenizer.skipValue();
+                continue;
+            }
+            Object key = typed ? binding.convertKey(name) : name;
+            Object element = deserializeValue(tokenizer, value, selected, config);
+            if (element == null) putNull(map, key, tokenizer);
+            else map.put(key, element);
+        } while (tokenizer.next() == JsonToken.COMMA);
+        expect(tokenizer.currentToken(), tokenizer, JsonToken.END_OBJECT);
         return map;
     }
 
+    /**
+     * Stores a {@code null} value, which concurrent maps such as {@link java.util.concurrent.ConcurrentHashMap}
+     * do not accept.
+     *
+     * @param map       the map being filled
+     * @param key       the converted key
+     * @param tokenizer the JSON tokenizer positioned on the {@code null} token
+     * @throws JsonDeserializationException if the map does not permit {@code null} values
+     */
+    private static void putNull(Map<Object, Object> map, Object key, JsonLexer tokenizer) throws JsonDeserializationException {
+        try {
+            map.put(key, null);
+        } catch (NullPointerException e) {
+            throw new JsonDeserializationException("Null value for key \"" + key + "\" not permitted in "
+                    + map.getClass().getName() + " at position " + tokenizer.tokenStart());
+        }
+    }
+
     /**
      * Deserializes a JSON value into an object field value, considering field annotations.
      *
-     * @param tokenizer the JSON tokenizer instance
-     * @param field     the field to deserialize into
+     * @param tokenizer  the JSON tokenizer instance
+     * @param property   the property to deserialize into
+     * @param binding    the binding of the generic type of the property
+     * @param projection the property paths to bind within the value
+     * @param config     the settings, metadata and codecs to use
      * @return the deserialized value for the field
      * @throws Exception if an error occurs during deserialization
      */
-    private static Object deserializeValue(JsonTokenizer tokenizer, Field field) throws Exception {
-        if (field.isAnnotationPresent(JsonDeserialize.class)) {
-            JsonDeserialize annotation = field.getAnnotation(JsonDeserialize.class);
-            IJsonDeserializer<?> deserializer = annotation.using().getDeclaredConstructor().newInstance();
-            return deserializer.deserialize(tokenizer.nextToken());
+    private static Object deserializeValue(JsonLexer tokenizer, PropertyMetadata property, TypeBinding binding,
+                                           JsonProjection projection, JsonConfig config) throws Exception {
+        if (property.deserializerClass != null) {
+            return readCustom(tokenizer, property.deserializer());
         }
 
-        if (field.isAnnotationPresent(JsonDateFormat.class)) {
-            return deserializeDate(tokenizer.nextToken(), field.getAnnotation(JsonDateFormat.class).value());
+        if (property.dateFormat != null) {
+            return property.dateFormat.read(tokenizer, binding.raw);
         }
 
-        return deserializeValue(tokenizer, field.getType());
+        return deserializeValue(tokenizer, binding, projection, config);
     }
 
     /**
-     * Finds a field in a class based on its name, considering JSON property annotations and aliases.
+     * Reads the next value through a custom deserializer, which receives its raw JSON text.
      *
-     * @param type      the class type to search for the field
-     * @param fieldName the name of the field to find
-     * @return the Field object representing the found field, or {@code null} if not found
+     * @param tokenizer         the JSON tokenizer positioned before the value
+     * @param deserializer the deserializer
+     * @return the deserialized value
+     * @throws Exception if the deserializer fails
      */
-    private static Field findField(Class<?> type, String fieldName) {
-        for (Field field : type.getDeclaredFields()) {
-            if (field.isAnnotationPresent(JsonProperty.class)) {
-                JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
-                if (jsonProperty.value().equals(fieldName)) {
-                    return field;
-                }
-            }
-            if (field.isAnnotationPresent(JsonAlias.class)) {
-                JsonAlias jsonAlias = field.getAnnotation(JsonAlias.class);
-                for (String alias : jsonAlias.value()) {
-                    if (alias.equals(fieldName)) {
-                        return field;
-                    }
-                }
-            }
-            if (field.getName().equals(fieldName)) {
-                return field;
-            }
+    static Object readCustom(JsonLexer tokenizer, IJsonDeserializer<?> deserializer) throws Exception {
+        return deserializer.deserialize(tokenizer.rawValue());
+    }
+
+    /**
+     * Consumes the next token and checks that it has the expected kind.
+     *
+     * @param tokenizer the JSON tokenizer instance
+     * @param expected  the required token kind
+     * @throws JsonDeserializationException if a different token is found
+     */
+    static void expect(JsonLexer tokenizer, JsonToken expected) throws JsonDeserializationException {
+        expect(tokenizer.next(), tokenizer, expected);
+    }
+
+    /**
+     * Checks that a token that was just read has the expected kind.
+     *
+     * @param token     the token that was read
+     * @param tokenizer the JSON tokenizer instance
+     * @param expected  the required token kind
+     * @throws JsonDeserializationException if {@code token} is not {@code expected}
+     */
+    static void expect(JsonToken token, JsonLexer tokenizer, JsonToken expected) throws JsonDeserializationException {
+        if (token != expected) {
+            throw new JsonDeserializationException("Expected " + expected + " but found " + token
+                    + " at position " + tokenizer.tokenStart());
         }
-        return null;
     }
 
     /**
-     * Deserializes a JSON date string into a Java Date object based on a specified date format.
+     * Builds the error reported for a token that cannot start a value.
      *
-     * @param value  the JSON date string to deserialize
-     * @param format the date format string
-     * @return a Date object representing the deserialized date
-     * @throws ParseException if the JSON date string cannot be parsed according to the format
+     * @param tokenizer the JSON tokenizer positioned on the offending token
+     * @return the exception to throw
      */
-    private static Date deserializeDate(String value, String format) throws ParseException {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(format);
-        return dateFormat.parse(value.replace("\"", ""));
+    private static JsonDeserializationException unexpected(JsonLexer tokenizer) {
+        return new JsonDeserializationException("Unexpected token: " + tokenizer.currentToken()
+                + " at position " + tokenizer.tokenStart());
     }
 }
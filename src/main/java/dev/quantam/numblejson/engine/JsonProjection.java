@@ -0,0 +1,99 @@
+package dev.quantam.numblejson.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A set of property paths to bind, with every other value skipped unread.
+ * <p>
+ * Paths are dot-separated property names such as {@code "id"} or {@code "address.city"}, matched
+ * against the JSON name of a property or its field name. Selecting a property selects everything
+ * beneath it. Paths pass through collections, arrays and maps, so {@code "orders.total"} binds the
+ * {@code total} of every element of {@code orders}; map entries are selected by key. Values that are
+ * not selected are stepped over by {@link dev.quantam.numblejson.tokenize.JsonLexer#skipValue()}
+ * and their fields keep the values set by the constructor.
+ * <p>
+ * Projections are immutable and may be built once and shared.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class JsonProjection {
+    /**
+     * The projection that binds every value.
+     */
+    public static final JsonProjection ALL = new JsonProjection(null);
+
+    /**
+     * The selected child paths, or {@code null} if everything beneath this point is selected.
+     */
+    private final Map<String, JsonProjection> children;
+
+    private JsonProjection(Map<String, JsonProjection> children) {
+        this.children = children;
+    }
+
+    /**
+     * Builds a projection from dot-separated property paths.
+     *
+     * @param paths the paths to bind
+     * @return the projection; {@link #ALL} if no path is given
+     * @throws IllegalArgumentException if a path is empty or has an empty segment
+     */
+    public static JsonProjection of(String... paths) {
+        if (paths.length == 0) {
+            return ALL;
+        }
+        Builder root = new Builder();
+        for (String path : paths) {
+            Builder node = root;
+            for (String segment : path.split("\\.", -1)) {
+                if (segment.isEmpty()) throw new IllegalArgumentException("Invalid projection path: '" + path + "'");
+                if (node.leaf) break;
+                node = node.children.computeIfAbsent(segment, s -> new Builder());
+            }
+            node.leaf = true;
+            node.children.clear();
+        }
+        return root.build();
+    }
+
+    /**
+     * Returns the projection for a JSON member or map key.
+     *
+     * @param name the member name
+     * @return the projection beneath {@code name}, or {@code null} if it is not selected
+     */
+    JsonProjection child(String name) {
+        return children == null ? this : children.get(name);
+    }
+
+    /**
+     * Returns the projection for a property, looked up by its JSON name and then its field name.
+     *
+     * @param property the property
+     * @return the projection beneath the property, or {@code null} if it is not selected
+     */
+    JsonProjection child(PropertyMetadata property) {
+        if (children == null) return this;
+        JsonProjection child = children.get(property.name);
+        return child != null ? child : children.get(property.field.getName());
+    }
+
+    @Override
+    public String toString() {
+        return children == null ? "*" : children.toString();
+    }
+
+    private static final class Builder {
+        final Map<String, Builder> children = new HashMap<>();
+        boolean leaf;
+
+        JsonProjection build() {
+            if (leaf) return ALL;
+            Map<String, JsonProjection> built = new HashMap<>();
+            children.forEach((name, child) -> built.put(name, child.build()));
+            return new JsonProjection(built);
+        }
+    }
+}
@@ -2,14 +2,22 @@ package dev.quantam.numblejson.engine;
 
 import dev.quantam.numblejson.annotations.*;
 import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import dev.quantam.numblejson.interfaces.IJsonCodec;
 import dev.quantam.numblejson.interfaces.IJsonSerializer;
+import dev.quantam.numblejson.output.CharJsonOutput;
+import dev.quantam.numblejson.output.JsonOutput;
+import dev.quantam.numblejson.output.Utf8JsonOutput;
 
-import java.lang.reflect.Field;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
  * Main class for serializing Java objects into JSON strings.
+ * All values of a document are written into one shared {@link JsonOutput}, so nested
+ * objects never produce intermediate strings and output can be streamed to a sink.
  *
  * @author quantam
  * @version 1.0
@@ -24,146 +32,358 @@ public class JsonSerializer {
      * @throws JsonSerializationException if an error occurs during serialization
      */
     public static String serialize(Object obj) throws JsonSerializationException {
+        CharJsonOutput out = new CharJsonOutput();
+        serialize(obj, out);
+        return out.toString();
+    }
+
+    /**
+     * Serializes an object and writes its JSON representation to a writer.
+     * The writer is flushed but not closed.
+     *
+     * @param obj    the object to serialize
+     * @param writer the writer to write to
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public static void serialize(Object obj, Writer writer) throws JsonSerializationException {
+        serialize(obj, new CharJsonOutput(writer));
+    }
+
+    /**
+     * Serializes an object and appends its JSON representation to an appendable.
+     *
+     * @param obj        the object to serialize
+     * @param appendable the appendable to write to
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public static void serialize(Object obj, Appendable appendable) throws JsonSerializationException {
+        serialize(obj, new CharJsonOutput(appendable));
+    }
+
+    /**
+     * Serializes an object and writes its JSON representation to a stream as UTF-8.
+     * Characters are encoded directly into a byte buffer; the stream is flushed but not closed.
+     *
+     * @param obj    the object to serialize
+     * @param stream the stream to write to
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public static void serialize(Object obj, OutputStream stream) throws JsonSerializationException {
+        serialize(obj, new Utf8JsonOutput(stream));
+    }
+
+    /**
+     * Serializes an object and writes its UTF-8 encoded JSON representation into a buffer,
+     * starting at the buffer's position.
+     *
+     * @param obj    the object to serialize
+     * @param target the heap or direct buffer to write to
+     * @throws JsonSerializationException if an error occurs or the output does not fit in the buffer
+     */
+    public static void serialize(Object obj, ByteBuffer target) throws JsonSerializationException {
+        serialize(obj, new Utf8JsonOutput(target));
+    }
+
+    /**
+     * Serializes an object into its UTF-8 encoded JSON representation.
+     *
+     * @param obj the object to serialize
+     * @return the UTF-8 encoded JSON bytes
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public static byte[] serializeToBytes(Object obj) throws JsonSerializationException {
+        Utf8JsonOutput out = new Utf8JsonOutput();
+        serialize(obj, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Serializes an object into the given output and flushes it.
+     *
+     * @param obj the object to serialize
+     * @param out the output to write to
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public static void serialize(Object obj, JsonOutput out) throws JsonSerializationException {
+        serialize(obj, out, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Serializes an object into the given output with the given settings and flushes it.
+     *
+     * @param obj    the object to serialize
+     * @param out    the output to write to
+     * @param config the settings, metadata and codecs to use
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public static void serialize(Object obj, JsonOutput out, JsonConfig config) throws JsonSerializationException {
         try {
-            if (obj == null) return "null";
-            if (obj instanceof Number || obj instanceof Boolean) return obj.toString();
-            if (obj instanceof String) return "\"" + escapeString((String) obj) + "\"";
-            if (obj instanceof List) return serializeList((List<?>) obj);
-            if (obj instanceof Map) return serializeMap((Map<?, ?>) obj);
-            return serializeObject(obj);
+            writeValue(obj, out, config);
+            out.flush();
+        } catch (JsonSerializationException e) {
+            throw e;
         } catch (Exception e) {
             throw new JsonSerializationException("Error during serialization", e);
         }
     }
 
+    /**
+     * Writes any supported value to the output.
+     *
+     * @param obj the value to write
+     * @param out the output to write to
+     * @throws Exception if an error occurs during serialization
+     */
+    static void writeValue(Object obj, JsonOutput out) throws Exception {
+        writeValue(obj, out, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Writes any supported value to the output with the given settings.
+     *
+     * @param obj    the value to write
+     * @param out    the output to write to
+     * @param config the settings, metadata and codecs to use
+     * @throws Exception if an error occurs during serialization
+     */
+    static void writeValue(Object obj, JsonOutput out, JsonConfig config) throws Exception {
+        IJsonSerializer<Object> custom;
+        if (obj == null) out.writeRaw("null");
+        else if ((custom = config.serializerFor(obj.getClass())) != null) out.writeRaw(custom.serialize(obj));
+        else if (obj instanceof String) out.writeString((String) obj);
+        else if (obj instanceof Character) out.writeString(obj.toString());
+        else if (obj instanceof Integer || obj instanceof Long || obj instanceof Short || obj instanceof Byte)
+            out.writeNumber(((Number) obj).longValue());
+        else if (obj instanceof Number || obj instanceof Boolean) out.writeRaw(obj.toString());
+        else if (TemporalFormat.isTemporal(obj)) TemporalFormat.DEFAULT.write(obj, out);
+        else if (obj instanceof List) serializeList((List<?>) obj, out, config);
+        else if (obj instanceof Collection) serializeCollection((Collection<?>) obj, out, config);
+        else if (obj.getClass().isArray()) serializeArray(obj, out, config);
+        else if (obj instanceof Map) serializeMap((Map<?, ?>) obj, out, config);
+        else serializeObject(obj, out, config);
+    }
+
     /**
      * Serializes a list into its JSON array representation.
      *
-     * @param list the list to serialize
-     * @return the JSON array representation of the list
-     * @throws JsonSerializationException if an error occurs during serialization
+     * @param list   the list to serialize
+     * @param out    the output to write to
+     * @param config the settings, metadata and codecs to use
+     * @throws Exception if an error occurs during serialization
      */
-    private static String serializeList(List<?> list) throws JsonSerializationException {
-        StringBuilder sb = new StringBuilder("[");
+    private static void serializeList(List<?> list, JsonOutput out, JsonConfig config) throws Exception {
+        out.writeRaw('[');
         for (int i = 0; i < list.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append(serialize(list.get(i)));
+            if (i > 0) out.writeRaw(',');
+            writeValue(list.get(i), out, config);
+        }
+        out.writeRaw(']');
+    }
+
+    /**
+     * Serializes any other collection, such as a set or a queue, into a JSON array in iteration order.
+     *
+     * @param collection the collection to serialize
+     * @param out        the output to write to
+     * @param config     the settings, metadata and codecs to use
+     * @throws Exception if an error occurs during serialization
+     */
+    private static void serializeCollection(Collection<?> collection, JsonOutput out, JsonConfig config) throws Exception {
+        out.writeRaw('[');
+        boolean first = true;
+        for (Object element : collection) {
+            if (!first) out.writeRaw(',');
+            first = false;
+            writeValue(element, out, config);
         }
-        return sb.append("]").toString();
+        out.writeRaw(']');
+    }
+
+    /**
+     * Serializes an array into its JSON array representation. Primitive arrays are written element by
+     * element without boxing; {@code char[]} is written as a string.
+     *
+     * @param array  the array to serialize
+     * @param out    the output to write to
+     * @param config the settings, metadata and codecs to use
+     * @throws Exception if an error occurs during serialization
+     */
+    private static void serializeArray(Object array, JsonOutput out, JsonConfig config) throws Exception {
+        if (array instanceof char[]) {
+            out.writeString(new String((char[]) array));
+            return;
+        }
+        out.writeRaw('[');
+        if (array instanceof int[]) {
+            int[] values = (int[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.writeRaw(',');
+                out.writeNumber(values[i]);
+            }
+        } else if (array instanceof long[]) {
+            long[] values = (long[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.writeRaw(',');
+                out.writeNumber(values[i]);
+            }
+        } else if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.writeRaw(',');
+                out.writeNumber(values[i]);
+            }
+        } else if (array instanceof float[]) {
+            float[] values = (float[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.writeRaw(',');
+                out.writeRaw(Float.toString(values[i]));
+            }
+        } else if (array instanceof boolean[]) {
+            boolean[] values = (boolean[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.writeRaw(',');
+                out.writeRaw(values[i] ? "true" : "false");
+            }
+        } else if (array instanceof byte[]) {
+            byte[] values = (byte[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.writeRaw(',');
+                out.writeNumber(values[i]);
+            }
+        } else if (array instanceof short[]) {
+            short[] values = (short[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.writeRaw(',');
+                out.writeNumber(values[i]);
+            }
+        } else {
+            Object[] values = (Object[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.writeRaw(',');
+                writeValue(values[i], out, config);
+            }
+        }
+        out.writeRaw(']');
     }
 
     /**
      * Serializes a map into its JSON object representation.
      *
-     * @param map the map to serialize
-     * @return the JSON object representation of the map
-     * @throws JsonSerializationException if an error occurs during serialization
+     * @param map    the map to serialize
+     * @param out    the output to write to
+     * @param config the settings, metadata and codecs to use
+     * @throws Exception if an error occurs during serialization
      */
-    private static String serializeMap(Map<?, ?> map) throws JsonSerializationException {
-        StringBuilder sb = new StringBuilder("{");
+    private static void serializeMap(Map<?, ?> map, JsonOutput out, JsonConfig config) throws Exception {
+        out.writeRaw('{');
         boolean first = true;
         for (Map.Entry<?, ?> entry : map.entrySet()) {
-            if (!first) sb.append(",");
-            sb.append("\"").append(entry.getKey()).append("\":");
-            sb.append(serialize(entry.getValue()));
+            if (!first) out.writeRaw(',');
+            out.writeString(String.valueOf(entry.getKey()));
+            out.writeRaw(':');
+            writeValue(entry.getValue(), out, config);
             first = false;
         }
-        return sb.append("}").toString();
+        out.writeRaw('}');
     }
 
     /**
      * Serializes a Java object annotated with JSON annotations into its JSON object representation.
      *
-     * @param obj the object to serialize
-     * @return the JSON object representation of the object
-     * @throws JsonSerializationException if an error occurs during serialization
+     * @param obj    the object to serialize
+     * @param out    the output to write to
+     * @param config the settings, metadata and codecs to use
+     * @throws Exception if an error occurs during serialization
      */
-    private static String serializeObject(Object obj) throws JsonSerializationException {
-        Class<?> clazz = obj.getClass();
-        Field[] fields = clazz.getDeclaredFields();
-        StringBuilder sb = new StringBuilder("{");
+    private static void serializeObject(Object obj, JsonOutput out, JsonConfig config) throws Exception {
+        @SuppressWarnings("unchecked")
+        IJsonCodec<Object> codec = (IJsonCodec<Object>) config.codecFor(obj.getClass());
+        if (codec != null) {
+            codec.write(obj, out);
+            return;
+        }
+        ClassMetadata metadata = config.metadata(obj.getClass());
+        out.writeRaw('{');
         boolean first = true;
-        for (Field field : fields) {
-            if (field.isAnnotationPresent(JsonIgnore.class)) {
+        for (PropertyMetadata property : metadata.properties) {
+            if (property.unboxed) {
+                // Primitives are never null or empty, so the inclusion rules always pass.
+                if (!first) out.writeRaw(',');
+                out.writeName(property.jsonName);
+                writePrimitive(obj, property, out);
+                first = false;
                 continue;
             }
-            field.setAccessible(true);
-            if (!first) sb.append(",");
-            String fieldName = field.isAnnotationPresent(JsonProperty.class) ?
-                    field.getAnnotation(JsonProperty.class).value() : field.getName();
-            sb.append("\"").append(fieldName).append("\":");
+            Object value;
             try {
-                Object value = field.get(obj);
-                if (shouldIncludeField(field, value)) {
-                    if (field.isAnnotationPresent(JsonSerialize.class)) {
-                        JsonSerialize annotation = field.getAnnotation(JsonSerialize.class);
-                        @SuppressWarnings("unchecked")
-                        IJsonSerializer<Object> serializer = (IJsonSerializer<Object>) annotation.using().getDeclaredConstructor().newInstance();
-                        sb.append(serializer.serialize(value));
-                    } else if (field.isAnnotationPresent(JsonDateFormat.class)) {
-                        sb.append(serializeDate(value, field.getAnnotation(JsonDateFormat.class).value()));
-                    } else {
-                        sb.append(serialize(value));
-                    }
-                    first = false;
-                }
+                value = property.get(obj);
             } catch (Exception e) {
-                throw new JsonSerializationException("Error accessing field: " + field.getName(), e);
+                throw new JsonSerializationException("Error accessing field: " + property.field.getName(), e);
+            }
+            if (!shouldInclude(property.include, value)) {
+                continue;
+            }
+            if (!first) out.writeRaw(',');
+            out.writeName(property.jsonName);
+            if (property.serializerClass != null) {
+                writeCustom(property.serializer(), value, out);
+            } else if (property.dateFormat != null) {
+                property.dateFormat.write(value, out);
+            } else {
+                writeValue(value, out, config);
             }
+            first = false;
         }
-        return sb.append("}").toString();
+        out.writeRaw('}');
     }
 
     /**
-     * Checks if a field should be included in the JSON output based on its annotation and value.
+     * Writes an unboxed primitive field straight from the object, without boxing its value.
      *
-     * @param field the field to check
-     * @param value the value of the field
-     * @return {@code true} if the field should be included, otherwise {@code false}
+     * @param obj      the object holding the field
+     * @param property the primitive property to write
+     * @param out      the output to write to
+     * @throws IOException if the output fails
      */
-    private static boolean shouldIncludeField(Field field, Object value) {
-        if (field.isAnnotationPresent(JsonInclude.class)) {
-            JsonInclude.Include include = field.getAnnotation(JsonInclude.class).value();
-            if (include == JsonInclude.Include.NON_NULL && value == null) {
-                return false;
-            }
-            if (include == JsonInclude.Include.NON_EMPTY) {
-                if (value == null) return false;
-                if (value instanceof String && ((String) value).isEmpty()) return false;
-                if (value instanceof Collection && ((Collection<?>) value).isEmpty()) return false;
-                if (value instanceof Map && ((Map<?, ?>) value).isEmpty()) return false;
-            }
-        }
-        return true;
+    private static void writePrimitive(Object obj, PropertyMetadata property, JsonOutput out) throws IOException {
+        FieldAccessor accessor = property.accessor;
+        Class<?> type = property.type;
+        if (type == int.class) out.writeNumber(accessor.getInt(obj));
+        else if (type == long.class) out.writeNumber(accessor.getLong(obj));
+        else if (type == double.class) out.writeNumber(accessor.getDouble(obj));
+        else out.writeRaw(accessor.getBoolean(obj) ? "true" : "false");
     }
 
     /**
-     * Serializes a date object into its JSON string representation based on a specified date format.
+     * Writes a value through a custom serializer, emitting its JSON text as is.
      *
-     * @param value  the date object to serialize
-     * @param format the date format string
-     * @return the JSON string representation of the date
+     * @param serializer the serializer
+     * @param value      the value to serialize
+     * @param out        the output to write to
+     * @throws Exception if the serializer fails
      */
-    private static String serializeDate(Object value, String format) {
-        if (value instanceof Date) {
-            SimpleDateFormat dateFormat = new SimpleDateFormat(format);
-            return "\"" + dateFormat.format((Date) value) + "\"";
-        }
-        return "null";
+    @SuppressWarnings("unchecked")
+    static void writeCustom(IJsonSerializer<?> serializer, Object value, JsonOutput out) throws Exception {
+        out.writeRaw(((IJsonSerializer<Object>) serializer).serialize(value));
     }
 
     /**
-     * Escapes special characters in a string to ensure valid JSON representation.
+     * Checks if a field should be included in the JSON output based on its inclusion rule and value.
      *
-     * @param s the string to escape
-     * @return the escaped string
+     * @param include the inclusion rule of the field
+     * @param value   the value of the field
+     * @return {@code true} if the field should be included, otherwise {@code false}
      */
-    private static String escapeString(String s) {
-        return s.replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t")
-                .replace("\b", "\\b")
-                .replace("\f", "\\f");
+    static boolean shouldInclude(JsonInclude.Include include, Object value) {
+        if (include == JsonInclude.Include.NON_NULL && value == null) {
+            return false;
+        }
+        if (include == JsonInclude.Include.NON_EMPTY) {
+            if (value == null) return false;
+            if (value instanceof String && ((String) value).isEmpty()) return false;
+            if (value instanceof Collection && ((Collection<?>) value).isEmpty()) return false;
+            if (value instanceof Map && ((Map<?, ?>) value).isEmpty()) return false;
+        }
+        return true;
     }
 }
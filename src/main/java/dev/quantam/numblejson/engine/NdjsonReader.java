@@ -0,0 +1,509 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.exceptions.UncheckedJsonException;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads newline-delimited JSON (NDJSON, also known as JSON Lines): one UTF-8 encoded JSON value per
+ * line, each bound to the same type. Blank lines are ignored.
+ * <p>
+ * Input is cut into chunks of about {@link #chunkSize(int) chunkSize} bytes that end at a newline,
+ * so that every chunk holds whole lines. Files are memory-mapped one chunk at a time and each line is
+ * decoded in place from the mapping; streams are read into one array per chunk. Chunks are decoded on the
+ * calling thread by default, or {@link #parallel(Executor) in parallel} on an executor such as a
+ * {@link ForkJoinPool} or a virtual-thread-per-task executor, with a bounded number of chunks in
+ * flight. Parallel results are delivered in input order unless {@link #ordered(boolean) ordered(false)}
+ * lets each chunk be delivered as soon as it is decoded.
+ * <p>
+ * Streams returned by this class must be closed, for example with try-with-resources, to release
+ * files that were not read to the end. Invalid lines are reported with an {@link UncheckedJsonException}
+ * and read errors with an {@link UncheckedIOException}. Readers are immutable and may be shared;
+ * every configuration method returns a new reader.
+ *
+ * @param <T> the type of the values on each line
+ * @author quantam
+ * @version 1.0
+ */
+public final class NdjsonReader<T> {
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    private final Type type;
+    private final Executor executor;
+    private final boolean ordered;
+    private final int chunkSize;
+    private final JsonConfig config;
+
+    private NdjsonReader(Type type, Executor executor, boolean ordered, int chunkSize, JsonConfig config) {
+        this.type = type;
+        this.executor = executor;
+        this.ordered = ordered;
+        this.chunkSize = chunkSize;
+        this.config = config;
+    }
+
+    /**
+     * Creates a sequential, ordered reader of values of a class.
+     *
+     * @param clazz the class of the values on each line
+     * @param <T>   the type of the values
+     * @return the reader
+     */
+    public static <T> NdjsonReader<T> of(Class<T> clazz) {
+        return new NdjsonReader<>(clazz, null, true, DEFAULT_CHUNK_SIZE, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Creates a sequential, ordered reader of values of a generic type.
+     *
+     * @param type the type of the values on each line, for example a {@link java.lang.reflect.ParameterizedType}
+     * @param <T>  the type of the values
+     * @return the reader
+     */
+    public static <T> NdjsonReader<T> of(Type type) {
+        return new NdjsonReader<>(type, null, true, DEFAULT_CHUNK_SIZE, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Returns a reader that decodes chunks in parallel on the common {@link ForkJoinPool}.
+     *
+     * @return the parallel reader
+     */
+    public NdjsonReader<T> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a reader that decodes chunks in parallel on an executor. At most twice as many chunks
+     * as the executor has threads (or the machine has processors, if that is not known) are read
+     * ahead of the consumer.
+     *
+     * @param executor the executor to decode chunks on
+     * @return the parallel reader
+     */
+    public NdjsonReader<T> parallel(Executor executor) {
+        if (executor == null) throw new NullPointerException("executor");
+        return new NdjsonReader<>(type, executor, ordered, chunkSize, config);
+    }
+
+    /**
+     * Returns a reader that decodes every chunk on the thread consuming the stream.
+     *
+     * @return the sequential reader
+     */
+    public NdjsonReader<T> sequential() {
+        return new NdjsonReader<>(type, null, ordered, chunkSize, config);
+    }
+
+    /**
+     * Returns a reader that delivers values in input order, or in the order their chunks finish
+     * decoding. Sequential readers always deliver values in input order.
+     *
+     * @param ordered whether values must keep their input order
+     * @return the configured reader
+     */
+    public NdjsonReader<T> ordered(boolean ordered) {
+        return new NdjsonReader<>(type, executor, ordered, chunkSize, config);
+    }
+
+    /**
+     * Returns a reader that cuts input into chunks of the given size. A chunk is extended to the end
+     * of its last line, so a line longer than the chunk size makes one larger chunk.
+     *
+     * @param bytes the target number of bytes per chunk
+     * @return the configured reader
+     * @throws IllegalArgumentException if {@code bytes} is not positive
+     */
+    public NdjsonReader<T> chunkSize(int bytes) {
+        if (bytes <= 0) throw new IllegalArgumentException("Chunk size must be positive: " + bytes);
+        return new NdjsonReader<>(type, executor, ordered, bytes, config);
+    }
+
+    /**
+     * Returns a reader that binds every line with the given settings and codecs.
+     *
+     * @param config the configuration to bind with, for example that of a {@link dev.quantam.numblejson.NimbleJSON} instance
+     * @return the configured reader
+     */
+    public NdjsonReader<T> config(JsonConfig config) {
+        if (config == null) throw new NullPointerException("config");
+        return new NdjsonReader<>(type, executor, ordered, chunkSize, config);
+    }
+
+    /**
+     * Reads the values of a file, which is memory-mapped chunk by chunk.
+     *
+     * @param path the file to read
+     * @return the values, closing the file when the stream is closed
+     * @throws IOException if the file cannot be opened
+     */
+    public Stream<T> read(Path path) throws IOException {
+        return readBatches(path).flatMap(List::stream);
+    }
+
+    /**
+     * Reads the values of a file, which is memory-mapped chunk by chunk.
+     *
+     * @param file the file to read
+     * @return the values, closing the file when the stream is closed
+     * @throws IOException if the file cannot be opened
+     */
+    public Stream<T> read(File file) throws IOException {
+        return read(file.toPath());
+    }
+
+    /**
+     * Reads the values of a stream. The stream is not closed.
+     *
+     * @param stream the stream supplying the UTF-8 encoded lines
+     * @return the values
+     */
+    public Stream<T> read(InputStream stream) {
+        return readBatches(stream).flatMap(List::stream);
+    }
+
+    /**
+     * Reads the values of a file in batches, one per chunk.
+     *
+     * @param path the file to read
+     * @return the non-empty batches of values, closing the file when the stream is closed
+     * @throws IOException if the file cannot be opened
+     */
+    public Stream<List<T>> readBatches(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return batches(new MappedChunks(channel, chunkSize));
+    }
+
+    /**
+     * Reads the values of a stream in batches, one per chunk. The stream is not closed.
+     *
+     * @param stream the stream supplying the UTF-8 encoded lines
+     * @return the non-empty batches of values
+     */
+    public Stream<List<T>> readBatches(InputStream stream) {
+        return batches(new StreamChunks(stream, chunkSize));
+    }
+
+    private Stream<List<T>> batches(ChunkSource source) {
+        Batches batches = new Batches(source);
+        int characteristics = Spliterator.NONNULL | (ordered || executor == null ? Spliterator.ORDERED : 0);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, characteristics), false)
+                .onClose(batches::close);
+    }
+
+    /**
+     * Decodes every non-blank line of a chunk.
+     */
+    private List<T> decode(Chunk chunk) {
+        ByteBuffer bytes = chunk.bytes;
+        int limit = bytes.limit();
+        List<T> values = new ArrayList<>();
+        int start = 0;
+        while (start < limit) {
+            int end = start;
+            boolean blank = true;
+            byte b;
+            while (end < limit && (b = bytes.get(end)) != '\n') {
+                if (b != ' ' && b != '\t' && b != '\r') blank = false;
+                end++;
+            }
+            if (!blank) values.add(decodeLine(chunk, start, end));
+            start = end + 1;
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T decodeLine(Chunk chunk, int start, int end) {
+        Utf8JsonTokenizer tokenizer = new Utf8JsonTokenizer(chunk.bytes.slice(start, end - start));
+        try {
+            T value = type instanceof Class
+                    ? (T) JsonDeserializer.deserialize(tokenizer, (Class<?>) type, config)
+                    : JsonDeserializer.deserialize(tokenizer, type, config);
+            if (tokenizer.next() != JsonToken.END) {
+                throw new JsonDeserializationException("Unexpected content after the value at position "
+                        + tokenizer.tokenStart());
+            }
+            return value;
+        } catch (JsonDeserializationException e) {
+            throw new UncheckedJsonException("Invalid line at byte offset " + (chunk.offset + start), e);
+        }
+    }
+
+    /**
+     * The number of chunks to keep in flight.
+     */
+    private int window() {
+        if (executor == null) return 1;
+        int threads = executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return Math.max(2, threads * 2);
+    }
+
+    /**
+     * Hands chunks to the executor ahead of the consumer and yields their decoded values.
+     */
+    private final class Batches implements Iterator<List<T>> {
+        private final ChunkSource source;
+        private final int window = window();
+        private final ArrayDeque<CompletableFuture<List<T>>> pending = new ArrayDeque<>();
+        private final BlockingQueue<CompletableFuture<List<T>>> completed = new LinkedBlockingQueue<>();
+        private boolean exhausted;
+        private List<T> next;
+
+        Batches(ChunkSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                submit();
+                if (pending.isEmpty()) return false;
+                List<T> batch = join(take());
+                if (!batch.isEmpty()) next = batch;
+            }
+            return true;
+        }
+
+        @Override
+        public List<T> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            List<T> batch = next;
+            next = null;
+            return batch;
+        }
+
+        private void submit() {
+            while (!exhausted && pending.size() < window) {
+                Chunk chunk;
+                try {
+                    chunk = source.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (chunk == null) {
+                    exhausted = true;
+                    closeSource();
+                    return;
+                }
+                CompletableFuture<List<T>> future = executor == null
+                        ? decodeNow(chunk)
+                        : CompletableFuture.supplyAsync(() -> decode(chunk), executor);
+                pending.add(future);
+                if (!ordered) future.whenComplete((batch, failure) -> completed.add(future));
+            }
+        }
+
+        private CompletableFuture<List<T>> decodeNow(Chunk chunk) {
+            try {
+                return CompletableFuture.completedFuture(decode(chunk));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private CompletableFuture<List<T>> take() {
+            if (ordered || executor == null) return pending.poll();
+            try {
+                CompletableFuture<List<T>> future = completed.take();
+                pending.remove(future);
+                return future;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for a chunk"));
+            }
+        }
+
+        private List<T> join(CompletableFuture<List<T>> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw e;
+            }
+        }
+
+        void close() {
+            for (CompletableFuture<List<T>> future : pending) future.cancel(false);
+            pending.clear();
+            exhausted = true;
+            closeSource();
+        }
+
+        private void closeSource() {
+            try {
+                source.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * A run of whole lines, from index {@code 0} to the limit of a heap or mapped buffer, and the byte
+     * offset of its first line in the input.
+     */
+    private static final class Chunk {
+        final ByteBuffer bytes;
+        final long offset;
+
+        Chunk(ByteBuffer bytes, long offset) {
+            this.bytes = bytes;
+            this.offset = offset;
+        }
+    }
+
+    private interface ChunkSource {
+        /**
+         * Reads the next chunk.
+         *
+         * @return the chunk, or {@code null} at the end of the input
+         */
+        Chunk next() throws IOException;
+
+        void close() throws IOException;
+    }
+
+    /**
+     * Maps a file one chunk at a time, cutting each mapping after its last newline.
+     */
+    private static final class MappedChunks implements ChunkSource {
+        private final FileChannel channel;
+        private final long size;
+        private final int chunkSize;
+        private long position;
+
+        MappedChunks(FileChannel channel, int chunkSize) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public Chunk next() throws IOException {
+            if (position >= size) return null;
+            long length = Math.min(chunkSize, size - position);
+            while (true) {
+                ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+                if (position + length < size) {
+                    end = lastNewline(map, end) + 1;
+                    if (end == 0) {
+                        if (length == Integer.MAX_VALUE) {
+                            throw new IOException("Line at byte offset " + position + " is longer than 2 GB");
+                        }
+                        length = Math.min(Math.min(length * 2, Integer.MAX_VALUE), size - position);
+                        continue;
+                    }
+                }
+                Chunk chunk = new Chunk(map.slice(0, end), position);
+                position += end;
+                return chunk;
+            }
+        }
+
+        private static int lastNewline(ByteBuffer bytes, int end) {
+            for (int i = end - 1; i >= 0; i--) {
+                if (bytes.get(i) == '\n') return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads a stream into one array per chunk, carrying the incomplete last line to the next chunk.
+     */
+    private static final class StreamChunks implements ChunkSource {
+        private final InputStream stream;
+        private final int chunkSize;
+        private byte[] rest;
+        private int restFrom;
+        private int restLength;
+        private boolean eof;
+        private long position;
+
+        StreamChunks(InputStream stream, int chunkSize) {
+            this.stream = stream;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public Chunk next() throws IOException {
+            if (eof && restLength == 0) return null;
+            byte[] buf = new byte[Math.max(chunkSize, restLength * 2)];
+            int length = restLength;
+            if (restLength > 0) System.arraycopy(rest, restFrom, buf, 0, restLength);
+            int scanned = 0;
+            while (true) {
+                while (!eof && length < buf.length) {
+                    int n = stream.read(buf, length, buf.length - length);
+                    if (n < 0) eof = true;
+                    else length += n;
+                }
+                int end = length;
+                if (!eof) {
+                    int newline = -1;
+                    for (int i = length - 1; i >= scanned; i--) {
+                        if (buf[i] == '\n') {
+                            newline = i;
+                            break;
+                        }
+                    }
+                    if (newline < 0) {
+                        // The chunk holds part of a single line; grow it until the line ends.
+                        scanned = length;
+                        buf = Arrays.copyOf(buf, buf.length * 2);
+                        continue;
+                    }
+                    end = newline + 1;
+                }
+                rest = buf;
+                restFrom = end;
+                restLength = length - end;
+                Chunk chunk = new Chunk(ByteBuffer.wrap(buf, 0, end), position);
+                position += end;
+                return chunk;
+            }
+        }
+
+        @Override
+        public void close() {
+            // The stream belongs to the caller.
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import dev.quantam.numblejson.output.CharJsonOutput;
+import dev.quantam.numblejson.output.JsonOutput;
+import dev.quantam.numblejson.output.Utf8JsonOutput;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes newline-delimited JSON (NDJSON): every value is serialized on its own line.
+ * <p>
+ * All lines go through one {@link JsonOutput}, whose buffer is drained into the sink only when it
+ * fills up, so writing many small values costs no per-value allocation or flush. Call
+ * {@link #flush()} to push complete lines out early and {@link #close()} when done. If a value fails
+ * to serialize, part of its line may already have been written. Writers are not thread-safe.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class NdjsonWriter implements Closeable, Flushable {
+    private final JsonOutput out;
+    private final Closeable sink;
+    private final JsonConfig config;
+
+    /**
+     * Constructs an {@code NdjsonWriter} that writes UTF-8 encoded lines to a stream.
+     *
+     * @param stream the stream to write to, closed by {@link #close()}
+     */
+    public NdjsonWriter(OutputStream stream) {
+        this(stream, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs an {@code NdjsonWriter} that writes UTF-8 encoded lines to a stream with the given settings and codecs.
+     *
+     * @param stream the stream to write to, closed by {@link #close()}
+     * @param config the configuration to serialize with
+     */
+    public NdjsonWriter(OutputStream stream, JsonConfig config) {
+        this(new Utf8JsonOutput(stream), stream, config);
+    }
+
+    /**
+     * Constructs an {@code NdjsonWriter} that writes lines to a writer.
+     *
+     * @param writer the writer to write to, closed by {@link #close()}
+     */
+    public NdjsonWriter(Writer writer) {
+        this(writer, JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs an {@code NdjsonWriter} that writes lines to a writer with the given settings and codecs.
+     *
+     * @param writer the writer to write to, closed by {@link #close()}
+     * @param config the configuration to serialize with
+     */
+    public NdjsonWriter(Writer writer, JsonConfig config) {
+        this(new CharJsonOutput(writer), writer, config);
+    }
+
+    private NdjsonWriter(JsonOutput out, Closeable sink, JsonConfig config) {
+        if (config == null) throw new NullPointerException("config");
+        this.out = out;
+        this.sink = sink;
+        this.config = config;
+    }
+
+    /**
+     * Creates or truncates a file and returns a writer of UTF-8 encoded lines to it.
+     *
+     * @param path the file to write
+     * @return the writer
+     * @throws IOException if the file cannot be opened
+     */
+    public static NdjsonWriter of(Path path) throws IOException {
+        return new NdjsonWriter(Files.newOutputStream(path));
+    }
+
+    /**
+     * Serializes a value as one line.
+     *
+     * @param value the value to write
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public void write(Object value) throws JsonSerializationException {
+        try {
+            JsonSerializer.writeValue(value, out, config);
+            out.writeRaw('\n');
+        } catch (JsonSerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JsonSerializationException("Error during serialization", e);
+        }
+    }
+
+    /**
+     * Serializes every value of an iterable, one per line.
+     *
+     * @param values the values to write
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public void writeAll(Iterable<?> values) throws JsonSerializationException {
+        for (Object value : values) {
+            write(value);
+        }
+    }
+
+    /**
+     * Serializes every value of a stream, one per line, in encounter order.
+     *
+     * @param values the values to write
+     * @throws JsonSerializationException if an error occurs during serialization
+     */
+    public void writeAll(Stream<?> values) throws JsonSerializationException {
+        for (Iterator<?> it = values.iterator(); it.hasNext(); ) {
+            write(it.next());
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Flushes the buffered lines and closes the sink.
+     *
+     * @throws IOException if the sink fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            out.flush();
+        } finally {
+            sink.close();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.exceptions.UncheckedJsonException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Deserializes the elements of one large top-level JSON array in parallel.
+ * <p>
+ * A first pass finds where each element starts and ends by stepping over it with
+ * {@link JsonLexer#skipValue()}, which only scans quotes and brackets; UTF-8 input is first indexed
+ * with a {@link dev.quantam.numblejson.tokenize.StructuralIndex}, so that stepping over an element
+ * only visits its token starts. The elements are then bound independently, each with its own
+ * tokenizer over its part of the input, either by fork-join tasks that fill a list or by a splitting
+ * {@link Spliterator} behind a parallel stream. Each element is still fully validated when it is bound.
+ * <p>
+ * Elements are bound with the {@link JsonConfig#DEFAULT default configuration} unless another one is
+ * given. Readers are immutable and may be shared; every configuration method returns a new reader.
+ *
+ * @param <T> the type of the array elements
+ * @author quantam
+ * @version 1.0
+ */
+public final class ParallelArrayReader<T> {
+    private final Type type;
+    private final ForkJoinPool pool;
+    private final JsonConfig config;
+
+    private ParallelArrayReader(Type type, ForkJoinPool pool, JsonConfig config) {
+        this.type = type;
+        this.pool = pool;
+        this.config = config;
+    }
+
+    /**
+     * Creates a reader of arrays of the given element class, binding on the common {@link ForkJoinPool}.
+     *
+     * @param clazz the class of the array elements
+     * @param <T>   the type of the elements
+     * @return the reader
+     */
+    public static <T> ParallelArrayReader<T> of(Class<T> clazz) {
+        return new ParallelArrayReader<>(clazz, ForkJoinPool.commonPool(), JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Creates a reader of arrays of the given generic element type, binding on the common {@link ForkJoinPool}.
+     *
+     * @param type the type of the array elements, for example a {@link java.lang.reflect.ParameterizedType}
+     * @param <T>  the type of the elements
+     * @return the reader
+     */
+    public static <T> ParallelArrayReader<T> of(Type type) {
+        return new ParallelArrayReader<>(type, ForkJoinPool.commonPool(), JsonConfig.DEFAULT);
+    }
+
+    /**
+     * Returns a reader that binds lists on the given pool. Streams run on the pool their terminal
+     * operation is started from.
+     *
+     * @param pool the pool to bind elements on
+     * @return the configured reader
+     */
+    public ParallelArrayReader<T> pool(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException("pool");
+        return new ParallelArrayReader<>(type, pool, config);
+    }
+
+    /**
+     * Returns a reader that binds elements with the given settings and codecs.
+     *
+     * @param config the configuration to bind with, for example that of a {@link dev.quantam.numblejson.NimbleJSON} instance
+     * @return the configured reader
+     */
+    public ParallelArrayReader<T> config(JsonConfig config) {
+        if (config == null) throw new NullPointerException("config");
+        return new ParallelArrayReader<>(type, pool, config);
+    }
+
+    /**
+     * Deserializes every element of a JSON array string.
+     *
+     * @param json the JSON array
+     * @return a list of the elements, in array order
+     * @throws JsonDeserializationException if the input is not an array or an element cannot be bound
+     */
+    public List<T> readList(String json) throws JsonDeserializationException {
+        return readList(elements(json));
+    }
+
+    /**
+     * Deserializes every element of a UTF-8 encoded JSON array, read in place.
+     *
+     * @param json the UTF-8 encoded JSON array
+     * @return a list of the elements, in array order
+     * @throws JsonDeserializationException if the input is not an array or an element cannot be bound
+     */
+    public List<T> readList(byte[] json) throws JsonDeserializationException {
+        return readList(json, 0, json.length);
+    }
+
+    /**
+     * Deserializes every element of a UTF-8 encoded JSON array held in a region of a byte array.
+     *
+     * @param json   the array holding the UTF-8 encoded JSON text
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return a list of the elements, in array order
+     * @throws JsonDeserializationException if the input is not an array or an element cannot be bound
+     */
+    public List<T> readList(byte[] json, int offset, int length) throws JsonDeserializationException {
+        return readList(elements(json, offset, length));
+    }
+
+    /**
+     * Splits a JSON array string into a parallel stream of its deserialized elements. Elements are
+     * bound as the stream consumes them; binding errors are thrown as {@link UncheckedJsonException}.
+     *
+     * @param json the JSON array
+     * @return an ordered, sized parallel stream of the elements
+     * @throws JsonDeserializationException if the input is not an array
+     */
+    public Stream<T> stream(String json) throws JsonDeserializationException {
+        Elements elements = elements(json);
+        return StreamSupport.stream(new ElementSpliterator(elements, 0, elements.count), true);
+    }
+
+    /**
+     * Splits a UTF-8 encoded JSON array into a parallel stream of its deserialized elements. Elements
+     * are bound as the stream consumes them; binding errors are thrown as {@link UncheckedJsonException}.
+     *
+     * @param json the UTF-8 encoded JSON array, which must not change while the stream is in use
+     * @return an ordered, sized parallel stream of the elements
+     * @throws JsonDeserializationException if the input is not an array
+     */
+    public Stream<T> stream(byte[] json) throws JsonDeserializationException {
+        Elements elements = elements(json, 0, json.length);
+        return StreamSupport.stream(new ElementSpliterator(elements, 0, elements.count), true);
+    }
+
+    private Elements elements(String json) throws JsonDeserializationException {
+        char[] chars = json.toCharArray();
+        return split(new JsonTokenizer(chars, 0, chars.length), (from, to) -> new JsonTokenizer(chars, from, to - from));
+    }
+
+    private Elements elements(byte[] json, int offset, int length) throws JsonDeserializationException {
+        return split(Utf8JsonTokenizer.indexed(json, offset, length), (from, to) -> new Utf8JsonTokenizer(json, from, to - from));
+    }
+
+    /**
+     * Finds the boundaries of the elements of the array that the lexer is positioned before.
+     */
+    private static Elements split(JsonLexer lexer, Lexers lexers) throws JsonDeserializationException {
+        JsonDeserializer.expect(lexer, JsonToken.START_ARRAY);
+        int[] bounds = new int[32];
+        int count = 0;
+        if (lexer.peekToken() == JsonToken.END_ARRAY) {
+            lexer.next();
+        } else {
+            do {
+                if (2 * count + 2 > bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                bounds[2 * count] = (int) lexer.tokenEnd();
+                lexer.skipValue();
+                bounds[2 * count + 1] = (int) lexer.tokenEnd();
+                count++;
+            } while (lexer.next() == JsonToken.COMMA);
+            JsonDeserializer.expect(lexer.currentToken(), lexer, JsonToken.END_ARRAY);
+        }
+        JsonDeserializer.expect(lexer, JsonToken.END);
+        return new Elements(lexers, bounds, count);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> readList(Elements elements) throws JsonDeserializationException {
+        Object[] values = new Object[elements.count];
+        int batch = Math.max(1, elements.count / (pool.getParallelism() * 8));
+        try {
+            pool.invoke(new Bind(elements, values, 0, elements.count, batch));
+        } catch (UncheckedJsonException e) {
+            // Exceptions rethrown by fork-join may wrap the one thrown by the worker.
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof JsonDeserializationException) throw (JsonDeserializationException) cause;
+            }
+            throw e;
+        }
+        return new ArrayList<>(Arrays.asList((T[]) values));
+    }
+
+    /**
+     * Binds one element.
+     */
+    @SuppressWarnings("unchecked")
+    private T element(Elements elements, int index) {
+        JsonLexer lexer = elements.lexers.lexer(elements.bounds[2 * index], elements.bounds[2 * index + 1]);
+        try {
+            T value = type instanceof Class
+                    ? (T) JsonDeserializer.deserialize(lexer, (Class<?>) type, config)
+                    : JsonDeserializer.deserialize(lexer, type, config);
+            JsonDeserializer.expect(lexer, JsonToken.END);
+            return value;
+        } catch (JsonDeserializationException e) {
+            throw new UncheckedJsonException(new JsonDeserializationException("Invalid array element " + index, e));
+        }
+    }
+
+    /**
+     * Creates a lexer over part of the input.
+     */
+    @FunctionalInterface
+    private interface Lexers {
+        JsonLexer lexer(int from, int to);
+    }
+
+    /**
+     * The input of an array and the start and end position of each of its elements.
+     */
+    private static final class Elements {
+        final Lexers lexers;
+        final int[] bounds;
+        final int count;
+
+        Elements(Lexers lexers, int[] bounds, int count) {
+            this.lexers = lexers;
+            this.bounds = bounds;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Binds a range of elements into the result array, halving the range until it is small enough.
+     */
+    private final class Bind extends RecursiveAction {
+        private final Elements elements;
+        private final Object[] values;
+        private final int from;
+        private final int to;
+        private final int batch;
+
+        Bind(Elements elements, Object[] values, int from, int to, int batch) {
+            this.elements = elements;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > batch) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Bind(elements, values, from, mid, batch), new Bind(elements, values, mid, to, batch));
+            } else {
+                for (int i = from; i < to; i++) {
+                    values[i] = element(elements, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Yields the elements of a range, splitting it in halves for parallel streams.
+     */
+    private final class ElementSpliterator implements Spliterator<T> {
+        private final Elements elements;
+        private int index;
+        private final int fence;
+
+        ElementSpliterator(Elements elements, int index, int fence) {
+            this.elements = elements;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= fence) return false;
+            action.accept(element(elements, index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (index < fence) {
+                action.accept(element(elements, index++));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) return null;
+            ElementSpliterator prefix = new ElementSpliterator(elements, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
+}
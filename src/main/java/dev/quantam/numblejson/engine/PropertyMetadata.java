@@ -0,0 +1,127 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.annotations.*;
+import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import dev.quantam.numblejson.interfaces.IJsonSerializer;
+import dev.quantam.numblejson.tokenize.JsonName;
+
+import java.lang.reflect.Field;
+
+/**
+ * Resolved binding information for a single field, computed once per class by {@link ClassMetadata}.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class PropertyMetadata {
+    final Field field;
+    /**
+     * The position of this property in {@link ClassMetadata#properties}.
+     */
+    final int index;
+    final Class<?> type;
+    final String name;
+    final JsonName jsonName;
+    final String[] aliases;
+    final boolean ignored;
+    final JsonInclude.Include include;
+    /**
+     * The compiled {@link JsonDateFormat} pattern, or {@code null} if the field has none.
+     */
+    final TemporalFormat dateFormat;
+    final Class<? extends IJsonSerializer<?>> serializerClass;
+    final Class<? extends IJsonDeserializer<?>> deserializerClass;
+    private final boolean sharedSerializer;
+    private final boolean sharedDeserializer;
+    /**
+     * Whether the field is an {@code int}, {@code long}, {@code double} or {@code boolean} without a
+     * custom codec, and can therefore be read and written through the unboxed accessor methods.
+     */
+    final boolean unboxed;
+    final FieldAccessor accessor;
+
+    /**
+     * Resolves the annotations present on the given field.
+     *
+     * @param field            the field to describe
+     * @param index            the position of the property within its class
+     * @param defaultInclusion the inclusion rule if the field has no {@link JsonInclude} annotation
+     */
+    PropertyMetadata(Field field, int index, JsonInclude.Include defaultInclusion) {
+        this.field = field;
+        this.index = index;
+        this.type = field.getType();
+        JsonProperty property = field.getAnnotation(JsonProperty.class);
+        this.name = property != null ? property.value() : field.getName();
+        this.jsonName = new JsonName(name);
+        JsonAlias alias = field.getAnnotation(JsonAlias.class);
+        this.aliases = alias != null ? alias.value() : new String[0];
+        this.ignored = field.isAnnotationPresent(JsonIgnore.class);
+        JsonInclude inclusion = field.getAnnotation(JsonInclude.class);
+        this.include = inclusion != null ? inclusion.value() : defaultInclusion;
+        JsonDateFormat format = field.getAnnotation(JsonDateFormat.class);
+        this.dateFormat = format != null ? TemporalFormat.of(format.value(), type) : null;
+        JsonSerialize serialize = field.getAnnotation(JsonSerialize.class);
+        this.serializerClass = serialize != null ? serialize.using() : null;
+        this.sharedSerializer = serialize == null || serialize.shared();
+        JsonDeserialize deserialize = field.getAnnotation(JsonDeserialize.class);
+        this.deserializerClass = deserialize != null ? deserialize.using() : null;
+        this.sharedDeserializer = deserialize == null || deserialize.shared();
+        this.unboxed = (type == int.class || type == long.class || type == double.class || type == boolean.class)
+                && serializerClass == null && deserializerClass == null && dateFormat == null;
+        if (!ignored) {
+            field.setAccessible(true);
+            this.accessor = FieldAccessor.of(field);
+        } else {
+            this.accessor = null;
+        }
+    }
+
+    /**
+     * Returns the custom serializer of this property: the shared instance, or a new one if the
+     * annotation opted out of sharing.
+     *
+     * @return the serializer named by {@link JsonSerialize}
+     */
+    IJsonSerializer<?> serializer() {
+        return CodecRegistry.serializer(serializerClass, sharedSerializer);
+    }
+
+    /**
+     * Returns the custom deserializer of this property: the shared instance, or a new one if the
+     * annotation opted out of sharing.
+     *
+     * @return the deserializer named by {@link JsonDeserialize}
+     */
+    IJsonDeserializer<?> deserializer() {
+        return CodecRegistry.deserializer(deserializerClass, sharedDeserializer);
+    }
+
+    /**
+     * Reads the value of this property from the given instance.
+     *
+     * @param target the object to read from
+     * @return the current field value
+     * @throws IllegalAccessException if the field cannot be accessed
+     */
+    Object get(Object target) throws IllegalAccessException {
+        return accessor.get(target);
+    }
+
+    /**
+     * Writes a value to this property on the given instance.
+     *
+     * @param target the object to write to
+     * @param value  the value to assign
+     * @throws IllegalAccessException if the field cannot be accessed
+     */
+    void set(Object target, Object value) throws IllegalAccessException {
+        if (!accessor.isWritable()) {
+            throw new IllegalAccessException("Field is not writable: " + field);
+        }
+        if (value == null && type.isPrimitive()) {
+            throw new IllegalArgumentException("Cannot assign null to primitive field: " + field);
+        }
+        accessor.set(target, value);
+    }
+}
@@ -0,0 +1,324 @@
+package dev.quantam.numblejson.engine;
+
+import dev.quantam.numblejson.annotations.JsonDateFormat;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.output.JsonOutput;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+
+import java.io.IOException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A compiled {@link JsonDateFormat} pattern, or the default representation of date and time values.
+ * <p>
+ * Patterns are compiled once and shared by every field that uses the same pattern. A pattern applied
+ * to a {@link Date} keeps the {@link SimpleDateFormat} semantics it always had; since that format is
+ * not thread-safe, copies of it are borrowed from a small bounded pool, like the buffers of
+ * {@link BufferRecycler}, for one call at a time. The {@code java.time} types use an immutable,
+ * thread-safe {@link DateTimeFormatter}. Supported types are {@code Date}, {@link Instant}, {@link LocalDate},
+ * {@link LocalDateTime}, {@link LocalTime}, {@link OffsetDateTime}, {@link OffsetTime},
+ * {@link ZonedDateTime}, {@link Year} and {@link YearMonth}; the same types are written and read.
+ * {@code Date} and {@code Instant} values without a pattern are written as epoch milliseconds, which
+ * needs no formatting and no allocation; the {@code java.time} types default to their ISO-8601 form.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class TemporalFormat {
+    /**
+     * The representation used for values without a {@link JsonDateFormat}.
+     */
+    static final TemporalFormat DEFAULT = new TemporalFormat(null, false);
+
+    private static final TemporalFormat EPOCH_MILLIS = new TemporalFormat(null, true);
+    private static final ConcurrentMap<String, TemporalFormat> CACHE = new ConcurrentHashMap<>();
+    private static final int LEGACY_SLOTS = Math.max(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() - 1) << 1, 1);
+    private static final int PROBES = 4;
+
+    private final String pattern;
+    private final boolean epochMillis;
+    /**
+     * The pattern compiled for {@code java.time} values; {@code null} if it is not a valid {@link DateTimeFormatter} pattern.
+     */
+    private final DateTimeFormatter formatter;
+    private final DateTimeFormatter zoned;
+    /**
+     * The pattern compiled for {@link Date} values; {@code null} if it is not a valid {@link SimpleDateFormat} pattern.
+     * It is only cloned, never used to format or parse.
+     */
+    private final SimpleDateFormat legacy;
+    /**
+     * Idle copies of {@link #legacy}, claimed and returned with a compare-and-set.
+     */
+    private final AtomicReferenceArray<SimpleDateFormat> copies;
+
+    private TemporalFormat(String pattern, boolean epochMillis) {
+        this.pattern = pattern;
+        this.epochMillis = epochMillis;
+        this.formatter = pattern != null ? compile(pattern) : null;
+        // Date and Instant carry no zone of their own; like SimpleDateFormat, use the system default.
+        this.zoned = formatter != null ? formatter.withZone(ZoneId.systemDefault()) : null;
+        this.legacy = pattern != null ? compileLegacy(pattern) : null;
+        this.copies = legacy != null ? new AtomicReferenceArray<>(LEGACY_SLOTS) : null;
+    }
+
+    /**
+     * Returns the compiled format for a {@link JsonDateFormat} pattern.
+     *
+     * @param pattern a {@link SimpleDateFormat} or {@link DateTimeFormatter} pattern, or {@link JsonDateFormat#EPOCH_MILLIS}
+     * @return the shared format for {@code pattern}
+     * @throws IllegalArgumentException if the pattern is valid in neither syntax
+     */
+    public static TemporalFormat of(String pattern) {
+        if (JsonDateFormat.EPOCH_MILLIS.equals(pattern)) {
+            return EPOCH_MILLIS;
+        }
+        TemporalFormat format = CACHE.get(pattern);
+        if (format == null) {
+            format = new TemporalFormat(pattern, false);
+            if (format.formatter == null && format.legacy == null) {
+                throw new IllegalArgumentException("Invalid date pattern: " + pattern);
+            }
+            TemporalFormat existing = CACHE.putIfAbsent(pattern, format);
+            if (existing != null) format = existing;
+        }
+        return format;
+    }
+
+    /**
+     * Returns the compiled format for a {@link JsonDateFormat} pattern on a field of the given type,
+     * checking that the pattern is valid in the syntax used for that type: {@link SimpleDateFormat}
+     * for {@link Date} and {@link DateTimeFormatter} for the {@code java.time} types.
+     *
+     * @param pattern the pattern, or {@link JsonDateFormat#EPOCH_MILLIS}
+     * @param type    the declared type of the field
+     * @return the shared format for {@code pattern}
+     * @throws IllegalArgumentException if the pattern cannot format values of {@code type}
+     */
+    public static TemporalFormat of(String pattern, Class<?> type) {
+        TemporalFormat format = of(pattern);
+        if (format.epochMillis) {
+            if (type == LocalTime.class || type == OffsetTime.class || type == Year.class || type == YearMonth.class) {
+                throw new IllegalArgumentException(JsonDateFormat.EPOCH_MILLIS + " needs a date and a time, which "
+                        + type.getName() + " does not have");
+            }
+        } else if (Date.class.isAssignableFrom(type)) {
+            format.legacy();
+        } else if (supports(type)) {
+            format.formatter();
+        }
+        return format;
+    }
+
+    /**
+     * Checks whether values of the given type are read by {@link #read(JsonLexer, Class)}.
+     *
+     * @param type the target type
+     * @return {@code true} for the supported date and time types
+     */
+    static boolean supports(Class<?> type) {
+        return type == Date.class || type == Instant.class || type == LocalDate.class || type == LocalDateTime.class
+                || type == LocalTime.class || type == OffsetDateTime.class || type == OffsetTime.class
+                || type == ZonedDateTime.class || type == Year.class || type == YearMonth.class;
+    }
+
+    /**
+     * Writes a date or time value. Values of other types are written as {@code null}.
+     *
+     * @param value the value to write
+     * @param out   the output to write to
+     * @throws IOException if the output fails
+     */
+    void write(Object value, JsonOutput out) throws IOException {
+        if (value instanceof Date) {
+            if (pattern == null) out.writeNumber(((Date) value).getTime());
+            else out.writeString(formatLegacy((Date) value));
+        } else if (value instanceof Instant) {
+            if (pattern == null) out.writeNumber(((Instant) value).toEpochMilli());
+            else out.writeString(zoned().format((Instant) value));
+        } else if (value instanceof TemporalAccessor) {
+            if (epochMillis) {
+                out.writeNumber(toInstant((TemporalAccessor) value, ZoneId.systemDefault()).toEpochMilli());
+            } else {
+                out.writeString(pattern != null ? formatter().format((TemporalAccessor) value) : value.toString());
+            }
+        } else {
+            out.writeRaw("null");
+        }
+    }
+
+    /**
+     * Reads a date or time value. Numbers are taken as epoch milliseconds and strings are parsed
+     * with the pattern, or as ISO-8601 when there is none.
+     *
+     * @param lexer the lexer positioned before the value
+     * @param type  the type to read; any other type reads a {@link Date}
+     * @return the value, or {@code null} for a JSON null
+     * @throws JsonDeserializationException if the value is neither a number, a string nor null
+     * @throws DateTimeException            if the text cannot be parsed
+     */
+    Object read(JsonLexer lexer, Class<?> type) throws JsonDeserializationException {
+        JsonToken token = lexer.next();
+        if (token == JsonToken.NULL) return null;
+        if (token == JsonToken.NUMBER) {
+            return fromInstant(Instant.ofEpochMilli(lexer.longValue()), type);
+        }
+        JsonDeserializer.expect(token, lexer, epochMillis ? JsonToken.NUMBER : JsonToken.STRING);
+        String text = lexer.stringValue();
+        if (pattern == null) {
+            if (type == LocalDate.class) return LocalDate.parse(text);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(text);
+            if (type == LocalTime.class) return LocalTime.parse(text);
+            if (type == OffsetDateTime.class) return OffsetDateTime.parse(text);
+            if (type == OffsetTime.class) return OffsetTime.parse(text);
+            if (type == ZonedDateTime.class) return ZonedDateTime.parse(text);
+            if (type == Year.class) return Year.parse(text);
+            if (type == YearMonth.class) return YearMonth.parse(text);
+            return fromInstant(Instant.parse(text), type);
+        }
+        if (type == LocalDate.class) return formatter().parse(text, LocalDate::from);
+        if (type == LocalDateTime.class) return formatter().parse(text, LocalDateTime::from);
+        if (type == LocalTime.class) return formatter().parse(text, LocalTime::from);
+        if (type == OffsetDateTime.class) return formatter().parse(text, OffsetDateTime::from);
+        if (type == OffsetTime.class) return formatter().parse(text, OffsetTime::from);
+        if (type == ZonedDateTime.class) return formatter().parse(text, ZonedDateTime::from);
+        if (type == Year.class) return formatter().parse(text, Year::from);
+        if (type == YearMonth.class) return formatter().parse(text, YearMonth::from);
+        if (type == Instant.class) return toInstant(zoned().parse(text), ZoneId.systemDefault());
+        ParsePosition position = new ParsePosition(0);
+        SimpleDateFormat format = borrowLegacy();
+        Date date = format.parse(text, position);
+        releaseLegacy(format);
+        if (date == null) {
+            throw new DateTimeParseException("Text '" + text + "' does not match the date pattern " + pattern,
+                    text, position.getErrorIndex());
+        }
+        return date;
+    }
+
+    @Override
+    public String toString() {
+        return epochMillis ? JsonDateFormat.EPOCH_MILLIS : pattern != null ? pattern : "default";
+    }
+
+    private DateTimeFormatter formatter() {
+        if (formatter == null) {
+            throw new IllegalArgumentException("Not a valid DateTimeFormatter pattern for java.time values: " + pattern);
+        }
+        return formatter;
+    }
+
+    private DateTimeFormatter zoned() {
+        formatter();
+        return zoned;
+    }
+
+    private SimpleDateFormat legacy() {
+        if (legacy == null) {
+            throw new IllegalArgumentException("Not a valid SimpleDateFormat pattern for java.util.Date values: " + pattern);
+        }
+        return legacy;
+    }
+
+    private String formatLegacy(Date date) {
+        SimpleDateFormat format = borrowLegacy();
+        String text = format.format(date);
+        releaseLegacy(format);
+        return text;
+    }
+
+    /**
+     * Takes an idle copy of the legacy format from the slots next to the one derived from the thread
+     * id, or clones a new one when they are all empty.
+     */
+    private SimpleDateFormat borrowLegacy() {
+        SimpleDateFormat prototype = legacy();
+        int slot = start();
+        for (int i = 0; i < PROBES; i++, slot = (slot + 1) & (LEGACY_SLOTS - 1)) {
+            SimpleDateFormat format = copies.get(slot);
+            if (format != null && copies.compareAndSet(slot, format, null)) return format;
+        }
+        return (SimpleDateFormat) prototype.clone();
+    }
+
+    /**
+     * Returns a copy to an empty slot; a copy returned to full slots is left to the garbage collector.
+     */
+    private void releaseLegacy(SimpleDateFormat format) {
+        int slot = start();
+        for (int i = 0; i < PROBES; i++, slot = (slot + 1) & (LEGACY_SLOTS - 1)) {
+            if (copies.get(slot) == null && copies.compareAndSet(slot, null, format)) return;
+        }
+    }
+
+    private static int start() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (LEGACY_SLOTS - 1);
+    }
+
+    private static DateTimeFormatter compile(String pattern) {
+        try {
+            return DateTimeFormatter.ofPattern(pattern);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static SimpleDateFormat compileLegacy(String pattern) {
+        try {
+            return new SimpleDateFormat(pattern);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Object fromInstant(Instant instant, Class<?> type) {
+        ZoneId zone = ZoneId.systemDefault();
+        if (type == Instant.class) return instant;
+        if (type == LocalDate.class) return LocalDate.ofInstant(instant, zone);
+        if (type == LocalDateTime.class) return LocalDateTime.ofInstant(instant, zone);
+        if (type == LocalTime.class) return LocalTime.ofInstant(instant, zone);
+        if (type == OffsetDateTime.class) return OffsetDateTime.ofInstant(instant, zone);
+        if (type == OffsetTime.class) return OffsetTime.ofInstant(instant, zone);
+        if (type == ZonedDateTime.class) return ZonedDateTime.ofInstant(instant, zone);
+        if (type == Year.class) return Year.from(LocalDate.ofInstant(instant, zone));
+        if (type == YearMonth.class) return YearMonth.from(LocalDate.ofInstant(instant, zone));
+        return Date.from(instant);
+    }
+
+    /**
+     * Resolves a parsed or local value to an instant; a missing time means midnight and a missing
+     * zone means {@code zone}.
+     */
+    private static Instant toInstant(TemporalAccessor value, ZoneId zone) {
+        if (value instanceof Instant) return (Instant) value;
+        if (value.isSupported(ChronoField.INSTANT_SECONDS)) return Instant.from(value);
+        LocalDate date = value.query(TemporalQueries.localDate());
+        if (date == null) throw new DateTimeException("No date in " + value);
+        LocalTime time = value.query(TemporalQueries.localTime());
+        ZoneId valueZone = value.query(TemporalQueries.zone());
+        return ZonedDateTime.of(date, time != null ? time : LocalTime.MIDNIGHT, valueZone != null ? valueZone : zone).toInstant();
+    }
+
+    /**
+     * Checks whether a value is written through {@link #DEFAULT} instead of being bound as an object.
+     *
+     * @param value a non-null value
+     * @return {@code true} for {@link Date} values and the {@link #supports supported} {@code java.time} types
+     */
+    static boolean isTemporal(Object value) {
+        return value instanceof Date || supports(value.getClass());
+    }
+}
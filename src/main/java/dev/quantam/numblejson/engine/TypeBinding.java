@@ -0,0 +1,388 @@
+package dev.quantam.numblejson.engine;
+
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * How to build a value of one generic type, resolved once and cached per {@link Type}.
+ * <p>
+ * A binding knows the raw class of its type, the binding of its elements for arrays, collections
+ * and maps, the key type of maps and how to create the container. For plain objects it lazily
+ * resolves the generic type of every property, substituting the type arguments of a parameterized
+ * owner, so that {@code Box<Person>} binds its {@code T value} field as a {@code Person}. Type
+ * variables that cannot be resolved fall back to their erased bound.
+ * <p>
+ * Bindings are cached through {@link ClassValue}s, so they do not keep application classes or their
+ * class loaders reachable: a class binding is attached to its class, and a generic binding such as
+ * {@code List<Person>} to the first class in the type that is not a bootstrap class, here {@code Person}.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class TypeBinding {
+    private static final ClassValue<TypeBinding> CLASSES = new ClassValue<>() {
+        @Override
+        protected TypeBinding computeValue(Class<?> type) {
+            return new TypeBinding(type);
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<Type, TypeBinding>> GENERICS = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Type, TypeBinding> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The binding used for untyped values: objects become maps and arrays become lists.
+     */
+    static final TypeBinding OBJECT = of(Object.class);
+
+    final Type type;
+    final Class<?> raw;
+    /**
+     * The binding of array components, collection elements or map values; {@code null} for other types.
+     */
+    final TypeBinding element;
+    /**
+     * The key type of a map binding; {@code null} for other types.
+     */
+    final Class<?> keyType;
+    /**
+     * Whether the type is a date or time type read through {@link TemporalFormat#DEFAULT}.
+     */
+    final boolean temporal;
+    private final Supplier<?> factory;
+    private final Map<TypeVariable<?>, Type> variables;
+    private TypeBinding[] properties;
+
+    private TypeBinding(Type type) {
+        this.type = type;
+        this.raw = erase(type);
+        if (raw.isArray()) {
+            Type component = type instanceof GenericArrayType
+                    ? ((GenericArrayType) type).getGenericComponentType() : raw.getComponentType();
+            this.element = of(component);
+            this.keyType = null;
+            this.factory = null;
+        } else if (Collection.class.isAssignableFrom(raw)) {
+            this.element = of(typeArgument(type, 0));
+            this.keyType = null;
+            this.factory = collectionFactory(raw);
+        } else if (Map.class.isAssignableFrom(raw)) {
+            this.keyType = erase(typeArgument(type, 0));
+            this.element = of(typeArgument(type, 1));
+            this.factory = mapFactory(raw);
+        } else {
+            this.element = null;
+            this.keyType = null;
+            this.factory = null;
+        }
+        this.temporal = TemporalFormat.supports(raw);
+        this.variables = type instanceof ParameterizedType
+                ? variables(raw, ((ParameterizedType) type).getActualTypeArguments()) : Collections.emptyMap();
+    }
+
+    /**
+     * Returns the cached binding for the given type, building it on first use.
+     * The type is first resolved to a canonical form without wildcards or unbound type variables.
+     *
+     * @param type the type to bind
+     * @return the binding for {@code type}
+     */
+    static TypeBinding of(Type type) {
+        if (type instanceof Class) {
+            return CLASSES.get((Class<?>) type);
+        }
+        Type resolved = resolve(type, Collections.emptyMap());
+        if (resolved instanceof Class) {
+            return CLASSES.get((Class<?>) resolved);
+        }
+        Class<?> anchor = anchor(resolved);
+        ConcurrentMap<Type, TypeBinding> cache = GENERICS.get(anchor != null ? anchor : erase(resolved));
+        // Not computeIfAbsent: building a binding may recursively bind element types.
+        TypeBinding binding = cache.get(resolved);
+        if (binding == null) {
+            binding = new TypeBinding(resolved);
+            TypeBinding existing = cache.putIfAbsent(resolved, binding);
+            if (existing != null) binding = existing;
+        }
+        return binding;
+    }
+
+    /**
+     * Returns the binding for a property of this object type, resolving it on first use.
+     *
+     * @param metadata the metadata of {@link #raw}
+     * @param property the property to bind
+     * @return the binding for the generic type of the property
+     */
+    TypeBinding property(ClassMetadata metadata, PropertyMetadata property) {
+        TypeBinding[] bindings = properties;
+        if (bindings == null) {
+            properties = bindings = new TypeBinding[metadata.properties.length];
+        }
+        TypeBinding binding = bindings[property.index];
+        if (binding == null) {
+            // Properties are bound lazily so that self-referencing classes do not recurse.
+            Type generic = property.field.getGenericType();
+            binding = of(generic instanceof Class ? generic : resolve(generic, variables));
+            bindings[property.index] = binding;
+        }
+        return binding;
+    }
+
+    /**
+     * Creates an empty collection or map of this binding's type.
+     *
+     * @return the new container
+     */
+    @SuppressWarnings("unchecked")
+    <C> C newContainer() {
+        return (C) (factory != null ? factory.get() : new ArrayList<>());
+    }
+
+    /**
+     * Converts a JSON object key into this map binding's key type.
+     *
+     * @param key the key as it appears in the JSON text
+     * @return the converted key
+     */
+    Object convertKey(String key) {
+        Class<?> k = keyType;
+        if (k == String.class || k == Object.class || k == CharSequence.class) return key;
+        if (k == Integer.class) return Integer.valueOf(key);
+        if (k == Long.class) return Long.valueOf(key);
+        if (k == Double.class) return Double.valueOf(key);
+        if (k == Boolean.class) return Boolean.valueOf(key);
+        if (k == BigInteger.class) return new BigInteger(key);
+        if (k == BigDecimal.class) return new BigDecimal(key);
+        throw new IllegalArgumentException("Unsupported map key type: " + k.getName());
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < arguments.length) return arguments[index];
+        }
+        return Object.class;
+    }
+
+    private static Map<TypeVariable<?>, Type> variables(Class<?> raw, Type[] arguments) {
+        TypeVariable<?>[] parameters = raw.getTypeParameters();
+        Map<TypeVariable<?>, Type> map = new HashMap<>();
+        for (int i = 0; i < parameters.length && i < arguments.length; i++) {
+            map.put(parameters[i], arguments[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Substitutes known type variables and replaces wildcards and unknown variables by their bounds.
+     */
+    private static Type resolve(Type type, Map<TypeVariable<?>, Type> variables) {
+        if (type instanceof Class) {
+            return type;
+        }
+        if (type instanceof TypeVariable) {
+            Type value = variables.get(type);
+            return value != null ? value : erase(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        if (type instanceof WildcardType) {
+            return resolve(((WildcardType) type).getUpperBounds()[0], variables);
+        }
+        if (type instanceof GenericArrayType) {
+            Type component = resolve(((GenericArrayType) type).getGenericComponentType(), variables);
+            return component instanceof Class
+                    ? Array.newInstance((Class<?>) component, 0).getClass() : new ResolvedArrayType(component);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type[] arguments = parameterized.getActualTypeArguments().clone();
+            boolean changed = false;
+            for (int i = 0; i < arguments.length; i++) {
+                Type argument = resolve(arguments[i], variables);
+                changed |= argument != arguments[i];
+                arguments[i] = argument;
+            }
+            return changed ? new ResolvedParameterizedType(parameterized, arguments) : type;
+        }
+        return Object.class;
+    }
+
+    /**
+     * Finds the class whose cache holds the binding of a resolved generic type: the first class in the
+     * type that is not a bootstrap class, or {@code null} if there is none.
+     */
+    private static Class<?> anchor(Type type) {
+        if (type instanceof Class) {
+            Class<?> base = (Class<?>) type;
+            while (base.isArray()) base = base.getComponentType();
+            return base.getClassLoader() != null ? base : null;
+        }
+        if (type instanceof GenericArrayType) {
+            return anchor(((GenericArrayType) type).getGenericComponentType());
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Class<?> anchor = anchor(parameterized.getRawType());
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                if (anchor != null) break;
+                anchor = anchor(argument);
+            }
+            return anchor;
+        }
+        return null;
+    }
+
+    private static Class<?> erase(Type type) {
+        if (type instanceof Class) return (Class<?>) type;
+        if (type instanceof ParameterizedType) return (Class<?>) ((ParameterizedType) type).getRawType();
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(erase(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof TypeVariable) return erase(((TypeVariable<?>) type).getBounds()[0]);
+        if (type instanceof WildcardType) return erase(((WildcardType) type).getUpperBounds()[0]);
+        return Object.class;
+    }
+
+    private static Supplier<?> collectionFactory(Class<?> raw) {
+        if (raw.isAssignableFrom(ArrayList.class)) return ArrayList::new;
+        if (raw.isAssignableFrom(HashSet.class)) return HashSet::new;
+        if (raw.isAssignableFrom(LinkedHashSet.class)) return LinkedHashSet::new;
+        if (raw.isAssignableFrom(TreeSet.class)) return TreeSet::new;
+        if (raw.isAssignableFrom(ArrayDeque.class)) return ArrayDeque::new;
+        if (raw.isAssignableFrom(LinkedList.class)) return LinkedList::new;
+        return constructorFactory(raw);
+    }
+
+    private static Supplier<?> mapFactory(Class<?> raw) {
+        if (raw.isAssignableFrom(HashMap.class)) return HashMap::new;
+        if (raw.isAssignableFrom(LinkedHashMap.class)) return LinkedHashMap::new;
+        if (raw.isAssignableFrom(TreeMap.class)) return TreeMap::new;
+        if (raw.isAssignableFrom(ConcurrentHashMap.class)) return ConcurrentHashMap::new;
+        return constructorFactory(raw);
+    }
+
+    private static Supplier<?> constructorFactory(Class<?> raw) {
+        Constructor<?> constructor;
+        try {
+            constructor = raw.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return () -> {
+                throw new IllegalArgumentException("Cannot instantiate container type: " + raw.getName());
+            };
+        }
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Cannot instantiate container type: " + raw.getName(), e);
+            }
+        };
+    }
+
+    /**
+     * A parameterized type with substituted arguments. Equality and hash code follow the JDK
+     * implementation, so resolved types share cache entries with types obtained by reflection.
+     */
+    private static final class ResolvedParameterizedType implements ParameterizedType {
+        private final Type rawType;
+        private final Type ownerType;
+        private final Type[] arguments;
+
+        ResolvedParameterizedType(ParameterizedType original, Type[] arguments) {
+            this.rawType = original.getRawType();
+            this.ownerType = original.getOwnerType();
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ParameterizedType)) return false;
+            ParameterizedType that = (ParameterizedType) o;
+            return rawType.equals(that.getRawType()) && Objects.equals(ownerType, that.getOwnerType())
+                    && Arrays.equals(arguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arguments) ^ Objects.hashCode(ownerType) ^ Objects.hashCode(rawType);
+        }
+
+        @Override
+        public String getTypeName() {
+            StringJoiner joiner = new StringJoiner(", ", rawType.getTypeName() + "<", ">");
+            for (Type argument : arguments) joiner.add(argument.getTypeName());
+            return joiner.toString();
+        }
+
+        @Override
+        public String toString() {
+            return getTypeName();
+        }
+    }
+
+    /**
+     * A generic array type whose component is a resolved parameterized type.
+     */
+    private static final class ResolvedArrayType implements GenericArrayType {
+        private final Type component;
+
+        ResolvedArrayType(Type component) {
+            this.component = component;
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return component;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GenericArrayType && component.equals(((GenericArrayType) o).getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(component);
+        }
+
+        @Override
+        public String getTypeName() {
+            return component.getTypeName() + "[]";
+        }
+
+        @Override
+        public String toString() {
+            return getTypeName();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dev.quantam.numblejson.exceptions;
+
+/**
+ * Wraps a {@link JsonDeserializationException} or {@link JsonSerializationException} with an
+ * unchecked exception, for APIs such as {@link java.util.stream.Stream} that cannot throw checked ones.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public class UncheckedJsonException extends RuntimeException {
+
+    /**
+     * Constructs an {@code UncheckedJsonException} with the specified detail message and cause.
+     *
+     * @param message the detail message (which is saved for later retrieval by the {@link #getMessage()} method)
+     * @param cause   the checked exception being wrapped
+     */
+    public UncheckedJsonException(String message, Exception cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs an {@code UncheckedJsonException} that takes its detail message from the cause.
+     *
+     * @param cause the checked exception being wrapped
+     */
+    public UncheckedJsonException(Exception cause) {
+        super(cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,37 @@
+package dev.quantam.numblejson.interfaces;
+
+import dev.quantam.numblejson.output.JsonOutput;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+
+/**
+ * Interface for codecs that write and read one class as a JSON object without reflection.
+ * <p>
+ * Implementations are generated at compile time by the NimbleJSON annotation processor, as a class
+ * named {@code <SimpleName>_JsonCodec} in the package of the bound class (nested classes join their
+ * names with {@code _}). The engine finds them by that name and falls back to reflection for
+ * classes that have no codec.
+ *
+ * @param <T> The type of object this codec can handle.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public interface IJsonCodec<T> {
+    /**
+     * Writes the given object as a JSON object.
+     *
+     * @param value The object to write, never {@code null}.
+     * @param out The output to write to.
+     * @throws Exception If an error occurs during serialization.
+     */
+    void write(T value, JsonOutput out) throws Exception;
+
+    /**
+     * Reads a JSON object into a new instance.
+     *
+     * @param lexer The lexer, positioned on the {@link dev.quantam.numblejson.tokenize.JsonToken#START_OBJECT} token.
+     * @return The populated object.
+     * @throws Exception If an error occurs during deserialization.
+     */
+    T read(JsonLexer lexer) throws Exception;
+}
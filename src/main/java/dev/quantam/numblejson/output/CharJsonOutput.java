@@ -0,0 +1,242 @@
+package dev.quantam.numblejson.output;
+
+import dev.quantam.numblejson.tokenize.JsonName;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonOutput} that collects characters in one buffer.
+ * Without a sink the buffer grows and its content is returned by {@link #toString()};
+ * with a {@link Writer} or {@link Appendable} sink it is drained whenever it fills up,
+ * so memory stays bounded regardless of the document size.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public class CharJsonOutput extends JsonOutput {
+    private static final int DEFAULT_CAPACITY = 8192;
+    /**
+     * The smallest buffer that holds any number or encoded character written in one step.
+     */
+    private static final int MIN_BUFFER_SIZE = 32;
+
+    private final Writer writer;
+    private final Appendable appendable;
+    private char[] buf;
+    private int len;
+
+    /**
+     * Constructs a {@code CharJsonOutput} that keeps all output in memory.
+     */
+    public CharJsonOutput() {
+        this(null, null, 256);
+    }
+
+    /**
+     * Constructs a {@code CharJsonOutput} that drains into the given writer.
+     *
+     * @param writer the writer to send output to
+     */
+    public CharJsonOutput(Writer writer) {
+        this(writer, null, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a {@code CharJsonOutput} that drains into the given appendable.
+     *
+     * @param appendable the appendable to send output to
+     */
+    public CharJsonOutput(Appendable appendable) {
+        this(appendable instanceof Writer ? (Writer) appendable : null,
+                appendable instanceof Writer ? null : appendable, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a {@code CharJsonOutput} that keeps all output in memory, starting in a caller-supplied
+     * array, for example one taken from a pool. The array is replaced by a larger copy when it fills up;
+     * {@link #buffer()} returns the one in use.
+     *
+     * @param buffer the initial array, of at least 32 characters
+     */
+    public CharJsonOutput(char[] buffer) {
+        this(null, null, buffer);
+    }
+
+    /**
+     * Constructs a {@code CharJsonOutput} that drains into the given writer through a caller-supplied buffer.
+     *
+     * @param writer the writer to send output to
+     * @param buffer the buffer, of at least 32 characters
+     */
+    public CharJsonOutput(Writer writer, char[] buffer) {
+        this(writer, null, buffer);
+    }
+
+    private CharJsonOutput(Writer writer, Appendable appendable, int capacity) {
+        this(writer, appendable, new char[capacity]);
+    }
+
+    private CharJsonOutput(Writer writer, Appendable appendable, char[] buffer) {
+        if (buffer.length < MIN_BUFFER_SIZE) throw new IllegalArgumentException("Buffer too small: " + buffer.length);
+        this.writer = writer;
+        this.appendable = appendable;
+        this.buf = buffer;
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        if (len == buf.length) makeRoom(1);
+        buf[len++] = c;
+    }
+
+    @Override
+    public void writeRaw(String s) throws IOException {
+        int n = s.length();
+        if (len + n > buf.length) makeRoom(n);
+        if (n > buf.length) {
+            // Larger than the whole buffer: hand it straight to the sink.
+            if (writer != null) writer.write(s);
+            else appendable.append(s);
+            return;
+        }
+        s.getChars(0, n, buf, len);
+        len += n;
+    }
+
+    /**
+     * Scans the string with one table check per character and copies the runs between escapes
+     * into the buffer in bulk, so that every character is copied once however many need escaping.
+     * An unpaired surrogate is replaced, as {@link Utf8JsonOutput} has to.
+     */
+    @Override
+    public void writeString(String s) throws IOException {
+        writeRaw('"');
+        int n = s.length();
+        int run = 0;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < ESCAPES.length) {
+                if (ESCAPES[c] == null) continue;
+                writeRun(s, run, i);
+                writeRaw(ESCAPES[c]);
+                run = i + 1;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    i++;
+                    continue;
+                }
+                writeRun(s, run, i);
+                writeRaw(REPLACEMENT);
+                run = i + 1;
+            }
+        }
+        writeRun(s, run, n);
+        writeRaw('"');
+    }
+
+    @Override
+    public void writeName(JsonName name) throws IOException {
+        char[] prefix = name.prefix();
+        int n = prefix.length;
+        if (len + n > buf.length) makeRoom(n);
+        if (n > buf.length) {
+            writeRaw(new String(prefix));
+            return;
+        }
+        System.arraycopy(prefix, 0, buf, len, n);
+        len += n;
+    }
+
+    @Override
+    public void writeNumber(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value));
+            return;
+        }
+        if (len + 20 > buf.length) makeRoom(20);
+        if (value < 0) {
+            buf[len++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) digits++;
+        int end = len + digits;
+        for (int i = end - 1; i >= len; i--) {
+            buf[i] = (char) ('0' + (int) (value % 10));
+            value /= 10;
+        }
+        len = end;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        Object sink = writer != null ? writer : appendable;
+        if (sink instanceof Flushable) {
+            ((Flushable) sink).flush();
+        }
+    }
+
+    /**
+     * Returns the buffered output. Only meaningful when no sink was given.
+     *
+     * @return the JSON text written so far
+     */
+    @Override
+    public String toString() {
+        return new String(buf, 0, len);
+    }
+
+    /**
+     * Returns the array that holds the buffered output. Without a sink it may have been replaced
+     * by a larger copy since construction.
+     *
+     * @return the character array
+     */
+    public char[] buffer() {
+        return buf;
+    }
+
+    /**
+     * Copies part of a string into the buffer, draining or growing it as often as needed.
+     */
+    private void writeRun(String s, int from, int to) throws IOException {
+        while (from < to) {
+            if (len == buf.length) makeRoom(to - from);
+            int count = Math.min(to - from, buf.length - len);
+            s.getChars(from, from + count, buf, len);
+            len += count;
+            from += count;
+        }
+    }
+
+    /**
+     * Makes room for at least {@code needed} more characters, either by draining the
+     * buffer into the sink or, when collecting in memory, by growing it.
+     */
+    private void makeRoom(int needed) throws IOException {
+        if (writer == null && appendable == null) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + needed));
+        } else {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (len == 0) return;
+        if (writer != null) {
+            writer.write(buf, 0, len);
+        } else if (appendable instanceof StringBuilder) {
+            ((StringBuilder) appendable).append(buf, 0, len);
+        } else if (appendable != null) {
+            appendable.append(CharBuffer.wrap(buf, 0, len));
+        } else {
+            return;
+        }
+        len = 0;
+    }
+}
@@ -0,0 +1,134 @@
+package dev.quantam.numblejson.output;
+
+import dev.quantam.numblejson.tokenize.JsonName;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * The {@code JsonOutput} class is the sink the serializer writes JSON text into.
+ * A single instance is shared across the whole object graph, so nested values are
+ * written in place instead of being built as intermediate strings.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public abstract class JsonOutput implements Flushable {
+    /**
+     * The escape sequence of every ASCII character that needs one, indexed by the character;
+     * {@code null} for characters that are written as is. Characters from {@code 0x80} up never
+     * need escaping.
+     */
+    static final String[] ESCAPES = new String[0x80];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = String.format("\\u%04x", c);
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+    }
+
+    /**
+     * The character written in place of a surrogate that is not part of a pair, which UTF-8 cannot
+     * encode. The lexers decode an unpaired escaped surrogate to the same character.
+     */
+    static final char REPLACEMENT = '\uFFFD';
+
+    /**
+     * Writes a single character without any escaping.
+     *
+     * @param c the character to write
+     * @throws IOException if the underlying sink fails
+     */
+    public abstract void writeRaw(char c) throws IOException;
+
+    /**
+     * Writes a string verbatim, without quotes or escaping.
+     *
+     * @param s the text to write
+     * @throws IOException if the underlying sink fails
+     */
+    public abstract void writeRaw(String s) throws IOException;
+
+    /**
+     * Writes a string as a quoted, escaped JSON string literal.
+     *
+     * @param s the string value to write
+     * @throws IOException if the underlying sink fails
+     */
+    public abstract void writeString(String s) throws IOException;
+
+    /**
+     * Writes a property name followed by a colon.
+     * Outputs copy the pre-encoded prefix held by the name instead of escaping it again.
+     *
+     * @param name the property name
+     * @throws IOException if the underlying sink fails
+     */
+    public void writeName(JsonName name) throws IOException {
+        writeString(name.value());
+        writeRaw(':');
+    }
+
+    /**
+     * Writes an integral number in decimal notation.
+     *
+     * @param value the number to write
+     * @throws IOException if the underlying sink fails
+     */
+    public void writeNumber(long value) throws IOException {
+        writeRaw(Long.toString(value));
+    }
+
+    /**
+     * Writes a floating-point number.
+     *
+     * @param value the number to write
+     * @throws IOException if the underlying sink fails
+     */
+    public void writeNumber(double value) throws IOException {
+        writeRaw(Double.toString(value));
+    }
+
+    /**
+     * Writes any buffered output to the underlying sink.
+     *
+     * @throws IOException if the underlying sink fails
+     */
+    @Override
+    public abstract void flush() throws IOException;
+
+    /**
+     * Returns a string as a quoted, escaped JSON string literal.
+     *
+     * @param s the string value
+     * @return the JSON literal
+     */
+    public static String quote(String s) {
+        int n = s.length();
+        StringBuilder sb = new StringBuilder(n + 2).append('"');
+        int run = 0;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < ESCAPES.length) {
+                if (ESCAPES[c] == null) continue;
+                sb.append(s, run, i).append(ESCAPES[c]);
+                run = i + 1;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    i++;
+                    continue;
+                }
+                sb.append(s, run, i).append(REPLACEMENT);
+                run = i + 1;
+            }
+        }
+        return sb.append(s, run, n).append('"').toString();
+    }
+}
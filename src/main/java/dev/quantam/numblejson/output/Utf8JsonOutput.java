@@ -0,0 +1,275 @@
+package dev.quantam.numblejson.output;
+
+import dev.quantam.numblejson.tokenize.JsonName;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonOutput} that encodes directly to UTF-8 bytes, skipping the intermediate string.
+ * <p>
+ * Without a sink the bytes collect in a growable array that can be read with {@link #toByteArray()}
+ * or {@link #writeTo(OutputStream)} and reused after {@link #reset()}. With an {@link OutputStream}
+ * or {@link ByteBuffer} target the array acts as a bounded staging buffer that is drained when full.
+ * Property names are written by copying their pre-encoded UTF-8 prefix.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public class Utf8JsonOutput extends JsonOutput {
+    private static final int DEFAULT_CAPACITY = 8192;
+    /**
+     * The smallest buffer that holds any number or encoded character written in one step.
+     */
+    private static final int MIN_BUFFER_SIZE = 32;
+
+    private final OutputStream stream;
+    private final ByteBuffer target;
+    private byte[] buf;
+    private int len;
+
+    /**
+     * Constructs a {@code Utf8JsonOutput} that keeps all output in a growable array.
+     */
+    public Utf8JsonOutput() {
+        this(null, null, 256);
+    }
+
+    /**
+     * Constructs a {@code Utf8JsonOutput} that drains into the given stream.
+     *
+     * @param stream the stream to send output to
+     */
+    public Utf8JsonOutput(OutputStream stream) {
+        this(stream, null, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a {@code Utf8JsonOutput} that writes into the given buffer, starting at its position.
+     * A {@link java.nio.BufferOverflowException} is thrown if the output does not fit.
+     *
+     * @param target the heap or direct buffer to write to
+     */
+    public Utf8JsonOutput(ByteBuffer target) {
+        this(null, target, Math.min(DEFAULT_CAPACITY, Math.max(target.remaining(), MIN_BUFFER_SIZE)));
+    }
+
+    /**
+     * Constructs a {@code Utf8JsonOutput} that keeps all output in memory, starting in a caller-supplied
+     * array, for example one taken from a pool. The array is replaced by a larger copy when it fills up;
+     * {@link #buffer()} returns the one in use.
+     *
+     * @param buffer the initial array, of at least 32 bytes
+     */
+    public Utf8JsonOutput(byte[] buffer) {
+        this(null, null, buffer);
+    }
+
+    /**
+     * Constructs a {@code Utf8JsonOutput} that drains into the given stream through a caller-supplied buffer.
+     *
+     * @param stream the stream to send output to
+     * @param buffer the staging buffer, of at least 32 bytes
+     */
+    public Utf8JsonOutput(OutputStream stream, byte[] buffer) {
+        this(stream, null, buffer);
+    }
+
+    private Utf8JsonOutput(OutputStream stream, ByteBuffer target, int capacity) {
+        this(stream, target, new byte[capacity]);
+    }
+
+    private Utf8JsonOutput(OutputStream stream, ByteBuffer target, byte[] buffer) {
+        if (buffer.length < MIN_BUFFER_SIZE) throw new IllegalArgumentException("Buffer too small: " + buffer.length);
+        this.stream = stream;
+        this.target = target;
+        this.buf = buffer;
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        if (c < 0x80) {
+            if (len == buf.length) makeRoom(1);
+            buf[len++] = (byte) c;
+        } else {
+            writeRaw(String.valueOf(c));
+        }
+    }
+
+    @Override
+    public void writeRaw(String s) throws IOException {
+        encode(s, false);
+    }
+
+    @Override
+    public void writeString(String s) throws IOException {
+        if (len == buf.length) makeRoom(1);
+        buf[len++] = '"';
+        encode(s, true);
+        if (len == buf.length) makeRoom(1);
+        buf[len++] = '"';
+    }
+
+    @Override
+    public void writeName(JsonName name) throws IOException {
+        byte[] prefix = name.utf8Prefix();
+        int n = prefix.length;
+        if (len + n > buf.length) makeRoom(n);
+        if (n > buf.length) {
+            drainDirect(prefix, 0, n);
+            return;
+        }
+        System.arraycopy(prefix, 0, buf, len, n);
+        len += n;
+    }
+
+    @Override
+    public void writeNumber(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value));
+            return;
+        }
+        if (len + 20 > buf.length) makeRoom(20);
+        if (value < 0) {
+            buf[len++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) digits++;
+        int end = len + digits;
+        for (int i = end - 1; i >= len; i--) {
+            buf[i] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        }
+        len = end;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (stream != null) stream.flush();
+    }
+
+    /**
+     * Returns the number of bytes currently held in the internal array.
+     *
+     * @return the buffered length
+     */
+    public int size() {
+        return len;
+    }
+
+    /**
+     * Returns a copy of the bytes written so far. Only meaningful when no sink was given.
+     *
+     * @return the UTF-8 encoded JSON text
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, len);
+    }
+
+    /**
+     * Writes the bytes collected so far to a stream without copying them.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, len);
+    }
+
+    /**
+     * Returns the array that holds the buffered bytes. Without a sink it may have been replaced
+     * by a larger copy since construction.
+     *
+     * @return the byte array
+     */
+    public byte[] buffer() {
+        return buf;
+    }
+
+    /**
+     * Discards the collected bytes so that the output, and its grown array, can be reused.
+     */
+    public void reset() {
+        len = 0;
+    }
+
+    /**
+     * Encodes a string as UTF-8, escaping it as JSON string content when requested.
+     */
+    private void encode(String s, boolean escape) throws IOException {
+        int n = s.length();
+        int i = 0;
+        while (i < n) {
+            // Fast path: ASCII that needs no escaping, one byte per character, for as long as it fits.
+            byte[] b = buf;
+            int at = len;
+            int stop = Math.min(n, i + b.length - at);
+            char c = 0;
+            while (i < stop && (c = s.charAt(i)) < ESCAPES.length && (!escape || ESCAPES[c] == null)) {
+                b[at++] = (byte) c;
+                i++;
+            }
+            len = at;
+            if (i == n) return;
+            if (i == stop) {
+                makeRoom(Math.min(n - i, 4));
+                continue;
+            }
+            i++;
+            if (c < ESCAPES.length) {
+                encode(ESCAPES[c], false);
+                continue;
+            }
+            if (len + 4 > buf.length) makeRoom(4);
+            if (c < 0x800) {
+                buf[len++] = (byte) (0xC0 | (c >> 6));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i < n && Character.isLowSurrogate(s.charAt(i))) {
+                int cp = Character.toCodePoint(c, s.charAt(i++));
+                buf[len++] = (byte) (0xF0 | (cp >> 18));
+                buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates cannot be encoded; substitute the replacement character.
+                buf[len++] = (byte) 0xEF;
+                buf[len++] = (byte) 0xBF;
+                buf[len++] = (byte) 0xBD;
+            } else {
+                buf[len++] = (byte) (0xE0 | (c >> 12));
+                buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Makes room for at least {@code needed} more bytes, either by draining the
+     * array into the target or, when collecting in memory, by growing it.
+     */
+    private void makeRoom(int needed) throws IOException {
+        if (stream == null && target == null) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + needed));
+        } else {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (len == 0 || (stream == null && target == null)) return;
+        drainDirect(buf, 0, len);
+        len = 0;
+    }
+
+    private void drainDirect(byte[] bytes, int offset, int length) throws IOException {
+        if (stream != null) {
+            stream.write(bytes, offset, length);
+        } else {
+            target.put(bytes, offset, length);
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package dev.quantam.numblejson.processor;
+
+import dev.quantam.numblejson.annotations.*;
+import dev.quantam.numblejson.engine.TemporalFormat;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates an {@link dev.quantam.numblejson.interfaces.IJsonCodec} for every class with a field
+ * carrying a NimbleJSON annotation.
+ * <p>
+ * The generated codec writes and reads the object in straight-line code: property names are
+ * pre-encoded constants, fields are accessed directly or through their getter and setter, and
+ * {@code int}, {@code long}, {@code double}, {@code boolean} and {@code String} values are handled
+ * inline. All other values are delegated to {@link dev.quantam.numblejson.engine.CodecSupport}, so
+ * the JSON is identical to reflective binding. Classes that cannot be bound without reflection
+ * (generic or abstract classes, private fields without accessors, no usable no-argument
+ * constructor) get no codec and a note explaining why; they keep using reflection.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+@SupportedAnnotationTypes("dev.quantam.numblejson.annotations.*")
+public class JsonCodecProcessor extends AbstractProcessor {
+    /**
+     * The suffix of generated codec class names; must match the runtime lookup.
+     */
+    private static final String SUFFIX = "_JsonCodec";
+    private static final String SUPPORT = "dev.quantam.numblejson.engine.CodecSupport";
+    private static final String TOKEN = "dev.quantam.numblejson.tokenize.JsonToken";
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    types.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement type : types) {
+            if (generated.add(type.getQualifiedName().toString())) {
+                generate(type);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        String reason = unsupported(type);
+        List<Property> properties = new ArrayList<>();
+        if (reason == null) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC) || field.getAnnotation(JsonIgnore.class) != null) {
+                    continue;
+                }
+                Property property = new Property(field, properties.size());
+                String invalid = property.dateFormatError();
+                if (invalid != null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "NimbleJSON: " + invalid, field);
+                    return;
+                }
+                reason = property.resolveAccess(type);
+                if (reason != null) break;
+                properties.add(property);
+            }
+        }
+        if (reason != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "NimbleJSON: no codec generated for " + type.getQualifiedName() + ", " + reason
+                            + "; it is bound through reflection", type);
+            return;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String codecName = codecName(type);
+        String source = new CodecWriter(type, packageName, codecName, properties).write();
+        String qualifiedName = packageName.isEmpty() ? codecName : packageName + '.' + codecName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "NimbleJSON: cannot write " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private String unsupported(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS) return "it is not a class";
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) return "it is abstract";
+        if (!type.getTypeParameters().isEmpty()) return "it is generic";
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            NestingKind nesting = ((TypeElement) e).getNestingKind();
+            if (e.getModifiers().contains(Modifier.PRIVATE)) return "it is private";
+            if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) return "it is a local class";
+            if (nesting == NestingKind.MEMBER && e.getKind() == ElementKind.CLASS && !e.getModifiers().contains(Modifier.STATIC)
+                    && e.getEnclosingElement().getKind() == ElementKind.CLASS) return "it is an inner class";
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getAnnotation(JsonCreator.class) != null) return "it binds through a @JsonCreator constructor";
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return null;
+            }
+        }
+        return "it has no accessible no-argument constructor";
+    }
+
+    private static String codecName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    /**
+     * Everything the generated code needs to know about one field.
+     */
+    private final class Property {
+        final VariableElement field;
+        final int index;
+        final String name;
+        final String[] aliases;
+        final JsonInclude.Include include;
+        final String dateFormat;
+        final String serializer;
+        final String deserializer;
+        final boolean sharedSerializer;
+        final boolean sharedDeserializer;
+        final TypeKind kind;
+        final String typeName;
+        String getter;
+        String setter;
+
+        Property(VariableElement field, int index) {
+            this.field = field;
+            this.index = index;
+            JsonProperty property = field.getAnnotation(JsonProperty.class);
+            this.name = property != null ? property.value() : field.getSimpleName().toString();
+            JsonAlias alias = field.getAnnotation(JsonAlias.class);
+            this.aliases = alias != null ? alias.value() : new String[0];
+            JsonInclude inclusion = field.getAnnotation(JsonInclude.class);
+            this.include = inclusion != null ? inclusion.value() : JsonInclude.Include.ALWAYS;
+            JsonDateFormat format = field.getAnnotation(JsonDateFormat.class);
+            this.dateFormat = format != null ? format.value() : null;
+            this.serializer = classMember(field, JsonSerialize.class.getName());
+            this.deserializer = classMember(field, JsonDeserialize.class.getName());
+            JsonSerialize serialize = field.getAnnotation(JsonSerialize.class);
+            this.sharedSerializer = serialize == null || serialize.shared();
+            JsonDeserialize deserialize = field.getAnnotation(JsonDeserialize.class);
+            this.sharedDeserializer = deserialize == null || deserialize.shared();
+            this.kind = field.asType().getKind();
+            this.typeName = field.asType().toString();
+        }
+
+        /**
+         * Whether the value is a primitive the generated code reads and writes inline, matching
+         * the unboxed fast path of reflective binding.
+         */
+        boolean unboxed() {
+            return (kind == TypeKind.INT || kind == TypeKind.LONG || kind == TypeKind.DOUBLE || kind == TypeKind.BOOLEAN)
+                    && serializer == null && deserializer == null && dateFormat == null;
+        }
+
+        boolean isString() {
+            return typeName.equals("java.lang.String") && serializer == null && deserializer == null && dateFormat == null;
+        }
+
+        String resolveAccess(TypeElement owner) {
+            Set<Modifier> modifiers = field.getModifiers();
+            String fieldName = field.getSimpleName().toString();
+            if (!modifiers.contains(Modifier.PRIVATE)) {
+                getter = "value." + fieldName;
+                if (!modifiers.contains(Modifier.FINAL)) setter = "value." + fieldName + " = %s;";
+            }
+            String suffix = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+            Types types = processingEnv.getTypeUtils();
+            for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                String methodName = method.getSimpleName().toString();
+                if (getter == null && method.getParameters().isEmpty()
+                        && types.isSameType(method.getReturnType(), field.asType())
+                        && (methodName.equals("get" + suffix) || kind == TypeKind.BOOLEAN && methodName.equals("is" + suffix))) {
+                    getter = "value." + methodName + "()";
+                }
+                if (setter == null && method.getParameters().size() == 1 && methodName.equals("set" + suffix)
+                        && types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                    setter = "value." + methodName + "(%s);";
+                }
+            }
+            if (getter == null) return "field " + fieldName + " has no accessible getter";
+            if (setter == null) return "field " + fieldName + " has no accessible setter";
+            return null;
+        }
+
+        /**
+         * Checks a date pattern in the syntax the runtime uses for the field type, so that an invalid
+         * pattern fails the build instead of the first use of the class.
+         */
+        String dateFormatError() {
+            if (dateFormat == null) return null;
+            try {
+                TemporalFormat.of(dateFormat, Class.forName(erasure()));
+            } catch (ClassNotFoundException e) {
+                // Not a JDK date or time type; the runtime reports the mismatch.
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+            return null;
+        }
+
+        /**
+         * Returns the expression for a runtime {@link java.lang.reflect.Type} of the field.
+         */
+        String typeExpression() {
+            TypeMirror type = field.asType();
+            if (type.getKind().isPrimitive()) return typeName + ".class";
+            TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+            if (erasure.toString().equals(typeName)) return typeName + ".class";
+            return "new dev.quantam.numblejson.TypeToken<" + typeName + ">() {}.getType()";
+        }
+
+        /**
+         * Returns the erased type name, usable in a class literal.
+         */
+        String erasure() {
+            return processingEnv.getTypeUtils().erasure(field.asType()).toString();
+        }
+
+        /**
+         * Returns the reference type used to cast a delegated value back to the field type.
+         */
+        String castType() {
+            switch (kind) {
+                case BOOLEAN: return "java.lang.Boolean";
+                case BYTE: return "java.lang.Byte";
+                case SHORT: return "java.lang.Short";
+                case CHAR: return "java.lang.Character";
+                case INT: return "java.lang.Integer";
+                case LONG: return "java.lang.Long";
+                case FLOAT: return "java.lang.Float";
+                case DOUBLE: return "java.lang.Double";
+                default: return typeName;
+            }
+        }
+    }
+
+    /**
+     * Reads a {@code Class}-valued annotation member as a type name; the class itself is not
+     * available during compilation.
+     */
+    private static String classMember(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("using")) {
+                    TypeMirror type = (TypeMirror) entry.getValue().getValue();
+                    return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the source of one codec class.
+     */
+    private static final class CodecWriter {
+        private final TypeElement type;
+        private final String packageName;
+        private final String codecName;
+        private final List<Property> properties;
+        private final Map<String, Integer> keys = new LinkedHashMap<>();
+        private final Map<String, Property> keyTargets = new LinkedHashMap<>();
+        private final StringBuilder out = new StringBuilder();
+
+        CodecWriter(TypeElement type, String packageName, String codecName, List<Property> properties) {
+            this.type = type;
+            this.packageName = packageName;
+            this.codecName = codecName;
+            this.properties = properties;
+            // Same precedence as ClassMetadata: explicit names, then aliases, then field names.
+            for (Property property : properties) addKey(property.name, property);
+            for (Property property : properties) for (String alias : property.aliases) addKey(alias, property);
+            for (Property property : properties) addKey(property.field.getSimpleName().toString(), property);
+        }
+
+        private void addKey(String key, Property property) {
+            if (!keys.containsKey(key)) {
+                keys.put(key, keys.size());
+                keyTargets.put(key, property);
+            }
+        }
+
+        String write() {
+            String typeName = type.getQualifiedName().toString();
+            if (!packageName.isEmpty()) line(0, "package " + packageName + ";").line(0, "");
+            line(0, "/**");
+            line(0, " * JSON codec for {@link " + typeName + "}, generated by the NimbleJSON annotation processor.");
+            line(0, " * Do not edit.");
+            line(0, " */");
+            line(0, "@javax.annotation.processing.Generated(\"" + JsonCodecProcessor.class.getName() + "\")");
+            line(0, "public final class " + codecName + " implements dev.quantam.numblejson.interfaces.IJsonCodec<" + typeName + "> {");
+            for (Map.Entry<String, Integer> key : keys.entrySet()) {
+                line(1, "private static final dev.quantam.numblejson.tokenize.JsonName KEY_" + key.getValue()
+                        + " = new dev.quantam.numblejson.tokenize.JsonName(" + literal(key.getKey()) + ");");
+            }
+            StringBuilder names = new StringBuilder();
+            StringBuilder targets = new StringBuilder();
+            for (Map.Entry<String, Integer> key : keys.entrySet()) {
+                if (names.length() > 0) {
+                    names.append(", ");
+                    targets.append(", ");
+                }
+                names.append("KEY_").append(key.getValue());
+                targets.append(keyTargets.get(key.getKey()).index);
+            }
+            line(1, "private static final dev.quantam.numblejson.tokenize.JsonNameTable NAMES = new dev.quantam.numblejson.tokenize.JsonNameTable("
+                    + names + ");");
+            line(1, "private static final int[] TARGETS = {" + targets + "};");
+            for (Property property : properties) {
+                if (!property.unboxed() && !property.isString() && property.serializer == null
+                        && property.deserializer == null && property.dateFormat == null) {
+                    line(1, "private static final java.lang.reflect.Type TYPE_" + property.index + " = " + property.typeExpression() + ";");
+                }
+                if (property.serializer != null && property.sharedSerializer) {
+                    line(1, "private static final dev.quantam.numblejson.interfaces.IJsonSerializer<?> SERIALIZER_" + property.index
+                            + " = " + serializerExpression(property) + ";");
+                }
+                if (property.deserializer != null && property.sharedDeserializer) {
+                    line(1, "private static final dev.quantam.numblejson.interfaces.IJsonDeserializer<?> DESERIALIZER_" + property.index
+                            + " = " + deserializerExpression(property) + ";");
+                }
+                if (property.dateFormat != null) {
+                    line(1, "private static final dev.quantam.numblejson.engine.TemporalFormat DATE_" + property.index
+                            + " = dev.quantam.numblejson.engine.TemporalFormat.of(" + literal(property.dateFormat)
+                            + ", " + property.erasure() + ".class);");
+                }
+            }
+            line(0, "");
+            writeMethod(typeName);
+            line(0, "");
+            readMethod(typeName);
+            line(0, "}");
+            return out.toString();
+        }
+
+        private void writeMethod(String typeName) {
+            line(1, "@Override");
+            line(1, "public void write(" + typeName + " value, dev.quantam.numblejson.output.JsonOutput out) throws Exception {");
+            line(2, "out.writeRaw('{');");
+            // While every property so far is always written, the comma is known statically.
+            boolean conditional = false;
+            boolean first = true;
+            for (Property property : properties) {
+                String name = "KEY_" + keys.get(property.name);
+                boolean always = property.unboxed() || property.include == JsonInclude.Include.ALWAYS;
+                if (!always && !conditional) {
+                    line(2, "boolean first = " + first + ";");
+                    conditional = true;
+                }
+                int indent = 2;
+                if (!always) {
+                    line(2, property.castType() + " value" + property.index + " = " + property.getter + ";");
+                    line(2, "if (" + SUPPORT + ".include(dev.quantam.numblejson.annotations.JsonInclude.Include."
+                            + property.include + ", value" + property.index + ")) {");
+                    indent = 3;
+                }
+                if (conditional) {
+                    line(indent, "if (!first) out.writeRaw(',');");
+                } else if (!first) {
+                    line(indent, "out.writeRaw(',');");
+                }
+                line(indent, "out.writeName(" + name + ");");
+                String value = always ? property.getter : "value" + property.index;
+                line(indent, writeStatement(property, value));
+                if (conditional) line(indent, "first = false;");
+                if (!always) line(2, "}");
+                first = false;
+            }
+            line(2, "out.writeRaw('}');");
+            line(1, "}");
+        }
+
+        private static String writeStatement(Property property, String value) {
+            if (property.unboxed()) {
+                if (property.kind == TypeKind.BOOLEAN) return "out.writeRaw(" + value + " ? \"true\" : \"false\");";
+                return "out.writeNumber(" + value + ");";
+            }
+            if (property.serializer != null) {
+                String serializer = property.sharedSerializer ? "SERIALIZER_" + property.index : serializerExpression(property);
+                return SUPPORT + ".writeCustom(" + serializer + ", " + value + ", out);";
+            }
+            if (property.dateFormat != null) {
+                return SUPPORT + ".writeDate(" + value + ", DATE_" + property.index + ", out);";
+            }
+            if (property.isString()) {
+                return SUPPORT + ".writeString(" + value + ", out);";
+            }
+            return SUPPORT + ".writeValue(" + value + ", out);";
+        }
+
+        private void readMethod(String typeName) {
+            line(1, "@Override");
+            line(1, "@SuppressWarnings(\"unchecked\")");
+            line(1, "public " + typeName + " read(dev.quantam.numblejson.tokenize.JsonLexer lexer) throws Exception {");
+            line(2, typeName + " value = new " + typeName + "();");
+            line(2, "if (lexer.peekToken() == " + TOKEN + ".END_OBJECT) {");
+            line(3, "lexer.next();");
+            line(3, "return value;");
+            line(2, "}");
+            line(2, "int expected = 0;");
+            line(2, "do {");
+            line(3, SUPPORT + ".expect(lexer.next(), lexer, " + TOKEN + ".STRING);");
+            line(3, "int key = lexer.indexOf(NAMES, expected);");
+            line(3, "int property = -1;");
+            line(3, "if (key >= 0) {");
+            line(4, "property = TARGETS[key];");
+            line(4, "expected = key + 1;");
+            line(3, "}");
+            line(3, SUPPORT + ".expect(lexer, " + TOKEN + ".COLON);");
+            line(3, "switch (property) {");
+            for (Property property : properties) {
+                line(4, "case " + property.index + ":");
+                line(5, property.setter.replace("%s", readExpression(property)));
+                line(5, "break;");
+            }
+            line(4, "default:");
+            line(5, "lexer.skipValue();");
+            line(5, "break;");
+            line(3, "}");
+            line(2, "} while (lexer.next() == " + TOKEN + ".COMMA);");
+            line(2, SUPPORT + ".expect(lexer.currentToken(), lexer, " + TOKEN + ".END_OBJECT);");
+            line(2, "return value;");
+            line(1, "}");
+        }
+
+        private static String readExpression(Property property) {
+            if (property.unboxed()) {
+                switch (property.kind) {
+                    case INT: return SUPPORT + ".readInt(lexer)";
+                    case LONG: return SUPPORT + ".readLong(lexer)";
+                    case DOUBLE: return SUPPORT + ".readDouble(lexer)";
+                    default: return SUPPORT + ".readBoolean(lexer)";
+                }
+            }
+            String cast = "(" + property.castType() + ") ";
+            if (property.deserializer != null) {
+                String deserializer = property.sharedDeserializer ? "DESERIALIZER_" + property.index : deserializerExpression(property);
+                return cast + SUPPORT + ".readCustom(lexer, " + deserializer + ")";
+            }
+            if (property.dateFormat != null) {
+                return cast + SUPPORT + ".readDate(lexer, DATE_" + property.index + ", " + property.erasure() + ".class)";
+            }
+            if (property.isString()) {
+                return SUPPORT + ".readString(lexer)";
+            }
+            return cast + SUPPORT + ".readValue(lexer, TYPE_" + property.index + ")";
+        }
+
+        private static String serializerExpression(Property property) {
+            return SUPPORT + ".serializer(" + property.serializer + ".class, " + property.sharedSerializer + ")";
+        }
+
+        private static String deserializerExpression(Property property) {
+            return SUPPORT + ".deserializer(" + property.deserializer + ".class, " + property.sharedDeserializer + ")";
+        }
+
+        private CodecWriter line(int indent, String text) {
+            for (int i = 0; i < indent; i++) out.append("    ");
+            out.append(text).append('\n');
+            return this;
+        }
+
+        private static String literal(String value) {
+            StringBuilder literal = new StringBuilder("\"");
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') literal.append('\\').append(c);
+                else if (c < 0x20 || c > 0x7E) literal.append(String.format("\\u%04x", (int) c));
+                else literal.append(c);
+            }
+            return literal.append('"').toString();
+        }
+    }
+}
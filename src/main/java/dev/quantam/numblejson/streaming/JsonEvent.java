@@ -0,0 +1,50 @@
+package dev.quantam.numblejson.streaming;
+
+/**
+ * The events produced by {@link JsonReader}: the structure of a document, with separators removed.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public enum JsonEvent {
+    /**
+     * The start of an object.
+     */
+    START_OBJECT,
+    /**
+     * The end of an object.
+     */
+    END_OBJECT,
+    /**
+     * The start of an array.
+     */
+    START_ARRAY,
+    /**
+     * The end of an array.
+     */
+    END_ARRAY,
+    /**
+     * The name of an object member, followed by the events of its value.
+     */
+    KEY,
+    /**
+     * A string value.
+     */
+    STRING,
+    /**
+     * A number value.
+     */
+    NUMBER,
+    /**
+     * The value {@code true} or {@code false}.
+     */
+    BOOLEAN,
+    /**
+     * The value {@code null}.
+     */
+    NULL,
+    /**
+     * The end of the document, after the root value.
+     */
+    END_DOCUMENT
+}
@@ -0,0 +1,88 @@
+package dev.quantam.numblejson.streaming;
+
+/**
+ * Receives the structure and values of a JSON document as {@link JsonReader#parse(JsonHandler)}
+ * reads it, without building objects or a tree.
+ * <p>
+ * Every method does nothing by default, so a handler only implements what it needs. Character
+ * sequences passed to a handler may be views of the parser's buffer and are only valid during the
+ * call; copy them with {@link CharSequence#toString()} to keep them. A handler can stop parsing by
+ * throwing an unchecked exception, which is passed on to the caller.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public interface JsonHandler {
+
+    /**
+     * Called at the start of an object.
+     */
+    default void startObject() {
+    }
+
+    /**
+     * Called at the end of an object.
+     */
+    default void endObject() {
+    }
+
+    /**
+     * Called at the start of an array.
+     */
+    default void startArray() {
+    }
+
+    /**
+     * Called at the end of an array.
+     */
+    default void endArray() {
+    }
+
+    /**
+     * Called with the name of an object member, before the callbacks for its value.
+     *
+     * @param name the member name
+     */
+    default void key(CharSequence name) {
+    }
+
+    /**
+     * Called with a string value.
+     *
+     * @param value the string content
+     */
+    default void stringValue(CharSequence value) {
+    }
+
+    /**
+     * Called with an integral number that fits in a {@code long}.
+     *
+     * @param value the number
+     */
+    default void longValue(long value) {
+    }
+
+    /**
+     * Called with any other number: one with a fraction or an exponent, or an integer too large for
+     * a {@code long}. The text can be parsed with {@link Double#parseDouble(String)} or
+     * {@link java.math.BigDecimal#BigDecimal(String)}.
+     *
+     * @param text the number as written in the input
+     */
+    default void numberValue(CharSequence text) {
+    }
+
+    /**
+     * Called with the value {@code true} or {@code false}.
+     *
+     * @param value the value
+     */
+    default void booleanValue(boolean value) {
+    }
+
+    /**
+     * Called with the value {@code null}.
+     */
+    default void nullValue() {
+    }
+}
@@ -0,0 +1,391 @@
+package dev.quantam.numblejson.streaming;
+
+import dev.quantam.numblejson.engine.BufferRecycler;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8Reader;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * A pull parser that reads a JSON document as a sequence of {@link JsonEvent events}.
+ * <p>
+ * Unlike a {@link JsonLexer}, which only splits the input into tokens, the reader checks the grammar:
+ * separators are consumed and verified, and every value is reported together with its place in the
+ * document. Memory use does not depend on the size of the input; only one flag per open object or
+ * array is kept. Values are decoded only when an accessor such as {@link #stringValue()}
+ * or {@link #longValue()} is called, and {@link #chars()} gives access to strings without allocating.
+ * <p>
+ * {@link #parse(JsonHandler)} turns the reader into a push parser that calls a {@link JsonHandler}
+ * for every event.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class JsonReader {
+    private final JsonLexer lexer;
+    /**
+     * One entry per open container, {@code true} for objects.
+     */
+    private boolean[] objects = new boolean[16];
+    private int depth;
+    /**
+     * Whether the next member of the innermost container is its first one.
+     */
+    private boolean first;
+    /**
+     * Whether the innermost object has read a key and expects its value.
+     */
+    private boolean afterKey;
+    private boolean started;
+    private JsonEvent event;
+
+    /**
+     * Constructs a {@code JsonReader} over the tokens of a lexer, which must be positioned before the document.
+     *
+     * @param lexer the source of tokens, for either character or UTF-8 input
+     */
+    public JsonReader(JsonLexer lexer) {
+        this.lexer = lexer;
+    }
+
+    /**
+     * Creates a reader over a JSON string.
+     *
+     * @param json the JSON text
+     * @return the reader
+     */
+    public static JsonReader of(String json) {
+        return new JsonReader(new JsonTokenizer(json));
+    }
+
+    /**
+     * Creates a reader over UTF-8 encoded JSON bytes, which are read in place.
+     *
+     * @param json the UTF-8 encoded JSON text
+     * @return the reader
+     */
+    public static JsonReader of(byte[] json) {
+        return new JsonReader(new Utf8JsonTokenizer(json));
+    }
+
+    /**
+     * Creates a reader that consumes JSON text from a reader through a bounded buffer.
+     * The reader is not closed.
+     *
+     * @param reader the source of the JSON text
+     * @return the reader
+     */
+    public static JsonReader of(Reader reader) {
+        return new JsonReader(new JsonTokenizer(reader));
+    }
+
+    /**
+     * Creates a reader that consumes UTF-8 encoded JSON from a stream through a bounded buffer.
+     * The stream is not closed.
+     *
+     * @param stream the source of the JSON bytes
+     * @return the reader
+     */
+    public static JsonReader of(InputStream stream) {
+        return of(new Utf8Reader(stream, new byte[BufferRecycler.DEFAULT_BUFFER_SIZE]));
+    }
+
+    /**
+     * Advances to the next event.
+     *
+     * @return the event, or {@link JsonEvent#END_DOCUMENT} once the root value is complete
+     * @throws JsonDeserializationException if the input is not a single valid JSON value
+     */
+    public JsonEvent next() throws JsonDeserializationException {
+        if (depth == 0) {
+            if (!started) {
+                started = true;
+                return event = value(lexer.next());
+            }
+            if (event != JsonEvent.END_DOCUMENT) expect(lexer.next(), JsonToken.END);
+            return event = JsonEvent.END_DOCUMENT;
+        }
+        JsonToken token = lexer.next();
+        if (objects[depth - 1]) {
+            if (afterKey) {
+                afterKey = false;
+                expect(token, JsonToken.COLON);
+                return event = value(lexer.next());
+            }
+            if (token == JsonToken.END_OBJECT) {
+                return event = close(JsonEvent.END_OBJECT);
+            }
+            if (!first) {
+                expect(token, JsonToken.COMMA);
+                token = lexer.next();
+            }
+            first = false;
+            expect(token, JsonToken.STRING);
+            afterKey = true;
+            return event = JsonEvent.KEY;
+        }
+        if (token == JsonToken.END_ARRAY) {
+            return event = close(JsonEvent.END_ARRAY);
+        }
+        if (!first) {
+            expect(token, JsonToken.COMMA);
+            token = lexer.next();
+        }
+        first = false;
+        return event = value(token);
+    }
+
+    /**
+     * Returns the current event.
+     *
+     * @return the event, or {@code null} before the first call to {@link #next()}
+     */
+    public JsonEvent currentEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the number of objects and arrays that enclose the current position. The root value
+     * is at depth {@code 0}; a {@link JsonEvent#START_OBJECT} event increases the depth and the
+     * matching {@link JsonEvent#END_OBJECT} decreases it again.
+     *
+     * @return the nesting depth
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Skips the members of the object or array that the current {@link JsonEvent#START_OBJECT} or
+     * {@link JsonEvent#START_ARRAY} event opened, leaving the reader on its end event. Does nothing
+     * for any other event.
+     *
+     * @throws JsonDeserializationException if the input is not valid JSON
+     */
+    public void skipChildren() throws JsonDeserializationException {
+        if (event != JsonEvent.START_OBJECT && event != JsonEvent.START_ARRAY) return;
+        int target = depth - 1;
+        while (depth > target) {
+            next();
+        }
+    }
+
+    /**
+     * Returns the content of the current {@link JsonEvent#KEY} or {@link JsonEvent#STRING}, or the text
+     * of the current {@link JsonEvent#NUMBER}, as a sequence that is only valid until the next event.
+     *
+     * @return the content, possibly a view of the parser's buffer
+     * @throws IllegalStateException if the current event has no text
+     */
+    public CharSequence chars() {
+        if (event != JsonEvent.KEY && event != JsonEvent.STRING && event != JsonEvent.NUMBER) throw wrongEvent("text");
+        return lexer.chars();
+    }
+
+    /**
+     * Returns the content of the current {@link JsonEvent#KEY} or {@link JsonEvent#STRING}.
+     *
+     * @return the string content
+     * @throws IllegalStateException if the current event is not a key or string
+     */
+    public String stringValue() {
+        if (event != JsonEvent.KEY && event != JsonEvent.STRING) throw wrongEvent("string");
+        return lexer.stringValue();
+    }
+
+    /**
+     * Checks whether the current {@link JsonEvent#NUMBER} has no fraction or exponent.
+     *
+     * @return {@code true} if the number is integral
+     * @throws IllegalStateException if the current event is not a number
+     */
+    public boolean isIntegral() {
+        checkNumber();
+        return lexer.isIntegral();
+    }
+
+    /**
+     * Returns the current {@link JsonEvent#NUMBER} as an {@code int}.
+     *
+     * @return the number value
+     * @throws IllegalStateException if the current event is not a number
+     * @throws NumberFormatException if the number is not integral or does not fit in an {@code int}
+     */
+    public int intValue() {
+        checkNumber();
+        return lexer.intValue();
+    }
+
+    /**
+     * Returns the current {@link JsonEvent#NUMBER} as a {@code long}.
+     *
+     * @return the number value
+     * @throws IllegalStateException if the current event is not a number
+     * @throws NumberFormatException if the number is not integral or does not fit in a {@code long}
+     */
+    public long longValue() {
+        checkNumber();
+        return lexer.longValue();
+    }
+
+    /**
+     * Returns the current {@link JsonEvent#NUMBER} as a {@code double}.
+     *
+     * @return the number value
+     * @throws IllegalStateException if the current event is not a number
+     */
+    public double doubleValue() {
+        checkNumber();
+        return lexer.doubleValue();
+    }
+
+    /**
+     * Returns the current {@link JsonEvent#NUMBER} as a {@link BigDecimal}, without loss of precision.
+     *
+     * @return the number value
+     * @throws IllegalStateException if the current event is not a number
+     */
+    public BigDecimal bigDecimalValue() {
+        checkNumber();
+        return lexer.bigDecimalValue();
+    }
+
+    /**
+     * Returns the current {@link JsonEvent#NUMBER} in the narrowest natural type, as described by
+     * {@link JsonLexer#numberValue()}.
+     *
+     * @return the number value
+     * @throws IllegalStateException if the current event is not a number
+     */
+    public Number numberValue() {
+        checkNumber();
+        return lexer.numberValue();
+    }
+
+    /**
+     * Returns the current {@link JsonEvent#BOOLEAN}.
+     *
+     * @return the boolean value
+     * @throws IllegalStateException if the current event is not a boolean
+     */
+    public boolean booleanValue() {
+        if (event != JsonEvent.BOOLEAN) throw wrongEvent("boolean");
+        return lexer.currentToken() == JsonToken.TRUE;
+    }
+
+    /**
+     * Reads the rest of the document and reports every event to a handler.
+     *
+     * @param handler the handler to call
+     * @throws JsonDeserializationException if the input is not a single valid JSON value
+     */
+    public void parse(JsonHandler handler) throws JsonDeserializationException {
+        for (JsonEvent e = next(); e != JsonEvent.END_DOCUMENT; e = next()) {
+            switch (e) {
+                case START_OBJECT:
+                    handler.startObject();
+                    break;
+                case END_OBJECT:
+                    handler.endObject();
+                    break;
+                case START_ARRAY:
+                    handler.startArray();
+                    break;
+                case END_ARRAY:
+                    handler.endArray();
+                    break;
+                case KEY:
+                    handler.key(lexer.chars());
+                    break;
+                case STRING:
+                    handler.stringValue(lexer.chars());
+                    break;
+                case NUMBER:
+                    number(handler);
+                    break;
+                case BOOLEAN:
+                    handler.booleanValue(lexer.currentToken() == JsonToken.TRUE);
+                    break;
+                case NULL:
+                    handler.nullValue();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void number(JsonHandler handler) {
+        if (lexer.isIntegral()) {
+            long value;
+            try {
+                value = lexer.longValue();
+            } catch (NumberFormatException e) {
+                handler.numberValue(lexer.chars());
+                return;
+            }
+            handler.longValue(value);
+        } else {
+            handler.numberValue(lexer.chars());
+        }
+    }
+
+    /**
+     * Maps the first token of a value to its event, opening a container if it starts one.
+     */
+    private JsonEvent value(JsonToken token) throws JsonDeserializationException {
+        switch (token) {
+            case START_OBJECT:
+                open(true);
+                return JsonEvent.START_OBJECT;
+            case START_ARRAY:
+                open(false);
+                return JsonEvent.START_ARRAY;
+            case STRING:
+                return JsonEvent.STRING;
+            case NUMBER:
+                return JsonEvent.NUMBER;
+            case TRUE:
+            case FALSE:
+                return JsonEvent.BOOLEAN;
+            case NULL:
+                return JsonEvent.NULL;
+            default:
+                throw new JsonDeserializationException("Unexpected token: " + token + " at position " + lexer.tokenStart());
+        }
+    }
+
+    private void open(boolean object) {
+        if (depth == objects.length) objects = Arrays.copyOf(objects, depth * 2);
+        objects[depth++] = object;
+        first = true;
+    }
+
+    private JsonEvent close(JsonEvent end) {
+        depth--;
+        first = false;
+        return end;
+    }
+
+    private void expect(JsonToken token, JsonToken expected) throws JsonDeserializationException {
+        if (token != expected) {
+            throw new JsonDeserializationException("Expected " + expected + " but found " + token
+                    + " at position " + lexer.tokenStart());
+        }
+    }
+
+    private void checkNumber() {
+        if (event != JsonEvent.NUMBER) throw wrongEvent("number");
+    }
+
+    private IllegalStateException wrongEvent(String expected) {
+        return new IllegalStateException("Not a " + expected + ": " + event);
+    }
+}
@@ -0,0 +1,53 @@
+package dev.quantam.numblejson.tokenize;
+
+/**
+ * A reusable {@link CharSequence} over a range of a character array, returned by
+ * {@link JsonLexer#chars()} so that token content can be read without allocating a string.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class CharView implements CharSequence {
+    private char[] chars;
+    private int offset;
+    private int length;
+
+    /**
+     * Points the view at a new range.
+     *
+     * @param chars  the array holding the characters
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return this view
+     */
+    CharView set(char[] chars, int offset, int length) {
+        this.chars = chars;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new StringIndexOutOfBoundsException("index " + index + ", length " + length);
+        return chars[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+        }
+        return new String(chars, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, offset, length);
+    }
+}
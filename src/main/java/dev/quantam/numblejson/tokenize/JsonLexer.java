@@ -0,0 +1,329 @@
+package dev.quantam.numblejson.tokenize;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * The {@code JsonLexer} class defines the cursor API shared by all tokenizers.
+ * <p>
+ * Each call to {@link #next()} advances to the next token and returns its {@link JsonToken kind};
+ * the token itself is only described by its start and end offsets in the input. String and number
+ * values are decoded on demand through accessors such as {@link #stringValue()} and
+ * {@link #longValue()}. Implementations exist for character input ({@link JsonTokenizer}) and for
+ * UTF-8 encoded bytes ({@link Utf8JsonTokenizer}).
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public abstract class JsonLexer {
+    /**
+     * The character each single-character escape stands for, indexed by the character after the
+     * backslash; {@code 0} if it is not a valid escape. <code>&#92;u</code> escapes are handled separately.
+     */
+    private static final char[] UNESCAPES = new char[0x80];
+    /**
+     * The value of each hexadecimal digit, indexed by the character; {@code -1} for other characters.
+     */
+    private static final byte[] HEX = new byte[0x80];
+
+    static {
+        UNESCAPES['"'] = '"';
+        UNESCAPES['\\'] = '\\';
+        UNESCAPES['/'] = '/';
+        UNESCAPES['b'] = '\b';
+        UNESCAPES['f'] = '\f';
+        UNESCAPES['n'] = '\n';
+        UNESCAPES['r'] = '\r';
+        UNESCAPES['t'] = '\t';
+        Arrays.fill(HEX, (byte) -1);
+        for (int i = 0; i < 10; i++) HEX['0' + i] = (byte) i;
+        for (int i = 0; i < 6; i++) {
+            HEX['a' + i] = (byte) (10 + i);
+            HEX['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    JsonToken token;
+
+    /**
+     * Advances to the next token.
+     *
+     * @return the kind of the token, or {@link JsonToken#END} at the end of the input
+     * @throws JsonDeserializationException if the input is not valid JSON
+     */
+    public abstract JsonToken next() throws JsonDeserializationException;
+
+    /**
+     * Returns the kind of the next token without consuming it.
+     * Only the first significant character is inspected, so peeking is cheap.
+     *
+     * @return the kind of the next token
+     * @throws JsonDeserializationException if the next character cannot start a token
+     */
+    public abstract JsonToken peekToken() throws JsonDeserializationException;
+
+    /**
+     * Returns the kind of the current token.
+     *
+     * @return the current token kind, or {@code null} before the first call to {@link #next()}
+     */
+    public JsonToken currentToken() {
+        return token;
+    }
+
+    /**
+     * Returns the offset of the first character of the current token, including any opening quote.
+     * Offsets are absolute positions in the input, counted in the input's own units.
+     *
+     * @return the start offset
+     */
+    public abstract long tokenStart();
+
+    /**
+     * Returns the offset just past the last character of the current token, including any closing quote.
+     *
+     * @return the end offset
+     */
+    public abstract long tokenEnd();
+
+    /**
+     * Returns the raw text of the current token exactly as it appears in the input.
+     *
+     * @return the token text
+     */
+    public abstract String text();
+
+    /**
+     * Returns the content of the current {@link JsonToken#STRING} token without the quotes, with
+     * escape sequences decoded. Strings without escapes are copied directly from the input.
+     *
+     * @return the string content
+     */
+    public abstract String stringValue();
+
+    /**
+     * Returns the current token as a character sequence: the content of a {@link JsonToken#STRING}
+     * token without the quotes, and the raw text of any other token. Implementations return a view
+     * of their own buffer where they can, so the sequence is only valid until the next call to
+     * {@link #next()}; call {@link CharSequence#toString()} to keep it.
+     *
+     * @return the token content
+     */
+    public CharSequence chars() {
+        return token == JsonToken.STRING ? stringValue() : text();
+    }
+
+    /**
+     * Checks whether the current {@link JsonToken#STRING} token is equal to a name, without decoding it.
+     *
+     * @param name the name to compare with
+     * @return {@code true} if the string content equals the name
+     */
+    public abstract boolean nameEquals(JsonName name);
+
+    /**
+     * Finds the name of a table that the current {@link JsonToken#STRING} token equals.
+     * Implementations hash the token in place, so no string is decoded.
+     *
+     * @param names the names to look up
+     * @return the position of the name in the table, or {@code -1} if none matches
+     */
+    public int indexOf(JsonNameTable names) {
+        return names.indexOf(stringValue());
+    }
+
+    /**
+     * Finds the name of a table that the current {@link JsonToken#STRING} token equals, comparing
+     * the token with the expected name first. Passing the position after the previous match makes
+     * keys that arrive in table order cost a single comparison each.
+     *
+     * @param names    the names to look up
+     * @param expected the position of the most likely name; out-of-range values are ignored
+     * @return the position of the name in the table, or {@code -1} if none matches
+     */
+    public final int indexOf(JsonNameTable names, int expected) {
+        if (expected >= 0 && expected < names.size() && nameEquals(names.name(expected))) return expected;
+        return indexOf(names);
+    }
+
+    /**
+     * Checks whether the current {@link JsonToken#NUMBER} token has no fraction or exponent.
+     *
+     * @return {@code true} if the number is integral
+     */
+    public abstract boolean isIntegral();
+
+    /**
+     * Parses the current {@link JsonToken#NUMBER} token as a {@code long}, directly from the input.
+     *
+     * @return the number value
+     * @throws NumberFormatException if the number is not integral or does not fit in a {@code long}
+     */
+    public abstract long longValue();
+
+    /**
+     * Parses the current {@link JsonToken#NUMBER} token as an {@code int}.
+     *
+     * @return the number value
+     * @throws NumberFormatException if the number is not integral or does not fit in an {@code int}
+     */
+    public int intValue() {
+        long value = longValue();
+        if (value != (int) value) throw new NumberFormatException("Value out of range for int: " + text());
+        return (int) value;
+    }
+
+    /**
+     * Parses the current {@link JsonToken#NUMBER} token as a {@code double}, directly from the input.
+     * Implementations decode the significand and exponent in place and only fall back to
+     * {@link Double#parseDouble(String)} for numbers with more than 19 significant digits or the rare
+     * values the fast algorithm cannot round with certainty.
+     *
+     * @return the number value
+     * @throws NumberFormatException if the token is not a valid number
+     */
+    public abstract double doubleValue();
+
+    /**
+     * Parses the current {@link JsonToken#NUMBER} token as a {@code float}, directly from the input and
+     * rounded once, like {@link Float#parseFloat(String)}. Implementations share the in-place decoding
+     * of {@link #doubleValue()} and fall back to {@code Float.parseFloat} in the same rare cases.
+     *
+     * @return the number value
+     * @throws NumberFormatException if the token is not a valid number
+     */
+    public abstract float floatValue();
+
+    /**
+     * Parses the current {@link JsonToken#NUMBER} token as a {@link BigInteger}, without loss of range.
+     *
+     * @return the number value
+     * @throws ArithmeticException if the number has a non-zero fractional part
+     */
+    public BigInteger bigIntegerValue() {
+        return isIntegral() ? new BigInteger(text()) : new BigDecimal(text()).toBigIntegerExact();
+    }
+
+    /**
+     * Parses the current {@link JsonToken#NUMBER} token as a {@link BigDecimal}, without loss of precision.
+     *
+     * @return the number value
+     */
+    public BigDecimal bigDecimalValue() {
+        return new BigDecimal(text());
+    }
+
+    /**
+     * Returns the current {@link JsonToken#NUMBER} token in the narrowest natural type: an {@link Integer}
+     * or {@link Long} for integers that fit, a {@link BigInteger} for larger integers and a {@link Double}
+     * for anything with a fraction or exponent.
+     *
+     * @return the number value
+     */
+    public Number numberValue() {
+        if (!isIntegral()) return doubleValue();
+        // Up to 18 digits always fit in a long; longer literals are checked by longValue.
+        if (tokenEnd() - tokenStart() <= 18) {
+            long value = longValue();
+            return value == (int) value ? (Number) (int) value : (Number) value;
+        }
+        try {
+            long value = longValue();
+            return value == (int) value ? (Number) (int) value : (Number) value;
+        } catch (NumberFormatException e) {
+            return bigIntegerValue();
+        }
+    }
+
+    /**
+     * Consumes the next complete value, including any nested objects and arrays.
+     * Implementations may step over the content of objects and arrays without tokenizing it,
+     * checking only that strings are terminated and brackets are balanced; the current token is
+     * then the closing bracket of the value.
+     *
+     * @throws JsonDeserializationException if the input is not valid JSON
+     */
+    public void skipValue() throws JsonDeserializationException {
+        int depth = 0;
+        do {
+            switch (next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                case END:
+                    throw new JsonDeserializationException("Unexpected end of input at position " + tokenStart());
+                default:
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Consumes the next complete value and returns its raw JSON text.
+     *
+     * @return the JSON text of the value
+     * @throws JsonDeserializationException if the input is not valid JSON
+     */
+    public abstract String rawValue() throws JsonDeserializationException;
+
+    /**
+     * Returns the character a single-character escape stands for.
+     *
+     * @param c the character after the backslash
+     * @return the unescaped character, or {@code 0} for <code>&#92;u</code> and invalid escapes
+     */
+    static char unescape(int c) {
+        return c >= 0 && c < UNESCAPES.length ? UNESCAPES[c] : 0;
+    }
+
+    /**
+     * Returns the value of a hexadecimal digit.
+     *
+     * @param c the character to convert
+     * @return the digit value, or {@code -1} if {@code c} is not a hexadecimal digit
+     */
+    static int hexDigit(int c) {
+        return c >= 0 && c < HEX.length ? HEX[c] : -1;
+    }
+
+    /**
+     * Returns the kind of token that starts with the given character.
+     *
+     * @param c the first significant character of a token
+     * @return the token kind, or {@code null} if no token starts with {@code c}
+     */
+    static JsonToken classify(int c) {
+        switch (c) {
+            case '{':
+                return JsonToken.START_OBJECT;
+            case '}':
+                return JsonToken.END_OBJECT;
+            case '[':
+                return JsonToken.START_ARRAY;
+            case ']':
+                return JsonToken.END_ARRAY;
+            case ':':
+                return JsonToken.COLON;
+            case ',':
+                return JsonToken.COMMA;
+            case '"':
+                return JsonToken.STRING;
+            case 't':
+                return JsonToken.TRUE;
+            case 'f':
+                return JsonToken.FALSE;
+            case 'n':
+                return JsonToken.NULL;
+            default:
+                return c == '-' || (c >= '0' && c <= '9') ? JsonToken.NUMBER : null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.quantam.numblejson.tokenize;
+
+import dev.quantam.numblejson.output.JsonOutput;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON property name encoded once in every form a {@link JsonLexer} may compare against,
+ * so keys can be matched in place without decoding them into strings.
+ * It also holds the escaped {@code "name":} prefix in both character and UTF-8 form, which
+ * outputs copy as a single block when writing a property.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class JsonName {
+    private final String value;
+    private final byte[] utf8;
+    private final char[] prefix;
+    private final byte[] utf8Prefix;
+
+    /**
+     * Constructs a {@code JsonName} for the given name.
+     *
+     * @param value the property name
+     */
+    public JsonName(String value) {
+        this.value = value;
+        this.utf8 = value.getBytes(StandardCharsets.UTF_8);
+        String quoted = JsonOutput.quote(value) + ':';
+        this.prefix = quoted.toCharArray();
+        this.utf8Prefix = quoted.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the name as a string.
+     *
+     * @return the property name
+     */
+    public String value() {
+        return value;
+    }
+
+    /**
+     * Returns the UTF-8 encoding of the name. The array must not be modified.
+     *
+     * @return the UTF-8 bytes of the name
+     */
+    public byte[] utf8() {
+        return utf8;
+    }
+
+    /**
+     * Returns the quoted, escaped name followed by a colon. The array must not be modified.
+     *
+     * @return the property prefix as characters
+     */
+    public char[] prefix() {
+        return prefix;
+    }
+
+    /**
+     * Returns the UTF-8 encoding of {@link #prefix()}. The array must not be modified.
+     *
+     * @return the property prefix as UTF-8 bytes
+     */
+    public byte[] utf8Prefix() {
+        return utf8Prefix;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,166 @@
+package dev.quantam.numblejson.tokenize;
+
+import java.util.Arrays;
+
+/**
+ * A fixed set of {@link JsonName names} that a {@link JsonLexer} matches a key against in one step,
+ * as used to find the property a key names.
+ * <p>
+ * Names are placed in an open-addressed table under a hash of their code units: the characters of
+ * the name for character input, and its UTF-8 bytes for UTF-8 input, so a lexer hashes the key in
+ * place without decoding it. While the table is built, multipliers are tried until every name lands
+ * in a slot of its own, which makes the table a perfect hash in practice: finding a key costs one
+ * pass to hash it and one comparison, however many names the table holds.
+ * <p>
+ * Objects usually list their members in the order the class declares them, so a lookup can be given
+ * the index that is expected next. That name is compared first, before the key is hashed.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class JsonNameTable {
+    private static final int EMPTY = -1;
+    /**
+     * The number of multipliers tried for each table size before the table grows.
+     */
+    private static final int ATTEMPTS = 32;
+
+    private final JsonName[] names;
+    private final int[] charSlots;
+    private final int[] utf8Slots;
+    private final int multiplier;
+    private final int shift;
+    private final int mask;
+
+    /**
+     * Constructs a {@code JsonNameTable} for the given names.
+     *
+     * @param names the names, each identified by its position; they must be distinct
+     */
+    public JsonNameTable(JsonName... names) {
+        this.names = names.clone();
+        int[] charHashes = new int[names.length];
+        int[] utf8Hashes = new int[names.length];
+        boolean ascii = true;
+        for (int i = 0; i < names.length; i++) {
+            charHashes[i] = names[i].value().hashCode();
+            utf8Hashes[i] = hash(names[i].utf8());
+            ascii &= names[i].utf8().length == names[i].value().length();
+        }
+        // Try to spread the names without collisions over two, four and eight slots per name.
+        int bits = Math.max(32 - Integer.numberOfLeadingZeros(Math.max(names.length, 1) * 2 - 1), 1);
+        int found = 0;
+        search:
+        for (int size = bits; size < bits + 3; size++) {
+            for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                int candidate = 0x9E3779B9 * (2 * attempt + 1);
+                if (perfect(charHashes, candidate, size) && (ascii || perfect(utf8Hashes, candidate, size))) {
+                    bits = size;
+                    found = candidate;
+                    break search;
+                }
+            }
+        }
+        // Without a perfect multiplier, colliding names are resolved by linear probing.
+        this.multiplier = found != 0 ? found : 0x9E3779B9;
+        this.shift = 32 - bits;
+        this.mask = (1 << bits) - 1;
+        this.charSlots = place(charHashes);
+        this.utf8Slots = ascii ? charSlots : place(utf8Hashes);
+    }
+
+    /**
+     * Returns the number of names in the table.
+     *
+     * @return the number of names
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns a name of the table.
+     *
+     * @param index the position of the name
+     * @return the name
+     */
+    public JsonName name(int index) {
+        return names[index];
+    }
+
+    /**
+     * Finds a name given as a string.
+     *
+     * @param name the name to look up
+     * @return the position of the name, or {@code -1} if the table does not contain it
+     */
+    public int indexOf(String name) {
+        for (int slot = slot(name.hashCode()); ; slot = (slot + 1) & mask) {
+            int index = charSlots[slot];
+            if (index == EMPTY || names[index].value().equals(name)) return index;
+        }
+    }
+
+    /**
+     * Finds the name that the current string token of a lexer equals, given the hash of the token.
+     *
+     * @param lexer the lexer positioned on a string token
+     * @param hash  the hash of the token content, computed like {@link #hash(int, int)}
+     * @param utf8  whether the hash was computed over UTF-8 bytes rather than characters
+     * @return the position of the name, or {@code -1} if the table does not contain it
+     */
+    int find(JsonLexer lexer, int hash, boolean utf8) {
+        int[] slots = utf8 ? utf8Slots : charSlots;
+        for (int slot = slot(hash); ; slot = (slot + 1) & mask) {
+            int index = slots[slot];
+            if (index == EMPTY || lexer.nameEquals(names[index])) return index;
+        }
+    }
+
+    /**
+     * Adds a code unit to a hash. Over characters, this computes {@link String#hashCode()};
+     * bytes are added as unsigned values.
+     *
+     * @param hash the hash of the preceding code units
+     * @param unit the next code unit
+     * @return the updated hash
+     */
+    static int hash(int hash, int unit) {
+        return 31 * hash + unit;
+    }
+
+    private static int hash(byte[] utf8) {
+        int h = 0;
+        for (byte b : utf8) {
+            h = hash(h, b & 0xFF);
+        }
+        return h;
+    }
+
+    private int slot(int hash) {
+        return (hash * multiplier) >>> shift;
+    }
+
+    private static boolean perfect(int[] hashes, int multiplier, int bits) {
+        boolean[] used = new boolean[1 << bits];
+        for (int hash : hashes) {
+            int slot = (hash * multiplier) >>> (32 - bits);
+            if (used[slot]) return false;
+            used[slot] = true;
+        }
+        return true;
+    }
+
+    private int[] place(int[] hashes) {
+        int[] slots = new int[mask + 1];
+        Arrays.fill(slots, EMPTY);
+        for (int i = 0; i < hashes.length; i++) {
+            int slot = slot(hashes[i]);
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i;
+        }
+        return slots;
+    }
+}
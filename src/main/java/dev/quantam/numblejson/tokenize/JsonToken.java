@@ -0,0 +1,58 @@
+package dev.quantam.numblejson.tokenize;
+
+/**
+ * The kinds of token produced by {@link JsonTokenizer}.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public enum JsonToken {
+    /**
+     * The start of an object, <code>{</code>.
+     */
+    START_OBJECT,
+    /**
+     * The end of an object, <code>}</code>.
+     */
+    END_OBJECT,
+    /**
+     * The start of an array, {@code [}.
+     */
+    START_ARRAY,
+    /**
+     * The end of an array, {@code ]}.
+     */
+    END_ARRAY,
+    /**
+     * The key-value separator, {@code :}.
+     */
+    COLON,
+    /**
+     * The element separator, {@code ,}.
+     */
+    COMMA,
+    /**
+     * A quoted string, used both for keys and values.
+     */
+    STRING,
+    /**
+     * A number literal.
+     */
+    NUMBER,
+    /**
+     * The literal {@code true}.
+     */
+    TRUE,
+    /**
+     * The literal {@code false}.
+     */
+    FALSE,
+    /**
+     * The literal {@code null}.
+     */
+    NULL,
+    /**
+     * The end of the input.
+     */
+    END
+}
@@ -1,14 +1,54 @@
 package dev.quantam.numblejson.tokenize;
 
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
 /**
- * The {@code JsonTokenizer} class provides methods to tokenize a JSON string.
+ * The {@code JsonTokenizer} class is the {@link JsonLexer} for character input.
+ * <p>
+ * It works over a {@code char[]} and never allocates for structural tokens. When reading from a
+ * {@link Reader} the input is consumed through a fixed-size buffer that is compacted and refilled
+ * as tokens are consumed, so memory use is bounded by the largest single token rather than by the
+ * size of the document.
  *
  * @author quantam
  * @version 1.0
  */
-public class JsonTokenizer {
-    private final String json;
-    private int pos = 0;
+public class JsonTokenizer extends JsonLexer {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final Reader reader;
+    private char[] buf;
+    private int limit;
+    private int pos;
+    /**
+     * The absolute input offset of {@code buf[0]}; grows as consumed input is discarded.
+     */
+    private long bufferOffset;
+    /**
+     * The buffer index from which input must be retained across refills, or -1.
+     */
+    private int mark = -1;
+    private boolean eof;
+
+    private int start;
+    private int end;
+    private boolean integral;
+    /**
+     * Whether the current string token contains escape sequences.
+     */
+    private boolean escaped;
+    /**
+     * The sign, significand and decimal exponent of the current number, set by {@link #split()}.
+     */
+    private boolean numberNegative;
+    private long numberSignificand;
+    private int numberExponent;
+    private CharView view;
 
     /**
      * Constructs a {@code JsonTokenizer} with the specified JSON string.
@@ -16,59 +56,550 @@ public class JsonTokenizer {
      * @param json the JSON string to tokenize
      */
     public JsonTokenizer(String json) {
-        this.json = json;
+        this(json.toCharArray());
+    }
+
+    /**
+     * Constructs a {@code JsonTokenizer} over a character array.
+     *
+     * @param json the JSON text to tokenize
+     */
+    public JsonTokenizer(char[] json) {
+        this(json, 0, json.length);
+    }
+
+    /**
+     * Constructs a {@code JsonTokenizer} over a region of a character array.
+     * The array is not copied and must not change while it is being tokenized.
+     *
+     * @param json   the array holding the JSON text
+     * @param offset the index of the first character
+     * @param length the number of characters
+     */
+    public JsonTokenizer(char[] json, int offset, int length) {
+        this.reader = null;
+        this.buf = json;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Constructs a {@code JsonTokenizer} that reads incrementally from a reader.
+     * The reader is not closed by the tokenizer.
+     *
+     * @param reader the source of JSON text
+     */
+    public JsonTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a {@code JsonTokenizer} that reads incrementally from a reader using a buffer of the given size.
+     * The buffer only grows if a single token is larger than it.
+     *
+     * @param reader     the source of JSON text
+     * @param bufferSize the initial buffer size in characters
+     */
+    public JsonTokenizer(Reader reader, int bufferSize) {
+        this(reader, new char[Math.max(bufferSize, 16)]);
+    }
+
+    /**
+     * Constructs a {@code JsonTokenizer} that reads incrementally from a reader into a caller-supplied
+     * buffer, for example one taken from a pool. The buffer is replaced by a larger copy if a single
+     * token does not fit; {@link #buffer()} returns the one in use.
+     *
+     * @param reader the source of JSON text
+     * @param buffer the initial buffer, of at least 16 characters
+     */
+    public JsonTokenizer(Reader reader, char[] buffer) {
+        if (buffer.length < 16) throw new IllegalArgumentException("Buffer too small: " + buffer.length);
+        this.reader = reader;
+        this.buf = buffer;
+    }
+
+    /**
+     * Returns the array the tokenizer reads from: the input array, or the current buffer when
+     * reading from a {@link Reader}. Once tokenizing is done the buffer may be reused.
+     *
+     * @return the character array
+     */
+    public char[] buffer() {
+        return buf;
+    }
+
+    @Override
+    public JsonToken next() throws JsonDeserializationException {
+        start = pos; // the previous token no longer needs to be retained
+        skipWhitespace();
+        start = pos;
+        if (pos >= limit) {
+            end = pos;
+            return token = JsonToken.END;
+        }
+        char c = buf[pos++];
+        JsonToken kind = classify(c);
+        if (kind == null) throw error("Unexpected character '" + c + "'", start);
+        switch (kind) {
+            case STRING:
+                scanString();
+                break;
+            case NUMBER:
+                scanNumber();
+                break;
+            case TRUE:
+                scanLiteral("true");
+                break;
+            case FALSE:
+                scanLiteral("false");
+                break;
+            case NULL:
+                scanLiteral("null");
+                break;
+            default:
+                break;
+        }
+        end = pos;
+        return token = kind;
+    }
+
+    @Override
+    public JsonToken peekToken() throws JsonDeserializationException {
+        skipWhitespace();
+        if (pos >= limit) return JsonToken.END;
+        JsonToken kind = classify(buf[pos]);
+        if (kind == null) throw error("Unexpected character '" + buf[pos] + "'", pos);
+        return kind;
+    }
+
+    @Override
+    public long tokenStart() {
+        return bufferOffset + start;
+    }
+
+    @Override
+    public long tokenEnd() {
+        return bufferOffset + end;
+    }
+
+    @Override
+    public String text() {
+        return new String(buf, start, end - start);
+    }
+
+    @Override
+    public String stringValue() {
+        return escaped ? unescapeString(start + 1, end - 1) : new String(buf, start + 1, end - start - 2);
+    }
+
+    @Override
+    public CharSequence chars() {
+        if (view == null) view = new CharView();
+        if (token != JsonToken.STRING) return view.set(buf, start, end - start);
+        return escaped ? stringValue() : view.set(buf, start + 1, end - start - 2);
+    }
+
+    @Override
+    public boolean nameEquals(JsonName name) {
+        if (escaped) return stringValue().equals(name.value());
+        String value = name.value();
+        int n = value.length();
+        if (end - start - 2 != n) return false;
+        for (int i = 0, j = start + 1; i < n; i++, j++) {
+            if (buf[j] != value.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int indexOf(JsonNameTable names) {
+        if (escaped) return names.indexOf(stringValue());
+        int hash = 0;
+        for (int i = start + 1; i < end - 1; i++) {
+            hash = JsonNameTable.hash(hash, buf[i]);
+        }
+        return names.find(this, hash, false);
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    @Override
+    public long longValue() {
+        if (!integral) throw new NumberFormatException("Not an integer: " + text());
+        int i = start;
+        boolean negative = buf[i] == '-';
+        if (negative) i++;
+        if (i == end) throw new NumberFormatException("Not an integer: " + text());
+        // Accumulate negatively so that Long.MIN_VALUE can be represented.
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) throw new NumberFormatException("Not an integer: " + text());
+            if (result < Long.MIN_VALUE / 10) throw new NumberFormatException("Value out of range for long: " + text());
+            result *= 10;
+            if (result < Long.MIN_VALUE + digit) throw new NumberFormatException("Value out of range for long: " + text());
+            result -= digit;
+        }
+        if (!negative) {
+            if (result == Long.MIN_VALUE) throw new NumberFormatException("Value out of range for long: " + text());
+            result = -result;
+        }
+        return result;
+    }
+
+    @Override
+    public double doubleValue() {
+        if (split()) {
+            double result = NumberDecoder.convert(numberNegative, numberSignificand, numberExponent);
+            if (!Double.isNaN(result)) return result;
+        }
+        return Double.parseDouble(text());
+    }
+
+    @Override
+    public float floatValue() {
+        if (split()) {
+            float result = NumberDecoder.convertFloat(numberNegative, numberSignificand, numberExponent);
+            if (!Float.isNaN(result)) return result;
+        }
+        return Float.parseFloat(text());
+    }
+
+    /**
+     * Splits the current number into {@link #numberNegative}, {@link #numberSignificand} and
+     * {@link #numberExponent}.
+     *
+     * @return {@code false} if the number has more than {@link NumberDecoder#MAX_DIGITS} significant
+     *         digits or is malformed, and must be parsed from its text
+     */
+    private boolean split() {
+        int i = start;
+        boolean negative = buf[start] == '-';
+        if (negative) i++;
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean sawDigit = false;
+        int d;
+        for (; i < end && (d = buf[i] - '0') >= 0 && d <= 9; i++) {
+            sawDigit = true;
+            if (digits == 0 && d == 0) continue;
+            if (digits == NumberDecoder.MAX_DIGITS) return false;
+            significand = significand * 10 + d;
+            digits++;
+        }
+        if (i < end && buf[i] == '.') {
+            for (i++; i < end && (d = buf[i] - '0') >= 0 && d <= 9; i++) {
+                sawDigit = true;
+                exponent--;
+                if (digits == 0 && d == 0) continue;
+                if (digits == NumberDecoder.MAX_DIGITS) return false;
+                significand = significand * 10 + d;
+                digits++;
+            }
+        }
+        if (sawDigit && i < end && (buf[i] | 0x20) == 'e') {
+            i++;
+            boolean negativeExponent = i < end && buf[i] == '-';
+            if (i < end && (buf[i] == '-' || buf[i] == '+')) i++;
+            int value = 0;
+            int from = i;
+            for (; i < end && (d = buf[i] - '0') >= 0 && d <= 9; i++) {
+                if (value < 100_000) value = value * 10 + d;
+            }
+            if (i == from) return false;
+            exponent += negativeExponent ? -value : value;
+        }
+        if (!sawDigit || i != end) {
+            // Malformed: let the JDK produce the error.
+            return false;
+        }
+        numberNegative = negative;
+        numberSignificand = significand;
+        numberExponent = exponent;
+        return true;
+    }
+
+    /**
+     * Consumes the next complete value. Objects and arrays are stepped over by scanning for quotes
+     * and brackets only, without tokenizing or allocating; a reader-backed buffer keeps discarding
+     * consumed input, so skipping a large value does not grow it.
+     *
+     * @throws JsonDeserializationException if a string is unterminated, brackets do not match or the input ends
+     */
+    @Override
+    public void skipValue() throws JsonDeserializationException {
+        JsonToken first = next();
+        if (first == JsonToken.END) throw error("Unexpected end of input", start);
+        if (first != JsonToken.START_OBJECT && first != JsonToken.START_ARRAY) return;
+        // One bit per open bracket (set for objects) checks that closing brackets match, while nesting stays within 64 levels.
+        long objects = first == JsonToken.START_OBJECT ? 1 : 0;
+        int depth = 1;
+        boolean deep = false;
+        for (;;) {
+            if (pos >= limit) {
+                start = pos; // nothing before this point needs to be retained
+                if (!fill()) throw error("Unexpected end of input", pos);
+            }
+            char c = buf[pos++];
+            if (c == '"') {
+                for (;;) {
+                    if (pos >= limit) {
+                        start = pos;
+                        if (!fill()) throw error("Unterminated string", pos);
+                    }
+                    char d = buf[pos++];
+                    if (d == '"') break;
+                    if (d == '\\') {
+                        if (pos >= limit && !fill()) throw error("Unterminated string", pos);
+                        pos++;
+                    }
+                }
+            } else if (c == '{' || c == '[') {
+                objects = objects << 1 | (c == '{' ? 1 : 0);
+                deep |= ++depth > 64;
+            } else if (c == '}' || c == ']') {
+                if (!deep && ((objects & 1) == 1) != (c == '}')) throw error("Mismatched '" + c + "'", pos - 1);
+                objects >>>= 1;
+                if (--depth == 0) {
+                    start = pos - 1;
+                    end = pos;
+                    token = c == '}' ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String rawValue() throws JsonDeserializationException {
+        skipWhitespace();
+        int previousMark = mark;
+        mark = pos;
+        try {
+            skipValue();
+            return new String(buf, mark, pos - mark);
+        } finally {
+            mark = previousMark;
+        }
     }
 
     /**
      * Returns the next token from the JSON string.
      * A token can be a JSON string, object delimiter ({}, []), or a key-value separator (:,).
      *
-     * @return the next token as a {@code String}
+     * @return the next token as a {@code String}, or {@code null} at the end of the input
+     * @deprecated use {@link #next()} and the value accessors, which do not allocate per token
      */
+    @Deprecated
     public String nextToken() {
-        StringBuilder sb = new StringBuilder();
-        char c = nextChar();
-        if (c == '"') {
-            while ((c = nextChar()) != '"') {
-                if (c == '\\') {
-                    sb.append(c);
-                    c = nextChar();
-                }
-                sb.append(c);
-            }
-            sb.insert(0, '"').append('"');
-        } else if (c == '{' || c == '}' || c == '[' || c == ']' || c == ':' || c == ',') {
-            sb.append(c);
-        } else {
-            do {
-                sb.append(c);
-                c = json.charAt(pos);
-                if (",]}:".indexOf(c) != -1) break;
-                pos++;
-            } while (pos < json.length());
+        try {
+            return next() == JsonToken.END ? null : text();
+        } catch (JsonDeserializationException e) {
+            throw new IllegalStateException(e.getMessage(), e);
         }
-        return sb.toString();
     }
 
     /**
      * Returns the next token without advancing the position.
      *
      * @return the next token as a {@code String}
+     * @deprecated use {@link #peekToken()}
      */
+    @Deprecated
     public String peek() {
-        int oldPos = pos;
-        String token = nextToken();
-        pos = oldPos;
-        return token;
+        int previousMark = mark;
+        // Pin the current token as well, so that it survives a refill triggered by the look-ahead.
+        mark = start;
+        int posDelta = pos - start;
+        int endDelta = end - start;
+        JsonToken oldToken = token;
+        boolean oldIntegral = integral;
+        String text = nextToken();
+        start = mark;
+        pos = mark + posDelta;
+        end = mark + endDelta;
+        token = oldToken;
+        integral = oldIntegral;
+        mark = previousMark;
+        return text;
+    }
+
+    private void skipWhitespace() throws JsonDeserializationException {
+        while (pos < limit || fill()) {
+            char c = buf[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') break;
+            pos++;
+        }
     }
 
     /**
-     * Returns the next non-whitespace character from the JSON string.
+     * Finds the closing quote of a string, validating its escape sequences so that they can later
+     * be decoded without checks.
+     */
+    private void scanString() throws JsonDeserializationException {
+        escaped = false;
+        for (;;) {
+            if (pos >= limit && !fill()) throw error("Unterminated string", start);
+            char c = buf[pos++];
+            if (c == '"') return;
+            if (c == '\\') {
+                escaped = true;
+                if (pos >= limit && !fill()) throw error("Unterminated string", start);
+                char e = buf[pos++];
+                if (e == 'u') {
+                    for (int i = 0; i < 4; i++) {
+                        if (pos >= limit && !fill()) throw error("Unterminated string", start);
+                        if (hexDigit(buf[pos++]) < 0) throw error("Invalid unicode escape", pos - 1);
+                    }
+                } else if (unescape(e) == 0) {
+                    throw error("Invalid escape sequence", pos - 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes string content with escape sequences in one pass, copying the runs between them in bulk.
+     * The escapes were validated by {@link #scanString()}; an escaped surrogate pair decodes to the
+     * two surrogate characters that form the supplementary character, and an unpaired surrogate
+     * decodes as a replacement character, as in {@link Utf8JsonTokenizer}.
+     */
+    private String unescapeString(int from, int to) {
+        StringBuilder sb = new StringBuilder(to - from);
+        int run = from;
+        for (int i = from; i < to; i++) {
+            if (buf[i] != '\\') continue;
+            sb.append(buf, run, i - run);
+            char e = buf[++i];
+            if (e == 'u') {
+                char c = hex4(i + 1);
+                i += 4;
+                if (Character.isHighSurrogate(c) && i + 6 < to && buf[i + 1] == '\\' && buf[i + 2] == 'u') {
+                    char low = hex4(i + 3);
+                    if (Character.isLowSurrogate(low)) {
+                        sb.append(c).append(low);
+                        i += 6;
+                        run = i + 1;
+                        continue;
+                    }
+                }
+                sb.append(Character.isSurrogate(c) ? REPLACEMENT : c);
+            } else {
+                sb.append(unescape(e));
+            }
+            run = i + 1;
+        }
+        return sb.append(buf, run, to - run).toString();
+    }
+
+    private char hex4(int from) {
+        return (char) (hexDigit(buf[from]) << 12 | hexDigit(buf[from + 1]) << 8 | hexDigit(buf[from + 2]) << 4 | hexDigit(buf[from + 3]));
+    }
+
+    /**
+     * Scans the rest of a number whose first character was consumed, checking the JSON grammar:
+     * an optional minus, an integer part without leading zeros, an optional fraction and an
+     * optional exponent, each with at least one digit.
+     */
+    private void scanNumber() throws JsonDeserializationException {
+        boolean isIntegral = true;
+        int c = buf[pos - 1];
+        if (c == '-') {
+            c = peekChar();
+            if (!isDigit(c)) throw error("Invalid number", start);
+            pos++;
+        }
+        if (c != '0') skipDigits();
+        c = peekChar();
+        if (c == '.') {
+            isIntegral = false;
+            pos++;
+            if (!isDigit(peekChar())) throw error("Invalid number", start);
+            skipDigits();
+            c = peekChar();
+        }
+        if (c == 'e' || c == 'E') {
+            isIntegral = false;
+            pos++;
+            c = peekChar();
+            if (c == '+' || c == '-') {
+                pos++;
+                c = peekChar();
+            }
+            if (!isDigit(c)) throw error("Invalid number", start);
+            skipDigits();
+            c = peekChar();
+        }
+        if (isDigit(c) || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E') throw error("Invalid number", start);
+        integral = isIntegral;
+    }
+
+    private void skipDigits() throws JsonDeserializationException {
+        while (isDigit(peekChar())) {
+            pos++;
+        }
+    }
+
+    /**
+     * Returns the character at the current position without consuming it, or -1 at the end of the input.
+     */
+    private int peekChar() throws JsonDeserializationException {
+        return pos < limit || fill() ? buf[pos] : -1;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private void scanLiteral(String literal) throws JsonDeserializationException {
+        int n = literal.length();
+        while (limit - start < n) {
+            if (!fill()) throw error("Unexpected end of input", start);
+        }
+        for (int i = 1; i < n; i++) {
+            if (buf[start + i] != literal.charAt(i)) throw error("Invalid literal", start);
+        }
+        pos = start + n;
+    }
+
+    /**
+     * Reads more input from the reader, first discarding everything before the current token
+     * (or the mark, if set). The buffer only grows when the retained input already fills it.
      *
-     * @return the next non-whitespace character
+     * @return {@code true} if more characters are available
      */
-    private char nextChar() {
-        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) pos++;
-        return json.charAt(pos++);
+    private boolean fill() throws JsonDeserializationException {
+        if (reader == null || eof) return false;
+        int keep = Math.min(mark >= 0 ? Math.min(mark, start) : start, pos);
+        if (keep > 0) {
+            System.arraycopy(buf, keep, buf, 0, limit - keep);
+            limit -= keep;
+            pos -= keep;
+            start -= keep;
+            end -= keep;
+            if (mark >= 0) mark -= keep;
+            bufferOffset += keep;
+        } else if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        try {
+            int n = reader.read(buf, limit, buf.length - limit);
+            if (n < 0) {
+                eof = true;
+                return false;
+            }
+            limit += n;
+            return true;
+        } catch (IOException e) {
+            throw new JsonDeserializationException("Error reading JSON input", e);
+        }
+    }
+
+    private JsonDeserializationException error(String message, int at) {
+        return new JsonDeserializationException(message + " at position " + (bufferOffset + at));
     }
 }
@@ -0,0 +1,190 @@
+package dev.quantam.numblejson.tokenize;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a decimal number that has already been split into sign, significand and exponent into
+ * a {@code double} or a {@code float}, without going through a string.
+ * <p>
+ * Exactly representable cases use Clinger's fast path; everything else uses the Eisel-Lemire
+ * algorithm, which computes the correctly rounded result from a 128-bit approximation of the power
+ * of ten. In the rare cases where that approximation is not precise enough, {@link #convert} and
+ * {@link #convertFloat} report failure and the caller falls back to {@link Double#parseDouble(String)}
+ * or {@link Float#parseFloat(String)}. A {@code float} is rounded once from the decimal value, never
+ * narrowed from a rounded {@code double}.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class NumberDecoder {
+    /**
+     * The maximum number of significant decimal digits that always fit in an unsigned 64-bit significand.
+     */
+    static final int MAX_DIGITS = 19;
+
+    private static final int MIN_EXPONENT = -342;
+    private static final int MAX_EXPONENT = 308;
+
+    private static final double[] SMALL_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /**
+     * The powers of ten that are exact {@code float}s.
+     */
+    private static final float[] SMALL_FLOAT_POWERS = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * The high and low 64 bits of the normalized 128-bit significand of each power of ten
+     * from {@code 10^MIN_EXPONENT} to {@code 10^MAX_EXPONENT}, interleaved.
+     */
+    private static final long[] POWERS_OF_TEN = computePowers();
+
+    private NumberDecoder() {
+    }
+
+    /**
+     * Converts {@code significand * 10^exponent} to the nearest {@code double}.
+     *
+     * @param negative    whether the number is negative
+     * @param significand the decimal significand, interpreted as unsigned, with at most {@link #MAX_DIGITS} digits
+     * @param exponent    the decimal exponent
+     * @return the converted value, or {@link Double#NaN} if the caller must fall back to a slow path
+     */
+    static double convert(boolean negative, long significand, int exponent) {
+        if (significand == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        // Clinger: both operands are exact doubles, so a single operation rounds correctly.
+        if (significand >= 0 && significand <= (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double d = (double) significand;
+            d = exponent < 0 ? d / SMALL_POWERS[-exponent] : d * SMALL_POWERS[exponent];
+            return negative ? -d : d;
+        }
+        if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) {
+            return Double.NaN;
+        }
+        long bits = eiselLemire(significand, exponent, 52, 1023);
+        if (bits < 0) return Double.NaN;
+        if (negative) bits |= 0x8000000000000000L;
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Converts {@code significand * 10^exponent} to the nearest {@code float}.
+     *
+     * @param negative    whether the number is negative
+     * @param significand the decimal significand, interpreted as unsigned, with at most {@link #MAX_DIGITS} digits
+     * @param exponent    the decimal exponent
+     * @return the converted value, or {@link Float#NaN} if the caller must fall back to a slow path
+     */
+    static float convertFloat(boolean negative, long significand, int exponent) {
+        if (significand == 0) {
+            return negative ? -0.0f : 0.0f;
+        }
+        // Clinger, in single precision: both operands are exact floats.
+        if (significand >= 0 && significand <= (1L << 24) && exponent >= -10 && exponent <= 10) {
+            float f = (float) significand;
+            f = exponent < 0 ? f / SMALL_FLOAT_POWERS[-exponent] : f * SMALL_FLOAT_POWERS[exponent];
+            return negative ? -f : f;
+        }
+        if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) {
+            return Float.NaN;
+        }
+        long bits = eiselLemire(significand, exponent, 23, 127);
+        if (bits < 0) return Float.NaN;
+        float f = Float.intBitsToFloat((int) bits);
+        return negative ? -f : f;
+    }
+
+    /**
+     * Computes the bits of the correctly rounded, positive binary floating-point value with the given
+     * number of explicit mantissa bits and exponent bias.
+     *
+     * @return the bits without a sign, or {@code -1} if the result cannot be rounded with certainty
+     *         or is subnormal or infinite
+     */
+    private static long eiselLemire(long significand, int exponent, int mantissaBits, int bias) {
+        int index = (exponent - MIN_EXPONENT) * 2;
+        long powerHigh = POWERS_OF_TEN[index];
+        long powerLow = POWERS_OF_TEN[index + 1];
+        // The product bits below the mantissa and its rounding bit.
+        long precision = -1L >>> (mantissaBits + 3);
+
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long w = significand << leadingZeros;
+        long exponent2 = ((217706L * exponent) >> 16) + 64 + bias - leadingZeros;
+
+        long high = unsignedMultiplyHigh(w, powerHigh);
+        long low = w * powerHigh;
+        if ((high & precision) == precision && Long.compareUnsigned(low + w, w) < 0) {
+            // The truncated power might matter: widen the product with its low 64 bits.
+            long crossHigh = unsignedMultiplyHigh(w, powerLow);
+            long crossLow = w * powerLow;
+            long mergedLow = low + crossHigh;
+            long mergedHigh = high;
+            if (Long.compareUnsigned(mergedLow, low) < 0) mergedHigh++;
+            if ((mergedHigh & precision) == precision && mergedLow + 1 == 0 && Long.compareUnsigned(crossLow + w, w) < 0) {
+                return -1;
+            }
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        long upperBit = high >>> 63;
+        long mantissa = high >>> (upperBit + 64 - mantissaBits - 3);
+        exponent2 -= 1 ^ upperBit;
+
+        // Exactly halfway between two values: round-half-even needs the exact value.
+        if (low == 0 && (high & precision) == 0 && (mantissa & 3) == 1) {
+            return -1;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if ((mantissa >>> (mantissaBits + 1)) > 0) {
+            mantissa >>>= 1;
+            exponent2++;
+        }
+        // Subnormals, infinities and overflow are left to the slow path.
+        if (Long.compareUnsigned(exponent2 - 1, 2L * bias) >= 0) {
+            return -1;
+        }
+        return exponent2 << mantissaBits | mantissa & ((1L << mantissaBits) - 1);
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    /**
+     * Builds the power table. The significand of {@code 10^q} equals that of {@code 5^q}; positive
+     * powers are truncated to 128 bits and negative powers are rounded up, as Eisel-Lemire requires.
+     */
+    private static long[] computePowers() {
+        long[] table = new long[(MAX_EXPONENT - MIN_EXPONENT + 1) * 2];
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        BigInteger two127 = BigInteger.ONE.shiftLeft(127);
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+            BigInteger c;
+            if (q < 0) {
+                BigInteger power5 = five.pow(-q);
+                int z = power5.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (c.compareTo(two128) >= 0) c = c.shiftRight(1);
+            } else {
+                c = five.pow(q);
+                while (c.compareTo(two127) < 0) c = c.shiftLeft(1);
+                while (c.compareTo(two128) >= 0) c = c.shiftRight(1);
+            }
+            int index = (q - MIN_EXPONENT) * 2;
+            table[index] = c.shiftRight(64).longValue();
+            table[index + 1] = c.longValue();
+        }
+        return table;
+    }
+}
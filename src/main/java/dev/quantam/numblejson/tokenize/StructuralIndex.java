@@ -0,0 +1,74 @@
+package dev.quantam.numblejson.tokenize;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+
+/**
+ * The positions of all token starts in a UTF-8 encoded document, found ahead of parsing.
+ * <p>
+ * The index lists, in order, every structural character outside of strings, the opening and
+ * closing quote of every string, and the first byte of every number and literal. A
+ * {@link Utf8JsonTokenizer} created with an index jumps from token to token instead of examining
+ * whitespace and string content byte by byte, and skips whole values by walking the index.
+ * Building the index is a single pass over the input in 64-byte blocks, vectorized with the
+ * {@code jdk.incubator.vector} module when it is present (see {@link #isVectorized()}).
+ * <p>
+ * A plain tokenizer reads a document in one pass, while an indexed one reads it twice, so indexing
+ * pays off when the token positions are needed before parsing, for example to find the boundaries of
+ * values that are then parsed independently. {@link dev.quantam.numblejson.engine.ParallelArrayReader}
+ * indexes UTF-8 input for this reason; {@link Utf8JsonTokenizer#indexed} does so on request.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class StructuralIndex {
+    final int[] positions;
+    final int count;
+
+    StructuralIndex(int[] positions, int count) {
+        this.positions = positions;
+        this.count = count;
+    }
+
+    /**
+     * Indexes a region of UTF-8 encoded JSON text.
+     *
+     * @param json   the array holding the JSON text
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the index, with positions relative to the start of the array
+     * @throws JsonDeserializationException if the input ends inside a string
+     */
+    public static StructuralIndex of(byte[] json, int offset, int length) throws JsonDeserializationException {
+        return StructuralScanner.INSTANCE.scan(json, offset, offset + length);
+    }
+
+    /**
+     * Checks whether indexes are built with SIMD instructions. This requires running with
+     * {@code --add-modules jdk.incubator.vector}; otherwise an equivalent scalar scanner is used.
+     *
+     * @return {@code true} if the vectorized scanner is active
+     */
+    public static boolean isVectorized() {
+        return StructuralScanner.INSTANCE.isVectorized();
+    }
+
+    /**
+     * Returns the number of indexed token starts.
+     *
+     * @return the size of the index
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the position of a token start.
+     *
+     * @param i the index of the token start, from {@code 0} to {@link #size()} - 1
+     * @return the byte position in the array
+     */
+    public int position(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + count);
+        return positions[i];
+    }
+}
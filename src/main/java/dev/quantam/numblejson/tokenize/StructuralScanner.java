@@ -0,0 +1,180 @@
+package dev.quantam.numblejson.tokenize;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+
+import java.util.Arrays;
+
+/**
+ * Builds a {@link StructuralIndex} by classifying UTF-8 input in blocks of 64 bytes.
+ * <p>
+ * Each block is reduced to four bitmasks, one bit per byte: quotes, backslashes, structural
+ * characters and whitespace. Escaped quotes are removed by following runs of backslashes, and a
+ * prefix-XOR of the remaining quotes gives the mask of bytes inside strings, carried from one block
+ * to the next. What remains outside strings is turned into token start positions: structural
+ * characters, every unescaped quote and the first byte of each number or literal.
+ * <p>
+ * This class classifies bytes one at a time. When the {@code jdk.incubator.vector} module is
+ * present, {@link #INSTANCE} is a {@code VectorStructuralScanner} that computes the same masks
+ * with SIMD comparisons; it can be disabled with {@code -Ddev.quantam.numblejson.vector=false}.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+class StructuralScanner {
+    static final int BLOCK = 64;
+    static final int QUOTES = 0;
+    static final int BACKSLASHES = 1;
+    static final int STRUCTURALS = 2;
+    static final int WHITESPACE = 3;
+
+    /**
+     * The scanner used by {@link StructuralIndex}: vectorized when possible, otherwise scalar.
+     */
+    static final StructuralScanner INSTANCE = load();
+
+    /**
+     * Checks whether this scanner classifies blocks with SIMD instructions.
+     *
+     * @return {@code true} for the vectorized scanner
+     */
+    boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Computes the classification masks of one full block.
+     *
+     * @param input  the input bytes
+     * @param offset the index of the first byte of the block; {@link #BLOCK} bytes must be available
+     * @param masks  receives the four masks, indexed by {@link #QUOTES} to {@link #WHITESPACE}
+     */
+    void classify(byte[] input, int offset, long[] masks) {
+        classifyScalar(input, offset, masks);
+    }
+
+    static void classifyScalar(byte[] input, int offset, long[] masks) {
+        long quotes = 0;
+        long backslashes = 0;
+        long structurals = 0;
+        long whitespace = 0;
+        for (int i = 0; i < BLOCK; i++) {
+            long bit = 1L << i;
+            switch (input[offset + i]) {
+                case '"':
+                    quotes |= bit;
+                    break;
+                case '\\':
+                    backslashes |= bit;
+                    break;
+                case '{':
+                case '}':
+                case '[':
+                case ']':
+                case ':':
+                case ',':
+                    structurals |= bit;
+                    break;
+                case ' ':
+                case '\n':
+                case '\r':
+                case '\t':
+                    whitespace |= bit;
+                    break;
+                default:
+                    break;
+            }
+        }
+        masks[QUOTES] = quotes;
+        masks[BACKSLASHES] = backslashes;
+        masks[STRUCTURALS] = structurals;
+        masks[WHITESPACE] = whitespace;
+    }
+
+    /**
+     * Indexes the token starts of a region.
+     *
+     * @param input  the UTF-8 encoded JSON text
+     * @param from   the index of the first byte
+     * @param to     the index just past the last byte
+     * @return the index
+     * @throws JsonDeserializationException if the input ends inside a string
+     */
+    final StructuralIndex scan(byte[] input, int from, int to) throws JsonDeserializationException {
+        int[] positions = new int[Math.max(16, (to - from) / 8)];
+        int count = 0;
+        long[] masks = new long[4];
+        byte[] tail = null;
+        boolean escapeCarry = false;
+        boolean stringCarry = false;
+        boolean scalarCarry = false;
+        int lastQuote = -1;
+        for (int block = from; block < to; block += BLOCK) {
+            if (to - block >= BLOCK) {
+                classify(input, block, masks);
+            } else {
+                // Pad the last partial block with whitespace, which never starts a token.
+                tail = new byte[BLOCK];
+                Arrays.fill(tail, (byte) ' ');
+                System.arraycopy(input, block, tail, 0, to - block);
+                classifyScalar(tail, 0, masks);
+            }
+            // A backslash escapes the next byte unless it is escaped itself.
+            long escaped = escapeCarry ? 1 : 0;
+            escapeCarry = false;
+            for (long backslashes = masks[BACKSLASHES]; backslashes != 0; backslashes &= backslashes - 1) {
+                long bit = Long.lowestOneBit(backslashes);
+                if ((escaped & bit) != 0) continue;
+                if (bit == Long.MIN_VALUE) escapeCarry = true;
+                else escaped |= bit << 1;
+            }
+            long quotes = masks[QUOTES] & ~escaped;
+            long inside = prefixXor(quotes);
+            if (stringCarry) inside = ~inside;
+            stringCarry = inside < 0;
+            long structurals = masks[STRUCTURALS] & ~inside;
+            long scalars = ~(masks[WHITESPACE] | masks[STRUCTURALS] | quotes | inside);
+            long scalarStarts = scalars & ~(scalars << 1 | (scalarCarry ? 1 : 0));
+            scalarCarry = scalars < 0;
+            if (quotes != 0) lastQuote = block + 63 - Long.numberOfLeadingZeros(quotes);
+
+            long starts = structurals | quotes | scalarStarts;
+            if (count + BLOCK > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(positions.length * 2, count + BLOCK));
+            }
+            for (; starts != 0; starts &= starts - 1) {
+                positions[count++] = block + Long.numberOfTrailingZeros(starts);
+            }
+        }
+        if (stringCarry) {
+            throw new JsonDeserializationException("Unterminated string at position " + lastQuote);
+        }
+        return new StructuralIndex(positions, count);
+    }
+
+    /**
+     * Sets every bit to the XOR of itself and all lower bits, so that the bits between an opening
+     * quote and its closing quote are set.
+     */
+    private static long prefixXor(long bits) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+
+    private static StructuralScanner load() {
+        if (Boolean.parseBoolean(System.getProperty("dev.quantam.numblejson.vector", "true"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (StructuralScanner) Class.forName(StructuralScanner.class.getPackageName() + ".VectorStructuralScanner")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar scanner.
+            }
+        }
+        return new StructuralScanner();
+    }
+}
@@ -0,0 +1,679 @@
+package dev.quantam.numblejson.tokenize;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code Utf8JsonTokenizer} class is the {@link JsonLexer} for UTF-8 encoded bytes.
+ * <p>
+ * It reads a {@code byte[]} or a heap or direct {@link ByteBuffer} in place, without first decoding
+ * the input into characters. Only string values that are actually requested through
+ * {@link #stringValue()} are decoded, and keys are compared against pre-encoded names with
+ * {@link #nameEquals(JsonName)}. Offsets are byte positions within the array or buffer.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public class Utf8JsonTokenizer extends JsonLexer {
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final byte[] array;
+    private final ByteBuffer buffer;
+    private final int base;
+    private final int limit;
+    private int pos;
+
+    private int start;
+    private int end;
+    private boolean integral;
+    /**
+     * Whether the current string token contains escape sequences.
+     */
+    private boolean escaped;
+    /**
+     * The sign, significand and decimal exponent of the current number, set by {@link #split()}.
+     */
+    private boolean numberNegative;
+    private long numberSignificand;
+    private int numberExponent;
+    private byte[] scratch;
+    private char[] chars;
+    private CharView view;
+    /**
+     * The token start positions when created with a {@link StructuralIndex}, otherwise {@code null}.
+     */
+    private final int[] structurals;
+    private final int structuralCount;
+    private int cursor;
+
+    /**
+     * Constructs a {@code Utf8JsonTokenizer} over a byte array.
+     *
+     * @param json the UTF-8 encoded JSON text
+     */
+    public Utf8JsonTokenizer(byte[] json) {
+        this(json, 0, json.length);
+    }
+
+    /**
+     * Constructs a {@code Utf8JsonTokenizer} over a region of a byte array.
+     * The array is not copied and must not change while it is being tokenized.
+     *
+     * @param json   the array holding the UTF-8 encoded JSON text
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     */
+    public Utf8JsonTokenizer(byte[] json, int offset, int length) {
+        this.array = json;
+        this.buffer = null;
+        this.base = 0;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.structurals = null;
+        this.structuralCount = 0;
+        skipByteOrderMark();
+    }
+
+    private Utf8JsonTokenizer(byte[] json, int offset, int length, StructuralIndex index) {
+        this.array = json;
+        this.buffer = null;
+        this.base = 0;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.structurals = index.positions;
+        this.structuralCount = index.count;
+    }
+
+    /**
+     * Creates a tokenizer over a region of a byte array that first builds a {@link StructuralIndex}
+     * of it. Tokenizing then skips whitespace and string contents without examining them, and
+     * {@link #skipValue()} only visits the structural characters of the skipped value.
+     *
+     * @param json   the array holding the UTF-8 encoded JSON text
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the indexed tokenizer
+     * @throws JsonDeserializationException if the input ends inside a string
+     */
+    public static Utf8JsonTokenizer indexed(byte[] json, int offset, int length) throws JsonDeserializationException {
+        if (length >= 3 && json[offset] == (byte) 0xEF && json[offset + 1] == (byte) 0xBB && json[offset + 2] == (byte) 0xBF) {
+            offset += 3;
+            length -= 3;
+        }
+        return new Utf8JsonTokenizer(json, offset, length, StructuralIndex.of(json, offset, length));
+    }
+
+    /**
+     * Constructs a {@code Utf8JsonTokenizer} over the remaining bytes of a buffer.
+     * Heap and direct buffers are both read in place; the buffer's position is not changed.
+     *
+     * @param json the buffer holding the UTF-8 encoded JSON text
+     */
+    public Utf8JsonTokenizer(ByteBuffer json) {
+        if (json.hasArray()) {
+            this.array = json.array();
+            this.buffer = null;
+            this.base = json.arrayOffset();
+        } else {
+            this.array = null;
+            this.buffer = json;
+            this.base = 0;
+        }
+        this.pos = base + json.position();
+        this.limit = base + json.limit();
+        this.structurals = null;
+        this.structuralCount = 0;
+        skipByteOrderMark();
+    }
+
+    @Override
+    public JsonToken next() throws JsonDeserializationException {
+        if (structurals != null) return nextIndexed();
+        skipWhitespace();
+        start = pos;
+        if (pos >= limit) {
+            end = pos;
+            return token = JsonToken.END;
+        }
+        byte b = at(pos++);
+        JsonToken kind = classify(b);
+        if (kind == null) throw error("Unexpected byte 0x" + Integer.toHexString(b & 0xFF), start);
+        switch (kind) {
+            case STRING:
+                scanString();
+                break;
+            case NUMBER:
+                scanNumber();
+                break;
+            case TRUE:
+                scanLiteral("true");
+                break;
+            case FALSE:
+                scanLiteral("false");
+                break;
+            case NULL:
+                scanLiteral("null");
+                break;
+            default:
+                break;
+        }
+        end = pos;
+        return token = kind;
+    }
+
+    @Override
+    public JsonToken peekToken() throws JsonDeserializationException {
+        if (structurals != null) {
+            if (cursor >= structuralCount) return JsonToken.END;
+            pos = structurals[cursor];
+        } else {
+            skipWhitespace();
+        }
+        if (pos >= limit) return JsonToken.END;
+        byte b = at(pos);
+        JsonToken kind = classify(b);
+        if (kind == null) throw error("Unexpected byte 0x" + Integer.toHexString(b & 0xFF), pos);
+        return kind;
+    }
+
+    @Override
+    public long tokenStart() {
+        return start - base;
+    }
+
+    @Override
+    public long tokenEnd() {
+        return end - base;
+    }
+
+    @Override
+    public String text() {
+        return decode(start, end - start);
+    }
+
+    @Override
+    public String stringValue() {
+        return escaped ? unescapeString(start + 1, end - 1) : decode(start + 1, end - start - 2);
+    }
+
+    @Override
+    public CharSequence chars() {
+        if (token == JsonToken.STRING && escaped) return stringValue();
+        int from = token == JsonToken.STRING ? start + 1 : start;
+        int length = (token == JsonToken.STRING ? end - 1 : end) - from;
+        if (chars == null || chars.length < length) chars = new char[Math.max(length, 64)];
+        // ASCII is widened in place; anything else is decoded into a string.
+        for (int i = 0; i < length; i++) {
+            byte b = at(from + i);
+            if (b < 0) return super.chars();
+            chars[i] = (char) b;
+        }
+        if (view == null) view = new CharView();
+        return view.set(chars, 0, length);
+    }
+
+    @Override
+    public boolean nameEquals(JsonName name) {
+        if (escaped) return stringValue().equals(name.value());
+        byte[] utf8 = name.utf8();
+        int n = utf8.length;
+        if (end - start - 2 != n) return false;
+        for (int i = 0, j = start + 1; i < n; i++, j++) {
+            if (at(j) != utf8[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int indexOf(JsonNameTable names) {
+        if (escaped) return names.indexOf(stringValue());
+        int hash = 0;
+        for (int i = start + 1; i < end - 1; i++) {
+            hash = JsonNameTable.hash(hash, at(i) & 0xFF);
+        }
+        return names.find(this, hash, true);
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    @Override
+    public long longValue() {
+        if (!integral) throw new NumberFormatException("Not an integer: " + text());
+        int i = start;
+        boolean negative = at(i) == '-';
+        if (negative) i++;
+        if (i == end) throw new NumberFormatException("Not an integer: " + text());
+        // Accumulate negatively so that Long.MIN_VALUE can be represented.
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = at(i) - '0';
+            if (digit < 0 || digit > 9) throw new NumberFormatException("Not an integer: " + text());
+            if (result < Long.MIN_VALUE / 10) throw new NumberFormatException("Value out of range for long: " + text());
+            result *= 10;
+            if (result < Long.MIN_VALUE + digit) throw new NumberFormatException("Value out of range for long: " + text());
+            result -= digit;
+        }
+        if (!negative) {
+            if (result == Long.MIN_VALUE) throw new NumberFormatException("Value out of range for long: " + text());
+            result = -result;
+        }
+        return result;
+    }
+
+    @Override
+    public double doubleValue() {
+        if (split()) {
+            double result = NumberDecoder.convert(numberNegative, numberSignificand, numberExponent);
+            if (!Double.isNaN(result)) return result;
+        }
+        return Double.parseDouble(text());
+    }
+
+    @Override
+    public float floatValue() {
+        if (split()) {
+            float result = NumberDecoder.convertFloat(numberNegative, numberSignificand, numberExponent);
+            if (!Float.isNaN(result)) return result;
+        }
+        return Float.parseFloat(text());
+    }
+
+    /**
+     * Splits the current number into {@link #numberNegative}, {@link #numberSignificand} and
+     * {@link #numberExponent}.
+     *
+     * @return {@code false} if the number has more than {@link NumberDecoder#MAX_DIGITS} significant
+     *         digits or is malformed, and must be parsed from its text
+     */
+    private boolean split() {
+        int i = start;
+        boolean negative = at(start) == '-';
+        if (negative) i++;
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean sawDigit = false;
+        int d;
+        for (; i < end && (d = at(i) - '0') >= 0 && d <= 9; i++) {
+            sawDigit = true;
+            if (digits == 0 && d == 0) continue;
+            if (digits == NumberDecoder.MAX_DIGITS) return false;
+            significand = significand * 10 + d;
+            digits++;
+        }
+        if (i < end && at(i) == '.') {
+            for (i++; i < end && (d = at(i) - '0') >= 0 && d <= 9; i++) {
+                sawDigit = true;
+                exponent--;
+                if (digits == 0 && d == 0) continue;
+                if (digits == NumberDecoder.MAX_DIGITS) return false;
+                significand = significand * 10 + d;
+                digits++;
+            }
+        }
+        if (sawDigit && i < end && (at(i) | 0x20) == 'e') {
+            i++;
+            boolean negativeExponent = i < end && at(i) == '-';
+            if (i < end && (at(i) == '-' || at(i) == '+')) i++;
+            int value = 0;
+            int from = i;
+            for (; i < end && (d = at(i) - '0') >= 0 && d <= 9; i++) {
+                if (value < 100_000) value = value * 10 + d;
+            }
+            if (i == from) return false;
+            exponent += negativeExponent ? -value : value;
+        }
+        if (!sawDigit || i != end) {
+            // Malformed: let the JDK produce the error.
+            return false;
+        }
+        numberNegative = negative;
+        numberSignificand = significand;
+        numberExponent = exponent;
+        return true;
+    }
+
+    /**
+     * Consumes the next complete value. Objects and arrays are stepped over by scanning for quotes
+     * and brackets only, without tokenizing, decoding or allocating.
+     *
+     * @throws JsonDeserializationException if a string is unterminated, brackets do not match or the input ends
+     */
+    @Override
+    public void skipValue() throws JsonDeserializationException {
+        JsonToken first = next();
+        if (first == JsonToken.END) throw error("Unexpected end of input", start);
+        if (first != JsonToken.START_OBJECT && first != JsonToken.START_ARRAY) return;
+        if (structurals != null) {
+            skipIndexed(first);
+            return;
+        }
+        // One bit per open bracket (set for objects) checks that closing brackets match, while nesting stays within 64 levels.
+        long objects = first == JsonToken.START_OBJECT ? 1 : 0;
+        int depth = 1;
+        boolean deep = false;
+        while (pos < limit) {
+            byte b = at(pos++);
+            if (b == '"') {
+                // Multi-byte UTF-8 sequences never contain '"' or '\\', so a plain byte scan is safe.
+                for (;;) {
+                    if (pos >= limit) throw error("Unterminated string", pos);
+                    byte d = at(pos++);
+                    if (d == '"') break;
+                    if (d == '\\') pos++;
+                }
+            } else if (b == '{' || b == '[') {
+                objects = objects << 1 | (b == '{' ? 1 : 0);
+                deep |= ++depth > 64;
+            } else if (b == '}' || b == ']') {
+                if (!deep && ((objects & 1) == 1) != (b == '}')) throw error("Mismatched '" + (char) b + "'", pos - 1);
+                objects >>>= 1;
+                if (--depth == 0) {
+                    start = pos - 1;
+                    end = pos;
+                    token = b == '}' ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+                    return;
+                }
+            }
+        }
+        throw error("Unexpected end of input", pos);
+    }
+
+    @Override
+    public String rawValue() throws JsonDeserializationException {
+        if (structurals != null) {
+            pos = cursor < structuralCount ? structurals[cursor] : limit;
+        } else {
+            skipWhitespace();
+        }
+        int from = pos;
+        skipValue();
+        return decode(from, pos - from);
+    }
+
+    /**
+     * Advances to the next indexed token start. Strings end at the next indexed quote; numbers and
+     * literals are scanned as usual and must be followed by a delimiter.
+     */
+    private JsonToken nextIndexed() throws JsonDeserializationException {
+        if (cursor >= structuralCount) {
+            start = end = pos = limit;
+            return token = JsonToken.END;
+        }
+        start = structurals[cursor++];
+        pos = start + 1;
+        byte b = array[start];
+        JsonToken kind = classify(b);
+        if (kind == null) throw error("Unexpected byte 0x" + Integer.toHexString(b & 0xFF), start);
+        switch (kind) {
+            case STRING:
+                // The closing quote is always indexed: the index rejects unterminated strings.
+                int close = structurals[cursor++];
+                escaped = false;
+                for (int i = pos; i < close && !escaped; i++) escaped = array[i] == '\\';
+                // Strings with escapes are scanned again to validate them.
+                if (escaped) scanString();
+                pos = close + 1;
+                break;
+            case NUMBER:
+                scanNumber();
+                checkDelimiter();
+                break;
+            case TRUE:
+                scanLiteral("true");
+                checkDelimiter();
+                break;
+            case FALSE:
+                scanLiteral("false");
+                checkDelimiter();
+                break;
+            case NULL:
+                scanLiteral("null");
+                checkDelimiter();
+                break;
+            default:
+                break;
+        }
+        end = pos;
+        return token = kind;
+    }
+
+    /**
+     * Rejects bytes directly after a number or literal; the index does not list them as token starts.
+     */
+    private void checkDelimiter() throws JsonDeserializationException {
+        if (pos < limit) {
+            byte b = array[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t' && b != ',' && b != ':' && b != '"'
+                    && b != '}' && b != ']' && b != '{' && b != '[') {
+                throw error("Unexpected byte 0x" + Integer.toHexString(b & 0xFF), pos);
+            }
+        }
+    }
+
+    /**
+     * Steps over the rest of an object or array by walking the index.
+     */
+    private void skipIndexed(JsonToken first) throws JsonDeserializationException {
+        long objects = first == JsonToken.START_OBJECT ? 1 : 0;
+        int depth = 1;
+        boolean deep = false;
+        while (cursor < structuralCount) {
+            int p = structurals[cursor++];
+            byte b = array[p];
+            if (b == '"') {
+                cursor++; // the closing quote
+            } else if (b == '{' || b == '[') {
+                objects = objects << 1 | (b == '{' ? 1 : 0);
+                deep |= ++depth > 64;
+            } else if (b == '}' || b == ']') {
+                if (!deep && ((objects & 1) == 1) != (b == '}')) throw error("Mismatched '" + (char) b + "'", p);
+                objects >>>= 1;
+                if (--depth == 0) {
+                    start = p;
+                    end = pos = p + 1;
+                    token = b == '}' ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+                    return;
+                }
+            }
+        }
+        throw error("Unexpected end of input", limit);
+    }
+
+    private byte at(int index) {
+        return array != null ? array[index] : buffer.get(index);
+    }
+
+    private String decode(int from, int length) {
+        if (array != null) {
+            return new String(array, from, length, StandardCharsets.UTF_8);
+        }
+        if (scratch == null || scratch.length < length) {
+            scratch = new byte[Math.max(length, 64)];
+        }
+        buffer.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void skipByteOrderMark() {
+        if (limit - pos >= 3 && at(pos) == (byte) 0xEF && at(pos + 1) == (byte) 0xBB && at(pos + 2) == (byte) 0xBF) {
+            pos += 3;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < limit) {
+            byte b = at(pos);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') break;
+            pos++;
+        }
+    }
+
+    /**
+     * Finds the closing quote of a string, validating its escape sequences so that they can later
+     * be decoded without checks.
+     */
+    private void scanString() throws JsonDeserializationException {
+        escaped = false;
+        // Multi-byte UTF-8 sequences never contain '"' or '\\', so a plain byte scan is safe.
+        while (pos < limit) {
+            byte b = at(pos++);
+            if (b == '"') return;
+            if (b == '\\') {
+                escaped = true;
+                if (pos >= limit) break;
+                byte e = at(pos++);
+                if (e == 'u') {
+                    if (limit - pos < 4) break;
+                    for (int i = 0; i < 4; i++) {
+                        if (hexDigit(at(pos++)) < 0) throw error("Invalid unicode escape", pos - 1);
+                    }
+                } else if (unescape(e) == 0) {
+                    throw error("Invalid escape sequence", pos - 2);
+                }
+            }
+        }
+        throw error("Unterminated string", start);
+    }
+
+    /**
+     * Decodes string content with escape sequences in one pass. The runs between escapes are copied
+     * in bulk and each escape is written as UTF-8, so the result is decoded to a string only once.
+     * The escapes were validated by {@link #scanString()}. An escaped surrogate pair is combined into
+     * one supplementary character; an unpaired surrogate decodes as a replacement character.
+     */
+    private String unescapeString(int from, int to) {
+        // Every escape is at least as long as the UTF-8 encoding of the character it stands for.
+        if (scratch == null || scratch.length < to - from) scratch = new byte[Math.max(to - from, 64)];
+        byte[] out = scratch;
+        int len = 0;
+        int run = from;
+        for (int i = from; i < to; i++) {
+            if (at(i) != '\\') continue;
+            len = copy(run, i, out, len);
+            byte e = at(++i);
+            if (e != 'u') {
+                out[len++] = (byte) unescape(e);
+                run = i + 1;
+                continue;
+            }
+            int c = hex4(i + 1);
+            i += 4;
+            if (Character.isHighSurrogate((char) c) && i + 6 < to && at(i + 1) == '\\' && at(i + 2) == 'u') {
+                int low = hex4(i + 3);
+                if (Character.isLowSurrogate((char) low)) {
+                    int cp = Character.toCodePoint((char) c, (char) low);
+                    out[len++] = (byte) (0xF0 | (cp >> 18));
+                    out[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    out[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    out[len++] = (byte) (0x80 | (cp & 0x3F));
+                    i += 6;
+                    run = i + 1;
+                    continue;
+                }
+            }
+            if (Character.isSurrogate((char) c)) c = REPLACEMENT;
+            if (c < 0x80) {
+                out[len++] = (byte) c;
+            } else if (c < 0x800) {
+                out[len++] = (byte) (0xC0 | (c >> 6));
+                out[len++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                out[len++] = (byte) (0xE0 | (c >> 12));
+                out[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[len++] = (byte) (0x80 | (c & 0x3F));
+            }
+            run = i + 1;
+        }
+        len = copy(run, to, out, len);
+        return new String(out, 0, len, StandardCharsets.UTF_8);
+    }
+
+    private int hex4(int from) {
+        return hexDigit(at(from)) << 12 | hexDigit(at(from + 1)) << 8 | hexDigit(at(from + 2)) << 4 | hexDigit(at(from + 3));
+    }
+
+    /**
+     * Copies input bytes into an array.
+     *
+     * @return the index in {@code out} after the copied bytes
+     */
+    private int copy(int from, int to, byte[] out, int at) {
+        if (array != null) System.arraycopy(array, from, out, at, to - from);
+        else buffer.get(from, out, at, to - from);
+        return at + to - from;
+    }
+
+    /**
+     * Scans the rest of a number whose first byte was consumed, checking the JSON grammar:
+     * an optional minus, an integer part without leading zeros, an optional fraction and an
+     * optional exponent, each with at least one digit.
+     */
+    private void scanNumber() throws JsonDeserializationException {
+        boolean isIntegral = true;
+        int b = at(pos - 1);
+        if (b == '-') {
+            b = peekByte();
+            if (!isDigit(b)) throw error("Invalid number", start);
+            pos++;
+        }
+        if (b != '0') skipDigits();
+        b = peekByte();
+        if (b == '.') {
+            isIntegral = false;
+            pos++;
+            if (!isDigit(peekByte())) throw error("Invalid number", start);
+            skipDigits();
+            b = peekByte();
+        }
+        if (b == 'e' || b == 'E') {
+            isIntegral = false;
+            pos++;
+            b = peekByte();
+            if (b == '+' || b == '-') {
+                pos++;
+                b = peekByte();
+            }
+            if (!isDigit(b)) throw error("Invalid number", start);
+            skipDigits();
+            b = peekByte();
+        }
+        if (isDigit(b) || b == '.' || b == '-' || b == '+' || b == 'e' || b == 'E') throw error("Invalid number", start);
+        integral = isIntegral;
+    }
+
+    private void skipDigits() {
+        while (isDigit(peekByte())) {
+            pos++;
+        }
+    }
+
+    /**
+     * Returns the byte at the current position without consuming it, or -1 at the end of the input.
+     */
+    private int peekByte() {
+        return pos < limit ? at(pos) : -1;
+    }
+
+    private static boolean isDigit(int b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private void scanLiteral(String literal) throws JsonDeserializationException {
+        int n = literal.length();
+        if (start + n > limit) throw error("Unexpected end of input", start);
+        for (int i = 1; i < n; i++) {
+            if (at(start + i) != literal.charAt(i)) throw error("Invalid literal", start);
+        }
+        pos = start + n;
+    }
+
+    private JsonDeserializationException error(String message, int at) {
+        return new JsonDeserializationException(message + " at position " + (at - base));
+    }
+}
@@ -0,0 +1,161 @@
+package dev.quantam.numblejson.tokenize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * A {@link Reader} that decodes UTF-8 from a stream through a caller-supplied byte buffer, for
+ * example one taken from a pool. Unlike an {@link java.io.InputStreamReader} it allocates no
+ * buffers or decoder of its own, so that reading a small document from a stream costs no more
+ * than the tokenizer's buffers.
+ * <p>
+ * Malformed input is replaced with {@code U+FFFD} exactly as {@link String#String(byte[], java.nio.charset.Charset)}
+ * does, and a leading byte order mark is skipped as {@link Utf8JsonTokenizer} skips it, so that a stream
+ * decodes to the same text as the same bytes read in place. The stream is not closed.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class Utf8Reader extends Reader {
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final InputStream stream;
+    private final byte[] buf;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    /**
+     * Whether the start of the stream was checked for a byte order mark.
+     */
+    private boolean started;
+    /**
+     * The low surrogate of a supplementary character whose high surrogate filled the last read, or {@code 0}.
+     */
+    private char pending;
+
+    /**
+     * Constructs a {@code Utf8Reader} over a stream.
+     *
+     * @param stream the source of the UTF-8 encoded bytes
+     * @param buffer the byte buffer to read through, of at least 4 bytes
+     */
+    public Utf8Reader(InputStream stream, byte[] buffer) {
+        if (buffer.length < 4) throw new IllegalArgumentException("Buffer too small: " + buffer.length);
+        this.stream = stream;
+        this.buf = buffer;
+    }
+
+    /**
+     * Returns the byte buffer the reader reads through, so that it can be reused once reading is done.
+     *
+     * @return the byte array
+     */
+    public byte[] buffer() {
+        return buf;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (!started) {
+            started = true;
+            if (fill(3) && buf[pos] == (byte) 0xEF && buf[pos + 1] == (byte) 0xBB && buf[pos + 2] == (byte) 0xBF) pos += 3;
+        }
+        int out = off;
+        int stop = off + len;
+        if (pending != 0) {
+            cbuf[out++] = pending;
+            pending = 0;
+        }
+        while (out < stop) {
+            if (pos == limit) {
+                // Only block for more input if nothing has been decoded yet.
+                if (out > off || !fill(1)) break;
+            }
+            // Fast path: ASCII, one char per byte.
+            byte[] b = buf;
+            int p = pos;
+            int n = Math.min(limit - p, stop - out);
+            int end = p + n;
+            while (p < end && b[p] >= 0) cbuf[out++] = (char) b[p++];
+            pos = p;
+            if (p == end) continue;
+            out = decode(cbuf, out, stop);
+        }
+        return out > off ? out - off : -1;
+    }
+
+    /**
+     * Decodes the multi-byte sequence at the current position.
+     */
+    private int decode(char[] cbuf, int out, int stop) throws IOException {
+        int lead = buf[pos] & 0xFF;
+        int size = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : 2;
+        if (lead < 0xC2 || lead > 0xF4) {
+            pos++;
+            cbuf[out++] = REPLACEMENT;
+            return out;
+        }
+        if (limit - pos < size) fill(size);
+        int cp = lead & (0x3F >> (size - 1));
+        for (int i = 1; i < size; i++) {
+            if (pos + i >= limit || !continues(lead, i, buf[pos + i] & 0xFF)) {
+                // The maximal subpart of a valid sequence becomes one replacement character.
+                pos += i;
+                cbuf[out++] = REPLACEMENT;
+                return out;
+            }
+            cp = cp << 6 | (buf[pos + i] & 0x3F);
+        }
+        pos += size;
+        if (cp < 0x10000) {
+            // An encoded surrogate is replaced as a whole.
+            cbuf[out++] = Character.isSurrogate((char) cp) ? REPLACEMENT : (char) cp;
+        } else {
+            cbuf[out++] = Character.highSurrogate(cp);
+            if (out < stop) cbuf[out++] = Character.lowSurrogate(cp);
+            else pending = Character.lowSurrogate(cp);
+        }
+        return out;
+    }
+
+    /**
+     * Checks a continuation byte, rejecting overlong forms and code points above {@code U+10FFFF}.
+     */
+    private static boolean continues(int lead, int index, int b) {
+        if (index == 1) {
+            switch (lead) {
+                case 0xE0: return b >= 0xA0 && b <= 0xBF;
+                case 0xF0: return b >= 0x90 && b <= 0xBF;
+                case 0xF4: return b >= 0x80 && b <= 0x8F;
+                default: break;
+            }
+        }
+        return (b & 0xC0) == 0x80;
+    }
+
+    /**
+     * Reads until at least {@code needed} bytes are buffered or the stream ends, keeping the unread ones.
+     */
+    private boolean fill(int needed) throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        while (limit < needed && !eof) {
+            int n = stream.read(buf, limit, buf.length - limit);
+            if (n < 0) eof = true;
+            else limit += n;
+        }
+        return limit >= needed;
+    }
+
+    /**
+     * Does nothing: the stream belongs to the caller.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,412 @@
+package dev.quantam.numblejson.tree;
+
+import dev.quantam.numblejson.engine.JsonDeserializer;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazily decoded view of one value in a JSON document.
+ * <p>
+ * Parsing a document only validates it and records where each value starts and ends in the source;
+ * no strings, numbers, maps or lists are created. Nodes are lightweight views over that index,
+ * created as they are navigated to, and decode their content only when an accessor such as
+ * {@link #stringValue()} or {@link #as(Class)} is called. Looking up two fields of a large document
+ * therefore costs one validating pass plus the decoding of those two fields, and
+ * {@link #toJson()} hands out the untouched source text of any subtree.
+ * <p>
+ * The source is kept by reference and must not be modified while nodes are in use. Nodes are
+ * immutable and may be shared between threads.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+public final class JsonNode {
+
+    /**
+     * The kind of a JSON value.
+     */
+    public enum Type {
+        OBJECT,
+        ARRAY,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL
+    }
+
+    private final JsonTape tape;
+    private final int entry;
+
+    private JsonNode(JsonTape tape, int entry) {
+        this.tape = tape;
+        this.entry = entry;
+    }
+
+    /**
+     * Parses a JSON string into a lazy tree.
+     *
+     * @param json the JSON text
+     * @return the root node
+     * @throws JsonDeserializationException if the input is not a single valid JSON value
+     */
+    public static JsonNode parse(String json) throws JsonDeserializationException {
+        char[] chars = json.toCharArray();
+        return parse(chars, 0, chars.length);
+    }
+
+    /**
+     * Parses a region of a character array into a lazy tree. The array is not copied.
+     *
+     * @param json   the array holding the JSON text
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return the root node
+     * @throws JsonDeserializationException if the input is not a single valid JSON value
+     */
+    public static JsonNode parse(char[] json, int offset, int length) throws JsonDeserializationException {
+        return new JsonNode(JsonTape.of(json, offset, length), 0);
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON into a lazy tree. The array is not copied.
+     *
+     * @param json the UTF-8 encoded JSON text
+     * @return the root node
+     * @throws JsonDeserializationException if the input is not a single valid JSON value
+     */
+    public static JsonNode parse(byte[] json) throws JsonDeserializationException {
+        return parse(json, 0, json.length);
+    }
+
+    /**
+     * Parses a region of UTF-8 encoded bytes into a lazy tree. The array is not copied.
+     *
+     * @param json   the array holding the UTF-8 encoded JSON text
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the root node
+     * @throws JsonDeserializationException if the input is not a single valid JSON value
+     */
+    public static JsonNode parse(byte[] json, int offset, int length) throws JsonDeserializationException {
+        return new JsonNode(JsonTape.of(json, offset, length), 0);
+    }
+
+    /**
+     * Returns the kind of this value.
+     *
+     * @return the value type
+     */
+    public Type type() {
+        return tape.type(entry);
+    }
+
+    /**
+     * Checks whether this value is an object.
+     *
+     * @return {@code true} if the type is {@link Type#OBJECT}
+     */
+    public boolean isObject() {
+        return type() == Type.OBJECT;
+    }
+
+    /**
+     * Checks whether this value is an array.
+     *
+     * @return {@code true} if the type is {@link Type#ARRAY}
+     */
+    public boolean isArray() {
+        return type() == Type.ARRAY;
+    }
+
+    /**
+     * Checks whether this value is a string.
+     *
+     * @return {@code true} if the type is {@link Type#STRING}
+     */
+    public boolean isString() {
+        return type() == Type.STRING;
+    }
+
+    /**
+     * Checks whether this value is a number.
+     *
+     * @return {@code true} if the type is {@link Type#NUMBER}
+     */
+    public boolean isNumber() {
+        return type() == Type.NUMBER;
+    }
+
+    /**
+     * Checks whether this value is a boolean.
+     *
+     * @return {@code true} if the type is {@link Type#BOOLEAN}
+     */
+    public boolean isBoolean() {
+        return type() == Type.BOOLEAN;
+    }
+
+    /**
+     * Checks whether this value is a JSON null.
+     *
+     * @return {@code true} if the type is {@link Type#NULL}
+     */
+    public boolean isNull() {
+        return type() == Type.NULL;
+    }
+
+    /**
+     * Returns the offset of the first character of this value in the source, in the source's own units.
+     *
+     * @return the start offset
+     */
+    public int start() {
+        return tape.start(entry);
+    }
+
+    /**
+     * Returns the offset just past the last character of this value in the source.
+     *
+     * @return the end offset
+     */
+    public int end() {
+        return tape.end(entry);
+    }
+
+    /**
+     * Returns the number of members of an object or elements of an array.
+     *
+     * @return the size, or {@code 0} for other values
+     */
+    public int size() {
+        Type type = type();
+        return type == Type.OBJECT || type == Type.ARRAY ? tape.count(entry) : 0;
+    }
+
+    /**
+     * Returns the value of an object member. Keys are compared in place without decoding them,
+     * and members after the first match are not looked at.
+     *
+     * @param name the member name
+     * @return the value, or {@code null} if this is not an object or has no such member
+     */
+    public JsonNode get(String name) {
+        if (type() != Type.OBJECT) return null;
+        int key = entry + JsonTape.STRIDE;
+        for (int i = tape.count(entry); i > 0; i--) {
+            int value = tape.next(key);
+            if (tape.keyEquals(key, name)) return new JsonNode(tape, value);
+            key = tape.next(value);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether this is an object with the given member.
+     *
+     * @param name the member name
+     * @return {@code true} if the member exists
+     */
+    public boolean has(String name) {
+        return get(name) != null;
+    }
+
+    /**
+     * Returns an element of an array. Preceding elements are stepped over without being decoded,
+     * so the cost grows with the index; use {@link #elements()} to visit every element.
+     *
+     * @param index the element index
+     * @return the element, or {@code null} if this is not an array or the index is out of range
+     */
+    public JsonNode get(int index) {
+        if (type() != Type.ARRAY || index < 0 || index >= tape.count(entry)) return null;
+        int element = entry + JsonTape.STRIDE;
+        for (int i = 0; i < index; i++) element = tape.next(element);
+        return new JsonNode(tape, element);
+    }
+
+    /**
+     * Returns the names of the members of an object, in document order.
+     *
+     * @return the decoded member names, or an empty list if this is not an object
+     */
+    public List<String> fieldNames() {
+        if (type() != Type.OBJECT) return new ArrayList<>();
+        List<String> names = new ArrayList<>(tape.count(entry));
+        int key = entry + JsonTape.STRIDE;
+        for (int i = tape.count(entry); i > 0; i--) {
+            names.add(tape.string(key));
+            key = tape.next(tape.next(key));
+        }
+        return names;
+    }
+
+    /**
+     * Returns the elements of an array, or the member values of an object, in document order.
+     *
+     * @return a view that creates each node as it is iterated
+     */
+    public Iterable<JsonNode> elements() {
+        Type type = type();
+        int count = type == Type.OBJECT || type == Type.ARRAY ? tape.count(entry) : 0;
+        boolean object = type == Type.OBJECT;
+        return () -> new Iterator<JsonNode>() {
+            private int remaining = count;
+            private int next = entry + JsonTape.STRIDE;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public JsonNode next() {
+                if (remaining == 0) throw new NoSuchElementException();
+                int value = object ? tape.next(next) : next;
+                next = tape.next(value);
+                remaining--;
+                return new JsonNode(tape, value);
+            }
+        };
+    }
+
+    /**
+     * Decodes a string value.
+     *
+     * @return the string content
+     * @throws IllegalStateException if this is not a string
+     */
+    public String stringValue() {
+        require(Type.STRING);
+        return tape.string(entry);
+    }
+
+    /**
+     * Decodes a number value as an {@code int}.
+     *
+     * @return the number value
+     * @throws IllegalStateException if this is not a number
+     * @throws NumberFormatException if the number is not integral or out of range
+     */
+    public int intValue() {
+        return number().intValue();
+    }
+
+    /**
+     * Decodes a number value as a {@code long}.
+     *
+     * @return the number value
+     * @throws IllegalStateException if this is not a number
+     * @throws NumberFormatException if the number is not integral or out of range
+     */
+    public long longValue() {
+        return number().longValue();
+    }
+
+    /**
+     * Decodes a number value as a {@code double}.
+     *
+     * @return the number value
+     * @throws IllegalStateException if this is not a number
+     */
+    public double doubleValue() {
+        return number().doubleValue();
+    }
+
+    /**
+     * Decodes a number value as a {@link BigDecimal}, without loss of precision.
+     *
+     * @return the number value
+     * @throws IllegalStateException if this is not a number
+     */
+    public BigDecimal bigDecimalValue() {
+        return number().bigDecimalValue();
+    }
+
+    /**
+     * Decodes a number value in its narrowest natural type, as {@link JsonLexer#numberValue()} does.
+     *
+     * @return the number value
+     * @throws IllegalStateException if this is not a number
+     */
+    public Number numberValue() {
+        return number().numberValue();
+    }
+
+    /**
+     * Returns a boolean value.
+     *
+     * @return the boolean value
+     * @throws IllegalStateException if this is not a boolean
+     */
+    public boolean booleanValue() {
+        require(Type.BOOLEAN);
+        return tape.text(entry).equals("true");
+    }
+
+    /**
+     * Returns the source text of this value, exactly as it appears in the document.
+     *
+     * @return the raw JSON text
+     */
+    public String toJson() {
+        return tape.source(entry);
+    }
+
+    /**
+     * Materializes this value the way untyped deserialization does: objects become maps, arrays
+     * become lists, and strings, numbers and booleans their natural Java types.
+     *
+     * @return the decoded value, or {@code null} for a JSON null
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public Object toValue() throws JsonDeserializationException {
+        return as(Object.class);
+    }
+
+    /**
+     * Binds this value to an object of the specified class.
+     *
+     * @param clazz the class type to deserialize into
+     * @param <T>   the type of the resulting object
+     * @return an instance of the specified class populated from this value
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public <T> T as(Class<T> clazz) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(tape.lexer(entry), clazz);
+    }
+
+    /**
+     * Binds this value to an object of the specified generic type.
+     *
+     * @param type the generic type to deserialize into
+     * @param <T>  the type of the resulting object
+     * @return an instance of the specified type populated from this value
+     * @throws JsonDeserializationException if an error occurs during deserialization
+     */
+    public <T> T as(java.lang.reflect.Type type) throws JsonDeserializationException {
+        return JsonDeserializer.deserialize(tape.lexer(entry), type);
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    private JsonLexer number() {
+        require(Type.NUMBER);
+        return tape.token(entry);
+    }
+
+    private void require(Type expected) {
+        Type type = type();
+        if (type != expected) {
+            throw new IllegalStateException("Expected " + expected + " but found " + type + " at position " + start());
+        }
+    }
+}
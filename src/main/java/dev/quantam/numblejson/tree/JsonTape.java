@@ -0,0 +1,275 @@
+package dev.quantam.numblejson.tree;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The structural index of one JSON document, built in a single tokenizing pass.
+ * <p>
+ * Every value gets one fixed-size entry in a flat {@code int} array holding its kind, its start and
+ * end offsets in the source, the index of the entry that follows it (so that a whole subtree can be
+ * stepped over in constant time) and, for objects and arrays, the number of members. Object members
+ * are stored as a string entry for the key followed by the entry of the value. Nothing is decoded
+ * while the tape is built; strings and numbers are read from the source only when they are accessed.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class JsonTape {
+    static final int KIND = 0;
+    static final int START = 1;
+    static final int END = 2;
+    static final int NEXT = 3;
+    static final int COUNT = 4;
+    static final int STRIDE = 5;
+
+    private static final JsonNode.Type[] TYPES = JsonNode.Type.values();
+
+    private final char[] chars;
+    private final byte[] bytes;
+    private int[] entries = new int[STRIDE * 16];
+    private int size;
+
+    private JsonTape(char[] chars, byte[] bytes) {
+        this.chars = chars;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Indexes a document held in a character array. The array is not copied and must not change afterwards.
+     *
+     * @param json   the array holding the JSON text
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return the tape, whose root value is entry {@code 0}
+     * @throws JsonDeserializationException if the input is not a single valid JSON value
+     */
+    static JsonTape of(char[] json, int offset, int length) throws JsonDeserializationException {
+        JsonTape tape = new JsonTape(json, null);
+        tape.read(new JsonTokenizer(json, offset, length));
+        return tape;
+    }
+
+    /**
+     * Indexes a UTF-8 encoded document. The array is not copied and must not change afterwards.
+     *
+     * @param json   the array holding the UTF-8 encoded JSON text
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the tape, whose root value is entry {@code 0}
+     * @throws JsonDeserializationException if the input is not a single valid JSON value
+     */
+    static JsonTape of(byte[] json, int offset, int length) throws JsonDeserializationException {
+        JsonTape tape = new JsonTape(null, json);
+        tape.read(new Utf8JsonTokenizer(json, offset, length));
+        return tape;
+    }
+
+    JsonNode.Type type(int entry) {
+        return TYPES[entries[entry + KIND]];
+    }
+
+    int start(int entry) {
+        return entries[entry + START];
+    }
+
+    int end(int entry) {
+        return entries[entry + END];
+    }
+
+    int next(int entry) {
+        return entries[entry + NEXT];
+    }
+
+    int count(int entry) {
+        return entries[entry + COUNT];
+    }
+
+    /**
+     * Returns a lexer over the source of one value, positioned before it.
+     *
+     * @param entry the entry of the value
+     * @return a new lexer limited to the value
+     */
+    JsonLexer lexer(int entry) {
+        int start = entries[entry + START];
+        int length = entries[entry + END] - start;
+        return chars != null ? new JsonTokenizer(chars, start, length) : new Utf8JsonTokenizer(bytes, start, length);
+    }
+
+    /**
+     * Returns a lexer over the source of one scalar value, positioned on its token.
+     *
+     * @param entry the entry of a string, number or literal
+     * @return a new lexer whose current token is the value
+     */
+    JsonLexer token(int entry) {
+        JsonLexer lexer = lexer(entry);
+        try {
+            lexer.next();
+        } catch (JsonDeserializationException e) {
+            // The value was validated when the tape was built.
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return lexer;
+    }
+
+    /**
+     * Returns the text of one scalar token.
+     *
+     * @param entry the entry of a string, number or literal
+     * @return the raw token text
+     */
+    String text(int entry) {
+        return token(entry).text();
+    }
+
+    /**
+     * Returns the source text of one value, including all its members.
+     *
+     * @param entry the entry of the value
+     * @return the raw JSON text
+     */
+    String source(int entry) {
+        int start = entries[entry + START];
+        int length = entries[entry + END] - start;
+        return chars != null ? new String(chars, start, length) : new String(bytes, start, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a string entry.
+     *
+     * @param entry the entry of a string
+     * @return the string content
+     */
+    String string(int entry) {
+        return token(entry).stringValue();
+    }
+
+    /**
+     * Checks whether a key entry is equal to a name. Keys are first scanned for escapes, and for UTF-8
+     * input for non-ASCII bytes; only keys without either are compared in place, the others are decoded.
+     *
+     * @param entry the entry of a key
+     * @param name  the name to compare with
+     * @return {@code true} if the key equals the name
+     */
+    boolean keyEquals(int entry, String name) {
+        int from = entries[entry + START] + 1;
+        int to = entries[entry + END] - 1;
+        boolean escaped = false;
+        if (chars != null) {
+            for (int i = from; i < to && !escaped; i++) escaped = chars[i] == '\\';
+        } else {
+            for (int i = from; i < to && !escaped; i++) escaped = bytes[i] == '\\' || bytes[i] < 0;
+        }
+        if (escaped) return string(entry).equals(name);
+        int n = name.length();
+        if (to - from != n) return false;
+        for (int i = 0; i < n; i++) {
+            if ((chars != null ? chars[from + i] : (char) bytes[from + i]) != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void read(JsonLexer lexer) throws JsonDeserializationException {
+        value(lexer, lexer.next());
+        expect(lexer.next(), lexer, JsonToken.END);
+    }
+
+    /**
+     * Appends the entry of the value starting with the current token, and of all its members.
+     *
+     * @return the index of the entry
+     */
+    private int value(JsonLexer lexer, JsonToken token) throws JsonDeserializationException {
+        switch (token) {
+            case START_OBJECT:
+                return object(lexer);
+            case START_ARRAY:
+                return array(lexer);
+            case STRING:
+                return scalar(lexer, JsonNode.Type.STRING);
+            case NUMBER:
+                return scalar(lexer, JsonNode.Type.NUMBER);
+            case TRUE:
+            case FALSE:
+                return scalar(lexer, JsonNode.Type.BOOLEAN);
+            case NULL:
+                return scalar(lexer, JsonNode.Type.NULL);
+            default:
+                throw new JsonDeserializationException("Unexpected token: " + token + " at position " + lexer.tokenStart());
+        }
+    }
+
+    private int object(JsonLexer lexer) throws JsonDeserializationException {
+        int entry = append(JsonNode.Type.OBJECT, lexer);
+        int count = 0;
+        if (lexer.peekToken() == JsonToken.END_OBJECT) {
+            lexer.next();
+        } else {
+            do {
+                expect(lexer.next(), lexer, JsonToken.STRING);
+                scalar(lexer, JsonNode.Type.STRING);
+                expect(lexer.next(), lexer, JsonToken.COLON);
+                value(lexer, lexer.next());
+                count++;
+            } while (lexer.next() == JsonToken.COMMA);
+            expect(lexer.currentToken(), lexer, JsonToken.END_OBJECT);
+        }
+        return close(entry, lexer, count);
+    }
+
+    private int array(JsonLexer lexer) throws JsonDeserializationException {
+        int entry = append(JsonNode.Type.ARRAY, lexer);
+        int count = 0;
+        if (lexer.peekToken() == JsonToken.END_ARRAY) {
+            lexer.next();
+        } else {
+            do {
+                value(lexer, lexer.next());
+                count++;
+            } while (lexer.next() == JsonToken.COMMA);
+            expect(lexer.currentToken(), lexer, JsonToken.END_ARRAY);
+        }
+        return close(entry, lexer, count);
+    }
+
+    private int scalar(JsonLexer lexer, JsonNode.Type type) {
+        int entry = append(type, lexer);
+        entries[entry + END] = (int) lexer.tokenEnd();
+        entries[entry + NEXT] = size;
+        return entry;
+    }
+
+    private int append(JsonNode.Type type, JsonLexer lexer) {
+        if (size + STRIDE > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        int entry = size;
+        entries[entry + KIND] = type.ordinal();
+        entries[entry + START] = (int) lexer.tokenStart();
+        size += STRIDE;
+        return entry;
+    }
+
+    private int close(int entry, JsonLexer lexer, int count) {
+        entries[entry + END] = (int) lexer.tokenEnd();
+        entries[entry + NEXT] = size;
+        entries[entry + COUNT] = count;
+        return entry;
+    }
+
+    private static void expect(JsonToken token, JsonLexer lexer, JsonToken expected) throws JsonDeserializationException {
+        if (token != expected) {
+            throw new JsonDeserializationException("Expected " + expected + " but found " + token
+                    + " at position " + lexer.tokenStart());
+        }
+    }
+}
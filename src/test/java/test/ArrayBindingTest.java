@@ -0,0 +1,123 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for serializing and deserializing primitive and object arrays.
+ */
+class ArrayBindingTest {
+
+    static class Point {
+        int x;
+        int y;
+
+        Point() {
+        }
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    static class Telemetry {
+        int[] ints;
+        long[] longs;
+        double[] doubles;
+        float[] floats;
+        boolean[] flags;
+        byte[] bytes;
+        short[] shorts;
+        char[] chars;
+        String[] names;
+        Point[] points;
+        int[][] matrix;
+    }
+
+    @Test
+    void writesEveryPrimitiveArrayType() throws Exception {
+        assertEquals("[1,-2,2147483647]", NimbleJSON.serialize(new int[]{1, -2, Integer.MAX_VALUE}));
+        assertEquals("[-9223372036854775808]", NimbleJSON.serialize(new long[]{Long.MIN_VALUE}));
+        assertEquals("[0.5,-1.0E-7]", NimbleJSON.serialize(new double[]{0.5, -1e-7}));
+        assertEquals("[1.5]", NimbleJSON.serialize(new float[]{1.5f}));
+        assertEquals("[true,false]", NimbleJSON.serialize(new boolean[]{true, false}));
+        assertEquals("[-128,127]", NimbleJSON.serialize(new byte[]{Byte.MIN_VALUE, Byte.MAX_VALUE}));
+        assertEquals("[-32768]", NimbleJSON.serialize(new short[]{Short.MIN_VALUE}));
+        assertEquals("\"a\\\"b\"", NimbleJSON.serialize(new char[]{'a', '"', 'b'}));
+        assertEquals("[]", NimbleJSON.serialize(new int[0]));
+    }
+
+    @Test
+    void writesObjectArrays() throws Exception {
+        assertEquals("[\"a\",null]", NimbleJSON.serialize(new String[]{"a", null}));
+        assertEquals("[{\"x\":1,\"y\":2}]", NimbleJSON.serialize(new Point[]{new Point(1, 2)}));
+        assertEquals("[[1,2],[],[3]]", NimbleJSON.serialize(new int[][]{{1, 2}, {}, {3}}));
+    }
+
+    @Test
+    void roundTripsArrayFields() throws Exception {
+        Telemetry t = new Telemetry();
+        t.ints = new int[]{Integer.MIN_VALUE, 0, 7};
+        t.longs = new long[]{Long.MIN_VALUE, Long.MAX_VALUE};
+        t.doubles = new double[]{Double.MIN_VALUE, -0.0, 1e300};
+        t.floats = new float[]{0.1f, -3f};
+        t.flags = new boolean[]{false, true};
+        t.bytes = new byte[]{-1, 0, 1};
+        t.shorts = new short[]{300};
+        t.chars = "chars".toCharArray();
+        t.names = new String[]{"x", null, "z"};
+        t.points = new Point[]{new Point(1, 2), null};
+        t.matrix = new int[][]{{1}, {}, {2, 3}};
+        String json = NimbleJSON.serialize(t);
+        Telemetry copy = NimbleJSON.deserialize(json, Telemetry.class);
+        assertArrayEquals(t.ints, copy.ints);
+        assertArrayEquals(t.longs, copy.longs);
+        assertArrayEquals(t.doubles, copy.doubles);
+        assertArrayEquals(t.floats, copy.floats);
+        assertArrayEquals(t.flags, copy.flags);
+        assertArrayEquals(t.bytes, copy.bytes);
+        assertArrayEquals(t.shorts, copy.shorts);
+        assertArrayEquals(t.chars, copy.chars);
+        assertArrayEquals(t.names, copy.names);
+        assertEquals(2, copy.points[0].y);
+        assertNull(copy.points[1]);
+        assertTrue(Arrays.deepEquals(t.matrix, copy.matrix));
+        assertEquals(json, NimbleJSON.serialize(copy));
+    }
+
+    @Test
+    void growsPrimitiveBuffersForLargeArrays() throws Exception {
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) values[i] = (long) i * i - 5_000_000_000L;
+        String json = NimbleJSON.serialize(values);
+        assertArrayEquals(values, NimbleJSON.deserialize(json, long[].class));
+        assertArrayEquals(values, NimbleJSON.deserialize(json.getBytes(), long[].class));
+        double[] doubles = NimbleJSON.deserialize(json, double[].class);
+        assertEquals((double) values[values.length - 1], doubles[doubles.length - 1]);
+    }
+
+    @Test
+    void readsTopLevelArrays() throws Exception {
+        assertArrayEquals(new int[0], NimbleJSON.deserialize("[]", int[].class));
+        assertArrayEquals(new String[]{"a", "b"}, NimbleJSON.deserialize("[\"a\", \"b\"]", String[].class));
+        assertNull(NimbleJSON.deserialize("null", int[].class));
+        Point[] points = NimbleJSON.deserialize("[{\"x\": 3}]", Point[].class);
+        assertEquals(3, points[0].x);
+    }
+
+    @Test
+    void rejectsMalformedArrays() {
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("[1, null]", int[].class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("[1.5]", int[].class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("[128]", byte[].class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("[\"a\"]", long[].class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{}", int[].class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("[1, 2", int[].class));
+    }
+}
@@ -0,0 +1,189 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.engine.BufferRecycler;
+import dev.quantam.numblejson.tokenize.Utf8Reader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the buffer pool and for the instance methods that borrow from it.
+ */
+class BufferRecyclerTest {
+
+    static class Person {
+        String name;
+        int age;
+        List<String> tags;
+
+        Person() {
+        }
+
+        Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+            this.tags = List.of(name, "x");
+        }
+    }
+
+    @Test
+    void reusesReleasedBuffers() {
+        BufferRecycler recycler = new BufferRecycler(4, 1 << 16);
+        char[] chars = recycler.chars(100);
+        assertTrue(chars.length >= BufferRecycler.DEFAULT_BUFFER_SIZE);
+        recycler.release(chars);
+        assertSame(chars, recycler.chars(100));
+        byte[] bytes = recycler.bytes(0);
+        recycler.release(bytes);
+        assertSame(bytes, recycler.bytes(bytes.length));
+        recycler.release(bytes);
+        byte[] larger = recycler.bytes(bytes.length + 1);
+        assertNotSame(bytes, larger);
+        assertEquals(bytes.length + 1, larger.length);
+        assertSame(bytes, recycler.bytes(1));
+    }
+
+    @Test
+    void dropsOversizedBuffersAndReleasesIntoAFullPool() {
+        BufferRecycler recycler = new BufferRecycler(1, 10_000);
+        assertEquals(10_000, recycler.maxBufferSize());
+        char[] huge = recycler.chars(20_000);
+        recycler.release(huge);
+        assertNotSame(huge, recycler.chars(0));
+
+        BufferRecycler single = new BufferRecycler(1, 1 << 16);
+        byte[] first = new byte[100];
+        byte[] second = new byte[100];
+        single.release(first);
+        single.release(second);
+        assertSame(first, single.bytes(50));
+        assertNotSame(second, single.bytes(50));
+        single.release((char[]) null);
+        single.release((byte[]) null);
+    }
+
+    @Test
+    void rejectsInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferRecycler(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new BufferRecycler(4, -1));
+        assertThrows(IllegalArgumentException.class, () -> new Utf8Reader(new ByteArrayInputStream(new byte[0]), new byte[3]));
+    }
+
+    @Test
+    void instanceMethodsDoNotLeakPooledContent() throws Exception {
+        NimbleJSON json = NimbleJSON.builder().recycler(new BufferRecycler(1, 1 << 20)).build();
+        String big = json.toJson(new Person("é".repeat(50_000), 1));
+        String small = json.toJson(new Person("Ann", 2));
+        assertEquals("{\"name\":\"Ann\",\"age\":2,\"tags\":[\"Ann\",\"x\"]}", small);
+        assertEquals(small, new String(json.toJsonBytes(new Person("Ann", 2)), StandardCharsets.UTF_8));
+        assertEquals("é".repeat(50_000), json.fromJson(big, Person.class).name);
+        assertEquals("Ann", json.fromJson(small, Person.class).name);
+        assertEquals("Ann", json.fromJson(small.getBytes(StandardCharsets.UTF_8), Person.class).name);
+        assertEquals("é".repeat(50_000), json.fromJson(new StringReader(big), Person.class).name);
+        assertEquals("Ann", json.fromJson(new StringReader(small), Person.class).name);
+        assertEquals("é".repeat(50_000), json.fromJson(new ByteArrayInputStream(big.getBytes(StandardCharsets.UTF_8)), Person.class).name);
+        assertEquals(2, json.fromJson(new ByteArrayInputStream(small.getBytes(StandardCharsets.UTF_8)), Person.class).age);
+
+        StringWriter writer = new StringWriter();
+        json.toJson(new Person("Bo", 3), writer);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        json.toJson(new Person("Bo", 3), stream);
+        assertEquals(writer.toString(), stream.toString(StandardCharsets.UTF_8));
+        assertEquals(NimbleJSON.serialize(new Person("Bo", 3)), writer.toString());
+    }
+
+    @Test
+    void sharesOneInstanceAcrossThreads() throws Exception {
+        NimbleJSON json = NimbleJSON.builder().recycler(new BufferRecycler(2, 1 << 16)).build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String name = "t" + thread + "-" + i + "ü".repeat(i % 7);
+                        String text = json.toJson(new Person(name, i));
+                        assertEquals(name, json.fromJson(text, Person.class).name);
+                        byte[] bytes = json.toJsonBytes(new Person(name, i));
+                        assertEquals(i, json.fromJson(new ByteArrayInputStream(bytes), Person.class).age);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void decodesStreamsLikeStringDecoding() throws Exception {
+        Random random = new Random(17);
+        for (int run = 0; run < 20_000; run++) {
+            byte[] bytes;
+            if (run % 2 == 0) {
+                bytes = new byte[random.nextInt(40)];
+                random.nextBytes(bytes);
+            } else {
+                StringBuilder sb = new StringBuilder();
+                for (int i = random.nextInt(20); i > 0; i--) {
+                    int cp = random.nextInt(4) == 0 ? random.nextInt(0x80) : random.nextInt(Character.MAX_CODE_POINT + 1);
+                    if (cp < Character.MIN_SURROGATE || cp > Character.MAX_SURROGATE) sb.appendCodePoint(cp);
+                }
+                bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            }
+            String expected = new String(bytes, StandardCharsets.UTF_8);
+            int chunk = 1 + random.nextInt(5);
+            Reader reader = new Utf8Reader(new TrickleInputStream(bytes), new byte[4 + random.nextInt(8)]);
+            StringBuilder decoded = new StringBuilder();
+            char[] buffer = new char[chunk];
+            for (int n; (n = reader.read(buffer, 0, chunk)) != -1; ) {
+                assertTrue(n > 0);
+                decoded.append(buffer, 0, n);
+            }
+            assertEquals(expected, decoded.toString());
+        }
+    }
+
+    /**
+     * Returns at most three bytes per read.
+     */
+    private static final class TrickleInputStream extends InputStream {
+        private final byte[] content;
+        private int position;
+
+        TrickleInputStream(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read() {
+            return position < content.length ? content[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= content.length) return -1;
+            int n = Math.min(Math.min(len, 3), content.length - position);
+            System.arraycopy(content, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+}
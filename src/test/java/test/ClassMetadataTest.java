@@ -0,0 +1,111 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.annotations.JsonAlias;
+import dev.quantam.numblejson.annotations.JsonIgnore;
+import dev.quantam.numblejson.annotations.JsonInclude;
+import dev.quantam.numblejson.annotations.JsonProperty;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-class binding metadata: property names, aliases, ignored and static fields and
+ * inclusion rules, resolved once and shared between calls and threads.
+ */
+class ClassMetadataTest {
+
+    static class Account {
+        static int instances;
+
+        @JsonProperty("account_id")
+        @JsonAlias({"id", "accountId"})
+        long number;
+        String owner;
+        @JsonIgnore
+        String password;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String nickname;
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        List<String> tags = new ArrayList<>();
+    }
+
+    static class Shadowing {
+        @JsonProperty("b")
+        int a;
+        @JsonAlias("a")
+        int b;
+    }
+
+    @Test
+    void writesDeclaredNamesAndSkipsIgnoredAndStaticFields() throws Exception {
+        Account account = new Account();
+        account.number = 42;
+        account.owner = "ann";
+        account.password = "secret";
+        assertEquals("{\"account_id\":42,\"owner\":\"ann\"}", NimbleJSON.serialize(account));
+    }
+
+    @Test
+    void includesNonNullAndNonEmptyValues() throws Exception {
+        Account account = new Account();
+        account.nickname = "";
+        account.tags.add("x");
+        assertEquals("{\"account_id\":0,\"owner\":null,\"nickname\":\"\",\"tags\":[\"x\"]}", NimbleJSON.serialize(account));
+    }
+
+    @Test
+    void readsNamesAliasesAndFieldNames() throws Exception {
+        assertEquals(1, NimbleJSON.deserialize("{\"account_id\":1}", Account.class).number);
+        assertEquals(2, NimbleJSON.deserialize("{\"id\":2}", Account.class).number);
+        assertEquals(3, NimbleJSON.deserialize("{\"accountId\":3}", Account.class).number);
+        assertEquals(4, NimbleJSON.deserialize("{\"number\":4}", Account.class).number);
+    }
+
+    @Test
+    void neverReadsIgnoredFields() throws Exception {
+        Account account = NimbleJSON.deserialize("{\"password\":\"p\",\"owner\":\"o\"}", Account.class);
+        assertNull(account.password);
+        assertEquals("o", account.owner);
+    }
+
+    @Test
+    void explicitNamesWinOverAliasesAndAliasesOverFieldNames() throws Exception {
+        Shadowing value = NimbleJSON.deserialize("{\"b\":1}", Shadowing.class);
+        assertEquals(1, value.a);
+        assertEquals(0, value.b);
+        value = NimbleJSON.deserialize("{\"a\":2}", Shadowing.class);
+        assertEquals(0, value.a);
+        assertEquals(2, value.b);
+    }
+
+    @Test
+    void sharesMetadataBetweenThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                long id = i;
+                results.add(pool.submit(() -> NimbleJSON.deserialize(
+                        NimbleJSON.serialize(account(id)), Account.class).number));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i, results.get(i).get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Account account(long id) {
+        Account account = new Account();
+        account.number = id;
+        return account;
+    }
+}
@@ -0,0 +1,246 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.processor.JsonCodecProcessor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the codecs generated by {@link JsonCodecProcessor}. The model classes are compiled with the
+ * processor at test time, and every document is bound both through the generated codec and through
+ * reflection, which must produce identical JSON.
+ */
+class CodecGenerationTest {
+
+    private static final String ORDER = String.join("\n",
+            "package gen;",
+            "import dev.quantam.numblejson.annotations.*;",
+            "import java.util.*;",
+            "public class Order {",
+            "    @JsonProperty(\"order_id\") long id;",
+            "    String customer;",
+            "    private double total;",
+            "    boolean paid;",
+            "    int count;",
+            "    Integer boxed;",
+            "    @JsonAlias({\"labels\"}) List<String> tags;",
+            "    @JsonInclude(JsonInclude.Include.NON_NULL) String note;",
+            "    @JsonInclude(JsonInclude.Include.NON_EMPTY) Map<String, Integer> counts;",
+            "    @JsonIgnore String secret;",
+            "    Line[] lines;",
+            "    long[] history;",
+            "    static int getterCalls;",
+            "    public double getTotal() { getterCalls++; return total; }",
+            "    public void setTotal(double total) { this.total = total; }",
+            "    public static class Line {",
+            "        @JsonProperty(\"sku\") String code;",
+            "        int quantity;",
+            "    }",
+            "}");
+
+    private static final String GENERIC = String.join("\n",
+            "package gen;",
+            "import dev.quantam.numblejson.annotations.*;",
+            "public class Holder<T> {",
+            "    @JsonProperty(\"v\") T value;",
+            "}");
+
+    /**
+     * Serializers and deserializers for {@code String}, registered globally in an isolated copy of the library.
+     */
+    private static final String STRINGS = String.join("\n",
+            "package gen;",
+            "import dev.quantam.numblejson.NimbleJSON;",
+            "import dev.quantam.numblejson.interfaces.*;",
+            "import dev.quantam.numblejson.output.JsonOutput;",
+            "public class Strings {",
+            "    static final IJsonSerializer<String> UPPER = value -> JsonOutput.quote(value.toUpperCase());",
+            "    static final IJsonDeserializer<String> MARKED = json -> json.substring(1, json.length() - 1) + '!';",
+            "    public static void register() {",
+            "        NimbleJSON.registerSerializer(String.class, UPPER);",
+            "        NimbleJSON.registerDeserializer(String.class, MARKED);",
+            "    }",
+            "    public static NimbleJSON reflection() {",
+            "        return NimbleJSON.builder().registerSerializer(String.class, UPPER).registerDeserializer(String.class, MARKED).build();",
+            "    }",
+            "}");
+
+    private static final String[] DOCUMENTS = {
+            "{}",
+            "{\"order_id\": -9223372036854775808, \"customer\": \"Zoë \\\"Z\\\"\", \"total\": 1.5e-7, \"paid\": true,"
+                    + " \"count\": 2147483647, \"boxed\": null, \"labels\": [\"a\", \"b\"], \"note\": \"n\","
+                    + " \"counts\": {\"x\": 1}, \"secret\": \"s\", \"lines\": [{\"sku\": \"A-1\", \"quantity\": 3}, null],"
+                    + " \"history\": [1, -2, 3]}",
+            "{\"customer\": null, \"tags\": [], \"counts\": {}, \"lines\": [], \"unknown\": {\"deep\": [1, {}]}, \"paid\": false}",
+            "{\"total\": 12, \"count\": -0, \"boxed\": 7, \"tags\": null, \"history\": null}"
+    };
+
+    @TempDir
+    static Path directory;
+
+    private static ClassLoader loader;
+    private static List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+    /**
+     * Reflective binding: registering any serializer, here one for a type the models never use,
+     * turns generated codecs off and leaves every other setting at its default.
+     */
+    private static final NimbleJSON REFLECTION = NimbleJSON.builder()
+            .registerSerializer(Void.class, value -> "null")
+            .build();
+
+    @BeforeAll
+    static void compile() throws Exception {
+        Path sources = Files.createDirectories(directory.resolve("src/gen"));
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        Files.writeString(sources.resolve("Order.java"), ORDER);
+        Files.writeString(sources.resolve("Holder.java"), GENERIC);
+        Files.writeString(sources.resolve("Strings.java"), STRINGS);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(collector, null, null)) {
+            List<String> options = List.of("-classpath", System.getProperty("java.class.path"),
+                    "-processor", JsonCodecProcessor.class.getName(), "-d", classes.toString(),
+                    "-s", classes.toString());
+            Iterable<? extends JavaFileObject> units = files.getJavaFileObjects(
+                    sources.resolve("Order.java").toFile(), sources.resolve("Holder.java").toFile(),
+                    sources.resolve("Strings.java").toFile());
+            assertTrue(compiler.getTask(null, files, collector, options, null, units).call(),
+                    () -> collector.getDiagnostics().toString());
+        }
+        diagnostics = collector.getDiagnostics();
+        loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, CodecGenerationTest.class.getClassLoader());
+    }
+
+    /**
+     * Loads the generated classes together with a fresh copy of the library, so that codecs registered
+     * globally there do not leak into other tests.
+     */
+    private static ClassLoader isolated() throws Exception {
+        List<URL> urls = new ArrayList<>();
+        urls.add(directory.resolve("classes").toUri().toURL());
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            urls.add(Path.of(entry).toUri().toURL());
+        }
+        return new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+    }
+
+    private static String note() {
+        List<String> notes = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+            if (diagnostic.getKind() == Diagnostic.Kind.NOTE) notes.add(diagnostic.getMessage(null));
+        }
+        return String.join("\n", notes);
+    }
+
+    @Test
+    void generatesCodecsForSupportedClassesOnly() throws Exception {
+        assertNotNull(Class.forName("gen.Order_JsonCodec", false, loader));
+        assertNotNull(Class.forName("gen.Order_Line_JsonCodec", false, loader));
+        assertThrows(ClassNotFoundException.class, () -> Class.forName("gen.Holder_JsonCodec", false, loader));
+        assertTrue(note().contains("no codec generated for gen.Holder, it is generic"), note());
+        assertTrue(new File(directory.toFile(), "classes/gen/Order_JsonCodec.java").isFile());
+    }
+
+    @Test
+    void writesTheSameJsonAsReflection() throws Exception {
+        Class<?> order = Class.forName("gen.Order", true, loader);
+        for (String document : DOCUMENTS) {
+            Object value = REFLECTION.fromJson(document, order);
+            String reflective = REFLECTION.toJson(value);
+            assertEquals(reflective, NimbleJSON.serialize(value), document);
+            assertArrayEquals(REFLECTION.toJsonBytes(value), NimbleJSON.serializeToBytes(value), document);
+        }
+    }
+
+    @Test
+    void readsTheSameValuesAsReflection() throws Exception {
+        Class<?> order = Class.forName("gen.Order", true, loader);
+        for (String document : DOCUMENTS) {
+            Object generated = NimbleJSON.deserialize(document, order);
+            Object reflective = REFLECTION.fromJson(document, order);
+            assertEquals(REFLECTION.toJson(reflective), REFLECTION.toJson(generated), document);
+            assertEquals(REFLECTION.toJson(reflective), REFLECTION.toJson(NimbleJSON.deserialize(document.getBytes(StandardCharsets.UTF_8), order)));
+        }
+    }
+
+    @Test
+    void usesTheGeneratedCodecByDefault() throws Exception {
+        Class<?> order = Class.forName("gen.Order", true, loader);
+        Field getterCalls = order.getDeclaredField("getterCalls");
+        getterCalls.setAccessible(true);
+        Object value = NimbleJSON.deserialize(DOCUMENTS[1], order);
+        int calls = getterCalls.getInt(null);
+        REFLECTION.toJson(value);
+        assertEquals(calls, getterCalls.getInt(null));
+        String json = NimbleJSON.serialize(value);
+        assertEquals(calls + 1, getterCalls.getInt(null));
+        Map<?, ?> map = NimbleJSON.deserialize(json, Map.class);
+        assertEquals(1.5e-7, map.get("total"));
+        assertFalse(map.containsKey("secret"));
+        assertEquals(List.of("a", "b"), map.get("tags"));
+    }
+
+    @Test
+    void rejectsMalformedInputLikeReflection() throws Exception {
+        Class<?> order = Class.forName("gen.Order", true, loader);
+        for (String malformed : new String[]{"{\"count\": \"1\"}", "{\"paid\": 1}", "{\"count\": 1.5}",
+                "{\"lines\": {}}", "{\"count\": 1", "[]", "{\"order_id\": 9223372036854775808}"}) {
+            assertThrows(JsonDeserializationException.class, () -> REFLECTION.fromJson(malformed, order), malformed);
+            assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(malformed, order), malformed);
+        }
+    }
+
+    @Test
+    void bindsClassesWithoutCodecsThroughReflection() throws Exception {
+        Class<?> holder = Class.forName("gen.Holder", true, loader);
+        assertEquals("{\"v\":[1,2]}", NimbleJSON.serialize(NimbleJSON.deserialize("{\"v\": [1, 2]}", holder)));
+    }
+
+    @Test
+    void appliesCodecsRegisteredForStringsLikeReflection() throws Exception {
+        ClassLoader isolated = isolated();
+        Class<?> order = Class.forName("gen.Order", true, isolated);
+        assertNotNull(Class.forName("gen.Order_JsonCodec", false, isolated));
+        Class<?> strings = Class.forName("gen.Strings", true, isolated);
+        strings.getMethod("register").invoke(null);
+        Object reflection = strings.getMethod("reflection").invoke(null);
+        Class<?> nimble = Class.forName(NimbleJSON.class.getName(), true, isolated);
+        Method serialize = nimble.getMethod("serialize", Object.class);
+        Method deserialize = nimble.getMethod("deserialize", String.class, Class.class);
+        Method toJson = reflection.getClass().getMethod("toJson", Object.class);
+        Method fromJson = reflection.getClass().getMethod("fromJson", String.class, Class.class);
+        for (String document : DOCUMENTS) {
+            Object generated = deserialize.invoke(null, document, order);
+            Object reflective = fromJson.invoke(reflection, document, order);
+            assertEquals(toJson.invoke(reflection, reflective), toJson.invoke(reflection, generated), document);
+            assertEquals(toJson.invoke(reflection, reflective), serialize.invoke(null, reflective), document);
+        }
+        String json = (String) serialize.invoke(null, deserialize.invoke(null, "{\"customer\": \"ann\", \"tags\": [\"b\"]}", order));
+        assertTrue(json.contains("\"customer\":\"ANN!\""), json);
+        assertTrue(json.contains("\"tags\":[\"B!\"]"), json);
+    }
+}
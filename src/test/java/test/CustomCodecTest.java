@@ -0,0 +1,206 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.annotations.JsonDeserialize;
+import dev.quantam.numblejson.annotations.JsonSerialize;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.interfaces.IJsonCodec;
+import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import dev.quantam.numblejson.interfaces.IJsonSerializer;
+import dev.quantam.numblejson.output.JsonOutput;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for custom serializers and deserializers named by annotations or registered per type, and for
+ * programmatically registered streaming codecs.
+ */
+class CustomCodecTest {
+
+    static final AtomicInteger SHARED_INSTANCES = new AtomicInteger();
+    static final AtomicInteger STATEFUL_INSTANCES = new AtomicInteger();
+
+    public static class UpperCaseSerializer implements IJsonSerializer<String> {
+        public UpperCaseSerializer() {
+            SHARED_INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public String serialize(String value) {
+            return value == null ? "null" : '"' + value.toUpperCase() + '"';
+        }
+    }
+
+    public static class CountingSerializer implements IJsonSerializer<String> {
+        private int calls;
+
+        public CountingSerializer() {
+            STATEFUL_INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public String serialize(String value) {
+            return String.valueOf(++calls);
+        }
+    }
+
+    public static class RawTextDeserializer implements IJsonDeserializer<String> {
+        @Override
+        public String deserialize(String json) {
+            return json;
+        }
+    }
+
+    static class Record {
+        @JsonSerialize(using = UpperCaseSerializer.class)
+        String name;
+        @JsonSerialize(using = CountingSerializer.class, shared = false)
+        String counter;
+        @JsonDeserialize(using = RawTextDeserializer.class)
+        String raw;
+    }
+
+    static final class Money {
+        final long cents;
+
+        Money(long cents) {
+            this.cents = cents;
+        }
+    }
+
+    static class Invoice {
+        Money total;
+        List<Money> lines = new ArrayList<>();
+    }
+
+    static final class Point {
+        final int x;
+        final int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    static class Shape {
+        Point origin;
+        Point[] corners;
+    }
+
+    /**
+     * Writes a point as an object with one member holding both coordinates.
+     */
+    static final class PointCodec implements IJsonCodec<Point> {
+        @Override
+        public void write(Point value, JsonOutput out) throws Exception {
+            out.writeRaw("{\"at\":[");
+            out.writeNumber(value.x);
+            out.writeRaw(',');
+            out.writeNumber(value.y);
+            out.writeRaw("]}");
+        }
+
+        @Override
+        public Point read(JsonLexer lexer) throws Exception {
+            assertEquals(JsonToken.START_OBJECT, lexer.currentToken());
+            assertEquals(JsonToken.STRING, lexer.next());
+            assertEquals("at", lexer.stringValue());
+            lexer.next();
+            lexer.next();
+            lexer.next();
+            int x = lexer.intValue();
+            lexer.next();
+            lexer.next();
+            int y = lexer.intValue();
+            lexer.next();
+            assertEquals(JsonToken.END_OBJECT, lexer.next());
+            return new Point(x, y);
+        }
+    }
+
+    private static Record record(int i) {
+        Record r = new Record();
+        r.name = "name " + i;
+        r.counter = "c";
+        return r;
+    }
+
+    @Test
+    void sharesOneSerializerInstanceAcrossFieldsAndValues() throws Exception {
+        List<Record> records = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) records.add(record(i));
+        int before = SHARED_INSTANCES.get();
+        String json = NimbleJSON.serialize(records);
+        NimbleJSON.serialize(records);
+        assertTrue(SHARED_INSTANCES.get() - before <= 1, "created " + (SHARED_INSTANCES.get() - before));
+        assertTrue(json.startsWith("[{\"name\":\"NAME 0\","), json);
+    }
+
+    @Test
+    void createsStatefulSerializersForEveryValue() throws Exception {
+        int before = STATEFUL_INSTANCES.get();
+        String json = NimbleJSON.serialize(List.of(record(0), record(1), record(2)));
+        assertEquals(3, STATEFUL_INSTANCES.get() - before);
+        assertFalse(json.contains("\"counter\":2"), json);
+    }
+
+    @Test
+    void passesTheRawJsonOfTheValueToDeserializers() throws Exception {
+        Record r = NimbleJSON.deserialize("{\"raw\": {\"a\": [1, \"}\"]}, \"name\": \"n\"}", Record.class);
+        assertEquals("{\"a\": [1, \"}\"]}", r.raw);
+        assertEquals("n", r.name);
+        assertEquals("12.5", NimbleJSON.deserialize("{\"raw\":12.5}", Record.class).raw);
+    }
+
+    @Test
+    void appliesSerializersRegisteredPerType() throws Exception {
+        NimbleJSON.registerSerializer(Money.class, money -> money.cents / 100 + "." + String.format("%02d", money.cents % 100));
+        NimbleJSON.registerDeserializer(Money.class, json -> new Money(Math.round(Double.parseDouble(json) * 100)));
+        Invoice invoice = new Invoice();
+        invoice.total = new Money(1234);
+        invoice.lines.add(new Money(5));
+        invoice.lines.add(null);
+        String json = NimbleJSON.serialize(invoice);
+        assertEquals("{\"total\":12.34,\"lines\":[0.05,null]}", json);
+        Invoice copy = NimbleJSON.deserialize(json, Invoice.class);
+        assertEquals(1234, copy.total.cents);
+        assertEquals(5, copy.lines.get(0).cents);
+        assertNull(copy.lines.get(1));
+    }
+
+    @Test
+    void keepsInstanceRegistrationsToTheInstance() throws Exception {
+        NimbleJSON json = NimbleJSON.builder().registerCodec(Point.class, new PointCodec()).build();
+        Shape shape = new Shape();
+        shape.origin = new Point(1, -2);
+        shape.corners = new Point[]{new Point(3, 4)};
+        String text = json.toJson(shape);
+        assertEquals("{\"origin\":{\"at\":[1,-2]},\"corners\":[{\"at\":[3,4]}]}", text);
+        Shape copy = json.fromJson(text, Shape.class);
+        assertEquals(-2, copy.origin.y);
+        assertEquals(4, copy.corners[0].y);
+
+        assertEquals("{\"origin\":{\"x\":1,\"y\":-2},\"corners\":[{\"x\":3,\"y\":4}]}", NimbleJSON.serialize(shape));
+        // Without the codec, a Point cannot be created: it has no no-argument constructor.
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(text, Shape.class));
+    }
+
+    @Test
+    void reportsFailingDeserializers() {
+        NimbleJSON json = NimbleJSON.builder().registerDeserializer(Money.class, text -> {
+            throw new JsonDeserializationException("bad money: " + text);
+        }).build();
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                () -> json.fromJson("{\"total\": \"x\"}", Invoice.class));
+        assertEquals("bad money: \"x\"", e.getCause().getMessage());
+    }
+}
@@ -0,0 +1,214 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.annotations.JsonDateFormat;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link JsonDateFormat} patterns and the default representation of date and time values.
+ */
+class DateFormatTest {
+
+    private static final Date DATE = new Date(1_700_000_123_456L);
+
+    static class LegacyDates {
+        @JsonDateFormat("yyyy-MM-dd HH:mm:ss.S")
+        Date millis;
+        @JsonDateFormat("YYYY-'W'ww-u")
+        Date weekDate;
+        @JsonDateFormat("hh:mm a")
+        Date clock;
+        @JsonDateFormat(JsonDateFormat.EPOCH_MILLIS)
+        Date epoch;
+        Date plain;
+    }
+
+    static class TimeValues {
+        @JsonDateFormat("uuuu-MM-dd HH:mm:ss.SSS")
+        LocalDateTime local;
+        @JsonDateFormat("dd/MM/uuuu")
+        LocalDate day;
+        @JsonDateFormat("yyyy-MM-dd'T'HH:mmXXX")
+        Instant instant;
+        @JsonDateFormat("uuuu")
+        Year year;
+        @JsonDateFormat("HH:mm")
+        LocalTime time;
+    }
+
+    static class Defaults {
+        Instant instant;
+        LocalDate date;
+        LocalDateTime dateTime;
+        LocalTime time;
+        OffsetDateTime offsetDateTime;
+        OffsetTime offsetTime;
+        ZonedDateTime zoned;
+        Year year;
+        YearMonth yearMonth;
+    }
+
+    static class InvalidForDate {
+        @JsonDateFormat("yyyy-MM-dd nnnn")
+        Date date;
+    }
+
+    static class InvalidForTime {
+        @JsonDateFormat("yyyy-MM-dd bb")
+        LocalDate date;
+    }
+
+    static class EpochYear {
+        @JsonDateFormat(JsonDateFormat.EPOCH_MILLIS)
+        Year year;
+    }
+
+    @Test
+    void formatsDatesWithSimpleDateFormatSemantics() throws Exception {
+        LegacyDates dates = new LegacyDates();
+        dates.millis = DATE;
+        dates.weekDate = DATE;
+        dates.clock = DATE;
+        dates.epoch = DATE;
+        dates.plain = DATE;
+        Map<?, ?> json = NimbleJSON.deserialize(NimbleJSON.serialize(dates), Map.class);
+        assertEquals(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.S").format(DATE), json.get("millis"));
+        assertTrue(((String) json.get("millis")).endsWith(".456"));
+        assertEquals(new SimpleDateFormat("YYYY-'W'ww-u").format(DATE), json.get("weekDate"));
+        assertEquals(new SimpleDateFormat("hh:mm a").format(DATE), json.get("clock"));
+        assertEquals(DATE.getTime(), json.get("epoch"));
+        assertEquals(DATE.getTime(), json.get("plain"));
+
+        LegacyDates copy = NimbleJSON.deserialize(NimbleJSON.serialize(dates), LegacyDates.class);
+        assertEquals(DATE, copy.millis);
+        assertEquals(DATE, copy.epoch);
+        assertEquals(DATE, copy.plain);
+        assertEquals(new SimpleDateFormat("hh:mm a").parse(new SimpleDateFormat("hh:mm a").format(DATE)), copy.clock);
+    }
+
+    @Test
+    void formatsJavaTimeValuesWithDateTimeFormatterSemantics() throws Exception {
+        TimeValues values = new TimeValues();
+        values.local = LocalDateTime.of(2024, 2, 29, 13, 5, 7, 120_000_000);
+        values.day = LocalDate.of(1999, 12, 31);
+        values.instant = Instant.parse("2020-01-02T03:04:00Z");
+        values.year = Year.of(2031);
+        values.time = LocalTime.of(23, 59);
+        String json = NimbleJSON.serialize(values);
+        Map<?, ?> map = NimbleJSON.deserialize(json, Map.class);
+        assertEquals("2024-02-29 13:05:07.120", map.get("local"));
+        assertEquals("31/12/1999", map.get("day"));
+        assertEquals(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mmXXX").withZone(ZoneId.systemDefault())
+                .format(values.instant), map.get("instant"));
+        assertEquals("2031", map.get("year"));
+        assertEquals("23:59", map.get("time"));
+
+        TimeValues copy = NimbleJSON.deserialize(json, TimeValues.class);
+        assertEquals(values.local, copy.local);
+        assertEquals(values.day, copy.day);
+        assertEquals(values.instant, copy.instant);
+        assertEquals(values.year, copy.year);
+        assertEquals(values.time, copy.time);
+    }
+
+    @Test
+    void writesAndReadsTheSameSetOfTypes() throws Exception {
+        Defaults d = new Defaults();
+        d.instant = Instant.ofEpochMilli(DATE.getTime());
+        d.date = LocalDate.of(2000, 1, 1);
+        d.dateTime = LocalDateTime.of(2000, 1, 1, 12, 30);
+        d.time = LocalTime.of(8, 15, 30);
+        d.offsetDateTime = OffsetDateTime.of(d.dateTime, ZoneOffset.ofHours(-5));
+        d.offsetTime = OffsetTime.of(d.time, ZoneOffset.ofHoursMinutes(5, 30));
+        d.zoned = ZonedDateTime.of(d.dateTime, ZoneId.of("Europe/Paris"));
+        d.year = Year.of(-44);
+        d.yearMonth = YearMonth.of(2024, 2);
+        String json = NimbleJSON.serialize(d);
+        assertTrue(json.contains("\"zoned\":\"2000-01-01T12:30+01:00[Europe/Paris]\""), json);
+        assertTrue(json.contains("\"yearMonth\":\"2024-02\""), json);
+        Defaults copy = NimbleJSON.deserialize(json, Defaults.class);
+        assertEquals(d.instant, copy.instant);
+        assertEquals(d.date, copy.date);
+        assertEquals(d.dateTime, copy.dateTime);
+        assertEquals(d.time, copy.time);
+        assertEquals(d.offsetDateTime, copy.offsetDateTime);
+        assertEquals(d.offsetTime, copy.offsetTime);
+        assertEquals(d.zoned, copy.zoned);
+        assertEquals(d.year, copy.year);
+        assertEquals(d.yearMonth, copy.yearMonth);
+        assertEquals(json, NimbleJSON.serialize(copy));
+    }
+
+    @Test
+    void readsEpochMillisIntoEveryType() throws Exception {
+        Defaults d = NimbleJSON.deserialize("{\"instant\": 0, \"zoned\": 0, \"yearMonth\": 0, \"time\": 0}", Defaults.class);
+        assertEquals(Instant.EPOCH, d.instant);
+        assertEquals(Instant.EPOCH, d.zoned.toInstant());
+        assertEquals(YearMonth.from(LocalDate.ofInstant(Instant.EPOCH, ZoneId.systemDefault())), d.yearMonth);
+        assertEquals(LocalTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault()), d.time);
+    }
+
+    @Test
+    void rejectsPatternsThatAreInvalidForTheFieldType() {
+        JsonSerializationException e = assertThrows(JsonSerializationException.class,
+                () -> NimbleJSON.serialize(new InvalidForDate()));
+        assertTrue(rootMessage(e).contains("SimpleDateFormat"), rootMessage(e));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{}", InvalidForTime.class));
+        assertThrows(JsonSerializationException.class, () -> NimbleJSON.serialize(new EpochYear()));
+    }
+
+    @Test
+    void rejectsTextThatDoesNotMatchThePattern() {
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"millis\": \"yesterday\"}", LegacyDates.class));
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"day\": \"1999-12-31\"}", TimeValues.class));
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"epoch\": \"2020\"}", LegacyDates.class));
+    }
+
+    @Test
+    void sharesCompiledDateFormatsAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    SimpleDateFormat expected = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.S");
+                    for (int i = 0; i < 2_000; i++) {
+                        LegacyDates dates = new LegacyDates();
+                        dates.millis = new Date(DATE.getTime() + 86_400_123L * (i * 8 + offset));
+                        String json = NimbleJSON.serialize(dates);
+                        assertTrue(json.contains(expected.format(dates.millis)), json);
+                        assertEquals(dates.millis, NimbleJSON.deserialize(json, LegacyDates.class).millis);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) e = e.getCause();
+        return e.getMessage();
+    }
+}
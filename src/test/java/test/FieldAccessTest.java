@@ -0,0 +1,124 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reading and writing fields through method handles, including the unboxed accessors of
+ * primitive fields.
+ */
+class FieldAccessTest {
+
+    static class Primitives {
+        private int i;
+        private long l;
+        private double d;
+        private boolean z;
+        private float f;
+        private short s;
+        private byte b;
+        private char c;
+    }
+
+    static class Boxes {
+        Integer i;
+        Long l;
+        Double d;
+        Boolean z;
+    }
+
+    static class Finals {
+        private final String name = null;
+        private final int count = 0;
+    }
+
+    @Test
+    void roundTripsEveryPrimitiveType() throws Exception {
+        Primitives p = new Primitives();
+        p.i = Integer.MIN_VALUE;
+        p.l = Long.MIN_VALUE;
+        p.d = -0.1;
+        p.z = true;
+        p.f = 1.5f;
+        p.s = Short.MAX_VALUE;
+        p.b = Byte.MIN_VALUE;
+        p.c = 'x';
+        String json = NimbleJSON.serialize(p);
+        Primitives copy = NimbleJSON.deserialize(json, Primitives.class);
+        assertEquals(p.i, copy.i);
+        assertEquals(p.l, copy.l);
+        assertEquals(p.d, copy.d);
+        assertEquals(p.z, copy.z);
+        assertEquals(p.f, copy.f);
+        assertEquals(p.s, copy.s);
+        assertEquals(p.b, copy.b);
+        assertEquals(p.c, copy.c);
+        assertArrayEquals(NimbleJSON.serializeToBytes(p), NimbleJSON.serializeToBytes(copy));
+    }
+
+    @Test
+    void writesPrimitivesWithoutBoxing() throws Exception {
+        Primitives p = new Primitives();
+        p.i = 7;
+        p.l = 1L << 40;
+        p.d = 2.5;
+        assertTrue(NimbleJSON.serialize(p).startsWith("{\"i\":7,\"l\":1099511627776,\"d\":2.5,\"z\":false,"));
+    }
+
+    @Test
+    void readsIntegersIntoDoubleFields() throws Exception {
+        assertEquals(3.0, NimbleJSON.deserialize("{\"d\":3}", Primitives.class).d);
+    }
+
+    @Test
+    void rejectsNullForPrimitivesButAcceptsItForBoxes() throws Exception {
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"i\":null}", Primitives.class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"z\":null}", Primitives.class));
+        Boxes boxes = NimbleJSON.deserialize("{\"i\":null,\"l\":5,\"d\":null,\"z\":true}", Boxes.class);
+        assertNull(boxes.i);
+        assertEquals(5L, boxes.l);
+        assertNull(boxes.d);
+        assertTrue(boxes.z);
+    }
+
+    @Test
+    void rejectsValuesOfTheWrongType() {
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"i\":\"7\"}", Primitives.class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"i\":1.5}", Primitives.class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"i\":2147483648}", Primitives.class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"z\":1}", Primitives.class));
+    }
+
+    @Test
+    void bindsCharactersAsSingleCharacterStrings() throws Exception {
+        Primitives p = new Primitives();
+        p.c = '"';
+        assertTrue(NimbleJSON.serialize(p).endsWith(",\"c\":\"\\\"\"}"));
+        assertEquals('\u00e9', NimbleJSON.deserialize("{\"c\":\"\\u00e9\"}", Primitives.class).c);
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"c\":\"ab\"}", Primitives.class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"c\":\"\"}", Primitives.class));
+    }
+
+    @Test
+    void writesFinalFields() throws Exception {
+        Finals finals = NimbleJSON.deserialize("{\"name\":\"n\",\"count\":3}", Finals.class);
+        assertEquals("{\"name\":\"n\",\"count\":3}", NimbleJSON.serialize(finals));
+    }
+
+    @Test
+    void accessesOrdinaryFieldsThroughHiddenClasses() throws Exception {
+        Method of = Class.forName("dev.quantam.numblejson.engine.FieldAccessor").getDeclaredMethod("of", Field.class);
+        of.setAccessible(true);
+        for (String name : new String[]{"i", "f"}) {
+            Field field = Primitives.class.getDeclaredField(name);
+            field.setAccessible(true);
+            assertTrue(of.invoke(null, field).getClass().isHidden(), name);
+        }
+    }
+}
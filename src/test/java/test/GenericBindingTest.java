@@ -0,0 +1,115 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.TypeToken;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for binding collections, maps and arrays from their declared type arguments.
+ */
+class GenericBindingTest {
+
+    static class Person {
+        String name;
+
+        Person() {
+        }
+
+        Person(String name) {
+            this.name = name;
+        }
+    }
+
+    static class Box<T> {
+        T value;
+        List<T> values;
+    }
+
+    static class Containers {
+        Set<String> tags;
+        SortedSet<Integer> sorted;
+        Deque<Person> queue;
+        Map<Integer, List<Person>> byAge;
+        ConcurrentMap<String, Person> registry;
+        List<? extends Person> wildcard;
+        Box<Person>[] boxes;
+    }
+
+    @Test
+    void bindsElementTypesOfFields() throws Exception {
+        Containers c = NimbleJSON.deserialize("{\"tags\": [\"b\", \"a\", \"b\"], \"sorted\": [3, 1, 2],"
+                + " \"queue\": [{\"name\": \"q\"}], \"byAge\": {\"30\": [{\"name\": \"x\"}]},"
+                + " \"registry\": {\"k\": {\"name\": \"r\"}}, \"wildcard\": [{\"name\": \"w\"}],"
+                + " \"boxes\": [{\"value\": {\"name\": \"v\"}}]}", Containers.class);
+        assertEquals(Set.of("a", "b"), c.tags);
+        assertEquals(List.of(1, 2, 3), new ArrayList<>(c.sorted));
+        assertEquals("q", c.queue.getFirst().name);
+        assertEquals("x", c.byAge.get(30).get(0).name);
+        assertInstanceOf(ConcurrentHashMap.class, c.registry);
+        assertEquals("r", c.registry.get("k").name);
+        assertEquals("w", c.wildcard.get(0).name);
+        assertEquals("v", c.boxes[0].value.name);
+    }
+
+    @Test
+    void bindsTypeArgumentsOfTopLevelTypes() throws Exception {
+        Box<Person> box = NimbleJSON.deserialize("{\"value\": {\"name\": \"a\"}, \"values\": [{\"name\": \"b\"}]}",
+                new TypeToken<Box<Person>>() {});
+        assertEquals("a", box.value.name);
+        assertEquals("b", box.values.get(0).name);
+        Map<String, List<Person>> map = NimbleJSON.deserialize("{\"k\": [{\"name\": \"c\"}, null]}",
+                new TypeToken<Map<String, List<Person>>>() {});
+        assertEquals("c", map.get("k").get(0).name);
+        assertNull(map.get("k").get(1));
+        Box<Person> again = NimbleJSON.deserialize("{\"value\": {\"name\": \"d\"}}", new TypeToken<Box<Person>>() {});
+        assertEquals("d", again.value.name);
+    }
+
+    @Test
+    void leavesUnboundTypeVariablesAsPlainValues() throws Exception {
+        Box<?> box = NimbleJSON.deserialize("{\"value\": {\"name\": \"a\"}}", Box.class);
+        assertEquals(Map.of("name", "a"), box.value);
+    }
+
+    @Test
+    void writesEveryCollectionAsAnArray() throws Exception {
+        assertEquals("[\"a\",\"b\"]", NimbleJSON.serialize(new LinkedHashSet<>(List.of("a", "b"))));
+        assertEquals("[1,2,3]", NimbleJSON.serialize(new TreeSet<>(List.of(3, 1, 2))));
+        assertEquals("[{\"name\":\"p\"}]", NimbleJSON.serialize(new ArrayDeque<>(List.of(new Person("p")))));
+        assertEquals("[]", NimbleJSON.serialize(Collections.emptySet()));
+
+        Containers c = new Containers();
+        c.tags = new TreeSet<>(Set.of("y", "x"));
+        c.queue = new ArrayDeque<>(List.of(new Person("q")));
+        String json = NimbleJSON.serialize(c);
+        assertTrue(json.contains("\"tags\":[\"x\",\"y\"]"), json);
+        Containers copy = NimbleJSON.deserialize(json, Containers.class);
+        assertEquals(c.tags, copy.tags);
+        assertEquals("q", copy.queue.getFirst().name);
+    }
+
+    @Test
+    void rejectsNullsInContainersThatDoNotPermitThem() throws Exception {
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"registry\": {\"k\": null}}", Containers.class));
+        assertEquals("Null value for key \"k\" not permitted in java.util.concurrent.ConcurrentHashMap at position 19",
+                e.getCause().getMessage());
+        e = assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"queue\": [null]}", Containers.class));
+        assertEquals("Null element not permitted in java.util.ArrayDeque at position 11", e.getCause().getMessage());
+        assertTrue(NimbleJSON.deserialize("{\"tags\": [null]}", Containers.class).tags.contains(null));
+    }
+
+    @Test
+    void rejectsUnsupportedKeys() {
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"byAge\": {\"old\": []}}", Containers.class));
+    }
+}
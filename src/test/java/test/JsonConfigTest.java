@@ -0,0 +1,178 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.annotations.JsonIgnore;
+import dev.quantam.numblejson.annotations.JsonInclude;
+import dev.quantam.numblejson.engine.JsonConfig;
+import dev.quantam.numblejson.engine.NdjsonWriter;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.exceptions.UncheckedJsonException;
+import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import dev.quantam.numblejson.interfaces.IJsonSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for configured {@link NimbleJSON} instances: their settings, their own codecs, and the
+ * isolation between instances and the static methods.
+ */
+class JsonConfigTest {
+
+    static class Item {
+        String name;
+        List<String> tags;
+        @JsonInclude(JsonInclude.Include.ALWAYS)
+        String note;
+        @JsonIgnore
+        String secret;
+
+        Item() {
+        }
+
+        Item(String name) {
+            this.name = name;
+        }
+    }
+
+    static class Loose {
+        Object value;
+        Number number;
+        List<Object> values;
+    }
+
+    static final class Tag {
+        final String value;
+
+        Tag(String value) {
+            this.value = value;
+        }
+    }
+
+    static class Tagged {
+        Tag tag;
+    }
+
+    private static final IJsonSerializer<Tag> TAG_SERIALIZER = tag -> "\"#" + tag.value + "\"";
+    private static final IJsonDeserializer<Tag> TAG_DESERIALIZER = json -> new Tag(json.substring(2, json.length() - 1));
+
+    @Test
+    void failsOnUnknownPropertiesOnlyWhenAsked() throws Exception {
+        String json = "{\"name\": \"a\", \"extra\": [1, {\"x\": 2}], \"secret\": \"s\"}";
+        assertEquals("a", NimbleJSON.deserialize(json, Item.class).name);
+        assertEquals("a", new NimbleJSON().fromJson(json, Item.class).name);
+        NimbleJSON strict = NimbleJSON.builder().failOnUnknownProperties(true).build();
+        assertTrue(strict.config().failOnUnknownProperties());
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class, () -> strict.fromJson(json, Item.class));
+        assertTrue(e.getCause().getMessage().contains("\"extra\""), e.getCause().getMessage());
+        assertThrows(JsonDeserializationException.class, () -> strict.fromJson(json.getBytes(StandardCharsets.UTF_8), Item.class));
+        Item item = strict.fromJson("{\"name\": \"a\", \"secret\": \"s\"}", Item.class);
+        assertEquals("a", item.name);
+        assertNull(item.secret);
+    }
+
+    @Test
+    void bindsUntypedNumbersInTheConfiguredMode() throws Exception {
+        String json = "{\"value\": 1, \"number\": 2.5, \"values\": [3, 12345678901234567890, 0.1]}";
+        Loose natural = NimbleJSON.deserialize(json, Loose.class);
+        assertEquals(1, natural.value);
+        assertEquals(2.5, natural.number);
+        assertEquals(List.of(3, new BigInteger("12345678901234567890"), 0.1), natural.values);
+
+        Loose doubles = NimbleJSON.builder().numberMode(JsonConfig.NumberMode.DOUBLE).build().fromJson(json, Loose.class);
+        assertEquals(1.0, doubles.value);
+        assertEquals(2.5, doubles.number);
+        assertEquals(List.of(3.0, 1.2345678901234567e19, 0.1), doubles.values);
+
+        Loose decimals = NimbleJSON.builder().numberMode(JsonConfig.NumberMode.BIG_DECIMAL).build().fromJson(json, Loose.class);
+        assertEquals(new BigDecimal("1"), decimals.value);
+        assertEquals(new BigDecimal("2.5"), decimals.number);
+        assertEquals(List.of(new BigDecimal("3"), new BigDecimal("12345678901234567890"), new BigDecimal("0.1")), decimals.values);
+    }
+
+    @Test
+    void appliesTheDefaultInclusionToUnannotatedFields() throws Exception {
+        Item item = new Item("a");
+        assertEquals("{\"name\":\"a\",\"tags\":null,\"note\":null}", NimbleJSON.serialize(item));
+        NimbleJSON nonNull = NimbleJSON.builder().defaultInclusion(JsonInclude.Include.NON_NULL).build();
+        assertEquals("{\"name\":\"a\",\"note\":null}", nonNull.toJson(item));
+        item.tags = List.of();
+        NimbleJSON nonEmpty = NimbleJSON.builder().defaultInclusion(JsonInclude.Include.NON_EMPTY).build();
+        assertEquals("{\"name\":\"a\",\"note\":null}", nonEmpty.toJson(item));
+        assertEquals("{\"name\":\"a\",\"tags\":[],\"note\":null}", nonNull.toJson(item));
+        assertEquals("{\"name\":\"a\",\"tags\":[],\"note\":null}", NimbleJSON.serialize(item));
+    }
+
+    @Test
+    void keepsInstanceCodecsToTheInstance() throws Exception {
+        NimbleJSON tagged = NimbleJSON.builder()
+                .registerSerializer(Tag.class, TAG_SERIALIZER)
+                .registerDeserializer(Tag.class, TAG_DESERIALIZER)
+                .build();
+        Tagged value = new Tagged();
+        value.tag = new Tag("x");
+        assertEquals("{\"tag\":\"#x\"}", tagged.toJson(value));
+        assertEquals("x", tagged.fromJson("{\"tag\": \"#x\"}", Tagged.class).tag.value);
+        assertEquals("{\"tag\":{\"value\":\"x\"}}", NimbleJSON.serialize(value));
+        assertEquals("{\"tag\":{\"value\":\"x\"}}", new NimbleJSON().toJson(value));
+    }
+
+    @Test
+    void snapshotsTheBuilderOnEveryBuild() throws Exception {
+        NimbleJSON.Builder builder = NimbleJSON.builder().defaultInclusion(JsonInclude.Include.NON_NULL);
+        NimbleJSON first = builder.build();
+        NimbleJSON second = builder.registerSerializer(Tag.class, TAG_SERIALIZER).failOnUnknownProperties(true).build();
+        assertFalse(first.config().failOnUnknownProperties());
+        assertTrue(second.config().failOnUnknownProperties());
+        Tagged value = new Tagged();
+        value.tag = new Tag("y");
+        assertEquals("{\"tag\":{\"value\":\"y\"}}", first.toJson(value));
+        assertEquals("{\"tag\":\"#y\"}", second.toJson(value));
+        assertThrows(NullPointerException.class, () -> NimbleJSON.builder().numberMode(null));
+        assertThrows(NullPointerException.class, () -> NimbleJSON.builder().defaultInclusion(null));
+        assertSame(JsonConfig.NumberMode.NATURAL, JsonConfig.DEFAULT.numberMode());
+        assertSame(JsonInclude.Include.ALWAYS, JsonConfig.DEFAULT.defaultInclusion());
+    }
+
+    @Test
+    void bindsArraysAndLinesWithTheInstanceConfiguration() throws Exception {
+        NimbleJSON json = NimbleJSON.builder()
+                .numberMode(JsonConfig.NumberMode.BIG_DECIMAL)
+                .defaultInclusion(JsonInclude.Include.NON_NULL)
+                .failOnUnknownProperties(true)
+                .build();
+        String array = "[{\"value\": 1}, {\"value\": 2.5}]";
+        List<Loose> loose = json.arrayReader(Loose.class).readList(array);
+        assertEquals(new BigDecimal("1"), loose.get(0).value);
+        assertEquals(1, NimbleJSON.deserializeListParallel(array, Loose.class).get(0).value);
+        List<Map<String, Object>> maps = json.<Map<String, Object>>arrayReader(Map.class).readList(array.getBytes(StandardCharsets.UTF_8));
+        assertEquals(new BigDecimal("2.5"), maps.get(1).get("value"));
+        assertThrows(JsonDeserializationException.class, () -> json.arrayReader(Item.class).readList("[{\"x\": 1}]"));
+
+        byte[] lines = "{\"value\": 1}\n{\"value\": 2}\n".getBytes(StandardCharsets.UTF_8);
+        List<Loose> read = json.linesReader(Loose.class).parallel().read(new ByteArrayInputStream(lines)).collect(Collectors.toList());
+        assertEquals(List.of(new BigDecimal("1"), new BigDecimal("2")), read.stream().map(l -> l.value).collect(Collectors.toList()));
+        assertThrows(UncheckedJsonException.class,
+                () -> json.linesReader(Item.class).read(new ByteArrayInputStream("{\"x\": 1}".getBytes(StandardCharsets.UTF_8))).count());
+
+        List<Item> items = new ArrayList<>();
+        items.add(new Item("a"));
+        items.add(new Item("b"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonWriter writer = json.linesWriter(out)) {
+            writer.writeAll(items);
+        }
+        assertEquals("{\"name\":\"a\",\"note\":null}\n{\"name\":\"b\",\"note\":null}\n", out.toString(StandardCharsets.UTF_8));
+        assertThrows(NullPointerException.class, () -> new NdjsonWriter(new ByteArrayOutputStream(), null));
+    }
+}
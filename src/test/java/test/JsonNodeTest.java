@@ -0,0 +1,192 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.TypeToken;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tree.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the lazy {@link JsonNode} tree, parsed from both character and UTF-8 input.
+ */
+class JsonNodeTest {
+
+    private static final String DOCUMENT = "{\"name\": \"Zo\\u00eb \\\"Z\\\"\", \"age\": 42, \"tags\": [\"a\", {\"b\": [1, 2]}, null],"
+            + " \"nested\": {\"deep\": {\"deeper\": true}}, \"big\": 123456789012345678901234567890.5,"
+            + " \"min\": -9223372036854775808, \"ratio\": -1.5e-3, \"empty\": {}, \"none\": []}";
+
+    static class Person {
+        String name;
+        int age;
+        List<Object> tags;
+    }
+
+    private static List<JsonNode> parseBoth(String json) throws JsonDeserializationException {
+        return List.of(JsonNode.parse(json), JsonNode.parse(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void navigatesObjectsAndArrays() throws Exception {
+        for (JsonNode root : parseBoth(DOCUMENT)) {
+            assertTrue(root.isObject());
+            assertEquals(JsonNode.Type.OBJECT, root.type());
+            assertEquals(9, root.size());
+            assertEquals(List.of("name", "age", "tags", "nested", "big", "min", "ratio", "empty", "none"), root.fieldNames());
+            assertTrue(root.has("tags"));
+            assertFalse(root.has("missing"));
+            assertNull(root.get("missing"));
+            assertNull(root.get(0));
+
+            JsonNode tags = root.get("tags");
+            assertTrue(tags.isArray());
+            assertEquals(3, tags.size());
+            assertEquals("a", tags.get(0).stringValue());
+            assertEquals(2, tags.get(1).get("b").get(1).intValue());
+            assertTrue(tags.get(2).isNull());
+            assertNull(tags.get(3));
+            assertNull(tags.get(-1));
+            assertNull(tags.get("a"));
+            assertTrue(tags.fieldNames().isEmpty());
+
+            assertTrue(root.get("nested").get("deep").get("deeper").booleanValue());
+            assertEquals(0, root.get("empty").size());
+            assertEquals(0, root.get("none").size());
+            assertNull(root.get("none").get(0));
+            assertEquals(0, root.get("age").size());
+        }
+    }
+
+    @Test
+    void iteratesElementsInDocumentOrder() throws Exception {
+        for (JsonNode root : parseBoth(DOCUMENT)) {
+            List<String> values = new ArrayList<>();
+            for (JsonNode value : root.elements()) values.add(value.type().name());
+            assertEquals(List.of("STRING", "NUMBER", "ARRAY", "OBJECT", "NUMBER", "NUMBER", "NUMBER", "OBJECT", "ARRAY"), values);
+
+            List<String> tags = new ArrayList<>();
+            for (JsonNode tag : root.get("tags").elements()) tags.add(tag.toJson());
+            assertEquals(List.of("\"a\"", "{\"b\": [1, 2]}", "null"), tags);
+
+            Iterator<JsonNode> empty = root.get("none").elements().iterator();
+            assertFalse(empty.hasNext());
+            assertThrows(NoSuchElementException.class, empty::next);
+            assertFalse(root.get("age").elements().iterator().hasNext());
+        }
+    }
+
+    @Test
+    void decodesScalarValues() throws Exception {
+        for (JsonNode root : parseBoth(DOCUMENT)) {
+            assertEquals("Zo\u00eb \"Z\"", root.get("name").stringValue());
+            assertEquals(42, root.get("age").intValue());
+            assertEquals(42L, root.get("age").longValue());
+            assertEquals(42, root.get("age").numberValue());
+            assertEquals(Long.MIN_VALUE, root.get("min").longValue());
+            assertEquals(Long.MIN_VALUE, root.get("min").numberValue());
+            assertEquals(-1.5e-3, root.get("ratio").doubleValue());
+            assertEquals(new BigDecimal("123456789012345678901234567890.5"), root.get("big").bigDecimalValue());
+            assertThrows(NumberFormatException.class, () -> root.get("min").intValue());
+            assertThrows(NumberFormatException.class, () -> root.get("ratio").longValue());
+        }
+        JsonNode scalar = JsonNode.parse("  \"\\ud83d\\ude00\"  ");
+        assertTrue(scalar.isString());
+        assertEquals("\ud83d\ude00", scalar.stringValue());
+        assertFalse(JsonNode.parse("false".getBytes(StandardCharsets.UTF_8)).booleanValue());
+        assertTrue(JsonNode.parse("null").isNull());
+    }
+
+    @Test
+    void rejectsAccessorsOfTheWrongType() throws Exception {
+        JsonNode root = JsonNode.parse(DOCUMENT);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> root.get("age").stringValue());
+        assertTrue(e.getMessage().contains("Expected STRING but found NUMBER"), e.getMessage());
+        assertThrows(IllegalStateException.class, () -> root.get("name").intValue());
+        assertThrows(IllegalStateException.class, () -> root.get("tags").booleanValue());
+        assertThrows(IllegalStateException.class, () -> root.get("tags").get(2).doubleValue());
+        assertThrows(IllegalStateException.class, root::stringValue);
+    }
+
+    @Test
+    void keepsTheSourceTextAndOffsets() throws Exception {
+        String json = "[1, {\"k\": \"Zo\u00eb\"},   \"\u20ac\"]";
+        JsonNode chars = JsonNode.parse(json);
+        JsonNode bytes = JsonNode.parse(json.getBytes(StandardCharsets.UTF_8));
+        for (JsonNode root : List.of(chars, bytes)) {
+            assertEquals(json, root.toJson());
+            assertEquals("{\"k\": \"Zo\u00eb\"}", root.get(1).toJson());
+            assertEquals("\"\u20ac\"", root.get(2).toString());
+            assertEquals(0, root.start());
+        }
+        assertEquals(4, chars.get(1).start());
+        assertEquals(json.indexOf('}') + 1, chars.get(1).end());
+        assertEquals(json.length() - 4, chars.get(2).start());
+        // Byte offsets count the two-byte encoding of the e with diaeresis.
+        assertEquals(json.indexOf('}') + 2, bytes.get(1).end());
+        assertEquals(json.getBytes(StandardCharsets.UTF_8).length - 6, bytes.get(2).start());
+
+        char[] padded = ("xx" + json + "yy").toCharArray();
+        JsonNode slice = JsonNode.parse(padded, 2, json.length());
+        assertEquals(json, slice.toJson());
+        assertEquals(2, slice.start());
+        byte[] paddedBytes = ("xx" + json + "yy").getBytes(StandardCharsets.UTF_8);
+        assertEquals(json, JsonNode.parse(paddedBytes, 2, paddedBytes.length - 4).toJson());
+    }
+
+    @Test
+    void bindsSubtreesLikeDeserialization() throws Exception {
+        for (JsonNode root : parseBoth("{\"people\": [{\"name\": \"a\", \"age\": 1, \"tags\": [true, 2.5]}, {\"name\": \"b\"}]}")) {
+            Person person = root.get("people").get(0).as(Person.class);
+            assertEquals("a", person.name);
+            assertEquals(1, person.age);
+            assertEquals(List.of(true, 2.5), person.tags);
+            List<Person> people = root.get("people").as(new TypeToken<List<Person>>() {}.getType());
+            assertEquals("b", people.get(1).name);
+            assertEquals(NimbleJSON.deserialize(root.toJson(), Map.class), root.toValue());
+            assertNull(root.get("people").get(1).get("age"));
+        }
+        assertNull(JsonNode.parse("null").toValue());
+        assertEquals(List.of(), NimbleJSON.parseTree("[]").toValue());
+    }
+
+    @Test
+    void looksUpEscapedMemberNames() throws Exception {
+        for (JsonNode root : parseBoth("{\"\\u0061\": 1, \"a\\\"b\": 2, \"\u00e9\": 3, \"a\": 4}")) {
+            assertEquals(1, root.get("a").intValue());
+            assertEquals(2, root.get("a\"b").intValue());
+            assertEquals(3, root.get("\u00e9").intValue());
+            assertEquals(List.of("a", "a\"b", "\u00e9", "a"), root.fieldNames());
+        }
+        for (JsonNode root : parseBoth("{\"a\\nb\": 1}")) {
+            assertNull(root.get("a\\nb"));
+            assertEquals(1, root.get("a\nb").intValue());
+        }
+    }
+
+    @Test
+    void parsesDeeplyNestedDocuments() throws Exception {
+        String json = "[".repeat(500) + "7" + "]".repeat(500);
+        JsonNode node = NimbleJSON.parseTree(json.getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 500; i++) node = node.get(0);
+        assertEquals(7, node.intValue());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   ", "{", "[1, 2", "{\"a\" 1}", "{\"a\": 1,}", "[1] 2", "tru", "\"open", "{1: 2}", "[01]"})
+    void rejectsMalformedDocuments(String json) {
+        assertThrows(JsonDeserializationException.class, () -> JsonNode.parse(json), json);
+        assertThrows(JsonDeserializationException.class,
+                () -> JsonNode.parse(json.getBytes(StandardCharsets.UTF_8)), json);
+    }
+}
@@ -0,0 +1,274 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.streaming.JsonEvent;
+import dev.quantam.numblejson.streaming.JsonHandler;
+import dev.quantam.numblejson.streaming.JsonReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the pull {@link JsonReader} and the push {@link JsonHandler} over character and UTF-8 input.
+ */
+class JsonReaderTest {
+
+    private static final String DOCUMENT = "{\"name\": \"Ann \\\"A\\\" é\", \"age\": 42, \"scores\": [1.5, -2e3, 12345678901234567890],"
+            + " \"ok\": true, \"none\": null, \"tags\": [], \"empty\": {}, \"nested\": [[{\"k\": false}]]}";
+
+    private static final List<String> EVENTS = List.of("{", "key name", "string Ann \"A\" é", "key age", "long 42",
+            "key scores", "[", "number 1.5", "number -2e3", "number 12345678901234567890", "]",
+            "key ok", "boolean true", "key none", "null", "key tags", "[", "]", "key empty", "{", "}",
+            "key nested", "[", "[", "{", "key k", "boolean false", "}", "]", "]", "}");
+
+    private static List<JsonReader> readers(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return List.of(JsonReader.of(json), JsonReader.of(bytes), JsonReader.of(new StringReader(json)),
+                JsonReader.of(new ByteArrayInputStream(bytes)), NimbleJSON.reader(json), NimbleJSON.reader(bytes),
+                NimbleJSON.reader(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * Records every callback as a short line.
+     */
+    private static final class Recorder implements JsonHandler {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void startObject() {
+            events.add("{");
+        }
+
+        @Override
+        public void endObject() {
+            events.add("}");
+        }
+
+        @Override
+        public void startArray() {
+            events.add("[");
+        }
+
+        @Override
+        public void endArray() {
+            events.add("]");
+        }
+
+        @Override
+        public void key(CharSequence name) {
+            events.add("key " + name);
+        }
+
+        @Override
+        public void stringValue(CharSequence value) {
+            events.add("string " + value);
+        }
+
+        @Override
+        public void longValue(long value) {
+            events.add("long " + value);
+        }
+
+        @Override
+        public void numberValue(CharSequence text) {
+            events.add("number " + text);
+        }
+
+        @Override
+        public void booleanValue(boolean value) {
+            events.add("boolean " + value);
+        }
+
+        @Override
+        public void nullValue() {
+            events.add("null");
+        }
+    }
+
+    @Test
+    void pushesEveryEventToTheHandler() throws Exception {
+        for (JsonReader reader : readers(DOCUMENT)) {
+            Recorder recorder = new Recorder();
+            reader.parse(recorder);
+            assertEquals(EVENTS, recorder.events);
+        }
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        Recorder fromString = new Recorder();
+        NimbleJSON.parse(DOCUMENT, fromString);
+        assertEquals(EVENTS, fromString.events);
+        Recorder fromBytes = new Recorder();
+        NimbleJSON.parse(bytes, fromBytes);
+        assertEquals(EVENTS, fromBytes.events);
+        Recorder fromStream = new Recorder();
+        NimbleJSON.parse(new ByteArrayInputStream(bytes), fromStream);
+        assertEquals(EVENTS, fromStream.events);
+    }
+
+    @Test
+    void pullsEventsWithDepthAndValues() throws Exception {
+        for (JsonReader reader : readers(DOCUMENT)) {
+            assertNull(reader.currentEvent());
+            assertEquals(JsonEvent.START_OBJECT, reader.next());
+            assertEquals(1, reader.depth());
+            assertEquals(JsonEvent.KEY, reader.next());
+            assertEquals("name", reader.stringValue());
+            assertEquals(JsonEvent.STRING, reader.next());
+            assertEquals("Ann \"A\" é", reader.chars().toString());
+            assertEquals(JsonEvent.KEY, reader.next());
+            assertEquals("age", reader.chars().toString());
+            assertEquals(JsonEvent.NUMBER, reader.next());
+            assertTrue(reader.isIntegral());
+            assertEquals(42, reader.intValue());
+            assertEquals(42L, reader.longValue());
+            assertEquals(42, reader.numberValue());
+            assertEquals(JsonEvent.KEY, reader.next());
+            assertEquals(JsonEvent.START_ARRAY, reader.next());
+            assertEquals(2, reader.depth());
+            assertEquals(JsonEvent.NUMBER, reader.next());
+            assertFalse(reader.isIntegral());
+            assertEquals(1.5, reader.doubleValue());
+            assertEquals(JsonEvent.NUMBER, reader.next());
+            assertEquals(-2000.0, reader.doubleValue());
+            assertEquals(JsonEvent.NUMBER, reader.next());
+            assertEquals(new BigDecimal("12345678901234567890"), reader.bigDecimalValue());
+            assertThrows(NumberFormatException.class, reader::longValue);
+            assertEquals(JsonEvent.END_ARRAY, reader.next());
+            assertEquals(1, reader.depth());
+            assertEquals(JsonEvent.KEY, reader.next());
+            assertEquals(JsonEvent.BOOLEAN, reader.next());
+            assertTrue(reader.booleanValue());
+            assertEquals(JsonEvent.KEY, reader.next());
+            assertEquals(JsonEvent.NULL, reader.next());
+            assertEquals(JsonEvent.NULL, reader.currentEvent());
+            for (int i = 0; i < 3; i++) reader.next();
+            assertEquals(JsonEvent.KEY, reader.next());
+            assertEquals("empty", reader.stringValue());
+            for (int i = 0; i < 12; i++) reader.next();
+            assertEquals(JsonEvent.END_OBJECT, reader.currentEvent());
+            assertEquals(0, reader.depth());
+            assertEquals(JsonEvent.END_DOCUMENT, reader.next());
+            assertEquals(JsonEvent.END_DOCUMENT, reader.next());
+        }
+    }
+
+    @Test
+    void skipsChildrenOfContainers() throws Exception {
+        for (JsonReader reader : readers(DOCUMENT)) {
+            List<String> keys = new ArrayList<>();
+            assertEquals(JsonEvent.START_OBJECT, reader.next());
+            while (reader.next() == JsonEvent.KEY) {
+                keys.add(reader.stringValue());
+                reader.next();
+                reader.skipChildren();
+                assertEquals(1, reader.depth());
+            }
+            assertEquals(JsonEvent.END_OBJECT, reader.currentEvent());
+            assertEquals(List.of("name", "age", "scores", "ok", "none", "tags", "empty", "nested"), keys);
+            reader.skipChildren();
+            assertEquals(JsonEvent.END_DOCUMENT, reader.next());
+        }
+    }
+
+    @Test
+    void readsScalarRootValues() throws Exception {
+        for (JsonReader reader : readers(" \"x\" ")) {
+            assertEquals(JsonEvent.STRING, reader.next());
+            assertEquals("x", reader.stringValue());
+            assertEquals(0, reader.depth());
+            assertEquals(JsonEvent.END_DOCUMENT, reader.next());
+        }
+        Recorder recorder = new Recorder();
+        NimbleJSON.parse("-7", recorder);
+        assertEquals(List.of("long -7"), recorder.events);
+    }
+
+    @Test
+    void rejectsAccessorsForOtherEvents() throws Exception {
+        JsonReader reader = JsonReader.of("[true, \"s\"]");
+        assertThrows(IllegalStateException.class, reader::stringValue);
+        reader.next();
+        assertThrows(IllegalStateException.class, reader::chars);
+        assertThrows(IllegalStateException.class, reader::booleanValue);
+        reader.next();
+        assertTrue(reader.booleanValue());
+        assertThrows(IllegalStateException.class, reader::longValue);
+        assertThrows(IllegalStateException.class, reader::numberValue);
+        reader.next();
+        assertThrows(IllegalStateException.class, reader::isIntegral);
+        assertThrows(IllegalStateException.class, reader::booleanValue);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "[1 2]", "[1,]", "[,1]", "{\"a\" 1}", "{\"a\": 1,}", "{1: 2}", "{\"a\": 1 \"b\": 2}",
+            "[1] 2", "[1}", "{\"a\": 1]", "[", "{\"a\":", "]", ":", "[\"a\": 1]"})
+    void rejectsInvalidDocuments(String json) {
+        for (JsonReader reader : readers(json)) {
+            assertThrows(JsonDeserializationException.class, () -> {
+                while (reader.next() != JsonEvent.END_DOCUMENT) {
+                    reader.currentEvent();
+                }
+            }, json);
+        }
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.parse(json, new Recorder()), json);
+    }
+
+    @Test
+    void stopsWhenTheHandlerThrows() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> NimbleJSON.parse("[1, 2, 3]", new JsonHandler() {
+            @Override
+            public void longValue(long value) {
+                if (value == 2) throw new IllegalStateException("stop at " + value);
+            }
+        }));
+        assertEquals("stop at 2", e.getMessage());
+    }
+
+    @Test
+    void aggregatesLargeStreams() throws Exception {
+        int count = 200_000;
+        InputStream stream = new InputStream() {
+            private final byte[] element = "{\"id\": 1, \"name\": \"n\", \"values\": [1, 2, 3]},".getBytes(StandardCharsets.UTF_8);
+            private long position = -1;
+            private final long size = (long) count * element.length;
+
+            @Override
+            public int read() {
+                if (position == -1) {
+                    position = 0;
+                    return '[';
+                }
+                if (position >= size) return -1;
+                if (position == size - 1) {
+                    position++;
+                    return ']';
+                }
+                return element[(int) (position++ % element.length)];
+            }
+        };
+        long[] sums = new long[2];
+        NimbleJSON.parse(stream, new JsonHandler() {
+            @Override
+            public void startObject() {
+                sums[0]++;
+            }
+
+            @Override
+            public void longValue(long value) {
+                sums[1] += value;
+            }
+        });
+        assertEquals(count, sums[0]);
+        assertEquals(7L * count, sums[1]);
+    }
+}
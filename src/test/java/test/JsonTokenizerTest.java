@@ -0,0 +1,190 @@
+package test;
+
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the cursor-based lexers, run against both the character and the UTF-8 implementation.
+ */
+class JsonTokenizerTest {
+
+    private static List<JsonLexer> lexers(String json) {
+        return List.of(new JsonTokenizer(json), new Utf8JsonTokenizer(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<JsonToken> tokens(JsonLexer lexer) throws JsonDeserializationException {
+        List<JsonToken> tokens = new ArrayList<>();
+        for (JsonToken token = lexer.next(); token != JsonToken.END; token = lexer.next()) {
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    @Test
+    void splitsStructuralTokens() throws Exception {
+        for (JsonLexer lexer : lexers(" {\"a\" : [1, -2.5e3, true, false, null]}\n")) {
+            assertEquals(List.of(JsonToken.START_OBJECT, JsonToken.STRING, JsonToken.COLON, JsonToken.START_ARRAY,
+                    JsonToken.NUMBER, JsonToken.COMMA, JsonToken.NUMBER, JsonToken.COMMA, JsonToken.TRUE, JsonToken.COMMA,
+                    JsonToken.FALSE, JsonToken.COMMA, JsonToken.NULL, JsonToken.END_ARRAY, JsonToken.END_OBJECT), tokens(lexer));
+        }
+    }
+
+    @Test
+    void reportsTokenOffsetsAndText() throws Exception {
+        for (JsonLexer lexer : lexers("[ \"ab\", 12 ]")) {
+            lexer.next();
+            assertEquals(JsonToken.STRING, lexer.next());
+            assertEquals(2, lexer.tokenStart());
+            assertEquals(6, lexer.tokenEnd());
+            assertEquals("\"ab\"", lexer.text());
+            assertEquals("ab", lexer.stringValue());
+            lexer.next();
+            assertEquals(JsonToken.NUMBER, lexer.next());
+            assertEquals("12", lexer.text());
+        }
+    }
+
+    @Test
+    void peekDoesNotConsume() throws Exception {
+        for (JsonLexer lexer : lexers("[1]")) {
+            assertEquals(JsonToken.START_ARRAY, lexer.peekToken());
+            assertEquals(JsonToken.START_ARRAY, lexer.next());
+            assertEquals(JsonToken.NUMBER, lexer.peekToken());
+            assertEquals(JsonToken.NUMBER, lexer.next());
+            assertEquals(1, lexer.intValue());
+        }
+    }
+
+    @Test
+    void decodesLongBounds() throws Exception {
+        for (JsonLexer lexer : lexers("[-9223372036854775808, 9223372036854775807, 0, -0]")) {
+            lexer.next();
+            lexer.next();
+            assertEquals(Long.MIN_VALUE, lexer.longValue());
+            lexer.next();
+            lexer.next();
+            assertEquals(Long.MAX_VALUE, lexer.longValue());
+            lexer.next();
+            lexer.next();
+            assertEquals(0, lexer.longValue());
+            lexer.next();
+            lexer.next();
+            assertEquals(0, lexer.longValue());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"9223372036854775808", "-9223372036854775809", "99999999999999999999"})
+    void rejectsLongOverflow(String number) throws Exception {
+        for (JsonLexer lexer : lexers(number)) {
+            assertEquals(JsonToken.NUMBER, lexer.next());
+            assertThrows(NumberFormatException.class, lexer::longValue);
+        }
+    }
+
+    @Test
+    void rejectsIntOverflowAndFractions() throws Exception {
+        for (JsonLexer lexer : lexers("[2147483648, 1.5]")) {
+            lexer.next();
+            lexer.next();
+            assertEquals(2147483648L, lexer.longValue());
+            assertThrows(NumberFormatException.class, lexer::intValue);
+            lexer.next();
+            lexer.next();
+            assertFalse(lexer.isIntegral());
+            assertThrows(NumberFormatException.class, lexer::longValue);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-0", "1", "-12", "0.5", "1e5", "1E+5", "1e-5", "-1.25E-10", "10"})
+    void acceptsNumberGrammar(String number) throws Exception {
+        for (JsonLexer lexer : lexers("[" + number + "]")) {
+            lexer.next();
+            assertEquals(JsonToken.NUMBER, lexer.next());
+            assertEquals(number, lexer.text());
+            assertEquals(Double.parseDouble(number), lexer.doubleValue());
+            assertEquals(JsonToken.END_ARRAY, lexer.next());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1-2", "1+", "-", "--1", "01", "-01", "1.", ".5", "1.e5", "1e", "1e+", "1.5.2", "1e5e5", "+1", "2-"})
+    void rejectsMalformedNumbers(String number) {
+        for (JsonLexer lexer : lexers("[" + number + "]")) {
+            JsonDeserializationException e = assertThrows(JsonDeserializationException.class, () -> tokens(lexer));
+            assertTrue(e.getMessage().contains("at position"), e.getMessage());
+        }
+    }
+
+    @Test
+    void rejectsMalformedNumbersWhenSkipped() throws Exception {
+        for (JsonLexer lexer : lexers("{\"a\": 1-2}")) {
+            lexer.next();
+            lexer.next();
+            lexer.next();
+            JsonDeserializationException e = assertThrows(JsonDeserializationException.class, lexer::skipValue);
+            assertEquals("Invalid number at position 6", e.getMessage());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"tru", "nul", "falsy", "\"abc", "@", "[1, ]x"})
+    void rejectsMalformedInput(String json) {
+        for (JsonLexer lexer : lexers(json)) {
+            assertThrows(JsonDeserializationException.class, () -> tokens(lexer));
+        }
+    }
+
+    @Test
+    void skipsNestedValues() throws Exception {
+        for (JsonLexer lexer : lexers("[{\"a\": [1, {\"b\": \"]}\"}], \"c\": {}}, 7]")) {
+            lexer.next();
+            lexer.skipValue();
+            assertEquals(JsonToken.END_OBJECT, lexer.currentToken());
+            assertEquals(JsonToken.COMMA, lexer.next());
+            assertEquals(JsonToken.NUMBER, lexer.next());
+            assertEquals(7, lexer.intValue());
+        }
+    }
+
+    @Test
+    void rejectsMismatchedBracketsWhenSkipping() throws Exception {
+        for (JsonLexer lexer : lexers("[{\"a\": 1]]")) {
+            lexer.next();
+            assertThrows(JsonDeserializationException.class, lexer::skipValue);
+        }
+    }
+
+    @Test
+    void returnsRawValue() throws Exception {
+        for (JsonLexer lexer : lexers("{\"a\": {\"b\": [1, 2]}, \"c\": 3}")) {
+            lexer.next();
+            lexer.next();
+            lexer.next();
+            assertEquals("{\"b\": [1, 2]}", lexer.rawValue());
+            assertEquals(JsonToken.COMMA, lexer.next());
+        }
+    }
+
+    @Test
+    void endsRepeatedly() throws Exception {
+        for (JsonLexer lexer : lexers("  ")) {
+            assertEquals(JsonToken.END, lexer.next());
+            assertEquals(JsonToken.END, lexer.next());
+            assertThrows(JsonDeserializationException.class, lexer::skipValue);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.annotations.JsonAlias;
+import dev.quantam.numblejson.annotations.JsonProperty;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonName;
+import dev.quantam.numblejson.tokenize.JsonNameTable;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for matching object keys against the names of a class through a {@link JsonNameTable}.
+ */
+class NameDispatchTest {
+
+    static class Wide {
+        int f00, f01, f02, f03, f04, f05, f06, f07, f08, f09, f10, f11, f12, f13, f14, f15;
+        int f16, f17, f18, f19, f20, f21, f22, f23, f24, f25, f26, f27, f28, f29, f30, f31;
+        int f32, f33, f34, f35, f36, f37, f38, f39, f40, f41, f42, f43, f44, f45, f46, f47;
+        int f48, f49, f50, f51, f52, f53, f54, f55, f56, f57, f58, f59, f60, f61, f62, f63;
+        String name;
+        @JsonProperty("länge")
+        double length;
+    }
+
+    static class Colliding {
+        // "Aa" and "BB" have the same String hash code, as do "AaAa", "AaBB", "BBAa" and "BBBB".
+        String Aa;
+        String BB;
+        String AaAa;
+        String AaBB;
+        String BBAa;
+        String BBBB;
+    }
+
+    static class Named {
+        @JsonProperty("id")
+        @JsonAlias({"identifier", "ident"})
+        String key;
+        @JsonProperty("value")
+        String val;
+        String ident;
+    }
+
+    private static List<Field> fields() {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : Wide.class.getDeclaredFields()) {
+            if (field.getType() == int.class) fields.add(field);
+        }
+        return fields;
+    }
+
+    private static String shuffled(List<Field> fields, Random random) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) order.add(i);
+        Collections.shuffle(order, random);
+        StringBuilder sb = new StringBuilder("{\"länge\": 2.5, ");
+        for (int i : order) sb.append('"').append(fields.get(i).getName()).append("\": ").append(i).append(", ");
+        return sb.append("\"unknown\": [1, {\"f00\": 9}], \"name\": \"w\"}").toString();
+    }
+
+    private static List<Wide> readAll(String json) throws Exception {
+        byte[] utf8 = json.getBytes(StandardCharsets.UTF_8);
+        return List.of(NimbleJSON.deserialize(json, Wide.class), NimbleJSON.deserialize(utf8, Wide.class),
+                NimbleJSON.deserialize(ByteBuffer.wrap(utf8), Wide.class), NimbleJSON.deserialize(new StringReader(json), Wide.class),
+                NimbleJSON.builder().build().fromJson(json, Wide.class));
+    }
+
+    @Test
+    void bindsWideObjectsInAnyKeyOrder() throws Exception {
+        List<Field> fields = fields();
+        assertEquals(64, fields.size());
+        Random random = new Random(5);
+        for (int run = 0; run < 20; run++) {
+            for (Wide wide : readAll(shuffled(fields, random))) {
+                for (int i = 0; i < fields.size(); i++) assertEquals(i, fields.get(i).getInt(wide), fields.get(i).getName());
+                assertEquals("w", wide.name);
+                assertEquals(2.5, wide.length);
+            }
+        }
+        Wide wide = new Wide();
+        wide.f63 = 63;
+        wide.length = 1;
+        assertEquals(63, NimbleJSON.deserialize(NimbleJSON.serialize(wide), Wide.class).f63);
+        assertEquals(1.0, NimbleJSON.deserialize(NimbleJSON.serializeToBytes(wide), Wide.class).length);
+    }
+
+    @Test
+    void distinguishesNamesWithEqualHashCodes() throws Exception {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        String json = "{\"BBBB\": \"4\", \"BBAa\": \"3\", \"AaBB\": \"2\", \"AaAa\": \"1\", \"BB\": \"b\", \"Aa\": \"a\", \"AB\": \"x\"}";
+        for (Colliding c : List.of(NimbleJSON.deserialize(json, Colliding.class),
+                NimbleJSON.deserialize(json.getBytes(StandardCharsets.UTF_8), Colliding.class))) {
+            assertEquals("a", c.Aa);
+            assertEquals("b", c.BB);
+            assertEquals("1", c.AaAa);
+            assertEquals("2", c.AaBB);
+            assertEquals("3", c.BBAa);
+            assertEquals("4", c.BBBB);
+        }
+    }
+
+    @Test
+    void matchesExplicitNamesBeforeAliasesAndFieldNames() throws Exception {
+        String[] keys = {"id", "identifier", "key", "ident"};
+        String[] expected = {"k", "k", "k", null};
+        for (int i = 0; i < keys.length; i++) {
+            String json = "{\"" + keys[i] + "\": \"k\"}";
+            Named named = NimbleJSON.deserialize(json, Named.class);
+            assertEquals(expected[i], named.key, keys[i]);
+            assertEquals(named.key, NimbleJSON.deserialize(json.getBytes(StandardCharsets.UTF_8), Named.class).key);
+        }
+        assertEquals("k", NimbleJSON.deserialize("{\"ident\": \"k\"}", Named.class).ident);
+        Named escaped = NimbleJSON.deserialize("{\"\\u0069d\": \"a\", \"v\\u0061lue\": \"b\", \"val\": \"c\"}".getBytes(StandardCharsets.UTF_8), Named.class);
+        assertEquals("a", escaped.key);
+        assertEquals("c", escaped.val);
+        for (String key : List.of("", "i", "idd", "Id", "valu", "values", "vaI")) {
+            Named none = NimbleJSON.deserialize("{\"" + key + "\": \"x\"}", Named.class);
+            assertNull(none.key, key);
+            assertNull(none.val, key);
+            assertNull(none.ident, key);
+        }
+    }
+
+    @Test
+    void findsEveryNameOfATable() throws Exception {
+        List<String> words = new ArrayList<>(List.of("Aa", "BB", "é", "😀", "\u0000", "key", "a\"b", ""));
+        for (int i = 0; i < 200; i++) words.add("name" + i);
+        JsonName[] names = words.stream().map(JsonName::new).toArray(JsonName[]::new);
+        JsonNameTable table = new JsonNameTable(names);
+        assertEquals(words.size(), table.size());
+        for (int i = 0; i < words.size(); i++) {
+            assertSame(names[i], table.name(i));
+            assertEquals(i, table.indexOf(words.get(i)));
+            String json = NimbleJSON.serialize(words.get(i));
+            for (JsonLexer lexer : List.of(new JsonTokenizer(json), new Utf8JsonTokenizer(json.getBytes(StandardCharsets.UTF_8)),
+                    new JsonTokenizer(new StringReader(json), 16))) {
+                assertEquals(JsonToken.STRING, lexer.next());
+                assertEquals(i, lexer.indexOf(table), words.get(i));
+                assertEquals(i, lexer.indexOf(table, i), words.get(i));
+                assertEquals(i, lexer.indexOf(table, (i + 1) % words.size()), words.get(i));
+                assertEquals(i, lexer.indexOf(table, -1), words.get(i));
+            }
+        }
+        for (String missing : List.of("name200", "nam", "ee", "AaAa", "Ab")) {
+            assertEquals(-1, table.indexOf(missing));
+            Utf8JsonTokenizer lexer = new Utf8JsonTokenizer(NimbleJSON.serializeToBytes(missing));
+            lexer.next();
+            assertEquals(-1, lexer.indexOf(table, 0));
+        }
+        JsonNameTable empty = new JsonNameTable();
+        assertEquals(0, empty.size());
+        assertEquals(-1, empty.indexOf("x"));
+        JsonTokenizer lexer = new JsonTokenizer("\"x\"");
+        lexer.next();
+        assertEquals(-1, lexer.indexOf(empty, 0));
+    }
+}
@@ -0,0 +1,222 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.TypeToken;
+import dev.quantam.numblejson.engine.NdjsonReader;
+import dev.quantam.numblejson.exceptions.UncheckedJsonException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reading newline-delimited JSON from memory-mapped files and streams, sequentially and in
+ * parallel, and for writing it.
+ */
+class NdjsonTest {
+
+    static class Event {
+        int id;
+        String name;
+        List<Integer> values;
+
+        Event() {
+        }
+
+        Event(int id) {
+            this.id = id;
+            this.name = "event é " + id;
+            this.values = List.of(id, -id);
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    private static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) events.add(new Event(i));
+        return events;
+    }
+
+    private static byte[] lines(List<?> values) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NimbleJSON.serializeLines(values, out);
+        return out.toByteArray();
+    }
+
+    private Path file(byte[] content) throws IOException {
+        return Files.write(directory.resolve("events.ndjson"), content);
+    }
+
+    private static void assertEvents(int count, List<Event> events) {
+        assertEquals(count, events.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, events.get(i).id);
+            assertEquals("event é " + i, events.get(i).name);
+            assertEquals(List.of(i, -i), events.get(i).values);
+        }
+    }
+
+    @Test
+    void readsFilesAndStreamsInOrder() throws Exception {
+        byte[] content = lines(events(10_000));
+        Path path = file(content);
+        List<NdjsonReader<Event>> readers = List.of(NdjsonReader.of(Event.class), NdjsonReader.of(Event.class).chunkSize(100),
+                NdjsonReader.of(Event.class).chunkSize(4096).parallel(), NdjsonReader.of(Event.class).parallel().sequential());
+        for (NdjsonReader<Event> reader : readers) {
+            try (Stream<Event> events = reader.read(path)) {
+                assertEvents(10_000, events.collect(Collectors.toList()));
+            }
+            try (Stream<Event> events = reader.read(path.toFile())) {
+                assertEvents(10_000, events.collect(Collectors.toList()));
+            }
+            assertEvents(10_000, reader.read(new ByteArrayInputStream(content)).collect(Collectors.toList()));
+            assertEvents(10_000, reader.read(new TrickleInputStream(content)).collect(Collectors.toList()));
+        }
+        try (Stream<Event> events = NimbleJSON.deserializeLines(path, Event.class)) {
+            assertEvents(10_000, events.collect(Collectors.toList()));
+        }
+        assertEvents(10_000, NimbleJSON.deserializeLines(new ByteArrayInputStream(content), Event.class).collect(Collectors.toList()));
+    }
+
+    @Test
+    void deliversUnorderedResultsOnAnyExecutor() throws Exception {
+        Path path = file(lines(events(20_000)));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (Stream<Event> events = NdjsonReader.of(Event.class).chunkSize(1000).parallel(executor).ordered(false).read(path)) {
+            Set<Integer> ids = new HashSet<>();
+            events.forEach(event -> assertTrue(ids.add(event.id)));
+            assertEquals(20_000, ids.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void handlesBlankLinesMissingNewlinesAndLongLines() throws Exception {
+        String longName = "x".repeat(300_000);
+        String text = "\n  \r\n{\"id\": 1}\r\n\t\n{\"id\": 2, \"name\": \"" + longName + "\"}\n\n{\"id\": 3}";
+        byte[] content = text.getBytes(StandardCharsets.UTF_8);
+        Path path = file(content);
+        for (int chunkSize : new int[]{1, 7, 1024, 1 << 22}) {
+            NdjsonReader<Event> reader = NdjsonReader.of(Event.class).chunkSize(chunkSize);
+            for (Stream<Event> stream : List.of(reader.read(path), reader.read(new TrickleInputStream(content)))) {
+                try (stream) {
+                    List<Event> events = stream.collect(Collectors.toList());
+                    assertEquals(List.of(1, 2, 3), events.stream().map(e -> e.id).collect(Collectors.toList()));
+                    assertEquals(longName, events.get(1).name);
+                }
+            }
+        }
+        try (Stream<Event> events = NdjsonReader.of(Event.class).read(file(new byte[0]))) {
+            assertEquals(0, events.count());
+        }
+        assertEquals(0, NdjsonReader.of(Event.class).read(new ByteArrayInputStream("\n\n".getBytes(StandardCharsets.UTF_8))).count());
+    }
+
+    @Test
+    void readsBatchesPerChunk() throws Exception {
+        byte[] content = lines(events(1000));
+        int lineLength = content.length / 1000 + 1;
+        try (Stream<List<Event>> batches = NdjsonReader.of(Event.class).chunkSize(lineLength * 100).readBatches(file(content))) {
+            List<List<Event>> all = batches.collect(Collectors.toList());
+            assertTrue(all.size() >= 10, "batches: " + all.size());
+            assertTrue(all.stream().noneMatch(List::isEmpty));
+            assertEvents(1000, all.stream().flatMap(List::stream).collect(Collectors.toList()));
+        }
+        List<List<Event>> streamed = NdjsonReader.of(Event.class).chunkSize(lineLength * 100)
+                .readBatches(new ByteArrayInputStream(content)).collect(Collectors.toList());
+        assertEvents(1000, streamed.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
+    @Test
+    void bindsGenericTypes() throws Exception {
+        byte[] content = "{\"a\": [1, 2]}\n{\"b\": []}\n".getBytes(StandardCharsets.UTF_8);
+        NdjsonReader<Map<String, List<Long>>> reader = NdjsonReader.of(new TypeToken<Map<String, List<Long>>>() {}.getType());
+        List<Map<String, List<Long>>> maps = reader.read(new ByteArrayInputStream(content)).collect(Collectors.toList());
+        assertEquals(List.of(1L, 2L), maps.get(0).get("a"));
+        assertEquals(List.of(), maps.get(1).get("b"));
+    }
+
+    @Test
+    void reportsTheOffsetOfInvalidLines() throws Exception {
+        String text = "{\"id\": 1}\n{\"id\": 2} 3\n";
+        byte[] content = text.getBytes(StandardCharsets.UTF_8);
+        for (NdjsonReader<Event> reader : List.of(NdjsonReader.of(Event.class), NdjsonReader.of(Event.class).parallel())) {
+            try (Stream<Event> events = reader.read(file(content))) {
+                UncheckedJsonException e = assertThrows(UncheckedJsonException.class, () -> events.collect(Collectors.toList()));
+                assertEquals("Invalid line at byte offset 10", e.getMessage());
+                assertEquals("Unexpected content after the value at position 10", e.getCause().getMessage());
+            }
+            UncheckedJsonException e = assertThrows(UncheckedJsonException.class,
+                    () -> reader.chunkSize(4).read(new ByteArrayInputStream(content)).collect(Collectors.toList()));
+            assertEquals("Invalid line at byte offset 10", e.getMessage());
+        }
+        UncheckedJsonException e = assertThrows(UncheckedJsonException.class, () -> NdjsonReader.of(Event.class)
+                .read(new ByteArrayInputStream("{\"id\": 1}\n\n{\"id\": \"x\"}".getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.toList()));
+        assertEquals("Invalid line at byte offset 11", e.getMessage());
+    }
+
+    @Test
+    void stopsReadingWhenClosedEarly() throws Exception {
+        Path path = file(lines(events(50_000)));
+        try (Stream<Event> events = NdjsonReader.of(Event.class).chunkSize(1000).parallel().read(path)) {
+            Iterator<Event> iterator = events.iterator();
+            assertEquals(0, iterator.next().id);
+            assertEquals(1, iterator.next().id);
+        }
+        Files.delete(path);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> NdjsonReader.of(Event.class).chunkSize(0));
+        assertThrows(NullPointerException.class, () -> NdjsonReader.of(Event.class).parallel(null));
+    }
+
+    /**
+     * Returns at most a few bytes per read, as a socket may.
+     */
+    private static final class TrickleInputStream extends InputStream {
+        private final byte[] content;
+        private int position;
+
+        TrickleInputStream(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read() {
+            return position < content.length ? content[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= content.length) return -1;
+            int n = Math.min(Math.min(len, 13), content.length - position);
+            System.arraycopy(content, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for decoding numbers in place, comparing the fast double and float paths against
+ * {@link Double#parseDouble} and {@link Float#parseFloat}.
+ */
+class NumberDecodingTest {
+
+    static class Numbers {
+        int i;
+        long l;
+        double d;
+        float f;
+        BigInteger big;
+        BigDecimal decimal;
+        Object any;
+    }
+
+    private static List<JsonLexer> lexers(String json) {
+        return List.of(new JsonTokenizer(json), new Utf8JsonTokenizer(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void assertDecodes(String number) throws JsonDeserializationException {
+        double expected = Double.parseDouble(number);
+        for (JsonLexer lexer : lexers(number)) {
+            assertEquals(JsonToken.NUMBER, lexer.next());
+            assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(lexer.doubleValue()),
+                    number + " with " + lexer.getClass().getSimpleName());
+        }
+    }
+
+    private static void assertDecodesFloat(String number) throws JsonDeserializationException {
+        float expected = Float.parseFloat(number);
+        for (JsonLexer lexer : lexers(number)) {
+            assertEquals(JsonToken.NUMBER, lexer.next());
+            assertEquals(Float.floatToRawIntBits(expected), Float.floatToRawIntBits(lexer.floatValue()),
+                    number + " with " + lexer.getClass().getSimpleName());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "-0", "0.0", "-0.0", "1", "-1", "0.1", "0.2", "0.3", "1e0", "1E+2", "1e-2", "123.456e-7",
+            // Extremes and subnormals.
+            "1.7976931348623157e308", "1.7976931348623158e308", "1.8e308", "4.9e-324", "2.5e-324", "2.4e-324",
+            "2.2250738585072014e-308", "2.2250738585072011e-308", "1e-320", "1e-400", "1e400", "-1e400",
+            // Halfway cases that must round to even.
+            "9007199254740993", "9007199254740995", "9007199254740993.0000000000000001", "2.0000000000000002220446049250313",
+            "8.98846567431158e307", "4.35097165456e-321",
+            // Long significands that need the slow path.
+            "0.30000000000000000000000000001", "123456789012345678901234567890", "3.14159265358979323846264338327950288",
+            "18446744073709551615", "18446744073709551616", "9223372036854775807", "9223372036854775808",
+            "0.000000000000000000000000000000000000000000001", "1000000000000000000000000000000e-30"})
+    void decodesDoublesLikeParseDouble(String number) throws Exception {
+        assertDecodes(number);
+    }
+
+    @Test
+    void decodesRandomDoublesLikeParseDouble() throws Exception {
+        Random random = new Random(42);
+        for (int n = 0; n < 20_000; n++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value) || Double.isInfinite(value)) continue;
+            assertDecodes(Double.toString(value).replace("E", "e"));
+            long significand = random.nextLong() >>> (1 + random.nextInt(63));
+            int exponent = random.nextInt(700) - 350;
+            assertDecodes(significand + "e" + exponent);
+            assertDecodes("-0." + significand);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "-0", "0.1", "-2.5e-3", "3.14159", "0.33333334", "123456789", "1e10", "1e11", "1e38",
+            // Extremes and subnormals.
+            "3.4028235e38", "3.4028236e38", "3.5e38", "1e39", "1.17549435e-38", "1.1754942e-38", "1.4e-45", "7e-46", "1e-50",
+            // Halfway cases that must round to even, and values that round twice when narrowed from a double.
+            "16777217", "16777219", "1.000000059604644775390625", "1.0000000596046448", "16777217.000000001",
+            "1.00000005960464477539062499", "1.00000005960464477539062501", "0.30000000000000000000000000001"})
+    void decodesFloatsLikeParseFloat(String number) throws Exception {
+        assertDecodesFloat(number);
+    }
+
+    @Test
+    void decodesRandomFloatsLikeParseFloat() throws Exception {
+        Random random = new Random(42);
+        for (int n = 0; n < 20_000; n++) {
+            float value = Float.intBitsToFloat(random.nextInt());
+            if (Float.isNaN(value) || Float.isInfinite(value)) continue;
+            assertDecodesFloat(Float.toString(value).replace("E", "e"));
+            long significand = random.nextLong() >>> (1 + random.nextInt(63));
+            int exponent = random.nextInt(120) - 70;
+            assertDecodesFloat(significand + "e" + exponent);
+            assertDecodesFloat("-0." + significand);
+        }
+        float[] values = NimbleJSON.deserialize("[0.1, 16777217.000000001, 3.4028235e38]", float[].class);
+        assertArrayEquals(new float[]{0.1f, 16777218f, Float.MAX_VALUE}, values);
+    }
+
+    @Test
+    void decodesLongBounds() throws Exception {
+        for (long value : new long[]{Long.MIN_VALUE, Long.MAX_VALUE, 0, -1, 1L << 53}) {
+            for (JsonLexer lexer : lexers(Long.toString(value))) {
+                lexer.next();
+                assertTrue(lexer.isIntegral());
+                assertEquals(value, lexer.longValue());
+            }
+        }
+        for (String overflow : new String[]{"9223372036854775808", "-9223372036854775809", "99999999999999999999"}) {
+            for (JsonLexer lexer : lexers(overflow)) {
+                lexer.next();
+                assertThrows(NumberFormatException.class, lexer::longValue);
+                assertEquals(new BigInteger(overflow), lexer.numberValue());
+            }
+        }
+    }
+
+    @Test
+    void picksTheNarrowestNaturalType() throws Exception {
+        List<?> values = NimbleJSON.deserialize("[1, -2147483649, 1.5, 1e2, 123456789012345678901, -0]", List.class);
+        assertEquals(List.of(1, -2147483649L, 1.5, 100.0, new BigInteger("123456789012345678901"), 0), values);
+    }
+
+    @Test
+    void bindsTypedFields() throws Exception {
+        Numbers numbers = NimbleJSON.deserialize("{\"i\": -2147483648, \"l\": -9223372036854775808, \"d\": 4.9e-324,"
+                + " \"f\": 0.1, \"big\": 123456789012345678901234567890, \"decimal\": 0.10000000000000000000001,"
+                + " \"any\": 2.5}", Numbers.class);
+        assertEquals(Integer.MIN_VALUE, numbers.i);
+        assertEquals(Long.MIN_VALUE, numbers.l);
+        assertEquals(Double.MIN_VALUE, numbers.d);
+        assertEquals(0.1f, numbers.f);
+        assertEquals(new BigInteger("123456789012345678901234567890"), numbers.big);
+        assertEquals(new BigDecimal("0.10000000000000000000001"), numbers.decimal);
+        assertEquals(2.5, numbers.any);
+    }
+
+    @Test
+    void rejectsNumbersOutOfRangeForTheField() {
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"l\": 9223372036854775808}", Numbers.class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"l\": 1e3}", Numbers.class));
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"big\": 1.5}", Numbers.class));
+    }
+
+    @Test
+    void decodesNumbersInsideLargerDocuments() throws Exception {
+        Map<?, ?> map = NimbleJSON.deserialize("{\"a\":[0.1,-7e-3,12],\"b\":1.25E+1}".getBytes(StandardCharsets.UTF_8), Map.class);
+        assertEquals(List.of(0.1, -7e-3, 12), map.get("a"));
+        assertEquals(12.5, map.get("b"));
+    }
+}
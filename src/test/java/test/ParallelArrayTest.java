@@ -0,0 +1,190 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.TypeToken;
+import dev.quantam.numblejson.annotations.JsonDeserialize;
+import dev.quantam.numblejson.engine.ParallelArrayReader;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.exceptions.UncheckedJsonException;
+import dev.quantam.numblejson.interfaces.IJsonDeserializer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for binding the elements of a top-level array in parallel, into lists and through streams.
+ */
+class ParallelArrayTest {
+
+    static class Item {
+        int id;
+        String name;
+        List<String> tags;
+        Map<String, Integer> counts;
+
+        Item() {
+        }
+
+        Item(int id) {
+            this.id = id;
+            this.name = "item ] é, " + id;
+            this.tags = List.of("[", "}", "\"" + id);
+            this.counts = Map.of("n", id);
+        }
+    }
+
+    public static class ThreadNameDeserializer implements IJsonDeserializer<String> {
+        @Override
+        public String deserialize(String json) {
+            return Thread.currentThread().getName();
+        }
+    }
+
+    static class Bound {
+        @JsonDeserialize(using = ThreadNameDeserializer.class)
+        String thread;
+    }
+
+    private static String array(int count) throws Exception {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) items.add(new Item(i));
+        return NimbleJSON.serialize(items);
+    }
+
+    private static void assertItems(int count, List<Item> items) {
+        assertEquals(count, items.size());
+        for (int i = 0; i < count; i++) {
+            Item item = items.get(i);
+            assertEquals(i, item.id);
+            assertEquals("item ] é, " + i, item.name);
+            assertEquals(List.of("[", "}", "\"" + i), item.tags);
+            assertEquals(Map.of("n", i), item.counts);
+        }
+    }
+
+    @Test
+    void bindsListsInArrayOrder() throws Exception {
+        String json = array(10_000);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertItems(10_000, NimbleJSON.deserializeListParallel(json, Item.class));
+        assertItems(10_000, NimbleJSON.deserializeListParallel(bytes, Item.class));
+        assertItems(10_000, ParallelArrayReader.of(Item.class).readList(json));
+        assertItems(10_000, ParallelArrayReader.of(Item.class).readList(bytes));
+    }
+
+    @Test
+    void bindsStreamsInArrayOrder() throws Exception {
+        String json = array(5000);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertItems(5000, ParallelArrayReader.of(Item.class).stream(json).collect(Collectors.toList()));
+        assertItems(5000, ParallelArrayReader.of(Item.class).stream(bytes).collect(Collectors.toList()));
+        assertItems(5000, ParallelArrayReader.of(Item.class).stream(bytes).sequential().collect(Collectors.toList()));
+        assertTrue(ParallelArrayReader.of(Item.class).stream(json).isParallel());
+        assertEquals(5000, ParallelArrayReader.of(Item.class).stream(json).count());
+        assertEquals(4999 * 5000 / 2, ParallelArrayReader.of(Item.class).stream(bytes).mapToInt(item -> item.id).sum());
+    }
+
+    @Test
+    void bindsElementsOnlyWhenTheStreamConsumesThem() throws Exception {
+        AtomicInteger bound = new AtomicInteger();
+        Iterator<Item> iterator = ParallelArrayReader.of(Item.class).stream(array(1000)).peek(item -> bound.incrementAndGet())
+                .sequential().iterator();
+        assertEquals(0, iterator.next().id);
+        assertEquals(1, iterator.next().id);
+        assertTrue(bound.get() < 1000, "bound: " + bound.get());
+    }
+
+    @Test
+    void readsRegionsByteOrderMarksAndWhitespace() throws Exception {
+        byte[] json = "xx[1, 2,3]yy".getBytes(StandardCharsets.UTF_8);
+        assertEquals(List.of(1, 2, 3), ParallelArrayReader.of(Integer.class).readList(json, 2, 8));
+        byte[] marked = "\uFEFF [ \"a\" ,\n\"b\"\t] ".getBytes(StandardCharsets.UTF_8);
+        assertEquals(List.of("a", "b"), ParallelArrayReader.of(String.class).readList(marked));
+        assertEquals(List.of("a", "b"), ParallelArrayReader.of(String.class).stream(marked).collect(Collectors.toList()));
+        assertEquals(List.of(), ParallelArrayReader.of(Item.class).readList(" [ ] "));
+        assertEquals(0, ParallelArrayReader.of(Item.class).stream("[]").count());
+    }
+
+    @Test
+    void bindsNullAndGenericElements() throws Exception {
+        List<Item> items = ParallelArrayReader.of(Item.class).readList("[{\"id\": 1}, null, {\"id\": 3}]");
+        assertEquals(3, items.size());
+        assertEquals(1, items.get(0).id);
+        assertNull(items.get(1));
+        assertEquals(3, items.get(2).id);
+
+        ParallelArrayReader<Map<String, List<Long>>> reader = ParallelArrayReader.of(new TypeToken<Map<String, List<Long>>>() {}.getType());
+        List<Map<String, List<Long>>> maps = reader.readList("[{\"a\": [1, 2]}, {}, {\"b\": []}]");
+        assertEquals(List.of(Map.of("a", List.of(1L, 2L)), Map.of(), Map.of("b", List.of())), maps);
+
+        List<int[]> arrays = ParallelArrayReader.of(int[].class).readList("[[1, 2], [], [3]]".getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(new int[]{1, 2}, arrays.get(0));
+        assertArrayEquals(new int[0], arrays.get(1));
+        assertArrayEquals(new int[]{3}, arrays.get(2));
+    }
+
+    @Test
+    void bindsOnTheConfiguredPool() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(2, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("binder-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        try {
+            String json = "[" + String.join(", ", Collections.nCopies(2000, "{\"thread\": \"x\"}")) + "]";
+            List<Bound> bound = ParallelArrayReader.of(Bound.class).pool(pool).readList(json);
+            assertEquals(2000, bound.size());
+            assertTrue(bound.stream().allMatch(b -> b.thread.startsWith("binder-")));
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(NullPointerException.class, () -> ParallelArrayReader.of(Item.class).pool(null));
+    }
+
+    @Test
+    void reportsTheIndexOfInvalidElements() throws Exception {
+        String json = array(1000);
+        String broken = json.replace("{\"id\":700,", "{\"id\":\"x\",");
+        assertNotEquals(json, broken);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        for (ParallelArrayReader<Item> reader : List.of(ParallelArrayReader.of(Item.class), ParallelArrayReader.of(Item.class).pool(pool))) {
+            JsonDeserializationException e = assertThrows(JsonDeserializationException.class, () -> reader.readList(broken));
+            assertEquals("Invalid array element 700", e.getMessage());
+            assertNotNull(e.getCause());
+            e = assertThrows(JsonDeserializationException.class, () -> reader.readList(broken.getBytes(StandardCharsets.UTF_8)));
+            assertEquals("Invalid array element 700", e.getMessage());
+        }
+        pool.shutdown();
+        UncheckedJsonException e = assertThrows(UncheckedJsonException.class,
+                () -> ParallelArrayReader.of(Item.class).stream(broken).collect(Collectors.toList()));
+        assertEquals("Invalid array element 700", e.getMessage());
+        assertInstanceOf(JsonDeserializationException.class, e.getCause());
+    }
+
+    @Test
+    void rejectsInputThatIsNotOneArray() {
+        for (String json : Arrays.asList("{\"id\": 1}", "[1, 2", "[1, 2] 3", "[1 2]", "[1,]", "[\"a]", "", "1")) {
+            assertThrows(JsonDeserializationException.class, () -> ParallelArrayReader.of(Integer.class).readList(json), json);
+            assertThrows(JsonDeserializationException.class,
+                    () -> ParallelArrayReader.of(Integer.class).readList(json.getBytes(StandardCharsets.UTF_8)), json);
+            assertThrows(JsonDeserializationException.class, () -> {
+                try (Stream<Integer> values = ParallelArrayReader.of(Integer.class).stream(json)) {
+                    values.collect(Collectors.toList());
+                }
+            }, json);
+        }
+    }
+}
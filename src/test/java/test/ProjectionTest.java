@@ -0,0 +1,154 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.annotations.JsonProperty;
+import dev.quantam.numblejson.engine.JsonProjection;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for skipping unknown members without decoding them and for binding only the paths of a
+ * {@link JsonProjection}.
+ */
+class ProjectionTest {
+
+    static class Address {
+        String city;
+        String zip = "none";
+    }
+
+    static class Order {
+        long id;
+        double total;
+        List<String> items;
+    }
+
+    static class Customer {
+        @JsonProperty("customer_id")
+        long id;
+        String name = "unset";
+        Address address;
+        List<Order> orders;
+        Map<String, Address> places;
+        Order[] archived;
+    }
+
+    private static final String CUSTOMER = "{\"customer_id\": 7, \"name\": \"Ann\","
+            + " \"address\": {\"city\": \"Oslo\", \"zip\": \"0150\"},"
+            + " \"orders\": [{\"id\": 1, \"total\": 9.5, \"items\": [\"a\"]}, {\"id\": 2, \"total\": 3, \"items\": []}],"
+            + " \"places\": {\"home\": {\"city\": \"Bergen\"}, \"work\": {\"city\": \"Oslo\"}},"
+            + " \"archived\": [{\"id\": 3, \"total\": 1}]}";
+
+    private static final String NOISE = "{\"a\": [1, {\"b\": \"]}\\\"[{\"}, [[], {}], null, true, -1.5e3],"
+            + " \"s\": \"{\\\\\", \"o\": {\"x\": {\"y\": {\"z\": [\"\\u005d\"]}}}}";
+
+    @Test
+    void skipsUnknownMembersOfEveryShape() throws Exception {
+        String json = "{\"unknown\": " + NOISE + ", \"city\": \"Oslo\", \"more\": [" + NOISE + ", " + NOISE + "],"
+                + " \"n\": 12, \"t\": \"x\", \"zip\": \"1\", \"last\": {}}";
+        assertAddress(NimbleJSON.deserialize(json, Address.class));
+        assertAddress(NimbleJSON.deserialize(json.getBytes(StandardCharsets.UTF_8), Address.class));
+        assertAddress(NimbleJSON.deserialize(new StringReader(json), Address.class));
+        assertAddress(NimbleJSON.deserialize(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Address.class));
+    }
+
+    private static void assertAddress(Address address) {
+        assertEquals("Oslo", address.city);
+        assertEquals("1", address.zip);
+    }
+
+    @Test
+    void skipsValuesLargerThanTheReadBuffer() throws Exception {
+        StringBuilder json = new StringBuilder("{\"big\": [");
+        for (int i = 0; i < 50_000; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"k\": \"value ").append(i).append(" with ]} and \\\" inside\", \"n\": [").append(i).append("]}");
+        }
+        json.append("], \"deep\": ").append("[".repeat(200)).append("\"}\"").append("]".repeat(200)).append(", \"city\": \"end\"}");
+        assertEquals("end", NimbleJSON.deserialize(new StringReader(json.toString()), Address.class).city);
+        assertEquals("end", NimbleJSON.deserialize(json.toString(), Address.class).city);
+        assertEquals("end", NimbleJSON.deserialize(json.toString().getBytes(StandardCharsets.UTF_8), Address.class).city);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"x\": [1}, \"city\": \"a\"}",
+            "{\"x\": {\"a\": 1], \"city\": \"a\"}",
+            "{\"x\": [[[\"a\"]], \"city\": \"a\"}",
+            "{\"x\": \"open, \"city\": \"a\"}",
+            "{\"x\": {\"y\": [",
+            "{\"x\": \"\\",
+            "{\"x\": "})
+    void rejectsMalformedSkippedValues(String json) {
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(json, Address.class), json);
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize(json.getBytes(StandardCharsets.UTF_8), Address.class), json);
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize(new StringReader(json), Address.class), json);
+    }
+
+    @Test
+    void bindsOnlyTheSelectedPaths() throws Exception {
+        for (Customer c : List.of(NimbleJSON.deserialize(CUSTOMER, Customer.class, "customer_id", "address.city", "orders.total"),
+                NimbleJSON.deserialize(CUSTOMER.getBytes(StandardCharsets.UTF_8), Customer.class,
+                        JsonProjection.of("customer_id", "address.city", "orders.total")))) {
+            assertEquals(7, c.id);
+            assertEquals("unset", c.name);
+            assertEquals("Oslo", c.address.city);
+            assertEquals("none", c.address.zip);
+            assertEquals(2, c.orders.size());
+            assertEquals(9.5, c.orders.get(0).total);
+            assertEquals(0, c.orders.get(0).id);
+            assertNull(c.orders.get(1).items);
+            assertNull(c.places);
+            assertNull(c.archived);
+        }
+    }
+
+    @Test
+    void selectsByFieldNameMapKeyAndWholeSubtree() throws Exception {
+        Customer c = NimbleJSON.deserialize(CUSTOMER, Customer.class, "id", "places.work", "archived", "archived.id", "address");
+        assertEquals(7, c.id);
+        assertEquals(List.of("work"), new ArrayList<>(c.places.keySet()));
+        assertEquals("Oslo", c.places.get("work").city);
+        assertEquals(3, c.archived[0].id);
+        assertEquals(1, c.archived[0].total);
+        assertEquals("0150", c.address.zip);
+        assertNull(c.orders);
+
+        Customer all = NimbleJSON.deserialize(CUSTOMER, Customer.class, new String[0]);
+        assertEquals("Ann", all.name);
+        assertEquals(List.of("a"), all.orders.get(0).items);
+        assertSame(JsonProjection.ALL, JsonProjection.of());
+
+        Customer none = NimbleJSON.deserialize(CUSTOMER, Customer.class, "missing");
+        assertEquals(0, none.id);
+        assertNull(none.address);
+    }
+
+    @Test
+    void stillRejectsMalformedUnselectedValues() {
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"name\": [1}, \"customer_id\": 1}", Customer.class, "customer_id"));
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"customer_id\": \"x\"}", Customer.class, "customer_id"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", ".", "a.", ".a", "a..b"})
+    void rejectsInvalidPaths(String path) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> JsonProjection.of("ok", path));
+        assertEquals("Invalid projection path: '" + path + "'", e.getMessage());
+    }
+}
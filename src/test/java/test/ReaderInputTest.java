@@ -0,0 +1,213 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.streaming.JsonEvent;
+import dev.quantam.numblejson.streaming.JsonHandler;
+import dev.quantam.numblejson.streaming.JsonReader;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for tokenizing a {@link Reader} through a buffer that is compacted and refilled, with tokens
+ * straddling every possible refill boundary.
+ */
+class ReaderInputTest {
+
+    private static final String DOCUMENT = "{\"name\": \"a string that is longer than the smallest buffer\","
+            + " \"escaped\": \"tab\\tquote\\\"unicode\\u00e9\\ud83d\\ude00\", \"numbers\": [-9223372036854775808,"
+            + " 1.7976931348623157e308, 0.1, 12345678901234567890, -0.0], \"flags\": [true, false, null],"
+            + " \"nested\": {\"deep\": [[[{\"k\": \"v\"}]]]}, \"empty\": {}, \"last\": 7}";
+
+    /**
+     * A reader that returns at most a few characters per call, so that refills happen mid-token.
+     */
+    private static Reader trickle(String text, int chunk) {
+        return new FilterReader(new StringReader(text)) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, chunk));
+            }
+        };
+    }
+
+    /**
+     * Describes every token by kind, offsets and decoded value.
+     */
+    private static List<String> describe(JsonLexer lexer) throws JsonDeserializationException {
+        List<String> tokens = new ArrayList<>();
+        for (JsonToken token = lexer.next(); token != JsonToken.END; token = lexer.next()) {
+            String value = token == JsonToken.STRING ? lexer.stringValue()
+                    : token == JsonToken.NUMBER ? lexer.text() + "=" + lexer.doubleValue() : "";
+            tokens.add(token + "@" + lexer.tokenStart() + "-" + lexer.tokenEnd() + ":" + value);
+        }
+        return tokens;
+    }
+
+    @Test
+    void tokensMatchInMemoryInputForEveryBufferSize() throws Exception {
+        List<String> expected = describe(new JsonTokenizer(DOCUMENT));
+        for (int size = 16; size <= DOCUMENT.length() + 1; size++) {
+            for (int chunk : new int[]{1, 3, 1 << 20}) {
+                assertEquals(expected, describe(new JsonTokenizer(trickle(DOCUMENT, chunk), size)),
+                        "buffer " + size + ", chunk " + chunk);
+            }
+        }
+    }
+
+    @Test
+    void skipsAndCapturesValuesAcrossRefills() throws Exception {
+        for (int size = 16; size < 64; size++) {
+            JsonLexer lexer = new JsonTokenizer(trickle(DOCUMENT, 5), size);
+            assertEquals(JsonToken.START_OBJECT, lexer.next());
+            lexer.next();
+            lexer.next();
+            lexer.skipValue();
+            lexer.next();
+            lexer.next();
+            lexer.next();
+            lexer.skipValue();
+            lexer.next();
+            lexer.next();
+            lexer.next();
+            assertEquals("[-9223372036854775808, 1.7976931348623157e308, 0.1, 12345678901234567890, -0.0]", lexer.rawValue());
+            lexer.next();
+            lexer.next();
+            lexer.next();
+            lexer.skipValue();
+            lexer.next();
+            lexer.next();
+            lexer.next();
+            assertEquals("{\"deep\": [[[{\"k\": \"v\"}]]]}", lexer.rawValue());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void peekKeepsTheCurrentTokenAcrossRefills() throws Exception {
+        String a = "a".repeat(20);
+        String b = "b".repeat(20);
+        JsonTokenizer lexer = new JsonTokenizer(trickle("[\"" + a + "\" ,  \"" + b + "\"]", 2), 16);
+        lexer.next();
+        lexer.next();
+        assertEquals(",", lexer.peek());
+        assertEquals(a, lexer.stringValue());
+        assertEquals(",", lexer.nextToken());
+        assertEquals("\"" + b + "\"", lexer.peek());
+        assertEquals(JsonToken.COMMA, lexer.currentToken());
+        assertEquals(JsonToken.STRING, lexer.next());
+        assertEquals(b, lexer.stringValue());
+    }
+
+    @Test
+    void growsOnlyForTokensLargerThanTheBuffer() throws Exception {
+        String big = "x".repeat(1000);
+        JsonTokenizer lexer = new JsonTokenizer(trickle("[\"" + big + "\"" + ", 1".repeat(2000) + "]", 7), 16);
+        lexer.next();
+        lexer.next();
+        assertEquals(big, lexer.stringValue());
+        int grown = lexer.buffer().length;
+        assertTrue(grown >= 1002);
+        while (lexer.next() != JsonToken.END) {
+            assertTrue(lexer.buffer().length == grown);
+        }
+    }
+
+    @Test
+    void reportsAbsolutePositions() {
+        String json = "[" + "1, ".repeat(100) + "1-]";
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                () -> describe(new JsonTokenizer(trickle(json, 4), 16)));
+        assertEquals("Invalid number at position " + json.indexOf("1-"), e.getMessage());
+    }
+
+    @Test
+    void reportsUnterminatedStringsAtTheEndOfTheStream() {
+        assertThrows(JsonDeserializationException.class, () -> describe(new JsonTokenizer(trickle("[\"abc", 2), 16)));
+    }
+
+    @Test
+    void deserializesFromReadersAndStreams() throws Exception {
+        Map<?, ?> fromReader = NimbleJSON.deserialize(trickle(DOCUMENT, 3), Map.class);
+        Map<?, ?> fromString = NimbleJSON.deserialize(DOCUMENT, Map.class);
+        assertEquals(fromString, fromReader);
+        Map<?, ?> fromStream = NimbleJSON.deserialize(new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8)), Map.class);
+        assertEquals(fromString, fromStream);
+        assertEquals("tab\tquote\"unicode\u00e9\ud83d\ude00", fromStream.get("escaped"));
+    }
+
+    @Test
+    void deserializesMultiByteCharactersSplitAcrossReads() throws Exception {
+        String text = "\u00e9\u4e2d\ud83d\ude00".repeat(5000);
+        byte[] json = ("{\"s\": \"" + text + "\"}").getBytes(StandardCharsets.UTF_8);
+        ByteArrayInputStream stream = new ByteArrayInputStream(json) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 5));
+            }
+        };
+        assertEquals(text, NimbleJSON.deserialize(stream, Map.class).get("s"));
+    }
+
+    @Test
+    void rejectsInputAfterTheRootValueAtEveryDocumentEntryPoint() throws Exception {
+        NimbleJSON instance = new NimbleJSON();
+        for (String json : new String[]{"{} x", "[1] ]", "{}{}", "1 2", "null,"}) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(json, Object.class), json);
+            assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(json, (Type) Object.class), json);
+            assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(new StringReader(json), Object.class), json);
+            assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(new ByteArrayInputStream(bytes), Object.class), json);
+            assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(bytes, Object.class), json);
+            assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(ByteBuffer.wrap(bytes), Object.class), json);
+            assertThrows(JsonDeserializationException.class, () -> instance.fromJson(json, Object.class), json);
+            assertThrows(JsonDeserializationException.class, () -> instance.fromJson(bytes, Object.class), json);
+            assertThrows(JsonDeserializationException.class, () -> instance.fromJson(new ByteArrayInputStream(bytes), Object.class), json);
+        }
+        assertEquals(Map.of(), NimbleJSON.deserialize(" {} \n", Map.class));
+        assertEquals(List.of(1), NimbleJSON.deserialize(new StringReader("[1]\t"), List.class));
+    }
+
+    @Test
+    void skipsAByteOrderMarkAtEveryStreamEntryPoint() throws Exception {
+        byte[] text = "[1, \"\u00e9\"]".getBytes(StandardCharsets.UTF_8);
+        byte[] bom = new byte[text.length + 3];
+        bom[0] = (byte) 0xEF;
+        bom[1] = (byte) 0xBB;
+        bom[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, bom, 3, text.length);
+        Object expected = NimbleJSON.deserialize(text, List.class);
+        assertEquals(expected, NimbleJSON.deserialize(bom, List.class));
+        assertEquals(expected, NimbleJSON.deserialize(new ByteArrayInputStream(bom), List.class));
+        assertEquals(expected, new NimbleJSON().fromJson(new ByteArrayInputStream(bom), List.class));
+        assertEquals(List.of(expected), NimbleJSON.deserializeLines(new ByteArrayInputStream(bom), List.class).toList());
+        JsonReader reader = NimbleJSON.reader(new ByteArrayInputStream(bom));
+        assertEquals(JsonEvent.START_ARRAY, reader.next());
+        assertEquals(JsonEvent.NUMBER, reader.next());
+        assertEquals(1, reader.intValue());
+        List<String> strings = new ArrayList<>();
+        NimbleJSON.parse(new ByteArrayInputStream(bom), new JsonHandler() {
+            @Override
+            public void stringValue(CharSequence value) {
+                strings.add(value.toString());
+            }
+        });
+        assertEquals(List.of("\u00e9"), strings);
+    }
+}
@@ -0,0 +1,256 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.TypeToken;
+import dev.quantam.numblejson.annotations.JsonAlias;
+import dev.quantam.numblejson.annotations.JsonCreator;
+import dev.quantam.numblejson.annotations.JsonIgnore;
+import dev.quantam.numblejson.annotations.JsonProperty;
+import dev.quantam.numblejson.engine.JsonConfig;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for binding records through their canonical constructor and other classes through a
+ * {@link JsonCreator} constructor.
+ */
+class RecordBindingTest {
+
+    record Point(int x, int y, @JsonProperty("label") String name) {
+    }
+
+    record Primitives(boolean z, byte b, short s, char c, int i, long l, float f, double d) {
+    }
+
+    record Line(Point from, Point to, List<Point> via) {
+    }
+
+    record Box<T>(T value, Map<String, T> named) {
+    }
+
+    record Checked(int value) {
+        Checked {
+            if (value < 0) throw new IllegalArgumentException("negative: " + value);
+        }
+    }
+
+    record Empty() {
+    }
+
+    static final class Money {
+        private final long cents;
+        private final String currency;
+        @JsonAlias("memo")
+        private String note;
+        @JsonIgnore
+        private final String source;
+
+        @JsonCreator
+        private Money(@JsonProperty("cents") long cents, @JsonProperty("currency") String currency,
+                      @JsonProperty("source") String source) {
+            this.cents = cents;
+            this.currency = currency;
+            this.source = source == null ? "json" : source;
+        }
+
+        Money(long cents) {
+            this(cents, "EUR", "code");
+        }
+    }
+
+    static final class Scaled {
+        final double ratio;
+        final long total;
+
+        @JsonCreator
+        Scaled(@JsonProperty("ratio") float ratio, @JsonProperty("total") int total) {
+            this.ratio = ratio;
+            this.total = total;
+        }
+    }
+
+    static final class Renamed {
+        @JsonProperty("id")
+        private final String key;
+
+        @JsonCreator
+        Renamed(@JsonProperty("key") String key) {
+            this.key = key;
+        }
+    }
+
+    static final class Unnamed {
+        final int a;
+
+        @JsonCreator
+        Unnamed(int a) {
+            this.a = a;
+        }
+    }
+
+    static final class Twice {
+        int a;
+
+        @JsonCreator
+        Twice(@JsonProperty("a") int a) {
+            this.a = a;
+        }
+
+        @JsonCreator
+        Twice(@JsonProperty("a") long a) {
+            this.a = (int) a;
+        }
+    }
+
+    static final class Unmatched {
+        int a;
+
+        @JsonCreator
+        Unmatched(@JsonProperty("b") int b) {
+            this.a = b;
+        }
+    }
+
+    static final class NoDefault {
+        final int a;
+
+        NoDefault(int a) {
+            this.a = a;
+        }
+    }
+
+    @Test
+    void roundTripsRecordsThroughTheCanonicalConstructor() throws Exception {
+        Point point = new Point(3, -4, "p");
+        String json = NimbleJSON.serialize(point);
+        assertEquals("{\"x\":3,\"y\":-4,\"label\":\"p\"}", json);
+        assertEquals(point, NimbleJSON.deserialize(json, Point.class));
+        assertEquals(point, NimbleJSON.deserialize(json.getBytes(StandardCharsets.UTF_8), Point.class));
+        assertEquals(point, NimbleJSON.deserialize(new StringReader(json), Point.class));
+        assertEquals(point, NimbleJSON.deserialize("{\"label\": \"p\", \"y\": -4, \"x\": 3}", Point.class));
+        assertEquals(point, NimbleJSON.deserialize("{\"name\": \"p\", \"x\": 3, \"y\": -4}", Point.class));
+        assertEquals(new Empty(), NimbleJSON.deserialize("{}", Empty.class));
+        assertEquals(new Empty(), NimbleJSON.deserialize("{\"x\": 1}", Empty.class));
+    }
+
+    @Test
+    void passesDefaultsForMissingParameters() throws Exception {
+        assertEquals(new Primitives(false, (byte) 0, (short) 0, '\0', 0, 0L, 0f, 0.0),
+                NimbleJSON.deserialize("{}", Primitives.class));
+        Primitives all = new Primitives(true, Byte.MIN_VALUE, Short.MAX_VALUE, 'q', Integer.MIN_VALUE, Long.MAX_VALUE, 1.5f, -0.1);
+        assertEquals(all, NimbleJSON.deserialize(NimbleJSON.serialize(all), Primitives.class));
+        assertEquals(new Point(0, 2, null), NimbleJSON.deserialize("{\"y\": 2}", Point.class));
+        assertEquals(new Point(1, 0, null), NimbleJSON.deserialize("{\"x\": 1, \"label\": null}", Point.class));
+    }
+
+    @Test
+    void convertsPropertyValuesToTheParameterTypes() throws Exception {
+        Scaled scaled = NimbleJSON.deserialize("{\"ratio\": 0.5, \"total\": 7}", Scaled.class);
+        assertEquals(0.5, scaled.ratio);
+        assertEquals(7L, scaled.total);
+        assertEquals(0L, NimbleJSON.deserialize("{\"ratio\": 2}", Scaled.class).total);
+    }
+
+    @Test
+    void bindsNestedAndGenericRecords() throws Exception {
+        Line line = new Line(new Point(0, 0, "a"), new Point(1, 1, null), List.of(new Point(2, 2, "c")));
+        String json = NimbleJSON.serialize(line);
+        assertEquals(line, NimbleJSON.deserialize(json, Line.class));
+        assertEquals(List.of(line, line), NimbleJSON.deserialize("[" + json + "," + json + "]", new TypeToken<List<Line>>() {}));
+        assertEquals(List.of(line, line), NimbleJSON.deserializeListParallel("[" + json + "," + json + "]", Line.class));
+
+        Box<Point> box = NimbleJSON.deserialize("{\"value\": {\"x\": 5}, \"named\": {\"k\": {\"y\": 6}}}",
+                new TypeToken<Box<Point>>() {});
+        assertEquals(new Point(5, 0, null), box.value());
+        assertEquals(Map.of("k", new Point(0, 6, null)), box.named());
+    }
+
+    @Test
+    void rejectsNullForPrimitiveParameters() {
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"x\": null}", Point.class));
+        assertTrue(e.getCause().getMessage().contains("x"), e.getCause().getMessage());
+    }
+
+    @Test
+    void propagatesConstructorFailures() throws Exception {
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"value\": -1}", Checked.class));
+        assertEquals("negative: -1", e.getCause().getMessage());
+        assertEquals(new Checked(1), NimbleJSON.deserialize("{\"value\": 1}", Checked.class));
+    }
+
+    @Test
+    void setsFieldsThatAreNotParametersAfterConstruction() throws Exception {
+        Money money = NimbleJSON.deserialize("{\"note\": \"n\", \"cents\": 1250, \"currency\": \"USD\", \"source\": \"x\"}", Money.class);
+        assertEquals(1250, money.cents);
+        assertEquals("USD", money.currency);
+        assertEquals("n", money.note);
+        assertEquals("json", money.source);
+        assertEquals("m", NimbleJSON.deserialize("{\"memo\": \"m\"}", Money.class).note);
+        assertEquals("{\"cents\":7,\"currency\":\"EUR\",\"note\":null}", NimbleJSON.serialize(new Money(7)));
+
+        NimbleJSON strict = NimbleJSON.builder().failOnUnknownProperties(true).build();
+        assertEquals(1, strict.fromJson("{\"cents\": 1, \"source\": \"s\"}", Money.class).cents);
+        assertThrows(JsonDeserializationException.class, () -> strict.fromJson("{\"cents\": 1, \"other\": 2}", Money.class));
+    }
+
+    @Test
+    void matchesParametersByPropertyOrFieldName() throws Exception {
+        assertEquals("a", NimbleJSON.deserialize("{\"id\": \"a\"}", Renamed.class).key);
+        assertEquals("b", NimbleJSON.deserialize("{\"key\": \"b\"}", Renamed.class).key);
+        assertEquals("{\"id\":\"c\"}", NimbleJSON.serialize(new Renamed("c")));
+    }
+
+    @Test
+    void honoursProjectionsAndNumberModes() throws Exception {
+        assertEquals(new Point(3, 0, null), NimbleJSON.deserialize("{\"x\": 3, \"y\": 4, \"label\": \"p\"}", Point.class, "x"));
+        record Holder(Object value, Number number) {
+        }
+        NimbleJSON decimals = NimbleJSON.builder().numberMode(JsonConfig.NumberMode.BIG_DECIMAL).build();
+        Holder holder = decimals.fromJson("{\"value\": 1, \"number\": 2.5}", Holder.class);
+        assertEquals(new BigDecimal("1"), holder.value());
+        assertEquals(new BigDecimal("2.5"), holder.number());
+    }
+
+    @Test
+    void bindsRecordsFromLines() throws Exception {
+        String lines = "{\"x\": 1}\n{\"x\": 2}\n";
+        List<Point> points = NimbleJSON.builder().build().linesReader(Point.class)
+                .read(new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.toList());
+        assertEquals(List.of(new Point(1, 0, null), new Point(2, 0, null)), points);
+    }
+
+    @Test
+    void reportsClassesThatCannotBeCreated() {
+        for (Class<?> type : List.of(Unnamed.class, Twice.class, Unmatched.class, NoDefault.class)) {
+            assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"a\": 1}", type), type.getName());
+        }
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize("{\"a\": 1}", NoDefault.class));
+        assertTrue(e.getCause().getMessage().contains("no no-argument or @JsonCreator constructor"), e.getCause().getMessage());
+        e = assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"a\": 1}", Unnamed.class));
+        assertTrue(e.getCause().getMessage().contains("compile with -parameters"), e.getCause().getMessage());
+        e = assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize("{\"a\": 1}", Unmatched.class));
+        assertTrue(e.getCause().getMessage().contains("\"b\""), e.getCause().getMessage());
+    }
+
+    @Test
+    void serializesClassesThatCannotBeCreated() throws Exception {
+        assertEquals("{\"a\":1}", NimbleJSON.serialize(new Unnamed(1)));
+        assertEquals("{\"a\":2}", NimbleJSON.serialize(new Twice(2)));
+        assertEquals("{\"a\":3}", NimbleJSON.serialize(new Unmatched(3)));
+        assertEquals("{\"a\":4}", NimbleJSON.serialize(new NoDefault(4)));
+    }
+}
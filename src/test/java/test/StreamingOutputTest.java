@@ -0,0 +1,137 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.output.CharJsonOutput;
+import org.junit.jupiter.api.Test;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for writing documents through one shared buffer into writers and appendables.
+ */
+class StreamingOutputTest {
+
+    static class Item {
+        String name;
+        long value;
+        List<Item> children = new ArrayList<>();
+
+        Item() {
+        }
+
+        Item(String name, long value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A document far larger than the output buffer, with strings longer than the buffer.
+     */
+    private static Item largeDocument() {
+        Item root = new Item("root", Long.MIN_VALUE);
+        for (int i = 0; i < 2000; i++) {
+            Item child = new Item("child \"" + i + "\"\n", i);
+            child.children.add(new Item("x".repeat(i % 7 == 0 ? 20_000 : 3), -i));
+            root.children.add(child);
+        }
+        return root;
+    }
+
+    @Test
+    void writesToWriterLikeToString() throws Exception {
+        Item document = largeDocument();
+        String expected = NimbleJSON.serialize(document);
+        StringWriter writer = new StringWriter();
+        NimbleJSON.serialize(document, writer);
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    void writesToAppendables() throws Exception {
+        Item document = largeDocument();
+        String expected = NimbleJSON.serialize(document);
+        StringBuilder builder = new StringBuilder("prefix:");
+        NimbleJSON.serialize(document, builder);
+        assertEquals("prefix:" + expected, builder.toString());
+
+        StringBuilder target = new StringBuilder();
+        Appendable generic = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                target.append(csq);
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                target.append(csq, start, end);
+                return this;
+            }
+
+            @Override
+            public Appendable append(char c) {
+                target.append(c);
+                return this;
+            }
+        };
+        NimbleJSON.serialize(document, generic);
+        assertEquals(expected, target.toString());
+    }
+
+    @Test
+    void flushesButDoesNotCloseTheWriter() throws Exception {
+        boolean[] state = new boolean[2];
+        Writer writer = new FilterWriter(new StringWriter()) {
+            @Override
+            public void flush() throws IOException {
+                state[0] = true;
+                super.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                state[1] = true;
+                super.close();
+            }
+        };
+        NimbleJSON.serialize(List.of(1, 2), writer);
+        assertTrue(state[0]);
+        assertFalse(state[1]);
+    }
+
+    @Test
+    void writesLongBounds() throws Exception {
+        assertEquals("[-9223372036854775808,9223372036854775807,0,-1]",
+                NimbleJSON.serialize(new long[]{Long.MIN_VALUE, Long.MAX_VALUE, 0, -1}));
+    }
+
+    @Test
+    void writesMapsInIterationOrder() throws Exception {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("b", 1);
+        map.put("a", List.of(true, "s"));
+        map.put("c", null);
+        assertEquals("{\"b\":1,\"a\":[true,\"s\"],\"c\":null}", NimbleJSON.serialize(map));
+    }
+
+    @Test
+    void growsInMemoryOutput() throws Exception {
+        CharJsonOutput out = new CharJsonOutput(new char[32]);
+        String text = "y".repeat(1000);
+        out.writeString(text);
+        out.writeRaw(',');
+        out.writeNumber(123);
+        assertEquals('"' + text + "\",123", out.toString());
+        assertThrows(IllegalArgumentException.class, () -> new CharJsonOutput(new char[8]));
+    }
+}
@@ -0,0 +1,172 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.annotations.JsonProperty;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.output.CharJsonOutput;
+import dev.quantam.numblejson.output.JsonOutput;
+import dev.quantam.numblejson.output.Utf8JsonOutput;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.JsonTokenizer;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for escaping strings on output and decoding escape sequences on input.
+ */
+class StringEscapingTest {
+
+    static class Labels {
+        @JsonProperty("line\nbreak")
+        String lineBreak;
+        @JsonProperty("quote\"d")
+        String quoted;
+        String plain;
+    }
+
+    private static String allAscii() {
+        StringBuilder sb = new StringBuilder();
+        for (char c = 0; c < 0x80; c++) sb.append(c);
+        return sb.toString();
+    }
+
+    private static String expectedLiteral(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                case '\b': sb.append("\\b"); break;
+                case '\f': sb.append("\\f"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static List<String> samples() {
+        return List.of("", "plain", allAscii(), "ends with \\", "\"", "\n\n\n", "Grüße 世界 😀 \u2028",
+                ("ab\"cd\n" + "x".repeat(50)).repeat(2000), "é".repeat(20_000) + "\u0000");
+    }
+
+    private static String written(String s, JsonOutput output) throws Exception {
+        output.writeString(s);
+        output.flush();
+        return output.toString();
+    }
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() throws Exception {
+        for (String s : samples()) {
+            String expected = expectedLiteral(s);
+            assertEquals(expected, JsonOutput.quote(s));
+            assertEquals(expected, NimbleJSON.serialize(s));
+            assertEquals(expected, written(s, new CharJsonOutput()));
+            assertEquals(expected, written(s, new CharJsonOutput(new char[32])));
+            StringWriter writer = new StringWriter();
+            written(s, new CharJsonOutput(writer, new char[32]));
+            assertEquals(expected, writer.toString());
+            StringBuilder builder = new StringBuilder();
+            written(s, new CharJsonOutput(builder));
+            assertEquals(expected, builder.toString());
+            Utf8JsonOutput bytes = new Utf8JsonOutput();
+            bytes.writeString(s);
+            assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+        }
+    }
+
+    @Test
+    void roundTripsEveryInput() throws Exception {
+        for (String s : samples()) {
+            String json = NimbleJSON.serialize(s);
+            byte[] utf8 = NimbleJSON.serializeToBytes(s);
+            assertEquals(s, NimbleJSON.deserialize(json, String.class));
+            assertEquals(s, NimbleJSON.deserialize(utf8, String.class));
+            assertEquals(s, NimbleJSON.deserialize(ByteBuffer.wrap(utf8), String.class));
+            ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length).put(utf8).flip();
+            assertEquals(s, NimbleJSON.deserialize(direct, String.class));
+            assertEquals(s, NimbleJSON.deserialize(new StringReader(json), String.class));
+            assertEquals(s, NimbleJSON.parseTree(json).stringValue());
+        }
+    }
+
+    @Test
+    void decodesEveryEscapeSequence() throws Exception {
+        String json = "\"\\\" \\\\ \\/ \\b \\f \\n \\r \\t \\u0041\\u00e9\\u4E16 \\ud83d\\ude00 x\\u0000y\"";
+        String expected = "\" \\ / \b \f \n \r \t Aé世 😀 x\u0000y";
+        JsonTokenizer chars = new JsonTokenizer(json);
+        assertEquals(JsonToken.STRING, chars.next());
+        assertEquals(expected, chars.stringValue());
+        assertEquals(expected, chars.chars().toString());
+        Utf8JsonTokenizer bytes = new Utf8JsonTokenizer(json.getBytes(StandardCharsets.UTF_8));
+        assertEquals(JsonToken.STRING, bytes.next());
+        assertEquals(expected, bytes.stringValue());
+        assertEquals(expected, bytes.chars().toString());
+    }
+
+    @Test
+    void replacesUnpairedEscapedSurrogatesInBothLexers() throws Exception {
+        String[][] cases = {{"\"\\ud800\"", "\ufffd"}, {"\"a\\ud83db\"", "a\ufffdb"},
+                {"\"\\ude00\\ud83d\"", "\ufffd\ufffd"}, {"\"\\ud83d\\u0041\"", "\ufffdA"}};
+        for (String[] c : cases) {
+            assertEquals(c[1], NimbleJSON.deserialize(c[0], String.class), c[0]);
+            assertEquals(c[1], NimbleJSON.deserialize(c[0].getBytes(StandardCharsets.UTF_8), String.class), c[0]);
+        }
+        String fromBytes = NimbleJSON.deserialize("\"\\ud83d\\ude00!\"".getBytes(StandardCharsets.UTF_8), String.class);
+        assertEquals("😀!", fromBytes);
+    }
+
+    @Test
+    void decodesEscapesAcrossBufferRefills() throws Exception {
+        String s = ("\u00e9\t\"\\" + "😀").repeat(5000);
+        String json = NimbleJSON.serialize(List.of(s, s));
+        assertEquals(List.of(s, s), NimbleJSON.deserialize(new StringReader(json), List.class));
+        String unicode = "\"" + "\\u00e9\\ud83d\\ude00".repeat(5000) + "\"";
+        assertEquals("é😀".repeat(5000), NimbleJSON.deserialize(new StringReader(unicode), String.class));
+    }
+
+    @Test
+    void matchesPropertyNamesWrittenWithEscapes() throws Exception {
+        Labels labels = new Labels();
+        labels.lineBreak = "a";
+        labels.quoted = "b";
+        labels.plain = "c";
+        String json = NimbleJSON.serialize(labels);
+        assertTrue(json.contains("\"line\\nbreak\":\"a\""), json);
+        assertTrue(json.contains("\"quote\\\"d\":\"b\""), json);
+        String escapedNames = "{\"line\\u000abreak\": \"a\", \"quote\\u0022d\": \"b\", \"pl\\u0061in\": \"c\"}";
+        for (Labels read : List.of(NimbleJSON.deserialize(json, Labels.class), NimbleJSON.deserialize(escapedNames, Labels.class),
+                NimbleJSON.deserialize(escapedNames.getBytes(StandardCharsets.UTF_8), Labels.class))) {
+            assertEquals("a", read.lineBreak);
+            assertEquals("b", read.quoted);
+            assertEquals("c", read.plain);
+        }
+        Map<?, ?> map = NimbleJSON.deserialize("{\"k\\ney\": \"v\\u0000\"}", Map.class);
+        assertEquals(Map.of("k\ney", "v\u0000"), map);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"\\x\"", "\"\\u12\"", "\"\\u12g4\"", "\"\\\"", "\"\\", "\"abc", "\"\\U0041\"", "\"\\'\""})
+    void rejectsInvalidEscapes(String json) {
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(json, String.class), json);
+        assertThrows(JsonDeserializationException.class,
+                () -> NimbleJSON.deserialize(json.getBytes(StandardCharsets.UTF_8), String.class), json);
+        assertThrows(JsonDeserializationException.class, () -> NimbleJSON.deserialize(new StringReader(json), String.class), json);
+    }
+}
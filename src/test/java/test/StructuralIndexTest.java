@@ -0,0 +1,192 @@
+package test;
+
+import dev.quantam.numblejson.engine.ParallelArrayReader;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.StructuralIndex;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StructuralIndex}, compared with a byte-at-a-time reference, and for tokenizers
+ * that read through an index.
+ */
+class StructuralIndexTest {
+
+    private static final String[] PIECES = {
+            "{", "}", "[", "]", ":", ",", " ", "\n", "\t", "\r\n", "true", "null", "-12.5e3", "0",
+            "\"\"", "\"a\"", "\"\\\"\"", "\"\\\\\"", "\"\\\\\\\"\"", "\"[{,:}]\"", "\"\u00e9\u20ac\ud83d\ude00\"",
+            "\"\\u0022\"", "\"" + "x".repeat(70) + "\"", "\"" + "\\\\".repeat(40) + "\""
+    };
+
+    /**
+     * Lists token starts the way the index defines them, one byte at a time.
+     */
+    private static List<Integer> reference(byte[] json, int from, int to) {
+        List<Integer> positions = new ArrayList<>();
+        boolean scalar = false;
+        for (int i = from; i < to; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                positions.add(i);
+                for (i++; json[i] != '"'; i++) {
+                    if (json[i] == '\\') i++;
+                }
+                positions.add(i);
+                scalar = false;
+            } else if (b == '{' || b == '}' || b == '[' || b == ']' || b == ':' || b == ',') {
+                positions.add(i);
+                scalar = false;
+            } else if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                scalar = false;
+            } else if (!scalar) {
+                positions.add(i);
+                scalar = true;
+            }
+        }
+        return positions;
+    }
+
+    private static List<Integer> positions(StructuralIndex index) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < index.size(); i++) positions.add(index.position(i));
+        return positions;
+    }
+
+    private static String randomDocument(Random random, int pieces) {
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < pieces; i++) json.append(PIECES[random.nextInt(PIECES.length)]);
+        return json.toString();
+    }
+
+    @Test
+    void usesTheVectorScannerWhenTheModuleIsPresent() {
+        assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), StructuralIndex.isVectorized());
+    }
+
+    @Test
+    void matchesTheReferenceOnRandomInput() throws Exception {
+        Random random = new Random(17);
+        for (int round = 0; round < 2_000; round++) {
+            byte[] json = randomDocument(random, random.nextInt(60)).getBytes(StandardCharsets.UTF_8);
+            assertEquals(reference(json, 0, json.length), positions(StructuralIndex.of(json, 0, json.length)),
+                    () -> new String(json, StandardCharsets.UTF_8));
+
+            // Positions of a region are relative to the array, and bytes around the region are ignored.
+            byte[] padded = new byte[json.length + 8];
+            Arrays.fill(padded, (byte) '"');
+            System.arraycopy(json, 0, padded, 3, json.length);
+            assertEquals(reference(padded, 3, 3 + json.length), positions(StructuralIndex.of(padded, 3, json.length)));
+        }
+    }
+
+    @Test
+    void carriesStringsAndEscapesAcrossBlocks() throws Exception {
+        for (int pad = 0; pad < 130; pad++) {
+            for (String tail : new String[]{"\\\"\", 1]", "\\\\\", 1]", "\\\\\\\"\", 1]", "\", [true]]"}) {
+                String text = "[\"" + "y".repeat(pad) + tail;
+                byte[] json = text.getBytes(StandardCharsets.UTF_8);
+                assertEquals(reference(json, 0, json.length), positions(StructuralIndex.of(json, 0, json.length)), text);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"", "[\"abc", "{\"a\": \"b\\\"}", "[\"\\\\\\\"]", "[\"\", \"ok\", \"xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx"})
+    void rejectsUnterminatedStringsAtTheirOpeningQuote(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        int opening = reference(json.concat("\"").getBytes(StandardCharsets.UTF_8), 0, bytes.length).stream()
+                .filter(p -> p < bytes.length && bytes[p] == '"').reduce((first, second) -> second).orElseThrow();
+        JsonDeserializationException e = assertThrows(JsonDeserializationException.class,
+                () -> StructuralIndex.of(bytes, 0, bytes.length));
+        assertEquals("Unterminated string at position " + opening, e.getMessage());
+        assertThrows(JsonDeserializationException.class, () -> Utf8JsonTokenizer.indexed(bytes, 0, bytes.length));
+    }
+
+    @Test
+    void rejectsPositionsOutOfRange() throws Exception {
+        StructuralIndex index = StructuralIndex.of(new byte[]{'[', ']'}, 0, 2);
+        assertEquals(2, index.size());
+        assertEquals(1, index.position(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.position(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.position(-1));
+        assertEquals(0, StructuralIndex.of(new byte[0], 0, 0).size());
+    }
+
+    @Test
+    void tokenizesLikeThePlainTokenizer() throws Exception {
+        Random random = new Random(3);
+        for (int round = 0; round < 500; round++) {
+            String text = "\ufeff{\"k\\\"" + round + "\": [" + String.join(", ", List.of("1", "-2.5e-3", "\"s\\u00e9\"", "{}",
+                    "[null, false, {\"x\": [\"" + "z".repeat(random.nextInt(100)) + "\"]}]", "true").subList(0, random.nextInt(6) + 1))
+                    + "], \"n\" : {\"a\":{\"b\":[[]]}}}";
+            byte[] json = text.getBytes(StandardCharsets.UTF_8);
+            JsonLexer plain = new Utf8JsonTokenizer(json, 0, json.length);
+            JsonLexer indexed = Utf8JsonTokenizer.indexed(json, 0, json.length);
+            JsonToken token;
+            do {
+                token = plain.next();
+                assertEquals(token, indexed.next(), text);
+                assertEquals(plain.tokenStart(), indexed.tokenStart(), text);
+                assertEquals(plain.tokenEnd(), indexed.tokenEnd(), text);
+                if (token == JsonToken.STRING) assertEquals(plain.stringValue(), indexed.stringValue());
+                if (token == JsonToken.NUMBER) assertEquals(plain.doubleValue(), indexed.doubleValue());
+            } while (token != JsonToken.END);
+        }
+    }
+
+    @Test
+    void skipsValuesThroughTheIndex() throws Exception {
+        String text = "[{\"a\": [1, {\"b\": \"]}\"}], \"c\": \"\\\\\"}, 7, [[[]]], \"[\"]";
+        byte[] json = text.getBytes(StandardCharsets.UTF_8);
+        Utf8JsonTokenizer lexer = Utf8JsonTokenizer.indexed(json, 0, json.length);
+        assertEquals(JsonToken.START_ARRAY, lexer.next());
+        lexer.skipValue();
+        assertEquals(JsonToken.END_OBJECT, lexer.currentToken());
+        assertEquals(text.indexOf(", 7"), lexer.tokenEnd());
+        assertEquals(JsonToken.COMMA, lexer.next());
+        lexer.skipValue();
+        assertEquals(7, lexer.intValue());
+        lexer.next();
+        lexer.skipValue();
+        assertEquals(JsonToken.END_ARRAY, lexer.currentToken());
+        lexer.next();
+        lexer.skipValue();
+        assertEquals("[", lexer.stringValue());
+        assertEquals(JsonToken.END_ARRAY, lexer.next());
+        assertEquals(JsonToken.END, lexer.next());
+
+        byte[] mismatched = "[{\"a\": [1}]".getBytes(StandardCharsets.UTF_8);
+        Utf8JsonTokenizer bad = Utf8JsonTokenizer.indexed(mismatched, 0, mismatched.length);
+        bad.next();
+        assertThrows(JsonDeserializationException.class, bad::skipValue);
+    }
+
+    @Test
+    void splitsArraysForParallelReadingThroughTheIndex() throws Exception {
+        StringBuilder text = new StringBuilder("\ufeff[");
+        for (int i = 0; i < 5_000; i++) {
+            if (i > 0) text.append(", ");
+            text.append("{\"id\": ").append(i).append(", \"s\": \"],\\\"").append(i).append("\", \"xs\": [[").append(i).append("]]}");
+        }
+        text.append(']');
+        List<Map> values = ParallelArrayReader.of(Map.class).readList(text.toString().getBytes(StandardCharsets.UTF_8));
+        assertEquals(5_000, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, values.get(i).get("id"));
+            assertEquals("],\"" + i, values.get(i).get("s"));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonDeserializationException;
+import dev.quantam.numblejson.tokenize.JsonLexer;
+import dev.quantam.numblejson.tokenize.JsonName;
+import dev.quantam.numblejson.tokenize.JsonToken;
+import dev.quantam.numblejson.tokenize.Utf8JsonTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parsing UTF-8 encoded {@code byte[]} and {@link ByteBuffer} input in place.
+ */
+class Utf8InputTest {
+
+    private static final String DOCUMENT = "{\"café\": \"中文 😀\", \"n\": [1, -2.5, 1e3],"
+            + " \"ascii\": \"plain\", \"escaped\": \"a\\n\\u00e9\\ud83d\\ude00\", \"ok\": true}";
+
+    static class Person {
+        String name;
+        int age;
+        List<String> tags;
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    @Test
+    void bytesDecodeLikeStrings() throws Exception {
+        Map<?, ?> expected = NimbleJSON.deserialize(DOCUMENT, Map.class);
+        assertEquals(expected, NimbleJSON.deserialize(utf8(DOCUMENT), Map.class));
+        assertEquals(expected, NimbleJSON.deserialize(ByteBuffer.wrap(utf8(DOCUMENT)), Map.class));
+        assertEquals(expected, NimbleJSON.deserialize(direct(utf8(DOCUMENT)), Map.class));
+        assertEquals(expected, NimbleJSON.deserialize(ByteBuffer.wrap(utf8(DOCUMENT)).asReadOnlyBuffer(), Map.class));
+        assertEquals("中文 😀", expected.get("café"));
+        assertEquals("a\né😀", expected.get("escaped"));
+    }
+
+    @Test
+    void readsARegionOfAnArray() throws Exception {
+        byte[] json = utf8("garbage{\"name\":\"né\",\"age\":3}trailing");
+        Person person = NimbleJSON.deserialize(json, 7, json.length - 15, Person.class);
+        assertEquals("né", person.name);
+        assertEquals(3, person.age);
+    }
+
+    @Test
+    void readsSlicedBuffersWithoutMovingThem() throws Exception {
+        byte[] json = utf8("xx{\"name\":\"a\",\"tags\":[\"b\"]}yy");
+        ByteBuffer heap = ByteBuffer.wrap(json, 2, json.length - 4).slice();
+        Person person = NimbleJSON.deserialize(heap, Person.class);
+        assertEquals("a", person.name);
+        assertEquals(List.of("b"), person.tags);
+        assertEquals(0, heap.position());
+
+        ByteBuffer directBuffer = direct(json);
+        directBuffer.position(2).limit(json.length - 2);
+        assertEquals("a", NimbleJSON.deserialize(directBuffer, Person.class).name);
+        assertEquals(2, directBuffer.position());
+    }
+
+    @Test
+    void skipsAByteOrderMark() throws Exception {
+        byte[] json = utf8("﻿{\"age\":5}");
+        assertEquals(5, NimbleJSON.deserialize(json, Person.class).age);
+        assertEquals(5, NimbleJSON.deserialize(direct(json), Person.class).age);
+    }
+
+    @Test
+    void reportsByteOffsets() throws Exception {
+        JsonLexer lexer = new Utf8JsonTokenizer(utf8("[\"éé\", 1]"));
+        lexer.next();
+        lexer.next();
+        assertEquals(1, lexer.tokenStart());
+        assertEquals(7, lexer.tokenEnd());
+        lexer.next();
+        lexer.next();
+        assertEquals(9, lexer.tokenStart());
+    }
+
+    @Test
+    void comparesNamesWithoutDecoding() throws Exception {
+        for (ByteBuffer input : new ByteBuffer[]{ByteBuffer.wrap(utf8("\"café\"")), direct(utf8("\"café\""))}) {
+            JsonLexer lexer = new Utf8JsonTokenizer(input);
+            assertEquals(JsonToken.STRING, lexer.next());
+            assertTrue(lexer.nameEquals(new JsonName("café")));
+            assertFalse(lexer.nameEquals(new JsonName("cafe")));
+            assertFalse(lexer.nameEquals(new JsonName("cafés")));
+            assertEquals("café", lexer.chars().toString());
+        }
+    }
+
+    @Test
+    void readsNumbersThatEndTheInput() throws Exception {
+        for (String number : new String[]{"0", "-12", "3.25", "1e-3"}) {
+            JsonLexer lexer = new Utf8JsonTokenizer(direct(utf8(number)));
+            assertEquals(JsonToken.NUMBER, lexer.next());
+            assertEquals(Double.parseDouble(number), lexer.doubleValue());
+            assertEquals(JsonToken.END, lexer.next());
+        }
+    }
+
+    @Test
+    void rejectsMalformedInputInBuffers() {
+        for (String json : new String[]{"{\"a\":", "[1,2", "\"abc", "[1e]", "{\"a\" 1}"}) {
+            assertThrows(JsonDeserializationException.class,
+                    () -> NimbleJSON.deserialize(direct(utf8(json)), Map.class), json);
+        }
+    }
+}
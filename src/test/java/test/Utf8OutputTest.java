@@ -0,0 +1,97 @@
+package test;
+
+import dev.quantam.numblejson.NimbleJSON;
+import dev.quantam.numblejson.exceptions.JsonSerializationException;
+import dev.quantam.numblejson.output.Utf8JsonOutput;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the direct UTF-8 output, which must produce the UTF-8 encoding of the character output.
+ */
+class Utf8OutputTest {
+
+    static class Message {
+        String text;
+        String author;
+        double score;
+        boolean read;
+    }
+
+    private static List<Object> samples() {
+        Message message = new Message();
+        message.text = "Grüße, 世界! 😀 \"quoted\" back\\slash\ttab\u0001\u001f\u007f";
+        message.author = "é".repeat(5000) + "😀".repeat(5000);
+        message.score = -1.5e-7;
+        message.read = true;
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("ключ", List.of("значение", 1, 2.5, false));
+        map.put(" ", " ");
+        List<Object> big = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) big.add("entry " + i + " ü");
+        return List.of(message, map, big, "", "a", 0, Long.MIN_VALUE);
+    }
+
+    @Test
+    void bytesAreTheUtf8EncodingOfTheCharacterOutput() throws Exception {
+        for (Object sample : samples()) {
+            byte[] expected = NimbleJSON.serialize(sample).getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expected, NimbleJSON.serializeToBytes(sample));
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            NimbleJSON.serialize(sample, stream);
+            assertArrayEquals(expected, stream.toByteArray());
+        }
+    }
+
+    @Test
+    void writesIntoHeapAndDirectBuffers() throws Exception {
+        for (Object sample : samples()) {
+            byte[] expected = NimbleJSON.serializeToBytes(sample);
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(expected.length + 3), ByteBuffer.allocateDirect(expected.length + 3)}) {
+                buffer.position(3);
+                NimbleJSON.serialize(sample, buffer);
+                assertEquals(expected.length + 3, buffer.position());
+                byte[] written = new byte[expected.length];
+                buffer.get(3, written);
+                assertArrayEquals(expected, written);
+            }
+        }
+    }
+
+    @Test
+    void failsWhenTheBufferIsTooSmall() {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        assertThrows(JsonSerializationException.class, () -> NimbleJSON.serialize(List.of("more than ten bytes"), buffer));
+    }
+
+    @Test
+    void replacesUnpairedSurrogatesInBothOutputs() throws Exception {
+        String[][] cases = {{"\ud800", "\"\ufffd\""}, {"a\udc00b", "\"a\ufffdb\""},
+                {"\ud83d😀", "\"\ufffd😀\""}, {"\ude00\ud83d", "\"\ufffd\ufffd\""}};
+        for (String[] c : cases) {
+            assertEquals(c[1], NimbleJSON.serialize(c[0]));
+            assertArrayEquals(c[1].getBytes(StandardCharsets.UTF_8), NimbleJSON.serializeToBytes(c[0]));
+        }
+    }
+
+    @Test
+    void encodesCharactersAtBufferBoundaries() throws Exception {
+        for (int prefix = 0; prefix < 40; prefix++) {
+            String s = "x".repeat(prefix) + "é😀中\n";
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            Utf8JsonOutput out = new Utf8JsonOutput(stream, new byte[32]);
+            out.writeString(s);
+            out.flush();
+            assertArrayEquals(NimbleJSON.serialize(s).getBytes(StandardCharsets.UTF_8), stream.toByteArray());
+        }
+    }
+}
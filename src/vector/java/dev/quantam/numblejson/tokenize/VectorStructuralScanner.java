@@ -0,0 +1,77 @@
+package dev.quantam.numblejson.tokenize;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A {@link StructuralScanner} that classifies each block with SIMD comparisons from the
+ * {@code jdk.incubator.vector} module, using the widest vector shape the processor supports up to
+ * 512 bits. A vector never holds more bytes than a block, so that its lanes map onto the 64 bits of
+ * a block mask; wider scalable vectors are used at 512 bits.
+ * <p>
+ * Comparison masks are packed into bitmasks without {@link VectorMask#toLong()}, which is not an
+ * intrinsic on every JDK: the mask is widened to bytes of {@code 0} or {@code -1}, each 8-byte lane
+ * gathers its high bits with a multiplication, and the lanes are shifted into place and OR-reduced.
+ * <p>
+ * This class is only loaded, reflectively, when the module is present in the boot layer, so the
+ * rest of the library runs without it.
+ *
+ * @author quantam
+ * @version 1.0
+ */
+final class VectorStructuralScanner extends StructuralScanner {
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED.length() <= BLOCK
+            ? ByteVector.SPECIES_PREFERRED
+            : ByteVector.SPECIES_512;
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, BYTES.vectorShape());
+    private static final ByteVector ZERO = ByteVector.zero(BYTES);
+    /**
+     * The shift that moves the 8 bits gathered from each long lane to the lane's byte position.
+     */
+    private static final LongVector LANE_SHIFTS = LongVector.zero(LONGS).addIndex(8);
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long GATHER = 0x0002040810204081L;
+
+    @Override
+    boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    void classify(byte[] input, int offset, long[] masks) {
+        long quotes = 0;
+        long backslashes = 0;
+        long structurals = 0;
+        long whitespace = 0;
+        int lanes = BYTES.length();
+        for (int i = 0; i < BLOCK; i += lanes) {
+            ByteVector v = ByteVector.fromArray(BYTES, input, offset + i);
+            quotes |= bits(v.eq((byte) '"')) << i;
+            backslashes |= bits(v.eq((byte) '\\')) << i;
+            // Setting bit 5 maps '[' and ']' onto '{' and '}', and no other byte onto either.
+            ByteVector folded = v.or((byte) 0x20);
+            structurals |= bits(folded.eq((byte) '{').or(folded.eq((byte) '}'))
+                    .or(v.eq((byte) ':')).or(v.eq((byte) ','))) << i;
+            whitespace |= bits(v.eq((byte) ' ').or(v.eq((byte) '\n'))
+                    .or(v.eq((byte) '\r')).or(v.eq((byte) '\t'))) << i;
+        }
+        masks[QUOTES] = quotes;
+        masks[BACKSLASHES] = backslashes;
+        masks[STRUCTURALS] = structurals;
+        masks[WHITESPACE] = whitespace;
+    }
+
+    /**
+     * Packs a byte mask into one bit per lane, lane {@code 0} in the lowest bit.
+     */
+    private static long bits(VectorMask<Byte> mask) {
+        LongVector words = ZERO.blend((byte) -1, mask).reinterpretAsLongs();
+        return words.and(HIGH_BITS).mul(GATHER)
+                .lanewise(VectorOperators.LSHR, 56)
+                .lanewise(VectorOperators.LSHL, LANE_SHIFTS)
+                .reduceLanes(VectorOperators.OR);
+    }
+}